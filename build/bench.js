@@ -0,0 +1,61 @@
+/*
+ * Copyright 2026 takahashikzn
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+"use strict";
+
+var resultDir = 'target/bench-result';
+var targetJar = 'target/indolently.jar';
+var benchClassDir = 'target/bench-classes';
+
+ARI.task('mkdir', {
+    dir: benchClassDir
+}).task('javac', {
+    encoding: 'UTF-8',
+    release: 17,
+    debug: true,
+    srcdir: 'src/bench/java',
+    destdir: benchClassDir,
+
+    '': {
+        compilerarg: {
+            value: ['-Xlint:all', '-rawtypes', '-unchecked', '-processing'].join(',')
+        },
+        classpath: [ {
+            refid: 'lib'
+        }, {
+            path: targetJar
+        } ]
+    }
+}).task('delete', {
+    dir: resultDir
+}).task('mkdir', {
+    dir: resultDir
+}).task('java', {
+    classname: 'org.openjdk.jmh.Main',
+    fork: true,
+    failonerror: true,
+
+    '': {
+        classpath: [ {
+            refid: 'lib'
+        }, {
+            path: targetJar
+        }, {
+            path: benchClassDir
+        } ],
+        arg: [ {
+            line: '-rf json -rff ' + resultDir + '/result.json'
+        }, {
+            line: param.args || ''
+        } ]
+    }
+});
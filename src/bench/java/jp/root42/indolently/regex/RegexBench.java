@@ -0,0 +1,72 @@
+// Copyright 2026 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently.regex;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/**
+ * Benchmark of the predicate operations ({@code test} / {@code find}) which every engine supports.
+ * Run with {@code ant bench}, or narrow down with e.g. {@code ant bench -Dbench.args="RegexBench -p size=16,1024"}.
+ *
+ * @author takahashikzn
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RegexBench {
+
+    @Param
+    public RegexCorpus.Engine engine;
+
+    @Param
+    public RegexCorpus.Shape shape;
+
+    @Param({ "16", "256", "4096", "65536", "1048576", "16777216" })
+    public int size;
+
+    private ReTest tester;
+
+    private ReTest finder;
+
+    private String text;
+
+    @Setup
+    public void setup() {
+        this.tester = this.engine.tester(this.shape.pattern);
+        this.finder = this.engine.finder(this.shape.pattern);
+        this.text = RegexCorpus.text(this.size);
+    }
+
+    @Benchmark
+    public boolean test() { return this.tester.test(this.text); }
+
+    @Benchmark
+    public boolean find() { return this.finder.test(this.text); }
+}
@@ -0,0 +1,124 @@
+// Copyright 2026 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently.regex;
+
+import java.util.Random;
+
+import jp.root42.indolently.Indolently;
+import jp.root42.indolently.Regexive;
+
+import static jp.root42.indolently.Indolently.*;
+
+
+/**
+ * Pattern shapes and input generator shared by the regex benchmarks.
+ * The input is generated from a fixed seed so that every run measures exactly the same text.
+ *
+ * @author takahashikzn
+ */
+public final class RegexCorpus {
+
+    private RegexCorpus() { }
+
+    public enum Shape {
+
+        /** a single literal word. */
+        LITERAL("timeout"),
+
+        /** anchored at the start of input. */
+        ANCHORED("^\\d{4}-\\d{2}-\\d{2} "),
+
+        /** many literal alternatives. */
+        ALTERNATION("ERROR|WARN|FATAL|timeout|refused|reset|denied|unreachable|overflow|corrupted"),
+
+        /** repeated group followed by a rare literal; forces a backtracking engine to retry at every word. */
+        BACKTRACK("(?:\\w+\\s)*timeout");
+
+        final String pattern;
+
+        Shape(final String pattern) { this.pattern = pattern; }
+    }
+
+    public enum Engine {
+
+        JDK {
+            @Override
+            RegexBase<?, ?> regex(final String pattern) { return Regexive.regex1(pattern); }
+        },
+
+        RE2 {
+            @Override
+            RegexBase<?, ?> regex(final String pattern) { return Regexive.regex2(pattern); }
+        },
+
+        /** {@link Indolently#retest(String)} / {@link Indolently#refind(String)}; these fall back to JDK for patterns the automaton can't express. */
+        AUTOMATON {
+            @Override
+            RegexBase<?, ?> regex(final String pattern) {
+                return (Regexive.tester(pattern) instanceof AutomatonTest x) ? x : JDK.regex(pattern);
+            }
+
+            @Override
+            ReTest tester(final String pattern) { return Indolently.retest(pattern); }
+
+            @Override
+            ReTest finder(final String pattern) { return Indolently.refind(pattern); }
+        },
+
+        ADAPTIVE {
+            @Override
+            RegexBase<?, ?> regex(final String pattern) { return new AdaptiveRegex(list(JDK.regex(pattern), RE2.regex(pattern))); }
+        };
+
+        abstract RegexBase<?, ?> regex(String pattern);
+
+        ReTest tester(final String pattern) { return this.regex(pattern); }
+
+        ReTest finder(final String pattern) {
+            final var re = this.regex(pattern);
+            return ReTest.of(re::find, pattern);
+        }
+    }
+
+    private static final long SEED = 42;
+
+    private static final String[] WORDS = {
+        "GET", "POST", "/api/v1/users", "/static/app.js", "200", "404", "503", "INFO", "DEBUG", "WARN", "ERROR", "request", "response", "upstream",
+        "connection", "timeout", "refused", "user", "session", "cache", "hit", "miss", "ms", "bytes", "ok" };
+
+    /**
+     * Generate log-like text of exactly {@code size} characters.
+     * Each line starts with an ISO date and is followed by words picked from a fixed vocabulary.
+     *
+     * @param size text length
+     * @return generated text
+     */
+    static String text(final int size) {
+        final var rnd = new Random(SEED);
+        final var sb = new StringBuilder(size + 128);
+
+        while (sb.length() < size) {
+            sb.append(String.format("%04d-%02d-%02d ", 2000 + rnd.nextInt(30), 1 + rnd.nextInt(12), 1 + rnd.nextInt(28)));
+
+            for (int i = 0, Z = 4 + rnd.nextInt(12); i < Z; i++)
+                sb.append(WORDS[rnd.nextInt(WORDS.length)]).append(' ');
+
+            sb.setCharAt(sb.length() - 1, '\n');
+        }
+
+        sb.setLength(size);
+
+        return sb.toString();
+    }
+}
@@ -0,0 +1,74 @@
+// Copyright 2026 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently.regex;
+
+import java.util.concurrent.TimeUnit;
+
+import jp.root42.indolently.$list;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/**
+ * Benchmark of the operations which need a full {@link ReMatcher} ({@code split} / {@code replaceAll} / {@code subst}).
+ * Note that {@link RegexCorpus.Engine#AUTOMATON} finds leftmost-longest matches, so its results may differ from others.
+ *
+ * @author takahashikzn
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RegexRewriteBench {
+
+    @Param({ "JDK", "RE2", "AUTOMATON", "ADAPTIVE" })
+    public RegexCorpus.Engine engine;
+
+    @Param
+    public RegexCorpus.Shape shape;
+
+    @Param({ "16", "256", "4096", "65536", "1048576", "16777216" })
+    public int size;
+
+    private RegexBase<?, ?> regex;
+
+    private String text;
+
+    @Setup
+    public void setup() {
+        this.regex = this.engine.regex(this.shape.pattern);
+        this.text = RegexCorpus.text(this.size);
+    }
+
+    @Benchmark
+    public $list<String> split() { return this.regex.split(this.text); }
+
+    @Benchmark
+    public String replaceAll() { return this.regex.replaceAll(this.text, "-"); }
+
+    @Benchmark
+    public String subst() { return this.regex.subst(this.text, x -> "<" + x + ">"); }
+}
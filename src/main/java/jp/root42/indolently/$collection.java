@@ -210,7 +210,14 @@ public interface $collection<T, SELF extends $collection<T, SELF>>
      * @param f condition
      * @return the number of elements which satisfying condition
      */
-    default int count(final Predicate<? super T> f) { return this.take(f).size(); }
+    default int count(final Predicate<? super T> f) {
+        int n = 0;
+        if (!this.isEmpty()) //
+            for (final var x: this)
+                if (f.test(x)) n++;
+
+        return n;
+    }
 
     /**
      * Filter operation: returns values which satisfying condition.
@@ -224,6 +231,13 @@ public interface $collection<T, SELF extends $collection<T, SELF>>
         return this.take(x -> f.test(i.$++, x));
     }
 
+    /**
+     * Create a lazy view of this collection, which fuses chained operations into a single pass.
+     *
+     * @return lazy view of this collection
+     */
+    default $lazy<T> lazy() { return $lazy_impl.of(this); }
+
     @Override
     default $stream<T> stream() { return Indolently.$(Collection.super.stream()); }
 
@@ -0,0 +1,386 @@
+// Copyright 2026 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.OptionalDouble;
+import java.util.PrimitiveIterator;
+import java.util.RandomAccess;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoubleFunction;
+import java.util.function.DoublePredicate;
+import java.util.function.DoubleUnaryOperator;
+import java.util.stream.DoubleStream;
+
+
+/**
+ * Growable list of {@code double} which never boxes elements.
+ * Negative index counts from the end as {@link $list} does.
+ *
+ * @author takahashikzn
+ */
+public final class $doublelist
+    implements Cloneable, Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 2351683520458103221L;
+
+    private static final double[] EMPTY = {};
+
+    private double[] elems;
+
+    private int size;
+
+    public $doublelist() { this.elems = EMPTY; }
+
+    /**
+     * Constructor.
+     *
+     * @param capacity initial capacity
+     */
+    public $doublelist(final int capacity) {
+        if (capacity < 0) throw new IllegalArgumentException("(capacity = %d) < 0".formatted(capacity));
+        this.elems = (capacity == 0) ? EMPTY : new double[capacity];
+    }
+
+    private $doublelist(final double[] elems, final int size) {
+        this.elems = elems;
+        this.size = size;
+    }
+
+    /**
+     * Create a list from array. The array is copied.
+     *
+     * @param elems elements
+     * @return new list
+     */
+    public static $doublelist of(final double... elems) { return new $doublelist(elems.clone(), elems.length); }
+
+    /**
+     * Create a list from boxed elements.
+     *
+     * @param elems elements
+     * @return new list
+     */
+    public static $doublelist of(final Iterable<Double> elems) {
+        final var list = new $doublelist();
+        for (final double e: elems)
+            list.add(e);
+
+        return list;
+    }
+
+    private int idx(final int i) {
+        final int j = (0 <= i) ? i : (this.size + i);
+        if ((j < 0) || (this.size <= j)) throw new IndexOutOfBoundsException("(index = %d) (size = %d)".formatted(i, this.size));
+
+        return j;
+    }
+
+    private void grow(final int min) {
+        if (min <= this.elems.length) return;
+
+        this.elems = Arrays.copyOf(this.elems, Math.max(min, Math.max(10, this.elems.length + (this.elems.length >> 1))));
+    }
+
+    public int size() { return this.size; }
+
+    public boolean isEmpty() { return this.size == 0; }
+
+    public double get(final int i) { return this.elems[this.idx(i)]; }
+
+    public double head() { return this.get(0); }
+
+    public double last() { return this.get(-1); }
+
+    public $doublelist set(final int i, final double val) {
+        this.elems[this.idx(i)] = val;
+        return this;
+    }
+
+    public $doublelist add(final double val) {
+        this.grow(this.size + 1);
+        this.elems[this.size++] = val;
+
+        return this;
+    }
+
+    public $doublelist addAll(final double... vals) {
+        this.grow(this.size + vals.length);
+        System.arraycopy(vals, 0, this.elems, this.size, vals.length);
+        this.size += vals.length;
+
+        return this;
+    }
+
+    public $doublelist addAll(final $doublelist vals) {
+        final int n = vals.size;
+
+        this.grow(this.size + n);
+        System.arraycopy(vals.elems, 0, this.elems, this.size, n);
+        this.size += n;
+
+        return this;
+    }
+
+    /**
+     * Remove the element at the position.
+     *
+     * @param i index of the element
+     * @return removed element
+     */
+    public double removeAt(final int i) {
+        final int j = this.idx(i);
+        final var val = this.elems[j];
+
+        System.arraycopy(this.elems, j + 1, this.elems, j, this.size - j - 1);
+        this.size--;
+
+        return val;
+    }
+
+    public $doublelist clear() {
+        this.size = 0;
+        return this;
+    }
+
+    public int indexOf(final double val) {
+        for (int i = 0; i < this.size; i++)
+            if (Double.compare(this.elems[i], val) == 0) return i;
+
+        return -1;
+    }
+
+    public boolean contains(final double val) { return 0 <= this.indexOf(val); }
+
+    public $doublelist each(final DoubleConsumer f) {
+        for (int i = 0; i < this.size; i++)
+            f.accept(this.elems[i]);
+
+        return this;
+    }
+
+    /**
+     * Map elements into new list.
+     *
+     * @param f function
+     * @return new list
+     */
+    public $doublelist map(final DoubleUnaryOperator f) {
+        final var ret = new double[this.size];
+        for (int i = 0; i < ret.length; i++)
+            ret[i] = f.applyAsDouble(this.elems[i]);
+
+        return new $doublelist(ret, ret.length);
+    }
+
+    /**
+     * Map elements into new boxed list.
+     *
+     * @param f function
+     * @return new list
+     */
+    public <R> $list<R> mapToObj(final DoubleFunction<? extends R> f) {
+        final $list<R> ret = Indolently.list();
+        for (int i = 0; i < this.size; i++)
+            ret.add(f.apply(this.elems[i]));
+
+        return ret;
+    }
+
+    /**
+     * Collect elements satisfying the condition into new list.
+     *
+     * @param f condition
+     * @return new list
+     */
+    public $doublelist take(final DoublePredicate f) {
+        final var ret = new $doublelist();
+        for (int i = 0; i < this.size; i++)
+            if (f.test(this.elems[i])) ret.add(this.elems[i]);
+
+        return ret;
+    }
+
+    public boolean any(final DoublePredicate f) {
+        for (int i = 0; i < this.size; i++)
+            if (f.test(this.elems[i])) return true;
+
+        return false;
+    }
+
+    public boolean all(final DoublePredicate f) { return !this.any(f.negate()); }
+
+    public double reduce(final double initial, final DoubleBinaryOperator f) {
+        var ret = initial;
+        for (int i = 0; i < this.size; i++)
+            ret = f.applyAsDouble(ret, this.elems[i]);
+
+        return ret;
+    }
+
+    public OptionalDouble reduce(final DoubleBinaryOperator f) {
+        if (this.size == 0) return OptionalDouble.empty();
+
+        var ret = this.elems[0];
+        for (int i = 1; i < this.size; i++)
+            ret = f.applyAsDouble(ret, this.elems[i]);
+
+        return OptionalDouble.of(ret);
+    }
+
+    /**
+     * Sum up elements, compensating rounding errors as {@link DoubleStream#sum()} does.
+     *
+     * @return sum of elements
+     */
+    public double sum() { return this.stream().sum(); }
+
+    public OptionalDouble min() { return this.reduce(Math::min); }
+
+    public OptionalDouble max() { return this.reduce(Math::max); }
+
+    /**
+     * Sort elements in ascending order.
+     *
+     * @return {@code this} instance
+     */
+    public $doublelist sort() {
+        Arrays.sort(this.elems, 0, this.size);
+        return this;
+    }
+
+    public $doublelist reverse() {
+        for (int i = 0, j = this.size - 1; i < j; i++, j--) {
+            final var x = this.elems[i];
+            this.elems[i] = this.elems[j];
+            this.elems[j] = x;
+        }
+
+        return this;
+    }
+
+    public double[] toArray() { return Arrays.copyOf(this.elems, this.size); }
+
+    public DoubleStream stream() { return Arrays.stream(this.elems, 0, this.size); }
+
+    public PrimitiveIterator.OfDouble iterator() {
+
+        return new PrimitiveIterator.OfDouble() {
+
+            private int pos;
+
+            @Override
+            public boolean hasNext() { return this.pos < $doublelist.this.size; }
+
+            @Override
+            public double nextDouble() {
+                if ($doublelist.this.size <= this.pos) throw new NoSuchElementException();
+                return $doublelist.this.elems[this.pos++];
+            }
+        };
+    }
+
+    /**
+     * Get boxed view of this list. Changes are reflected each other, and only the elements read through the view are
+     * boxed.
+     *
+     * @return boxed view
+     */
+    public $list<Double> boxed() { return Indolently.$(new Boxed()); }
+
+    private final class Boxed
+        extends AbstractList<Double>
+        implements RandomAccess {
+
+        @Override
+        public Double get(final int i) { return $doublelist.this.elems[Objects.checkIndex(i, $doublelist.this.size)]; }
+
+        @Override
+        public Double set(final int i, final Double val) {
+            final var old = this.get(i);
+            $doublelist.this.elems[i] = val;
+
+            return old;
+        }
+
+        @Override
+        public void add(final int i, final Double val) {
+            final var self = $doublelist.this;
+            Objects.checkIndex(i, self.size + 1);
+
+            self.grow(self.size + 1);
+            System.arraycopy(self.elems, i, self.elems, i + 1, self.size - i);
+            self.elems[i] = val;
+            self.size++;
+            this.modCount++;
+        }
+
+        @Override
+        public Double remove(final int i) {
+            Objects.checkIndex(i, $doublelist.this.size);
+            this.modCount++;
+
+            return $doublelist.this.removeAt(i);
+        }
+
+        @Override
+        public void clear() {
+            $doublelist.this.clear();
+            this.modCount++;
+        }
+
+        @Override
+        public int size() { return $doublelist.this.size; }
+    }
+
+    @SuppressWarnings("MethodDoesntCallSuperMethod")
+    @Override
+    public $doublelist clone() { return new $doublelist(this.toArray(), this.size); }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (!(o instanceof $doublelist that) || (this.size != that.size)) return false;
+
+        return Arrays.equals(this.elems, 0, this.size, that.elems, 0, that.size);
+    }
+
+    /**
+     * Same as {@link java.util.List#hashCode()} of the boxed list.
+     */
+    @Override
+    public int hashCode() {
+        int h = 1;
+        for (int i = 0; i < this.size; i++)
+            h = 31 * h + Double.hashCode(this.elems[i]);
+
+        return h;
+    }
+
+    @Override
+    public String toString() {
+        final var sb = new StringBuilder().append('[');
+        for (int i = 0; i < this.size; i++)
+            sb.append((i == 0) ? "" : ", ").append(this.elems[i]);
+
+        return sb.append(']').toString();
+    }
+}
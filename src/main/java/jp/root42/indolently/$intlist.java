@@ -0,0 +1,392 @@
+// Copyright 2026 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.OptionalInt;
+import java.util.PrimitiveIterator;
+import java.util.RandomAccess;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+import java.util.stream.IntStream;
+
+
+/**
+ * Growable list of {@code int} which never boxes elements.
+ * Negative index counts from the end as {@link $list} does.
+ *
+ * @author takahashikzn
+ */
+public final class $intlist
+    implements Cloneable, Serializable {
+
+    @Serial
+    private static final long serialVersionUID = -3504417745214329115L;
+
+    private static final int[] EMPTY = {};
+
+    private int[] elems;
+
+    private int size;
+
+    public $intlist() { this.elems = EMPTY; }
+
+    /**
+     * Constructor.
+     *
+     * @param capacity initial capacity
+     */
+    public $intlist(final int capacity) {
+        if (capacity < 0) throw new IllegalArgumentException("(capacity = %d) < 0".formatted(capacity));
+        this.elems = (capacity == 0) ? EMPTY : new int[capacity];
+    }
+
+    private $intlist(final int[] elems, final int size) {
+        this.elems = elems;
+        this.size = size;
+    }
+
+    /**
+     * Create a list from array. The array is copied.
+     *
+     * @param elems elements
+     * @return new list
+     */
+    public static $intlist of(final int... elems) { return new $intlist(elems.clone(), elems.length); }
+
+    /**
+     * Create a list from boxed elements.
+     *
+     * @param elems elements
+     * @return new list
+     */
+    public static $intlist of(final Iterable<Integer> elems) {
+        final var list = new $intlist();
+        for (final int e: elems)
+            list.add(e);
+
+        return list;
+    }
+
+    private int idx(final int i) {
+        final int j = (0 <= i) ? i : (this.size + i);
+        if ((j < 0) || (this.size <= j)) throw new IndexOutOfBoundsException("(index = %d) (size = %d)".formatted(i, this.size));
+
+        return j;
+    }
+
+    private void grow(final int min) {
+        if (min <= this.elems.length) return;
+
+        this.elems = Arrays.copyOf(this.elems, Math.max(min, Math.max(10, this.elems.length + (this.elems.length >> 1))));
+    }
+
+    public int size() { return this.size; }
+
+    public boolean isEmpty() { return this.size == 0; }
+
+    public int get(final int i) { return this.elems[this.idx(i)]; }
+
+    public int head() { return this.get(0); }
+
+    public int last() { return this.get(-1); }
+
+    public $intlist set(final int i, final int val) {
+        this.elems[this.idx(i)] = val;
+        return this;
+    }
+
+    public $intlist add(final int val) {
+        this.grow(this.size + 1);
+        this.elems[this.size++] = val;
+
+        return this;
+    }
+
+    public $intlist addAll(final int... vals) {
+        this.grow(this.size + vals.length);
+        System.arraycopy(vals, 0, this.elems, this.size, vals.length);
+        this.size += vals.length;
+
+        return this;
+    }
+
+    public $intlist addAll(final $intlist vals) {
+        final int n = vals.size;
+
+        this.grow(this.size + n);
+        System.arraycopy(vals.elems, 0, this.elems, this.size, n);
+        this.size += n;
+
+        return this;
+    }
+
+    /**
+     * Remove the element at the position.
+     *
+     * @param i index of the element
+     * @return removed element
+     */
+    public int removeAt(final int i) {
+        final int j = this.idx(i);
+        final var val = this.elems[j];
+
+        System.arraycopy(this.elems, j + 1, this.elems, j, this.size - j - 1);
+        this.size--;
+
+        return val;
+    }
+
+    public $intlist clear() {
+        this.size = 0;
+        return this;
+    }
+
+    public int indexOf(final int val) {
+        for (int i = 0; i < this.size; i++)
+            if (this.elems[i] == val) return i;
+
+        return -1;
+    }
+
+    public boolean contains(final int val) { return 0 <= this.indexOf(val); }
+
+    public $intlist each(final IntConsumer f) {
+        for (int i = 0; i < this.size; i++)
+            f.accept(this.elems[i]);
+
+        return this;
+    }
+
+    /**
+     * Map elements into new list.
+     *
+     * @param f function
+     * @return new list
+     */
+    public $intlist map(final IntUnaryOperator f) {
+        final var ret = new int[this.size];
+        for (int i = 0; i < ret.length; i++)
+            ret[i] = f.applyAsInt(this.elems[i]);
+
+        return new $intlist(ret, ret.length);
+    }
+
+    /**
+     * Map elements into new boxed list.
+     *
+     * @param f function
+     * @return new list
+     */
+    public <R> $list<R> mapToObj(final IntFunction<? extends R> f) {
+        final $list<R> ret = Indolently.list();
+        for (int i = 0; i < this.size; i++)
+            ret.add(f.apply(this.elems[i]));
+
+        return ret;
+    }
+
+    /**
+     * Collect elements satisfying the condition into new list.
+     *
+     * @param f condition
+     * @return new list
+     */
+    public $intlist take(final IntPredicate f) {
+        final var ret = new $intlist();
+        for (int i = 0; i < this.size; i++)
+            if (f.test(this.elems[i])) ret.add(this.elems[i]);
+
+        return ret;
+    }
+
+    public boolean any(final IntPredicate f) {
+        for (int i = 0; i < this.size; i++)
+            if (f.test(this.elems[i])) return true;
+
+        return false;
+    }
+
+    public boolean all(final IntPredicate f) { return !this.any(f.negate()); }
+
+    public int reduce(final int initial, final IntBinaryOperator f) {
+        var ret = initial;
+        for (int i = 0; i < this.size; i++)
+            ret = f.applyAsInt(ret, this.elems[i]);
+
+        return ret;
+    }
+
+    public OptionalInt reduce(final IntBinaryOperator f) {
+        if (this.size == 0) return OptionalInt.empty();
+
+        var ret = this.elems[0];
+        for (int i = 1; i < this.size; i++)
+            ret = f.applyAsInt(ret, this.elems[i]);
+
+        return OptionalInt.of(ret);
+    }
+
+    /**
+     * Sum up elements. The result is {@code long} so that it never overflows.
+     *
+     * @return sum of elements
+     */
+    public long sum() {
+        long ret = 0;
+        for (int i = 0; i < this.size; i++)
+            ret += this.elems[i];
+
+        return ret;
+    }
+
+    public OptionalInt min() { return this.reduce(Math::min); }
+
+    public OptionalInt max() { return this.reduce(Math::max); }
+
+    /**
+     * Sort elements in ascending order.
+     *
+     * @return {@code this} instance
+     */
+    public $intlist sort() {
+        Arrays.sort(this.elems, 0, this.size);
+        return this;
+    }
+
+    public $intlist reverse() {
+        for (int i = 0, j = this.size - 1; i < j; i++, j--) {
+            final var x = this.elems[i];
+            this.elems[i] = this.elems[j];
+            this.elems[j] = x;
+        }
+
+        return this;
+    }
+
+    public int[] toArray() { return Arrays.copyOf(this.elems, this.size); }
+
+    public IntStream stream() { return Arrays.stream(this.elems, 0, this.size); }
+
+    public PrimitiveIterator.OfInt iterator() {
+
+        return new PrimitiveIterator.OfInt() {
+
+            private int pos;
+
+            @Override
+            public boolean hasNext() { return this.pos < $intlist.this.size; }
+
+            @Override
+            public int nextInt() {
+                if ($intlist.this.size <= this.pos) throw new NoSuchElementException();
+                return $intlist.this.elems[this.pos++];
+            }
+        };
+    }
+
+    /**
+     * Get boxed view of this list. Changes are reflected each other, and only the elements read through the view are
+     * boxed.
+     *
+     * @return boxed view
+     */
+    public $list<Integer> boxed() { return Indolently.$(new Boxed()); }
+
+    private final class Boxed
+        extends AbstractList<Integer>
+        implements RandomAccess {
+
+        @Override
+        public Integer get(final int i) { return $intlist.this.elems[Objects.checkIndex(i, $intlist.this.size)]; }
+
+        @Override
+        public Integer set(final int i, final Integer val) {
+            final var old = this.get(i);
+            $intlist.this.elems[i] = val;
+
+            return old;
+        }
+
+        @Override
+        public void add(final int i, final Integer val) {
+            final var self = $intlist.this;
+            Objects.checkIndex(i, self.size + 1);
+
+            self.grow(self.size + 1);
+            System.arraycopy(self.elems, i, self.elems, i + 1, self.size - i);
+            self.elems[i] = val;
+            self.size++;
+            this.modCount++;
+        }
+
+        @Override
+        public Integer remove(final int i) {
+            Objects.checkIndex(i, $intlist.this.size);
+            this.modCount++;
+
+            return $intlist.this.removeAt(i);
+        }
+
+        @Override
+        public void clear() {
+            $intlist.this.clear();
+            this.modCount++;
+        }
+
+        @Override
+        public int size() { return $intlist.this.size; }
+    }
+
+    @SuppressWarnings("MethodDoesntCallSuperMethod")
+    @Override
+    public $intlist clone() { return new $intlist(this.toArray(), this.size); }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (!(o instanceof $intlist that) || (this.size != that.size)) return false;
+
+        return Arrays.equals(this.elems, 0, this.size, that.elems, 0, that.size);
+    }
+
+    /**
+     * Same as {@link java.util.List#hashCode()} of the boxed list.
+     */
+    @Override
+    public int hashCode() {
+        int h = 1;
+        for (int i = 0; i < this.size; i++)
+            h = 31 * h + Integer.hashCode(this.elems[i]);
+
+        return h;
+    }
+
+    @Override
+    public String toString() {
+        final var sb = new StringBuilder().append('[');
+        for (int i = 0; i < this.size; i++)
+            sb.append((i == 0) ? "" : ", ").append(this.elems[i]);
+
+        return sb.append(']').toString();
+    }
+}
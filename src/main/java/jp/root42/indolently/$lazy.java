@@ -0,0 +1,144 @@
+// Copyright 2026 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently;
+
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import jp.root42.indolently.trait.EdgeAwareIterable;
+import jp.root42.indolently.trait.Filterable;
+import jp.root42.indolently.trait.Loopable;
+import jp.root42.indolently.trait.Matchable;
+import jp.root42.indolently.trait.ReducibleIterable;
+
+
+/**
+ * Lazy view of collection for indolent person.
+ * Transformations such as {@link #map(Function)} and {@link #take(Predicate)} construct nothing but the pipeline,
+ * and each terminal operation such as {@link #head()}, {@link #any(Predicate)} or {@link #list()} runs the whole
+ * pipeline in a single pass without intermediate collections. {@code head} and {@code any} stop at the first match,
+ * {@code last} scans from the end and {@code count} doesn't evaluate elements where the source allows.
+ * <p>
+ * The view is re-iterable and reflects the source at the time of each terminal operation.
+ * </p>
+ *
+ * @param <T> value type
+ * @author takahashikzn
+ * @see $collection#lazy()
+ * @see $map#lazy()
+ */
+public interface $lazy<T>
+    extends EdgeAwareIterable<T>, Loopable<T, $lazy<T>>, Filterable<T, $lazy<T>>, ReducibleIterable<T>, Matchable<T> {
+
+    @Override
+    $iter<T> iterator();
+
+    /**
+     * Map operation: map value to another type value.
+     *
+     * @param <R> mapped value type
+     * @param f function
+     * @return lazy view of mapped values
+     */
+    <R> $lazy<R> map(Function<? super T, ? extends R> f);
+
+    /**
+     * Filter operation.
+     *
+     * @param f condition
+     * @return lazy view of values which satisfy the condition
+     */
+    @Override
+    $lazy<T> take(Predicate<? super T> f);
+
+    /**
+     * Flatten operation.
+     *
+     * @param <R> mapped value type
+     * @param f function
+     * @return lazy view of flattened values
+     */
+    <R> $lazy<R> flat(Function<? super T, ? extends Iterable<? extends R>> f);
+
+    /**
+     * Remove duplicated values, keeping the first occurrence.
+     *
+     * @return lazy view of distinct values
+     */
+    $lazy<T> uniq();
+
+    /**
+     * Call the function for each value when it's pulled by the terminal operation.
+     *
+     * @param f function
+     * @return lazy view of the same values
+     */
+    @Override
+    $lazy<T> each(Consumer<? super T> f);
+
+    /**
+     * Terminal operation: count the values.
+     *
+     * @return the number of values
+     */
+    int count();
+
+    /**
+     * Terminal operation: count the values which satisfy the condition.
+     *
+     * @param f condition
+     * @return the number of values
+     */
+    default int count(final Predicate<? super T> f) { return this.take(f).count(); }
+
+    @Override
+    default boolean any(final Predicate<? super T> f) {
+        for (final T val: this)
+            if (f.test(val)) return true;
+
+        return false;
+    }
+
+    /**
+     * Terminal operation: collect the values.
+     *
+     * @return new list
+     */
+    default $list<T> list() { return Indolently.list(this); }
+
+    /**
+     * Terminal operation: collect the values.
+     *
+     * @return new set
+     */
+    default $set<T> set() { return Indolently.set(this); }
+
+    /**
+     * Terminal operation: collect the values into a map.
+     *
+     * @param <K> key type
+     * @param <V> value type
+     * @param fkey key generator
+     * @param fval value generator
+     * @return new map
+     */
+    default <K, V> $map<K, V> mapmap(final Function<? super T, ? extends K> fkey, final Function<? super T, ? extends V> fval) {
+        final $map<K, V> ret = Indolently.map();
+        for (final T val: this)
+            ret.put(fkey.apply(val), fval.apply(val));
+
+        return ret;
+    }
+}
@@ -0,0 +1,121 @@
+// Copyright 2026 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntSupplier;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import jp.root42.indolently.ref.$;
+
+
+/**
+ * Simple implementation of {@link $lazy}.
+ *
+ * @param <T> value type
+ * @author takahashikzn
+ */
+final class $lazy_impl<T>
+    implements $lazy<T> {
+
+    private final Supplier<? extends Iterator<? extends T>> forward;
+
+    /** null if the pipeline can't be run backward. */
+    private final Supplier<? extends Iterator<? extends T>> backward;
+
+    /** null if the pipeline may change the number of values. */
+    private final IntSupplier size;
+
+    private $lazy_impl(final Supplier<? extends Iterator<? extends T>> forward, final Supplier<? extends Iterator<? extends T>> backward,
+        final IntSupplier size) {
+        this.forward = forward;
+        this.backward = backward;
+        this.size = size;
+    }
+
+    static <T> $lazy<T> of(final Collection<? extends T> source) {
+        return new $lazy_impl<T>(source::iterator, (source instanceof List<? extends T> x) ? () -> reverse(x) : null, source::size);
+    }
+
+    private static <T> Iterator<T> reverse(final List<T> list) {
+        final var i = list.listIterator(list.size());
+        return Iterative.iterator(i::hasPrevious, i::previous);
+    }
+
+    private static <T> $iter<T> iter(final Supplier<? extends Iterator<? extends T>> f) { return Indolently.$(f.get()); }
+
+    @Override
+    public $iter<T> iterator() { return iter(this.forward); }
+
+    @Override
+    public <R> $lazy<R> map(final Function<? super T, ? extends R> f) {
+        final var back = this.backward;
+        return new $lazy_impl<R>(() -> iter(this.forward).map(f), (back == null) ? null : () -> iter(back).map(f), this.size);
+    }
+
+    @Override
+    public $lazy<T> take(final Predicate<? super T> f) {
+        final var back = this.backward;
+        return new $lazy_impl<T>(() -> iter(this.forward).take(f), (back == null) ? null : () -> iter(back).take(f), null);
+    }
+
+    @Override
+    public <R> $lazy<R> flat(final Function<? super T, ? extends Iterable<? extends R>> f) {
+        return new $lazy_impl<R>(() -> iter(this.forward).flat(f), null, null);
+    }
+
+    @Override
+    public $lazy<T> uniq() {
+        return new $lazy_impl<T>(() -> {
+            final var seen = new HashSet<T>();
+            return iter(this.forward).take(seen::add);
+        }, null, null);
+    }
+
+    // side effects must run in order, and on every value
+    @Override
+    public $lazy<T> each(final Consumer<? super T> f) { return new $lazy_impl<T>(() -> iter(this.forward).each(f), null, null); }
+
+    @Override
+    public int count() {
+        if (this.size != null) return this.size.getAsInt();
+
+        int n = 0;
+        for (final var i = this.forward.get(); i.hasNext(); i.next())
+            n++;
+
+        return n;
+    }
+
+    @Override
+    public $<T> last(final Predicate<? super T> f) {
+        if (this.backward == null) return $lazy.super.last(f);
+
+        for (final var i = this.backward.get(); i.hasNext(); ) {
+            final T val = i.next();
+            if (f.test(val)) return $.of(val);
+        }
+
+        return $.none();
+    }
+
+    @Override
+    public String toString() { return this.list().toString(); }
+}
@@ -369,6 +369,8 @@ public interface $list<T>
 
     default $list<T> uniq(final BiPredicate<? super T, ? super T> f) { return Indolently.uniq(this, f); }
 
+    default $list<T> uniq(final Function<? super T, ?> key) { return Indolently.uniq(this, key); }
+
     /**
      * Replace value at the position if exists.
      *
@@ -13,11 +13,15 @@
 // limitations under the License.
 package jp.root42.indolently;
 
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
 import java.io.Serial;
-import java.io.Serializable;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.Objects;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -40,18 +44,21 @@ import static jp.root42.indolently.Indolently.*;
  */
 class $list_impl<T>
     extends ListDelegate<T>
-    implements $list_optimized<T>, Serializable {
+    implements $list_optimized<T>, Externalizable {
 
     @Serial
     private static final long serialVersionUID = 8705188807596442213L;
 
-    private final List<T> store;
+    /** assigned by {@link #readExternal(ObjectInput)} as well. */
+    private List<T> store;
 
-    private final boolean randomAccessible;
+    private boolean randomAccessible;
 
     public $list_impl() { this(newList()); }
 
-    public $list_impl(final List<T> store) {
+    public $list_impl(final List<T> store) { this.init(store); }
+
+    private void init(final List<T> store) {
         this.store = store;
         this.randomAccessible = store instanceof $list<?> x ? x.randomAccessible() : !(store instanceof LinkedList);
     }
@@ -64,10 +71,16 @@ class $list_impl<T>
     @Override
     protected List<T> getDelegate() { return this.store; }
 
+    @Override
+    public void writeExternal(final ObjectOutput out) throws IOException { CollectionSerial.writeList(out, this.store); }
+
+    @Override
+    public void readExternal(final ObjectInput in) throws IOException, ClassNotFoundException { this.init(CollectionSerial.readList(in)); }
+
     @SuppressWarnings("MethodDoesntCallSuperMethod")
     @Override
     public $list<T> clone() {
-        final List<T> newStore = newList();
+        final List<T> newStore = ObjFactory.getInstance().newList(this.store.size());
         newStore.addAll(this.store);
         return new $list_impl<>(newStore);
     }
@@ -119,7 +132,67 @@ class $list_impl<T>
 
     private static final Class<?> FROZEN = eval(() -> Class.forName("java.util.Collections$UnmodifiableList"));
 
-    boolean frozen() { return (this.store instanceof $list_impl) && (($list_impl<?>) this.store).frozen() || this.store.getClass() == FROZEN; }
+    boolean frozen() {
+        return (this.store instanceof PersistentVector) || (this.store instanceof $list_impl) && (($list_impl<?>) this.store).frozen()
+            || this.store.getClass() == FROZEN;
+    }
+
+    // persistent version returns new version instead of modifying itself
+
+    private $list<T> with(final PersistentVector<T> newStore) { return (newStore == this.store) ? this : new $list_impl<>(newStore); }
+
+    @Override
+    public $list<T> push(final T value, final Predicate<? super T> f) {
+        if (!(this.store instanceof PersistentVector<T> x)) return $list_optimized.super.push(value, f);
+        return f.test(value) ? this.with(x.plus(Indolently.freeze0(value))) : this;
+    }
+
+    @Override
+    public $list<T> pushAll(final Iterable<? extends T> values) {
+        return (this.store instanceof PersistentVector<T> x) ? this.with(x.plusAll(Indolently.freeze(Indolently.list(values))))
+            : $list_optimized.super.pushAll(values);
+    }
+
+    @Override
+    public $list<T> push(final int idx, final T value) {
+        return (this.store instanceof PersistentVector) ? this.pushAll(idx, Indolently.list(value)) : $list_optimized.super.push(idx, value);
+    }
+
+    @Override
+    public $list<T> pushAll(final int idx, final Iterable<? extends T> values) {
+        if (!(this.store instanceof PersistentVector<T> x)) return $list_optimized.super.pushAll(idx, values);
+
+        final int i = Indolently.idx(this, idx);
+        if (i == x.size()) return this.pushAll(values);
+
+        final $list<T> rebuilt = Indolently.list(x.subList(0, Objects.checkIndex(i, x.size())));
+        rebuilt.addAll(Indolently.list(values));
+        rebuilt.addAll(x.subList(i, x.size()));
+
+        return this.with(PersistentVector.of(rebuilt, Indolently::freeze0));
+    }
+
+    @Override
+    public $list<T> update(final int idx, final Function<? super T, ? extends T> f) {
+        if (!(this.store instanceof PersistentVector<T> x)) return $list_optimized.super.update(idx, f);
+
+        final int i = Indolently.idx(this, idx);
+        return ((0 <= i) && (i < x.size())) ? this.with(x.with(i, Indolently.freeze0(f.apply(x.get(i))))) : this;
+    }
+
+    @Override
+    public $list<T> update(final Function<? super T, ? extends T> f) {
+        return (this.store instanceof PersistentVector<T> x) ? this.with(PersistentVector.of(x, e -> Indolently.freeze0(f.apply(e))))
+            : $list_optimized.super.update(f);
+    }
+
+    @Override
+    public $list<T> delete(final Iterable<? extends T> values) {
+        if (!(this.store instanceof PersistentVector<T> x)) return $list_optimized.super.delete(values);
+
+        final var vals = Indolently.set(values);
+        return (vals.isEmpty() || x.stream().noneMatch(vals::contains)) ? this : this.with(PersistentVector.of(x.stream().filter(e -> !vals.contains(e))::iterator, it -> it));
+    }
 }
 
 interface $list_optimized<T>
@@ -153,6 +226,18 @@ interface $list_optimized<T>
         return $.none();
     }
 
+    @Override
+    default int count(final Predicate<? super T> f) {
+        if (!this.randomAccessible()) return $list.super.count(f);
+
+        int n = 0;
+        final int size = this.size();
+        for (int i = 0; i < size; i++)
+            if (f.test(this.get(i))) n++;
+
+        return n;
+    }
+
     @Override
     default <R> $<R> fhead(final Function<T, $<R>> f) {
         if (!this.randomAccessible()) return $list.super.fhead(f);
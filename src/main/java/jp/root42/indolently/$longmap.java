@@ -0,0 +1,259 @@
+// Copyright 2026 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently;
+
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+
+import jp.root42.indolently.bridge.LongObjStore;
+import jp.root42.indolently.bridge.ObjFactory;
+import jp.root42.indolently.function.LongObjConsumer;
+import jp.root42.indolently.function.LongObjPredicate;
+import jp.root42.indolently.ref.$;
+
+
+/**
+ * Map from {@code long} which never boxes keys. The backing store is provided by {@link ObjFactory#newLongObjMap()}.
+ * Null values are not allowed.
+ *
+ * @param <V> value type
+ * @author takahashikzn
+ * @see Indolently#longmap()
+ */
+public final class $longmap<V> {
+
+    private final LongObjStore<V> store;
+
+    public $longmap() { this(ObjFactory.getInstance().newLongObjMap()); }
+
+    /**
+     * Constructor.
+     *
+     * @param store backing store
+     */
+    public $longmap(final LongObjStore<V> store) { this.store = Objects.requireNonNull(store); }
+
+    public int size() { return this.store.size(); }
+
+    public boolean isEmpty() { return this.store.size() == 0; }
+
+    public boolean containsKey(final long key) { return this.store.containsKey(key); }
+
+    /**
+     * Get value of the key.
+     *
+     * @param key the key of value
+     * @return the value, or null if absent
+     */
+    public V get(final long key) { return this.store.get(key); }
+
+    /**
+     * Get value of the key.
+     *
+     * @param key the key of value
+     * @return optional representation of the value
+     */
+    public $<V> opt(final long key) { return Indolently.opt(this.store.get(key)); }
+
+    /**
+     * Put key/value pair.
+     *
+     * @param key key to put
+     * @param value value to put
+     * @return the previous value, or null if absent
+     */
+    public V put(final long key, final V value) { return this.store.put(key, Objects.requireNonNull(value)); }
+
+    /**
+     * Put key/value pair then return this instance.
+     *
+     * @param key key to put
+     * @param value value to put
+     * @return {@code this} instance
+     */
+    @Destructive
+    public $longmap<V> push(final long key, final V value) {
+        this.put(key, value);
+        return this;
+    }
+
+    /**
+     * Remove the key.
+     *
+     * @param key key to remove
+     * @return the removed value, or null if absent
+     */
+    public V remove(final long key) { return this.store.remove(key); }
+
+    /**
+     * Remove the key then return this instance.
+     *
+     * @param key key to remove
+     * @return {@code this} instance
+     */
+    @Destructive
+    public $longmap<V> delete(final long key) {
+        this.store.remove(key);
+        return this;
+    }
+
+    @Destructive
+    public $longmap<V> clear() {
+        this.store.clear();
+        return this;
+    }
+
+    /**
+     * Replace value of the key if exists.
+     *
+     * @param key key of map
+     * @param f function
+     * @return {@code this} instance
+     */
+    @Destructive
+    public $longmap<V> update(final long key, final Function<? super V, ? extends V> f) {
+        final var val = this.store.get(key);
+        if (val != null) this.put(key, f.apply(val));
+
+        return this;
+    }
+
+    /**
+     * Put the value of the key if absent.
+     *
+     * @param key key of map
+     * @param f value generator
+     * @return the current value
+     */
+    public V computeIfAbsent(final long key, final LongFunction<? extends V> f) {
+        final var val = this.store.get(key);
+        if (val != null) return val;
+
+        final V created = f.apply(key);
+        this.put(key, created);
+        return created;
+    }
+
+    /**
+     * Iterate all entries in unspecified order.
+     *
+     * @param f function
+     * @return {@code this} instance
+     */
+    public $longmap<V> each(final LongObjConsumer<? super V> f) {
+        this.store.forEach(f);
+        return this;
+    }
+
+    /**
+     * Filter operation: returns entries as a map which satisfying condition.
+     * This operation is constructive.
+     *
+     * @param f condition
+     * @return new filtered map
+     */
+    public $longmap<V> take(final LongObjPredicate<? super V> f) {
+        final var ret = new $longmap<V>();
+        this.store.forEach((k, v) -> { if (f.test(k, v)) ret.store.put(k, v); });
+
+        return ret;
+    }
+
+    /**
+     * Filter operation: returns entries as a map which don't satisfy condition.
+     * This operation is constructive.
+     *
+     * @param f condition
+     * @return new filtered map
+     */
+    public $longmap<V> drop(final LongObjPredicate<? super V> f) { return this.take((k, v) -> !f.test(k, v)); }
+
+    /**
+     * Map operation: map values. This operation is constructive.
+     *
+     * @param <R> mapped value type
+     * @param f function
+     * @return new converted map
+     */
+    public <R> $longmap<R> map(final Function<? super V, ? extends R> f) {
+        final var ret = new $longmap<R>();
+        this.store.forEach((k, v) -> ret.put(k, f.apply(v)));
+
+        return ret;
+    }
+
+    /**
+     * @return keys in unspecified order
+     */
+    public $longlist keys() {
+        final var ret = new $longlist(this.size());
+        this.store.forEach((k, v) -> ret.add(k));
+
+        return ret;
+    }
+
+    /**
+     * @return values in unspecified order
+     */
+    public $list<V> values() {
+        final $list<V> ret = Indolently.list();
+        this.store.forEach((k, v) -> ret.add(v));
+
+        return ret;
+    }
+
+    /**
+     * @return boxed copy of this map
+     */
+    public $map<Long, V> boxed() {
+        final $map<Long, V> ret = Indolently.map();
+        this.store.forEach(ret::put);
+
+        return ret;
+    }
+
+    /**
+     * Same as {@link java.util.Map#equals(Object)} between maps of this type.
+     */
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (!(o instanceof $longmap<?> that) || (this.size() != that.size())) return false;
+
+        final boolean[] eq = { true };
+        this.store.forEach((k, v) -> { if (eq[0] && !v.equals(that.store.get(k))) eq[0] = false; });
+
+        return eq[0];
+    }
+
+    /**
+     * Same as {@link java.util.Map#hashCode()} of the boxed map.
+     */
+    @Override
+    public int hashCode() {
+        final int[] hash = { 0 };
+        this.store.forEach((k, v) -> hash[0] += Long.hashCode(k) ^ v.hashCode());
+
+        return hash[0];
+    }
+
+    @Override
+    public String toString() {
+        final var sb = new StringBuilder("{");
+        this.store.forEach((k, v) -> sb.append((sb.length() == 1) ? "" : ", ").append(k).append('=').append(v));
+
+        return sb.append('}').toString();
+    }
+}
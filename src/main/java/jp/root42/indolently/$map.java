@@ -64,7 +64,7 @@ public interface $map<K, V>
      * @see Cloneable
      */
     @SuppressWarnings("MethodDoesntCallSuperMethod")
-    default $map<K, V> clone() { return Indolently.<K, V> map().pushAll(this); }
+    default $map<K, V> clone() { return Indolently.map((Map<? extends K, ? extends V>) this); }
 
     /**
      * Wrap a map.
@@ -81,7 +81,10 @@ public interface $map<K, V>
     @Override
     default $map<K, V> freeze() { return Indolently.freeze(this); }
 
-    default Map<K, V> optimize() { return ObjFactory.getInstance().optimize(this); }
+    /**
+     * @see Indolently#optimize(Map)
+     */
+    default $map<K, V> optimize() { return Indolently.optimize(this); }
 
     /**
      * put key/value pair then return this instance.
@@ -283,6 +286,14 @@ public interface $map<K, V>
      */
     default $set<$entry<K, V>> entries() { return Indolently.list(this.entrySet()).map(x -> new $entry<>(x)).set(); }
 
+    /**
+     * Create a lazy view of the entries of this map, which fuses chained operations into a single pass.
+     * Use {@link $lazy#mapmap(Function, Function)} to collect them into a map again.
+     *
+     * @return lazy view of the entries
+     */
+    default $lazy<$entry<K, V>> lazy() { return $lazy_impl.of(this.entrySet()).map($entry::new); }
+
     @Override
     default $iter<$entry<K, V>> iterator() { return Indolently.$(this.entrySet().iterator()).map($entry::new); }
 
@@ -329,10 +340,24 @@ public interface $map<K, V>
         return this;
     }
 
+    // the predicates below scan entries in place, and stop at the first decisive one
+
     @Override
-    default boolean any(final Predicate<? super V> f) { return !this.take(f).isEmpty(); }
+    default boolean any(final Predicate<? super V> f) {
+        if (!this.isEmpty()) //
+            for (final V val: this.values())
+                if (f.test(val)) return true;
+
+        return false;
+    }
+
+    default boolean any(final BiPredicate<? super K, ? super V> f) {
+        if (!this.isEmpty()) //
+            for (final var e: this.entrySet())
+                if (f.test(e.getKey(), e.getValue())) return true;
 
-    default boolean any(final BiPredicate<? super K, ? super V> f) { return !this.take(f).isEmpty(); }
+        return false;
+    }
 
     default boolean non(final BiPredicate<? super K, ? super V> f) { return !this.any(f); }
 
@@ -342,7 +367,22 @@ public interface $map<K, V>
      * @param f condition
      * @return test result
      */
-    default boolean all(final BiPredicate<? super K, ? super V> f) { return this.take(f).size() == this.size(); }
+    default boolean all(final BiPredicate<? super K, ? super V> f) { return !this.any(f.negate()); }
+
+    /**
+     * Count values which satisfying condition.
+     *
+     * @param f condition
+     * @return the number of values which satisfying condition
+     */
+    default int count(final Predicate<? super V> f) {
+        int n = 0;
+        if (!this.isEmpty()) //
+            for (final V val: this.values())
+                if (f.test(val)) n++;
+
+        return n;
+    }
 
     /**
      * Count key/value pairs which satisfying condition.
@@ -350,7 +390,14 @@ public interface $map<K, V>
      * @param f condition
      * @return the number of key/value pairs which satisfying condition
      */
-    default int count(final BiPredicate<? super K, ? super V> f) { return this.take(f).size(); }
+    default int count(final BiPredicate<? super K, ? super V> f) {
+        int n = 0;
+        if (!this.isEmpty()) //
+            for (final var e: this.entrySet())
+                if (f.test(e.getKey(), e.getValue())) n++;
+
+        return n;
+    }
 
     /**
      * Filter operation: returns entries as a map which satisfying condition.
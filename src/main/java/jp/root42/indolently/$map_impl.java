@@ -13,8 +13,16 @@
 // limitations under the License.
 package jp.root42.indolently;
 
-import java.io.Serializable;
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
 import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiFunction;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 import jp.root42.indolently.bridge.MapDelegate;
 import jp.root42.indolently.bridge.ObjFactory;
@@ -31,11 +39,12 @@ import static jp.root42.indolently.Expressive.*;
  */
 final class $map_impl<K, V>
     extends MapDelegate<K, V>
-    implements $map<K, V>, Serializable {
+    implements $map<K, V>, Externalizable {
 
     private static final long serialVersionUID = 8705188807596442213L;
 
-    private final Map<K, V> store;
+    /** assigned by {@link #readExternal(ObjectInput)} as well. */
+    private Map<K, V> store;
 
     public $map_impl() { this(ObjFactory.getInstance().newMap()); }
 
@@ -44,12 +53,89 @@ final class $map_impl<K, V>
     @Override
     protected Map<K, V> getDelegate() { return this.store; }
 
+    @Override
+    public void writeExternal(final ObjectOutput out) throws IOException { CollectionSerial.writeMap(out, this.store); }
+
+    @Override
+    public void readExternal(final ObjectInput in) throws IOException, ClassNotFoundException { this.store = CollectionSerial.readMap(in); }
+
     @Override
     public $map<K, V> clone() { return $map.super.clone(); }
 
     private static final Class<?> FROZEN = eval(() -> Class.forName("java.util.Collections$UnmodifiableMap"));
 
     boolean frozen() {
-        return (this.store instanceof $map_impl) && (($map_impl<?, ?>) this.store).frozen() || this.store.getClass() == FROZEN;
+        return (this.store instanceof PersistentHashMap) || (this.store instanceof $map_impl) && (($map_impl<?, ?>) this.store).frozen()
+            || this.store.getClass() == FROZEN;
+    }
+
+    // persistent version returns new version instead of modifying itself,
+    // and concurrent version keeps each operation atomic
+
+    private $map<K, V> with(final PersistentHashMap<K, V> newStore) {
+        return (newStore == this.store) ? this : new $map_impl<>(newStore);
+    }
+
+    @Override
+    public $map<K, V> push(final K key, final V value) {
+        return (this.store instanceof PersistentHashMap<K, V> x) ? this.with(x.plus(key, Indolently.freeze0(value))) : $map.super.push(key, value);
+    }
+
+    @Override
+    public $map<K, V> pushAll(final Map<? extends K, ? extends V> map) {
+        return (this.store instanceof PersistentHashMap<K, V> x) ? this.with(x.plusAll(Indolently.freeze(map))) : $map.super.pushAll(map);
+    }
+
+    @Override
+    public $map<K, V> pushIfAbsent(final K key, final Supplier<? extends V> value) {
+        if (this.store instanceof ConcurrentMap<K, V> x) {
+            x.computeIfAbsent(key, k -> value.get());
+            return this;
+        }
+
+        return (this.store instanceof PersistentHashMap) && !this.containsKey(key) ? this.push(key, value.get()) : $map.super.pushIfAbsent(key, value);
+    }
+
+    @Override
+    public $map<K, V> delete(final Iterable<? extends K> keys) {
+        if (!(this.store instanceof PersistentHashMap<K, V> x)) return $map.super.delete(keys);
+
+        var ret = x;
+        for (final K key: keys)
+            ret = ret.minus(key);
+
+        return this.with(ret);
+    }
+
+    @Override
+    public $map<K, V> update(final K key, final Function<? super V, ? extends V> f) {
+        if (this.store instanceof ConcurrentMap<K, V> x) {
+            x.computeIfPresent(key, (k, v) -> f.apply(v));
+            return this;
+        }
+
+        return (this.store instanceof PersistentHashMap) && this.containsKey(key) ? this.push(key, f.apply(this.get(key))) : $map.super.update(key, f);
+    }
+
+    @Override
+    public $map<K, V> delete(final BiPredicate<? super K, ? super V> f) {
+        if (!(this.store instanceof ConcurrentMap<K, V> x)) return $map.super.delete(f);
+
+        // remove only if the value tested is still mapped
+        for (final var e: x.entrySet())
+            if (f.test(e.getKey(), e.getValue())) x.remove(e.getKey(), e.getValue());
+
+        return this;
+    }
+
+    @Override
+    public $map<K, V> update(final BiFunction<? super K, ? super V, ? extends V> f) {
+        if (!(this.store instanceof PersistentHashMap<K, V> x)) return $map.super.update(f);
+
+        var ret = x;
+        for (final var e: x.entrySet())
+            ret = ret.plus(e.getKey(), Indolently.freeze0(f.apply(e.getKey(), e.getValue())));
+
+        return this.with(ret);
     }
 }
@@ -0,0 +1,248 @@
+// Copyright 2026 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently;
+
+import java.util.Objects;
+import java.util.function.LongUnaryOperator;
+import java.util.function.ObjLongConsumer;
+
+import jp.root42.indolently.bridge.ObjLongStore;
+import jp.root42.indolently.bridge.ObjFactory;
+import jp.root42.indolently.function.ObjLongPredicate;
+
+
+/**
+ * Map to {@code long} which never boxes values. The backing store is provided by {@link ObjFactory#newObjLongMap()}.
+ * Suitable for counting: absent keys read as zero. {@code int} values are stored widened.
+ *
+ * @param <K> key type
+ * @author takahashikzn
+ * @see Indolently#objlongmap()
+ */
+public final class $objlongmap<K> {
+
+    private final ObjLongStore<K> store;
+
+    public $objlongmap() { this(ObjFactory.getInstance().newObjLongMap()); }
+
+    /**
+     * Constructor.
+     *
+     * @param store backing store
+     */
+    public $objlongmap(final ObjLongStore<K> store) { this.store = Objects.requireNonNull(store); }
+
+    public int size() { return this.store.size(); }
+
+    public boolean isEmpty() { return this.store.size() == 0; }
+
+    public boolean containsKey(final Object key) { return this.store.containsKey(key); }
+
+    /**
+     * Get value of the key.
+     *
+     * @param key the key of value
+     * @return the value, or zero if absent
+     */
+    public long get(final Object key) { return this.store.get(key, 0); }
+
+    /**
+     * Get value of the key.
+     *
+     * @param key the key of value
+     * @param absent the value returned if absent
+     * @return the value
+     */
+    public long get(final Object key, final long absent) { return this.store.get(key, absent); }
+
+    /**
+     * Put key/value pair then return this instance.
+     *
+     * @param key key to put
+     * @param value value to put
+     * @return {@code this} instance
+     */
+    @Destructive
+    public $objlongmap<K> push(final K key, final long value) {
+        this.store.put(key, value);
+        return this;
+    }
+
+    /**
+     * Add the delta to the value of the key, which is zero if absent.
+     *
+     * @param key key of map
+     * @param delta the value to add
+     * @return the new value
+     */
+    public long add(final K key, final long delta) { return this.store.add(key, delta); }
+
+    /**
+     * Increment the value of the key, which is zero if absent.
+     *
+     * @param key key of map
+     * @return the new value
+     */
+    public long increment(final K key) { return this.store.add(key, 1); }
+
+    /**
+     * Count the elements.
+     *
+     * @param elems elements to count
+     * @return {@code this} instance
+     */
+    @Destructive
+    public $objlongmap<K> count(final Iterable<? extends K> elems) {
+        for (final K e: elems) this.store.add(e, 1);
+        return this;
+    }
+
+    /**
+     * Remove the key.
+     *
+     * @param key key to remove
+     * @return true if removed
+     */
+    public boolean remove(final Object key) { return this.store.remove(key); }
+
+    /**
+     * Remove the key then return this instance.
+     *
+     * @param key key to remove
+     * @return {@code this} instance
+     */
+    @Destructive
+    public $objlongmap<K> delete(final Object key) {
+        this.store.remove(key);
+        return this;
+    }
+
+    @Destructive
+    public $objlongmap<K> clear() {
+        this.store.clear();
+        return this;
+    }
+
+    /**
+     * Replace value of the key if exists.
+     *
+     * @param key key of map
+     * @param f function
+     * @return {@code this} instance
+     */
+    @Destructive
+    public $objlongmap<K> update(final K key, final LongUnaryOperator f) {
+        if (this.store.containsKey(key)) this.store.put(key, f.applyAsLong(this.store.get(key, 0)));
+        return this;
+    }
+
+    /**
+     * Iterate all entries in unspecified order.
+     *
+     * @param f function
+     * @return {@code this} instance
+     */
+    public $objlongmap<K> each(final ObjLongConsumer<? super K> f) {
+        this.store.forEach(f);
+        return this;
+    }
+
+    /**
+     * Filter operation: returns entries as a map which satisfying condition.
+     * This operation is constructive.
+     *
+     * @param f condition
+     * @return new filtered map
+     */
+    public $objlongmap<K> take(final ObjLongPredicate<? super K> f) {
+        final var ret = new $objlongmap<K>();
+        this.store.forEach((k, v) -> { if (f.test(k, v)) ret.store.put(k, v); });
+
+        return ret;
+    }
+
+    /**
+     * Filter operation: returns entries as a map which don't satisfy condition.
+     * This operation is constructive.
+     *
+     * @param f condition
+     * @return new filtered map
+     */
+    public $objlongmap<K> drop(final ObjLongPredicate<? super K> f) { return this.take((k, v) -> !f.test(k, v)); }
+
+    /**
+     * @return the sum of all values
+     */
+    public long sum() {
+        final long[] sum = { 0 };
+        this.store.forEach((k, v) -> sum[0] += v);
+
+        return sum[0];
+    }
+
+    /**
+     * @return keys in unspecified order
+     */
+    public $set<K> keys() {
+        final $set<K> ret = Indolently.set();
+        this.store.forEach((k, v) -> ret.add(k));
+
+        return ret;
+    }
+
+    /**
+     * @return boxed copy of this map
+     */
+    public $map<K, Long> boxed() {
+        final $map<K, Long> ret = Indolently.map();
+        this.store.forEach(ret::put);
+
+        return ret;
+    }
+
+    /**
+     * Same as {@link java.util.Map#equals(Object)} between maps of this type.
+     */
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (!(o instanceof $objlongmap<?> that) || (this.size() != that.size())) return false;
+
+        final boolean[] eq = { true };
+        this.store.forEach((k, v) -> {
+            if (eq[0] && (!that.store.containsKey(k) || (Long.compare(v, that.store.get(k, 0)) != 0))) eq[0] = false;
+        });
+
+        return eq[0];
+    }
+
+    /**
+     * Same as {@link java.util.Map#hashCode()} of the boxed map.
+     */
+    @Override
+    public int hashCode() {
+        final int[] hash = { 0 };
+        this.store.forEach((k, v) -> hash[0] += Objects.hashCode(k) ^ Long.hashCode(v));
+
+        return hash[0];
+    }
+
+    @Override
+    public String toString() {
+        final var sb = new StringBuilder("{");
+        this.store.forEach((k, v) -> sb.append((sb.length() == 1) ? "" : ", ").append(k).append('=').append(v));
+
+        return sb.append('}').toString();
+    }
+}
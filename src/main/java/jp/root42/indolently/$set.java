@@ -20,6 +20,7 @@ import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 
+import jp.root42.indolently.bridge.ObjFactory;
 import jp.root42.indolently.ref.$;
 
 import static jp.root42.indolently.Indolently.*;
@@ -59,6 +60,11 @@ public interface $set<T>
     @Override
     default $set<T> freeze() { return Indolently.freeze(this); }
 
+    /**
+     * @see Indolently#optimize(Set)
+     */
+    default $set<T> optimize() { return Indolently.optimize(this); }
+
     @Override
     default $set<T> tail() { return set(this.list().tail()); }
 
@@ -142,23 +148,48 @@ public interface $set<T>
 
     /**
      * compute intersection of set.
+     * The smaller side is iterated and looked up in the other side.
+     * The result is sized up front for the smaller side.
      *
      * @param values values
      * @return newly constructed set as a computed intersection.
      */
     default $set<T> intersect(final Iterable<? extends T> values) {
-        return this.union(values).delete(this.diff(values));
+        final int expected = (values instanceof Set<? extends T> other) ? Math.min(this.size(), other.size()) : this.size();
+        final $set<T> ret = new $set_impl<>(ObjFactory.getInstance().newSet(expected));
+
+        if ((values instanceof Set<? extends T> other) && (other.size() < this.size())) {
+            for (final T x: other)
+                if (this.contains(x)) ret.add(x);
+        } else if (values instanceof Set<? extends T> other) {
+            for (final T x: this)
+                if (other.contains(x)) ret.add(x);
+        } else {
+            for (final T x: values)
+                if (this.contains(x)) ret.add(x);
+        }
+
+        return ret;
     }
 
     /**
-     * compute difference of set.
+     * compute difference of set, that is, the values contained by either this set or the argument but not by both.
+     * The result is sized up front for both sides.
      *
      * @param values values
      * @return newly constructed set as a computed difference.
      */
-    @SuppressWarnings("unchecked")
     default $set<T> diff(final Iterable<? extends T> values) {
-        return this.clone().delete(values).union(set(values).delete((Set) this));
+        final Set<? extends T> other = (values instanceof Set<? extends T> x) ? x : set(values);
+        final $set<T> ret = new $set_impl<>(ObjFactory.getInstance().newSet(this.size() + other.size()));
+
+        for (final T x: this)
+            if (!other.contains(x)) ret.add(x);
+
+        for (final T x: other)
+            if (!this.contains(x)) ret.add(x);
+
+        return ret;
     }
 
     /**
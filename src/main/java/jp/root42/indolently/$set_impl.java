@@ -13,8 +13,11 @@
 // limitations under the License.
 package jp.root42.indolently;
 
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
 import java.io.Serial;
-import java.io.Serializable;
 import java.util.Set;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -35,12 +38,13 @@ import static jp.root42.indolently.Expressive.*;
  */
 final class $set_impl<T>
     extends SetDelegate<T>
-    implements $set_optimized<T>, Serializable {
+    implements $set_optimized<T>, Externalizable {
 
     @Serial
     private static final long serialVersionUID = 8705188807596442213L;
 
-    private final Set<T> store;
+    /** assigned by {@link #readExternal(ObjectInput)} as well. */
+    private Set<T> store;
 
     public $set_impl() { this(ObjFactory.getInstance().newSet()); }
 
@@ -49,6 +53,12 @@ final class $set_impl<T>
     @Override
     protected Set<T> getDelegate() { return this.store; }
 
+    @Override
+    public void writeExternal(final ObjectOutput out) throws IOException { CollectionSerial.writeSet(out, this.store); }
+
+    @Override
+    public void readExternal(final ObjectInput in) throws IOException, ClassNotFoundException { this.store = CollectionSerial.readSet(in); }
+
     @Override
     public $set<T> clone() { return $set_optimized.super.clone(); }
 
@@ -57,7 +67,30 @@ final class $set_impl<T>
 
     private static final Class<?> FROZEN = eval(() -> Class.forName("java.util.Collections$UnmodifiableSet"));
 
-    boolean frozen() { return (this.store instanceof $set_impl) && (($set_impl<?>) this.store).frozen() || this.store.getClass() == FROZEN; }
+    boolean frozen() {
+        return (this.store instanceof PersistentHashSet) || (this.store instanceof $set_impl) && (($set_impl<?>) this.store).frozen()
+            || this.store.getClass() == FROZEN;
+    }
+
+    // persistent version returns new version instead of modifying itself
+
+    private $set<T> with(final PersistentHashSet<T> newStore) { return (newStore == this.store) ? this : new $set_impl<>(newStore); }
+
+    @Override
+    public $set<T> push(final T value, final Predicate<? super T> f) {
+        if (!(this.store instanceof PersistentHashSet<T> x)) return $set_optimized.super.push(value, f);
+        return f.test(value) ? this.with(x.plus(Indolently.freeze0(value))) : this;
+    }
+
+    @Override
+    public $set<T> pushAll(final Iterable<? extends T> values) {
+        return (this.store instanceof PersistentHashSet<T> x) ? this.with(x.plusAll(Indolently.freeze(Indolently.list(values)))) : $set_optimized.super.pushAll(values);
+    }
+
+    @Override
+    public $set<T> delete(final Iterable<? extends T> values) {
+        return (this.store instanceof PersistentHashSet<T> x) ? this.with(x.minusAll(values)) : $set_optimized.super.delete(values);
+    }
 }
 
 interface $set_optimized<T>
@@ -0,0 +1,131 @@
+// Copyright 2026 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently;
+
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import jp.root42.indolently.bridge.CompactSerial;
+import jp.root42.indolently.bridge.ObjFactory;
+
+
+/**
+ * Serialization of the stores of {@link $list_impl}, {@link $set_impl} and {@link $map_impl}, which are
+ * {@link java.io.Externalizable} by themselves so that the references to them, including cyclic ones, are kept.
+ * The stores created by {@link ObjFactory} with default settings and the persistent stores are written in
+ * {@link CompactSerial} format, and read into the same kind of store. The others, e.g. sorted or concurrent stores,
+ * are written as is.
+ *
+ * @author takahashikzn
+ */
+final class CollectionSerial {
+
+    private CollectionSerial() { }
+
+    private static final int LIST = 1;
+
+    private static final int VECTOR = 2;
+
+    private static final int OTHER_LIST = 3;
+
+    private static final int SET = 4;
+
+    private static final int PERSISTENT_SET = 5;
+
+    private static final int OTHER_SET = 6;
+
+    private static final int MAP = 7;
+
+    private static final int PERSISTENT_MAP = 8;
+
+    private static final int OTHER_MAP = 9;
+
+    private static boolean plain(final Object store, final Object sample) { return store.getClass() == sample.getClass(); }
+
+    static void writeList(final ObjectOutput out, final List<?> store) throws IOException {
+        final int kind = (store instanceof PersistentVector) ? VECTOR : plain(store, ObjFactory.getInstance().newList()) ? LIST : OTHER_LIST;
+
+        write(out, kind, store);
+    }
+
+    static void writeSet(final ObjectOutput out, final Set<?> store) throws IOException {
+        final int kind = (store instanceof PersistentHashSet) ? PERSISTENT_SET : plain(store, ObjFactory.getInstance().newSet()) ? SET : OTHER_SET;
+
+        write(out, kind, store);
+    }
+
+    static void writeMap(final ObjectOutput out, final Map<?, ?> store) throws IOException {
+        final int kind = (store instanceof PersistentHashMap) ? PERSISTENT_MAP : plain(store, ObjFactory.getInstance().newMap()) ? MAP : OTHER_MAP;
+
+        out.writeByte(kind);
+
+        if (kind == OTHER_MAP) out.writeObject(store);
+        else CompactSerial.writeMap(out, store);
+    }
+
+    private static void write(final ObjectOutput out, final int kind, final Collection<?> store) throws IOException {
+        out.writeByte(kind);
+
+        if ((kind == OTHER_LIST) || (kind == OTHER_SET)) out.writeObject(store);
+        else CompactSerial.writeAll(out, store);
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> List<T> readList(final ObjectInput in) throws IOException, ClassNotFoundException {
+        final var factory = ObjFactory.getInstance();
+        final int kind = in.readUnsignedByte();
+
+        return switch (kind) {
+            case LIST -> CompactSerial.readAll(in, factory::newList);
+            case VECTOR -> PersistentVector.of(CompactSerial.<T, List<T>> readAll(in, factory::newList), Function.identity());
+            case OTHER_LIST -> (List<T>) in.readObject();
+            default -> throw unknown(kind);
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> Set<T> readSet(final ObjectInput in) throws IOException, ClassNotFoundException {
+        final var factory = ObjFactory.getInstance();
+        final int kind = in.readUnsignedByte();
+
+        return switch (kind) {
+            case SET -> CompactSerial.readAll(in, factory::newSet);
+            case PERSISTENT_SET -> PersistentHashSet.of(CompactSerial.<T, List<T>> readAll(in, factory::newList), Function.identity());
+            case OTHER_SET -> (Set<T>) in.readObject();
+            default -> throw unknown(kind);
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    static <K, V> Map<K, V> readMap(final ObjectInput in) throws IOException, ClassNotFoundException {
+        final var factory = ObjFactory.getInstance();
+        final int kind = in.readUnsignedByte();
+
+        return switch (kind) {
+            case MAP -> CompactSerial.readMap(in, factory::newMap);
+            case PERSISTENT_MAP -> PersistentHashMap.of(CompactSerial.<K, V, Map<K, V>> readMap(in, factory::newMap), Function.identity());
+            case OTHER_MAP -> (Map<K, V>) in.readObject();
+            default -> throw unknown(kind);
+        };
+    }
+
+    private static InvalidObjectException unknown(final int kind) { return new InvalidObjectException("unknown kind: (kind = %d)".formatted(kind)); }
+}
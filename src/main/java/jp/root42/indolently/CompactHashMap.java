@@ -0,0 +1,130 @@
+// Copyright 2026 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+
+/**
+ * Immutable hash map laid out for lookup: the keys are a {@link CompactHashSet} and the values are the parallel array.
+ * Any mutator of {@link java.util.Map} throws {@link UnsupportedOperationException}.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ * @author takahashikzn
+ */
+final class CompactHashMap<K, V>
+    extends AbstractMap<K, V>
+    implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 6385021791526083346L;
+
+    private final CompactHashSet<K> keys;
+
+    private final Object[] vals;
+
+    private CompactHashMap(final CompactHashSet<K> keys, final Object[] vals) {
+        this.keys = keys;
+        this.vals = vals;
+    }
+
+    static <K, V> CompactHashMap<K, V> of(final Map<? extends K, ? extends V> map) {
+        final Object[] keys = new Object[map.size()];
+        final Object[] vals = new Object[keys.length];
+
+        int i = 0;
+        for (final var e: map.entrySet()) {
+            keys[i] = e.getKey();
+            vals[i++] = e.getValue();
+        }
+
+        return new CompactHashMap<>(new CompactHashSet<>(keys), vals);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public V get(final Object key) {
+        final int i = this.keys.indexOf(key);
+        return (i < 0) ? null : (V) this.vals[i];
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public V getOrDefault(final Object key, final V defaultValue) {
+        final int i = this.keys.indexOf(key);
+        return (i < 0) ? defaultValue : (V) this.vals[i];
+    }
+
+    @Override
+    public boolean containsKey(final Object key) { return this.keys.contains(key); }
+
+    @Override
+    public int size() { return this.vals.length; }
+
+    @Override
+    public Set<K> keySet() { return this.keys; }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Collection<V> values() { return Collections.unmodifiableList(Arrays.asList((V[]) this.vals)); }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void forEach(final BiConsumer<? super K, ? super V> f) {
+        final var it = this.keys.iterator();
+        for (final Object v: this.vals)
+            f.accept(it.next(), (V) v);
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        return new AbstractSet<>() {
+
+            @Override
+            public int size() { return CompactHashMap.this.size(); }
+
+            @Override
+            public Iterator<Map.Entry<K, V>> iterator() {
+                final var it = CompactHashMap.this.keys.iterator();
+
+                return new Iterator<>() {
+
+                    private int i;
+
+                    @Override
+                    public boolean hasNext() { return it.hasNext(); }
+
+                    @SuppressWarnings("unchecked")
+                    @Override
+                    public Map.Entry<K, V> next() {
+                        if (!this.hasNext()) throw new NoSuchElementException();
+                        return new SimpleImmutableEntry<>(it.next(), (V) CompactHashMap.this.vals[this.i++]);
+                    }
+                };
+            }
+        };
+    }
+}
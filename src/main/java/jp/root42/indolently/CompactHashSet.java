@@ -0,0 +1,167 @@
+// Copyright 2026 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+
+/**
+ * Immutable hash set laid out for lookup. Elements are kept in a flat array in the source order, and indexed by an
+ * open-addressed table at most half full. For up to {@value #PERFECT_MAX} elements the table size and the hash
+ * multiplier are searched for no collision, and if found every lookup probes only once.
+ * Any mutator of {@link java.util.Set} throws {@link UnsupportedOperationException}.
+ *
+ * @param <T> element type
+ * @author takahashikzn
+ */
+final class CompactHashSet<T>
+    extends AbstractSet<T>
+    implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = -2785306385911651462L;
+
+    static final int PERFECT_MAX = 32;
+
+    private static final int GOLDEN = 0x9E3779B9;
+
+    private static final int SEEDS = 16;
+
+    private final Object[] elems;
+
+    private final int[] hashes;
+
+    /** index of the element plus one. zero means empty. */
+    private final int[] table;
+
+    private final int shift;
+
+    private final int mul;
+
+    private final boolean perfect;
+
+    /**
+     * @param elems distinct elements
+     */
+    static <T> CompactHashSet<T> of(final Collection<? extends T> elems) { return new CompactHashSet<>(elems.toArray()); }
+
+    /**
+     * @param elems distinct elements. the array is kept as is.
+     */
+    CompactHashSet(final Object[] elems) {
+        final int n = elems.length;
+
+        this.elems = elems;
+        this.hashes = new int[n];
+        for (int i = 0; i < n; i++)
+            this.hashes[i] = Objects.hashCode(elems[i]);
+
+        final int bits = Math.max(1, 32 - Integer.numberOfLeadingZeros(Math.max(1, n * 2 - 1)));
+
+        if (n <= PERFECT_MAX) {
+            for (int b = bits; b < bits + 3; b++) {
+                for (int seed = 0; seed < SEEDS; seed++) {
+                    final int m = (GOLDEN * ((seed << 1) + 1)) ^ (seed << 16);
+                    final int[] t = this.place(b, m, true);
+
+                    if (t != null) {
+                        this.table = t;
+                        this.shift = 32 - b;
+                        this.mul = m;
+                        this.perfect = true;
+                        return;
+                    }
+                }
+            }
+        }
+
+        this.table = this.place(bits, GOLDEN, false);
+        this.shift = 32 - bits;
+        this.mul = GOLDEN;
+        this.perfect = false;
+    }
+
+    /**
+     * @return the table, or null if collided when {@code perfect} is specified
+     */
+    private int[] place(final int bits, final int m, final boolean perfect) {
+        final int[] t = new int[1 << bits];
+        final int mask = t.length - 1;
+
+        for (int i = 0; i < this.hashes.length; i++) {
+            int s = (this.hashes[i] * m) >>> (32 - bits);
+
+            while (t[s] != 0) {
+                if (perfect) return null;
+                s = (s + 1) & mask;
+            }
+
+            t[s] = i + 1;
+        }
+
+        return t;
+    }
+
+    /**
+     * @return the index of the element in the source order, or -1 if not found
+     */
+    int indexOf(final Object o) {
+        final int h = Objects.hashCode(o);
+        final int mask = this.table.length - 1;
+
+        for (int s = (h * this.mul) >>> this.shift; ; s = (s + 1) & mask) {
+            final int i = this.table[s] - 1;
+
+            if (i < 0) return -1;
+            if ((this.hashes[i] == h) && Objects.equals(o, this.elems[i])) return i;
+            if (this.perfect) return -1;
+        }
+    }
+
+    @Override
+    public boolean contains(final Object o) { return 0 <= this.indexOf(o); }
+
+    @Override
+    public int size() { return this.elems.length; }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Iterator<T> iterator() { return Arrays.asList((T[]) this.elems).iterator(); }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void forEach(final Consumer<? super T> f) {
+        for (final Object x: this.elems)
+            f.accept((T) x);
+    }
+
+    @Override
+    public Object[] toArray() { return this.elems.clone(); }
+
+    @Override
+    public int hashCode() {
+        int h = 0;
+        for (final int x: this.hashes)
+            h += x;
+
+        return h;
+    }
+}
@@ -24,6 +24,7 @@ import java.lang.ref.Cleaner;
 import java.lang.reflect.Array;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.CharBuffer;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
@@ -33,6 +34,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Enumeration;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -40,6 +42,8 @@ import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
 import java.util.StringJoiner;
 import java.util.concurrent.Callable;
 import java.util.concurrent.Executor;
@@ -51,6 +55,7 @@ import java.util.function.BooleanSupplier;
 import java.util.function.Consumer;
 import java.util.function.DoublePredicate;
 import java.util.function.Function;
+import java.util.function.IntBinaryOperator;
 import java.util.function.IntPredicate;
 import java.util.function.LongPredicate;
 import java.util.function.Predicate;
@@ -84,6 +89,7 @@ import jp.root42.indolently.ref.tpl3;
 import jp.root42.indolently.regex.AutomatonTest;
 import jp.root42.indolently.regex.ReTest;
 import jp.root42.indolently.regex.Regex;
+import jp.root42.indolently.regex.RegexCache;
 import jp.root42.indolently.regex.RegexJDK;
 import jp.root42.indolently.regex.RegexRe2;
 
@@ -547,9 +553,14 @@ public class Indolently {
      * @return new list
      */
     public static <T> $list<T> list(final Iterable<? extends T> elems) {
-        return new $list_impl<T>().pushAll(opt(elems));
+        return new $list_impl<T>(ObjFactory.getInstance().newList(sizeHint(elems))).pushAll(opt(elems));
     }
 
+    /**
+     * @return the size of the elements, or zero if unknown
+     */
+    static int sizeHint(final Iterable<?> elems) { return (elems instanceof Collection<?> x) ? x.size() : 0; }
+
     /**
      * construct new list which contains specified elements.
      *
@@ -561,7 +572,7 @@ public class Indolently {
     @SuppressWarnings({ "varargs", "RedundantSuppression" })
     public static <T> $list<T> list(final T... elems) {
 
-        final $list<T> list = new $list_impl<>();
+        final $list<T> list = new $list_impl<>(ObjFactory.getInstance().newList((elems == null) ? 0 : elems.length));
 
         if (elems != null) {
             Collections.addAll(list, elems);
@@ -788,6 +799,7 @@ public class Indolently {
      *
      * @param elems elements of array
      * @return int list
+     * @see #intlist(int...)
      */
     public static $list<Integer> plist(final int... elems) {
         final $list<Integer> list = list();
@@ -800,6 +812,7 @@ public class Indolently {
      *
      * @param elems elements of array
      * @return long list
+     * @see #longlist(long...)
      */
     public static $list<Long> plist(final long... elems) {
         final $list<Long> list = list();
@@ -836,6 +849,7 @@ public class Indolently {
      *
      * @param elems elements of array
      * @return double list
+     * @see #doublelist(double...)
      */
     public static $list<Double> plist(final double... elems) {
         final $list<Double> list = list();
@@ -855,9 +869,35 @@ public class Indolently {
         return list;
     }
 
+    /**
+     * Create an unboxed list of {@code int}.
+     *
+     * @param elems elements of array
+     * @return int list
+     */
+    public static $intlist intlist(final int... elems) { return $intlist.of(elems); }
+
+    /**
+     * Create an unboxed list of {@code long}.
+     *
+     * @param elems elements of array
+     * @return long list
+     */
+    public static $longlist longlist(final long... elems) { return $longlist.of(elems); }
+
+    /**
+     * Create an unboxed list of {@code double}.
+     *
+     * @param elems elements of array
+     * @return double list
+     */
+    public static $doublelist doublelist(final double... elems) { return $doublelist.of(elems); }
+
     public static <T> $set<T> set(final $<? extends T> elem) { return new $set_impl<T>().push(elem); }
 
-    public static <T> $set<T> set(final Iterable<? extends T> elems) { return new $set_impl<T>().pushAll(opt(elems)); }
+    public static <T> $set<T> set(final Iterable<? extends T> elems) {
+        return new $set_impl<T>(ObjFactory.getInstance().newSet(sizeHint(elems))).pushAll(opt(elems));
+    }
 
     /**
      * Just an alias of {@link #set(Object...)} but not overloaded one.
@@ -889,9 +929,9 @@ public class Indolently {
     @SuppressWarnings({ "varargs", "RedundantSuppression" })
     public static <T> $set<T> set(final T... elems) {
 
-        final $set<T> set = new $set_impl<>();
+        final $set<T> set = new $set_impl<>(ObjFactory.getInstance().newSet((elems == null) ? 0 : elems.length));
 
-        if (elems != null) set.addAll(list(elems));
+        if (elems != null) Collections.addAll(set, elems);
 
         return set;
     }
@@ -937,10 +977,41 @@ public class Indolently {
         return rslt;
     }
 
-    public static <T> $list<T> uniq(final List<? extends T> elems) {
-        return uniq(elems, (x, y) -> equal(x, y));
+    /**
+     * Remove duplicated elements in terms of {@link Object#equals(Object)}, keeping the first occurrence.
+     * This operation costs O(n).
+     *
+     * @param elems elements
+     * @return new list
+     */
+    public static <T> $list<T> uniq(final List<? extends T> elems) { return uniq(elems, Function.identity()); }
+
+    /**
+     * Remove duplicated elements in terms of the key, keeping the first occurrence.
+     * This operation costs O(n).
+     *
+     * @param elems elements
+     * @param key key extractor, whose result is compared by {@link Object#equals(Object)}
+     * @return new list
+     */
+    public static <T> $list<T> uniq(final List<? extends T> elems, final Function<? super T, ?> key) {
+        final var seen = new HashSet<>(Math.max(16, (int) (elems.size() / 0.75f) + 1));
+        final $list<T> ret = list();
+
+        for (final T x: elems)
+            if (seen.add(key.apply(x))) ret.add(x);
+
+        return ret;
     }
 
+    /**
+     * Remove duplicated elements in terms of the function, keeping the first occurrence.
+     * This operation costs O(n<sup>2</sup>). Use {@link #uniq(List, Function)} if possible.
+     *
+     * @param elems elements
+     * @param f equality
+     * @return new list
+     */
     public static <T> $list<T> uniq(final List<? extends T> elems, final BiPredicate<? super T, ? super T> f) {
 
         return $(elems).reduce(list(), (ret, x) -> {
@@ -951,23 +1022,82 @@ public class Indolently {
     }
 
     @SuppressWarnings("rawtypes")
-    private static <T> T freeze0(final T x) {
+    static <T> T freeze0(final T x) {
         if (x instanceof Map) return cast(freeze((Map) x));
         if (x instanceof Set) return cast(freeze((Set) x));
         if (x instanceof List) return cast(freeze((List) x));
         return x;
     }
 
+    /**
+     * Freeze the map deeply. The result is a persistent map whose {@link $map#push(Object, Object)} and friends return
+     * new version sharing the structure with this version in O(log n), instead of modifying itself.
+     *
+     * @param <K> key type
+     * @param <V> value type
+     * @param map map to freeze
+     * @return frozen map, or the argument itself if already frozen
+     */
     public static <K, V> $map<K, V> freeze(final Map<? extends K, ? extends V> map) {
-        return (map instanceof $map_impl impl) && impl.frozen() ? cast(map) : $(Collections.unmodifiableMap($(map).map(Indolently::freeze0)));
+        return (map instanceof $map_impl impl) && impl.frozen() ? cast(map) : new $map_impl<>(PersistentHashMap.of(map, Indolently::freeze0));
     }
 
+    /**
+     * Freeze the set deeply. The result is a persistent set whose {@link $set#push(Object)} and friends return new
+     * version sharing the structure with this version in O(log n), instead of modifying itself.
+     *
+     * @param <T> element type
+     * @param set set to freeze
+     * @return frozen set, or the argument itself if already frozen
+     */
     public static <T> $set<T> freeze(final Set<? extends T> set) {
-        return (set instanceof $set_impl impl) && impl.frozen() ? cast(set) : $(Collections.unmodifiableSet($(set).map(Indolently::freeze0)));
+        return (set instanceof $set_impl impl) && impl.frozen() ? cast(set) : new $set_impl<>(PersistentHashSet.of(set, Indolently::freeze0));
     }
 
+    /**
+     * Freeze the list deeply. The result is a persistent list whose {@link $list#push(Object)} and friends return new
+     * version sharing the structure with this version, instead of modifying itself. Appending and replacing cost
+     * O(log n) while insertion and removal rebuild the list.
+     *
+     * @param <T> element type
+     * @param list list to freeze
+     * @return frozen list, or the argument itself if already frozen
+     */
     public static <T> $list<T> freeze(final List<? extends T> list) {
-        return (list instanceof $list_impl impl) && impl.frozen() ? cast(list) : $(Collections.unmodifiableList($(list).map(Indolently::freeze0)));
+        return (list instanceof $list_impl impl) && impl.frozen() ? cast(list) : new $list_impl<>(PersistentVector.of(list, Indolently::freeze0));
+    }
+
+    /**
+     * Create read-optimized immutable snapshot of the map, for the maps built once and looked up many times.
+     * Hash maps are laid out in flat arrays in the iteration order indexed by an open-addressed table at most half
+     * full. For small key sets the table is searched for no collision so that a lookup probes only once. Sorted maps
+     * are laid out in sorted arrays searched in binary.
+     * Unlike {@link #freeze(Map)}, the values aren't frozen and modifications throw
+     * {@link UnsupportedOperationException}.
+     *
+     * @param <K> key type
+     * @param <V> value type
+     * @param map map to optimize
+     * @return read-optimized map
+     */
+    public static <K, V> $map<K, V> optimize(final Map<? extends K, ? extends V> map) {
+        final Map<? extends K, ? extends V> src = (map instanceof $map_impl<? extends K, ? extends V> x) ? x.getDelegate() : map;
+
+        return new $map_impl<>((src instanceof SortedMap<? extends K, ? extends V> x) ? SortedArrayMap.of(x) : CompactHashMap.of(src));
+    }
+
+    /**
+     * Create read-optimized immutable snapshot of the set.
+     *
+     * @param <T> element type
+     * @param set set to optimize
+     * @return read-optimized set
+     * @see #optimize(Map)
+     */
+    public static <T> $set<T> optimize(final Set<? extends T> set) {
+        final Set<? extends T> src = (set instanceof $set_impl<? extends T> x) ? x.getDelegate() : set;
+
+        return new $set_impl<>((src instanceof SortedSet<? extends T> x) ? SortedArraySet.of(x) : CompactHashSet.of(src));
     }
 
     /**
@@ -1760,11 +1890,65 @@ public class Indolently {
     public static Set<?> typed(final Set raw) { return raw; }
 
     public static <K, V> $map<K, V> map(final Map<? extends K, ? extends V> map) {
-        return new $map_impl<K, V>().pushAll(opt(map));
+        return new $map_impl<K, V>(ObjFactory.getInstance().newMap((map == null) ? 0 : map.size())).pushAll(opt(map));
     }
 
     public static <K, V> $map<K, V> map() { return new $map_impl<>(); }
 
+    /**
+     * Construct new thread-safe map.
+     * {@link $map#push(Object, Object)}, {@link $map#pushIfAbsent(Object, Supplier)}, {@link $map#update(Object, Function)}
+     * and the methods of {@link Map} are atomic. {@link $map#delete(BiPredicate)} and {@link $map#update(BiFunction)}
+     * are atomic per entry. Constructive operations such as {@link $map#take(BiPredicate)} see a weakly consistent view
+     * of this map.
+     * Null keys and values are unsupported.
+     *
+     * @return new map
+     * @see ObjFactory#newConcurrentMap()
+     */
+    public static <K, V> $map<K, V> concurrentMap() { return new $map_impl<>(ObjFactory.getInstance().newConcurrentMap()); }
+
+    /**
+     * Construct new thread-safe set. Each destructive operation is atomic per element.
+     * Null elements are unsupported.
+     *
+     * @return new set
+     * @see ObjFactory#newConcurrentSet()
+     */
+    public static <T> $set<T> concurrentSet() { return new $set_impl<>(ObjFactory.getInstance().newConcurrentSet()); }
+
+    /**
+     * Create a map from unboxed {@code int}.
+     *
+     * @param <V> value type
+     * @return new map
+     */
+    public static <V> $intmap<V> intmap() { return new $intmap<>(); }
+
+    /**
+     * Create a map from unboxed {@code long}.
+     *
+     * @param <V> value type
+     * @return new map
+     */
+    public static <V> $longmap<V> longmap() { return new $longmap<>(); }
+
+    /**
+     * Create a map to unboxed {@code long}, e.g. for counting.
+     *
+     * @param <K> key type
+     * @return new map
+     */
+    public static <K> $objlongmap<K> objlongmap() { return new $objlongmap<>(); }
+
+    /**
+     * Create a map to unboxed {@code double}.
+     *
+     * @param <K> key type
+     * @return new map
+     */
+    public static <K> $objdoublemap<K> objdoublemap() { return new $objdoublemap<>(); }
+
     /**
      * Just for producing compilation warning.
      *
@@ -2604,35 +2788,76 @@ public class Indolently {
 
     public static Regex re(final String regex) { return re(regex, "`"); }
 
+    /**
+     * Create pattern instance. The compiled pattern is cached by {@link RegexCache}.
+     *
+     * @param regex pattern string
+     * @param escape the string which is used as an alternative of backslash
+     * @return pattern instance
+     */
     public static Regex re(final String regex, final String escape) {
-        return new Regex(Regexive.regex(empty(escape) ? regex : regex.replaceAll(escape, "\\\\")));
+        return RegexCache.getInstance().get("re", regex, escape, () -> new Regex(Regexive.regex(unescape(regex, escape))));
     }
 
     public static Function<String, RegexJDK> re1() { return regex -> re1(regex); }
 
     public static RegexJDK re1(final String regex) { return re1(regex, "`"); }
 
+    /**
+     * Create JDK pattern instance. The compiled pattern is cached by {@link RegexCache}.
+     *
+     * @param regex pattern string
+     * @param escape the string which is used as an alternative of backslash
+     * @return pattern instance
+     */
     public static RegexJDK re1(final String regex, final String escape) {
-        return Regexive.regex1(empty(escape) ? regex : regex.replaceAll(escape, "\\\\"));
+        return RegexCache.getInstance().get("re1", regex, escape, () -> Regexive.regex1(unescape(regex, escape)));
     }
 
     public static Function<String, RegexRe2> re2() { return regex -> re2(regex); }
 
     public static RegexRe2 re2(final String regex) { return re2(regex, "`"); }
 
+    /**
+     * Create RE2 pattern instance. The compiled pattern is cached by {@link RegexCache}.
+     *
+     * @param regex pattern string
+     * @param escape the string which is used as an alternative of backslash
+     * @return pattern instance
+     */
     public static RegexRe2 re2(final String regex, final String escape) {
-        return Regexive.regex2(empty(escape) ? regex : regex.replaceAll(escape, "\\\\"));
+        return RegexCache.getInstance().get("re2", regex, escape, () -> Regexive.regex2(unescape(regex, escape)));
+    }
+
+    private static String unescape(final String regex, final String escape) {
+        return empty(escape) ? regex : regex.replace(escape, "\\");
     }
 
     public static RegexJDK re(final Pattern regex) { return Regexive.regex1(regex); }
 
     public static Function<String, ReTest> retest() { return Indolently::retest; }
 
-    public static ReTest retest(final String regex) { return Regexive.tester(regex); }
+    /**
+     * Create tester instance. The compiled tester is cached by {@link RegexCache}.
+     *
+     * @param regex pattern string
+     * @return tester instance
+     */
+    public static ReTest retest(final String regex) {
+        return RegexCache.getInstance().get("retest", regex, null, () -> Regexive.tester(regex));
+    }
 
     public static Function<String, ReTest> refind() { return Indolently::refind; }
 
-    public static ReTest refind(final String regex) {
+    /**
+     * Create finder instance. The compiled finder is cached by {@link RegexCache}.
+     *
+     * @param regex pattern string
+     * @return finder instance
+     */
+    public static ReTest refind(final String regex) { return RegexCache.getInstance().get("refind", regex, null, () -> refind0(regex)); }
+
+    private static ReTest refind0(final String regex) {
         final var ptest = retest(regex);
 
         if (ptest instanceof AutomatonTest) {
@@ -2754,28 +2979,27 @@ public class Indolently {
         if (to < 0) to = s.length() + to;
         checkSplitRange(s, from, to);
 
-        final var chars = s.toCharArray();
-        final int begin = from;
-        final int end = to;
-
         final $list<String> ret = list();
-        int cur = begin;
-        for (int i = cur; i < end; i++) {
-            final var c = chars[i];
-
-            if (c == sep) {
-                ret.add(s.substring(cur, i));
-                cur = i + 1;
-            }
-        }
+        int cur = from;
+        for (int i; 0 <= (i = indexOf(s, sep, cur, to)); cur = i + 1)
+            ret.add(s.substring(cur, i));
 
-        ret.add(s.substring(cur, end));
+        ret.add(s.substring(cur, to));
 
         return ret;
     }
 
     public static List<String> split(final String s, final String sep) { return split(s, sep, 0, s.length()); }
 
+    /**
+     * Split string by the separator. The separator is searched in linear time.
+     *
+     * @param s string to split
+     * @param sep separator
+     * @param from the beginning index of the range to split, inclusive. negative value counts from the end.
+     * @param to the ending index of the range to split, exclusive. negative value counts from the end.
+     * @return fields
+     */
     public static List<String> split(final String s, final String sep, int from, int to) {
         final int sl = sep.length();
         if (sl == 0) return list(s);
@@ -2785,21 +3009,109 @@ public class Indolently {
         if (to < 0) to = s.length() + to;
         checkSplitRange(s, from, to);
 
-        final int begin = from;
-        final int end = to;
+        final var failure = failure(sep);
 
         final $list<String> ret = list();
-        int cur = begin;
-        for (int i = cur; i < end; i++) {
-            if (s.indexOf(sep, cur) == i) {
-                ret.add(s.substring(cur, i));
-                cur = i + sl;
+        int cur = from;
+        for (int i; 0 <= (i = indexOf(s, sep, failure, cur, to)); cur = i + sl)
+            ret.add(s.substring(cur, i));
+
+        ret.add(s.substring(cur, to));
+
+        return ret;
+    }
+
+    /**
+     * Split character sequence by the separator lazily. Same as {@link #split(String, char)} but fields are the views of
+     * the original, and only the fields actually iterated are searched.
+     *
+     * @param cs character sequence to split
+     * @param sep separator
+     * @return iterator of fields
+     */
+    public static $iter<CharSequence> splitter(final CharSequence cs, final char sep) {
+        return splitter(cs, 1, (from, to) -> indexOf(cs, sep, from, to));
+    }
+
+    /**
+     * Split character sequence by the separator lazily. Same as {@link #split(String, String)} but fields are the views
+     * of the original, and only the fields actually iterated are searched.
+     *
+     * @param cs character sequence to split
+     * @param sep separator
+     * @return iterator of fields
+     */
+    public static $iter<CharSequence> splitter(final CharSequence cs, final String sep) {
+        final int sl = sep.length();
+        if (sl == 0) return $(List.<CharSequence> of(cs).iterator());
+        if (sl == 1) return splitter(cs, sep.charAt(0));
+
+        final var failure = failure(sep);
+        return splitter(cs, sl, (from, to) -> indexOf(cs, sep, failure, from, to));
+    }
+
+    private static $iter<CharSequence> splitter(final CharSequence cs, final int sl, final IntBinaryOperator find) {
+
+        return $(new Iterator<CharSequence>() {
+
+            private final int len = cs.length();
+
+            /** the beginning of the next field, or negative after the last field. */
+            private int cur;
+
+            @Override
+            public boolean hasNext() { return 0 <= this.cur; }
+
+            @Override
+            public CharSequence next() {
+                if (this.cur < 0) throw new NoSuchElementException();
+
+                final int from = this.cur;
+                final int i = find.applyAsInt(from, this.len);
+
+                this.cur = (i < 0) ? -1 : (i + sl);
+                return CharBuffer.wrap(cs, from, (i < 0) ? this.len : i);
             }
+        });
+    }
+
+    private static int indexOf(final CharSequence cs, final char c, final int from, final int to) {
+        for (int i = from; i < to; i++)
+            if (cs.charAt(i) == c) return i;
+
+        return -1;
+    }
+
+    /**
+     * Knuth-Morris-Pratt failure function, i.e. the length of the longest proper border of each prefix.
+     */
+    private static int[] failure(final String sep) {
+        final var f = new int[sep.length()];
+
+        for (int i = 1, k = 0; i < f.length; i++) {
+            while ((0 < k) && (sep.charAt(i) != sep.charAt(k))) k = f[k - 1];
+            if (sep.charAt(i) == sep.charAt(k)) k++;
+
+            f[i] = k;
         }
 
-        ret.add(s.substring(cur, end));
+        return f;
+    }
 
-        return ret;
+    /**
+     * Find the separator lying entirely in the range, reading each character once.
+     */
+    private static int indexOf(final CharSequence cs, final String sep, final int[] failure, final int from, final int to) {
+        final int sl = sep.length();
+
+        for (int i = from, k = 0; i < to; i++) {
+            final char c = cs.charAt(i);
+
+            while ((0 < k) && (c != sep.charAt(k))) k = failure[k - 1];
+            if ((c == sep.charAt(k)) && (++k == sl)) return i - sl + 1;
+        }
+
+        return -1;
     }
 
     private static void checkSplitRange(final String s, final int from, final int to) {
@@ -179,7 +179,7 @@ public final class Numeric {
         catch (final IllegalArgumentException e) { return $.none(); }
     }
 
-    private static final $map<String, Integer> intCache = range(0, 256).list().mapmap(x -> "" + x, it()).freeze();
+    private static final $map<String, Integer> intCache = range(0, 256).list().mapmap(x -> "" + x, it()).optimize();
 
     public static $<Integer> parseInt(final String s) {
         final var i = intCache.get(s);
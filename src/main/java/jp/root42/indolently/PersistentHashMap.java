@@ -0,0 +1,464 @@
+// Copyright 2026 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+
+/**
+ * Persistent hash map: hash array mapped trie whose modification returns new version sharing the structure with the
+ * old one. Modification costs O(log32 n) node copies. Null keys and null values are allowed.
+ * Any mutator of {@link Map} throws {@link UnsupportedOperationException}.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ * @author takahashikzn
+ */
+final class PersistentHashMap<K, V>
+    extends AbstractMap<K, V>
+    implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = -1730582619617461537L;
+
+    private static final int BITS = 5;
+
+    private static final int MASK = (1 << BITS) - 1;
+
+    private static final Object NOT_FOUND = new Object();
+
+    @SuppressWarnings("rawtypes")
+    private static final PersistentHashMap EMPTY = new PersistentHashMap<>(null, false, null, 0);
+
+    /** null if empty. */
+    private final Node root;
+
+    private final boolean hasNull;
+
+    private final V nullValue;
+
+    private final int size;
+
+    private transient Set<Map.Entry<K, V>> entries;
+
+    private PersistentHashMap(final Node root, final boolean hasNull, final V nullValue, final int size) {
+        this.root = root;
+        this.hasNull = hasNull;
+        this.nullValue = nullValue;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <K, V> PersistentHashMap<K, V> empty() { return EMPTY; }
+
+    /**
+     * Create new map from the entries.
+     *
+     * @param map entries
+     * @param f value converter
+     * @return new map
+     */
+    static <K, V, W> PersistentHashMap<K, W> of(final Map<? extends K, ? extends V> map, final Function<? super V, ? extends W> f) {
+        PersistentHashMap<K, W> ret = empty();
+        for (final var e: map.entrySet())
+            ret = ret.plus(e.getKey(), f.apply(e.getValue()));
+
+        return ret;
+    }
+
+    private static int hash(final Object key) {
+        final int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    @Override
+    public int size() { return this.size; }
+
+    @Override
+    public boolean containsKey(final Object key) { return this.find(key) != NOT_FOUND; }
+
+    @Override
+    public V get(final Object key) {
+        final var val = this.find(key);
+        //noinspection unchecked
+        return (val == NOT_FOUND) ? null : (V) val;
+    }
+
+    @Override
+    public V getOrDefault(final Object key, final V defaultValue) {
+        final var val = this.find(key);
+        //noinspection unchecked
+        return (val == NOT_FOUND) ? defaultValue : (V) val;
+    }
+
+    private Object find(final Object key) {
+        if (key == null) return this.hasNull ? this.nullValue : NOT_FOUND;
+        return (this.root == null) ? NOT_FOUND : this.root.find(0, hash(key), key);
+    }
+
+    /**
+     * Associate the value with the key.
+     *
+     * @param key key
+     * @param value value
+     * @return new version, or {@code this} if nothing changes
+     */
+    PersistentHashMap<K, V> plus(final K key, final V value) {
+        if (key == null) {
+            if (this.hasNull && (this.nullValue == value)) return this;
+            return new PersistentHashMap<>(this.root, true, value, this.hasNull ? this.size : (this.size + 1));
+        }
+
+        final var added = new boolean[1];
+        final var newRoot = ((this.root == null) ? BitmapNode.EMPTY : this.root).assoc(0, hash(key), key, value, added);
+        if (newRoot == this.root) return this;
+
+        return new PersistentHashMap<>(newRoot, this.hasNull, this.nullValue, added[0] ? (this.size + 1) : this.size);
+    }
+
+    /**
+     * Associate all the entries.
+     *
+     * @param map entries
+     * @return new version, or {@code this} if nothing changes
+     */
+    PersistentHashMap<K, V> plusAll(final Map<? extends K, ? extends V> map) {
+        var ret = this;
+        for (final var e: map.entrySet())
+            ret = ret.plus(e.getKey(), e.getValue());
+
+        return ret;
+    }
+
+    /**
+     * Dissociate the key.
+     *
+     * @param key key
+     * @return new version, or {@code this} if nothing changes
+     */
+    PersistentHashMap<K, V> minus(final Object key) {
+        if (key == null) return this.hasNull ? new PersistentHashMap<>(this.root, false, null, this.size - 1) : this;
+        if (this.root == null) return this;
+
+        final var newRoot = this.root.without(0, hash(key), key);
+        if (newRoot == this.root) return this;
+
+        return new PersistentHashMap<>(newRoot, this.hasNull, this.nullValue, this.size - 1);
+    }
+
+    @Override
+    public void forEach(final BiConsumer<? super K, ? super V> f) {
+        if (this.hasNull) f.accept(null, this.nullValue);
+        if (this.root != null) this.root.forEach(f);
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        var x = this.entries;
+        if (x == null) {
+            this.entries = x = new AbstractSet<>() {
+
+                @Override
+                public int size() { return PersistentHashMap.this.size; }
+
+                @Override
+                public Iterator<Map.Entry<K, V>> iterator() { return new Iter(); }
+            };
+        }
+
+        return x;
+    }
+
+    /**
+     * Iterate entries with the stack of node arrays.
+     */
+    private final class Iter
+        implements Iterator<Map.Entry<K, V>> {
+
+        // 7 levels of 5 bits and a collision node
+        private final Object[][] arrays = new Object[8][];
+
+        private final int[] indexes = new int[8];
+
+        private int depth = -1;
+
+        private boolean pendingNull = PersistentHashMap.this.hasNull;
+
+        private Map.Entry<K, V> next;
+
+        Iter() {
+            if (PersistentHashMap.this.root != null) this.arrays[++this.depth] = PersistentHashMap.this.root.array;
+            this.next = this.advance();
+        }
+
+        @SuppressWarnings("unchecked")
+        private Map.Entry<K, V> advance() {
+            if (this.pendingNull) {
+                this.pendingNull = false;
+                return new SimpleImmutableEntry<>(null, PersistentHashMap.this.nullValue);
+            }
+
+            while (0 <= this.depth) {
+                final var array = this.arrays[this.depth];
+                final int i = this.indexes[this.depth];
+
+                if (array.length <= i) {
+                    this.indexes[this.depth--] = 0;
+                    continue;
+                }
+
+                this.indexes[this.depth] = i + 2;
+
+                final var key = array[i];
+                if (key == null) {
+                    this.arrays[++this.depth] = ((Node) array[i + 1]).array;
+                    continue;
+                }
+
+                return new SimpleImmutableEntry<>((K) key, (V) array[i + 1]);
+            }
+
+            return null;
+        }
+
+        @Override
+        public boolean hasNext() { return this.next != null; }
+
+        @Override
+        public Map.Entry<K, V> next() {
+            final var x = this.next;
+            if (x == null) throw new NoSuchElementException();
+
+            this.next = this.advance();
+            return x;
+        }
+    }
+
+    /**
+     * Trie node. The array holds key/value pairs, where null key means the value is a sub node.
+     */
+    private abstract static class Node
+        implements Serializable {
+
+        @Serial
+        private static final long serialVersionUID = 4404553470869414567L;
+
+        final Object[] array;
+
+        Node(final Object[] array) { this.array = array; }
+
+        abstract Object find(int shift, int hash, Object key);
+
+        /**
+         * @return {@code this} if nothing changes
+         */
+        abstract Node assoc(int shift, int hash, Object key, Object val, boolean[] added);
+
+        /**
+         * @return {@code this} if nothing changes, null if empty
+         */
+        abstract Node without(int shift, int hash, Object key);
+
+        @SuppressWarnings("unchecked")
+        final <K, V> void forEach(final BiConsumer<? super K, ? super V> f) {
+            for (int i = 0; i < this.array.length; i += 2) {
+                final var key = this.array[i];
+                if (key == null) ((Node) this.array[i + 1]).forEach(f);
+                else f.accept((K) key, (V) this.array[i + 1]);
+            }
+        }
+
+        static Object[] set(final Object[] array, final int i, final Object val) {
+            final var ret = array.clone();
+            ret[i] = val;
+            return ret;
+        }
+
+        static Object[] removePair(final Object[] array, final int i) {
+            final var ret = new Object[array.length - 2];
+            System.arraycopy(array, 0, ret, 0, i);
+            System.arraycopy(array, i + 2, ret, i, ret.length - i);
+            return ret;
+        }
+    }
+
+    private static final class BitmapNode
+        extends Node {
+
+        @Serial
+        private static final long serialVersionUID = -3383396393520858187L;
+
+        static final BitmapNode EMPTY = new BitmapNode(0, new Object[0]);
+
+        private final int bitmap;
+
+        BitmapNode(final int bitmap, final Object[] array) {
+            super(array);
+            this.bitmap = bitmap;
+        }
+
+        private static int bit(final int hash, final int shift) { return 1 << ((hash >>> shift) & MASK); }
+
+        private int index(final int bit) { return Integer.bitCount(this.bitmap & (bit - 1)) * 2; }
+
+        @Override
+        Object find(final int shift, final int hash, final Object key) {
+            final int bit = bit(hash, shift);
+            if ((this.bitmap & bit) == 0) return NOT_FOUND;
+
+            final int i = this.index(bit);
+            final var k = this.array[i];
+
+            if (k == null) return ((Node) this.array[i + 1]).find(shift + BITS, hash, key);
+            return key.equals(k) ? this.array[i + 1] : NOT_FOUND;
+        }
+
+        @Override
+        Node assoc(final int shift, final int hash, final Object key, final Object val, final boolean[] added) {
+            final int bit = bit(hash, shift);
+            final int i = this.index(bit);
+
+            if ((this.bitmap & bit) == 0) {
+                final var newArray = new Object[this.array.length + 2];
+                System.arraycopy(this.array, 0, newArray, 0, i);
+                newArray[i] = key;
+                newArray[i + 1] = val;
+                System.arraycopy(this.array, i, newArray, i + 2, this.array.length - i);
+
+                added[0] = true;
+                return new BitmapNode(this.bitmap | bit, newArray);
+            }
+
+            final var k = this.array[i];
+            final var v = this.array[i + 1];
+
+            if (k == null) {
+                final var node = ((Node) v).assoc(shift + BITS, hash, key, val, added);
+                return (node == v) ? this : new BitmapNode(this.bitmap, set(this.array, i + 1, node));
+            }
+
+            if (key.equals(k)) return (v == val) ? this : new BitmapNode(this.bitmap, set(this.array, i + 1, val));
+
+            added[0] = true;
+
+            final var newArray = set(this.array, i, null);
+            newArray[i + 1] = split(shift + BITS, k, v, hash, key, val);
+            return new BitmapNode(this.bitmap, newArray);
+        }
+
+        private static Node split(final int shift, final Object k1, final Object v1, final int h2, final Object k2, final Object v2) {
+            final int h1 = hash(k1);
+            if (h1 == h2) return new CollisionNode(h1, new Object[] { k1, v1, k2, v2 });
+
+            final var ignored = new boolean[1];
+            return EMPTY.assoc(shift, h1, k1, v1, ignored).assoc(shift, h2, k2, v2, ignored);
+        }
+
+        @Override
+        Node without(final int shift, final int hash, final Object key) {
+            final int bit = bit(hash, shift);
+            if ((this.bitmap & bit) == 0) return this;
+
+            final int i = this.index(bit);
+            final var k = this.array[i];
+            final var v = this.array[i + 1];
+
+            if (k == null) {
+                final var node = ((Node) v).without(shift + BITS, hash, key);
+                if (node == v) return this;
+                if (node != null) return new BitmapNode(this.bitmap, set(this.array, i + 1, node));
+            } else if (!key.equals(k)) {
+                return this;
+            }
+
+            return (this.bitmap == bit) ? null : new BitmapNode(this.bitmap ^ bit, removePair(this.array, i));
+        }
+    }
+
+    private static final class CollisionNode
+        extends Node {
+
+        @Serial
+        private static final long serialVersionUID = 2254846270962539045L;
+
+        private final int hash;
+
+        CollisionNode(final int hash, final Object[] array) {
+            super(array);
+            this.hash = hash;
+        }
+
+        private int index(final Object key) {
+            for (int i = 0; i < this.array.length; i += 2)
+                if (key.equals(this.array[i])) return i;
+
+            return -1;
+        }
+
+        @Override
+        Object find(final int shift, final int hash, final Object key) {
+            if (hash != this.hash) return NOT_FOUND;
+
+            final int i = this.index(key);
+            return (i < 0) ? NOT_FOUND : this.array[i + 1];
+        }
+
+        @Override
+        Node assoc(final int shift, final int hash, final Object key, final Object val, final boolean[] added) {
+            if (hash != this.hash) {
+                return new BitmapNode(BitmapNode.bit(this.hash, shift), new Object[] { null, this }).assoc(shift, hash, key, val, added);
+            }
+
+            final int i = this.index(key);
+            if (0 <= i) return (this.array[i + 1] == val) ? this : new CollisionNode(hash, set(this.array, i + 1, val));
+
+            final var newArray = Arrays.copyOf(this.array, this.array.length + 2);
+            newArray[this.array.length] = key;
+            newArray[this.array.length + 1] = val;
+
+            added[0] = true;
+            return new CollisionNode(hash, newArray);
+        }
+
+        @Override
+        Node without(final int shift, final int hash, final Object key) {
+            final int i = (hash == this.hash) ? this.index(key) : -1;
+            if (i < 0) return this;
+
+            return (this.array.length == 2) ? null : new CollisionNode(hash, removePair(this.array, i));
+        }
+    }
+
+    @Override
+    public boolean equals(final Object o) { return (this == o) || super.equals(o); }
+
+    @Override
+    public int hashCode() {
+        final int[] hash = { 0 };
+        this.forEach((k, v) -> hash[0] += Objects.hashCode(k) ^ Objects.hashCode(v));
+
+        return hash[0];
+    }
+}
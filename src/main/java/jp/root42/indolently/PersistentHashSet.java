@@ -0,0 +1,128 @@
+// Copyright 2026 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+
+/**
+ * Persistent hash set backed by {@link PersistentHashMap}.
+ * Any mutator of {@link java.util.Set} throws {@link UnsupportedOperationException}.
+ *
+ * @param <T> element type
+ * @author takahashikzn
+ */
+final class PersistentHashSet<T>
+    extends AbstractSet<T>
+    implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1580327245873366028L;
+
+    @SuppressWarnings("rawtypes")
+    private static final PersistentHashSet EMPTY = new PersistentHashSet<>(PersistentHashMap.empty());
+
+    private final PersistentHashMap<T, Boolean> map;
+
+    private PersistentHashSet(final PersistentHashMap<T, Boolean> map) { this.map = map; }
+
+    @SuppressWarnings("unchecked")
+    static <T> PersistentHashSet<T> empty() { return EMPTY; }
+
+    /**
+     * Create new set from the elements.
+     *
+     * @param elems elements
+     * @param f element converter
+     * @return new set
+     */
+    static <T, R> PersistentHashSet<R> of(final Iterable<? extends T> elems, final Function<? super T, ? extends R> f) {
+        PersistentHashMap<R, Boolean> map = PersistentHashMap.empty();
+        for (final T e: elems)
+            map = map.plus(f.apply(e), Boolean.TRUE);
+
+        return PersistentHashSet.<R> empty().with(map);
+    }
+
+    private PersistentHashSet<T> with(final PersistentHashMap<T, Boolean> map) {
+        return (map == this.map) ? this : map.isEmpty() ? empty() : new PersistentHashSet<>(map);
+    }
+
+    /**
+     * Add the element.
+     *
+     * @param elem element
+     * @return new version, or {@code this} if nothing changes
+     */
+    PersistentHashSet<T> plus(final T elem) { return this.with(this.map.plus(elem, Boolean.TRUE)); }
+
+    /**
+     * Add all the elements.
+     *
+     * @param elems elements
+     * @return new version, or {@code this} if nothing changes
+     */
+    PersistentHashSet<T> plusAll(final Iterable<? extends T> elems) {
+        var map = this.map;
+        for (final T e: elems)
+            map = map.plus(e, Boolean.TRUE);
+
+        return this.with(map);
+    }
+
+    /**
+     * Remove all the elements.
+     *
+     * @param elems elements
+     * @return new version, or {@code this} if nothing changes
+     */
+    PersistentHashSet<T> minusAll(final Iterable<?> elems) {
+        var map = this.map;
+        for (final Object e: elems)
+            map = map.minus(e);
+
+        return this.with(map);
+    }
+
+    @Override
+    public int size() { return this.map.size(); }
+
+    @Override
+    public boolean contains(final Object o) { return this.map.containsKey(o); }
+
+    @Override
+    public Iterator<T> iterator() {
+        final var entries = this.map.entrySet().iterator();
+
+        return new Iterator<>() {
+
+            @Override
+            public boolean hasNext() { return entries.hasNext(); }
+
+            @Override
+            public T next() { return entries.next().getKey(); }
+        };
+    }
+
+    @Override
+    public void forEach(final Consumer<? super T> f) { this.map.forEach((k, v) -> f.accept(k)); }
+
+    @Override
+    public int hashCode() { return this.map.keySet().hashCode(); }
+}
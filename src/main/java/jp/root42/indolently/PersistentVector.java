@@ -0,0 +1,276 @@
+// Copyright 2026 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+
+/**
+ * Persistent vector: 32-way trie with the tail buffer, whose modification returns new version sharing the structure
+ * with the old one. Appending, removing the last and replacing cost O(log32 n) array copies, and others rebuild the
+ * vector. Any mutator of {@link java.util.List} throws {@link UnsupportedOperationException}.
+ *
+ * @param <T> element type
+ * @author takahashikzn
+ */
+final class PersistentVector<T>
+    extends AbstractList<T>
+    implements RandomAccess, Serializable {
+
+    @Serial
+    private static final long serialVersionUID = -6542094405713584045L;
+
+    private static final int BITS = 5;
+
+    private static final int WIDTH = 1 << BITS;
+
+    private static final int MASK = WIDTH - 1;
+
+    private static final Object[] EMPTY_NODE = new Object[WIDTH];
+
+    @SuppressWarnings("rawtypes")
+    private static final PersistentVector EMPTY = new PersistentVector<>(0, BITS, EMPTY_NODE, new Object[0]);
+
+    private final int size;
+
+    private final int shift;
+
+    private final Object[] root;
+
+    private final Object[] tail;
+
+    private PersistentVector(final int size, final int shift, final Object[] root, final Object[] tail) {
+        this.size = size;
+        this.shift = shift;
+        this.root = root;
+        this.tail = tail;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> PersistentVector<T> empty() { return EMPTY; }
+
+    /**
+     * Create new vector from the elements.
+     *
+     * @param elems elements
+     * @param f element converter
+     * @return new vector
+     */
+    static <T, R> PersistentVector<R> of(final Iterable<? extends T> elems, final Function<? super T, ? extends R> f) {
+        PersistentVector<R> ret = empty();
+        for (final T e: elems)
+            ret = ret.plus(f.apply(e));
+
+        return ret;
+    }
+
+    private int tailOffset() { return (this.size < WIDTH) ? 0 : (((this.size - 1) >>> BITS) << BITS); }
+
+    private Object[] arrayFor(final int i) {
+        if (this.tailOffset() <= i) return this.tail;
+
+        var node = this.root;
+        for (int level = this.shift; 0 < level; level -= BITS)
+            node = (Object[]) node[(i >>> level) & MASK];
+
+        return node;
+    }
+
+    @Override
+    public int size() { return this.size; }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public T get(final int i) { return (T) this.arrayFor(Objects.checkIndex(i, this.size))[i & MASK]; }
+
+    /**
+     * Append the element.
+     *
+     * @param elem element
+     * @return new version
+     */
+    PersistentVector<T> plus(final T elem) {
+        if ((this.size - this.tailOffset()) < WIDTH) {
+            final var newTail = Arrays.copyOf(this.tail, this.tail.length + 1);
+            newTail[this.tail.length] = elem;
+            return new PersistentVector<>(this.size + 1, this.shift, this.root, newTail);
+        }
+
+        final Object[] newRoot;
+        int newShift = this.shift;
+
+        // root overflow
+        if ((1 << this.shift) < (this.size >>> BITS)) {
+            newRoot = new Object[WIDTH];
+            newRoot[0] = this.root;
+            newRoot[1] = newPath(this.shift, this.tail);
+            newShift += BITS;
+        } else {
+            newRoot = this.pushTail(this.shift, this.root, this.tail);
+        }
+
+        return new PersistentVector<>(this.size + 1, newShift, newRoot, new Object[] { elem });
+    }
+
+    /**
+     * Append all the elements.
+     *
+     * @param elems elements
+     * @return new version, or {@code this} if nothing changes
+     */
+    PersistentVector<T> plusAll(final Iterable<? extends T> elems) {
+        var ret = this;
+        for (final T e: elems)
+            ret = ret.plus(e);
+
+        return ret;
+    }
+
+    private Object[] pushTail(final int level, final Object[] parent, final Object[] tailNode) {
+        final int i = ((this.size - 1) >>> level) & MASK;
+        final var ret = parent.clone();
+
+        if (level == BITS) {
+            ret[i] = tailNode;
+        } else {
+            final var child = (Object[]) parent[i];
+            ret[i] = (child == null) ? newPath(level - BITS, tailNode) : this.pushTail(level - BITS, child, tailNode);
+        }
+
+        return ret;
+    }
+
+    private static Object[] newPath(final int level, final Object[] node) {
+        if (level == 0) return node;
+
+        final var ret = new Object[WIDTH];
+        ret[0] = newPath(level - BITS, node);
+        return ret;
+    }
+
+    /**
+     * Replace the element.
+     *
+     * @param i index
+     * @param elem element
+     * @return new version
+     */
+    PersistentVector<T> with(final int i, final T elem) {
+        Objects.checkIndex(i, this.size);
+
+        if (this.tailOffset() <= i) {
+            final var newTail = this.tail.clone();
+            newTail[i & MASK] = elem;
+            return new PersistentVector<>(this.size, this.shift, this.root, newTail);
+        }
+
+        return new PersistentVector<>(this.size, this.shift, with(this.shift, this.root, i, elem), this.tail);
+    }
+
+    private static Object[] with(final int level, final Object[] node, final int i, final Object elem) {
+        final var ret = node.clone();
+
+        if (level == 0) ret[i & MASK] = elem;
+        else {
+            final int sub = (i >>> level) & MASK;
+            ret[sub] = with(level - BITS, (Object[]) node[sub], i, elem);
+        }
+
+        return ret;
+    }
+
+    /**
+     * Remove the last element.
+     *
+     * @return new version
+     * @throws NoSuchElementException if empty
+     */
+    PersistentVector<T> pop() {
+        if (this.size == 0) throw new NoSuchElementException();
+        if (this.size == 1) return empty();
+
+        if (1 < (this.size - this.tailOffset())) {
+            return new PersistentVector<>(this.size - 1, this.shift, this.root, Arrays.copyOf(this.tail, this.tail.length - 1));
+        }
+
+        final var newTail = this.arrayFor(this.size - 2);
+
+        var newRoot = this.popTail(this.shift, this.root);
+        int newShift = this.shift;
+
+        if (newRoot == null) newRoot = EMPTY_NODE;
+        if ((BITS < this.shift) && (newRoot[1] == null)) {
+            newRoot = (Object[]) newRoot[0];
+            newShift -= BITS;
+        }
+
+        return new PersistentVector<>(this.size - 1, newShift, newRoot, newTail);
+    }
+
+    private Object[] popTail(final int level, final Object[] node) {
+        final int i = ((this.size - 2) >>> level) & MASK;
+
+        if (BITS < level) {
+            final var child = this.popTail(level - BITS, (Object[]) node[i]);
+            if ((child == null) && (i == 0)) return null;
+
+            final var ret = node.clone();
+            ret[i] = child;
+            return ret;
+        }
+
+        if (i == 0) return null;
+
+        final var ret = node.clone();
+        ret[i] = null;
+        return ret;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<>() {
+
+            private int i;
+
+            private Object[] chunk;
+
+            @Override
+            public boolean hasNext() { return this.i < PersistentVector.this.size; }
+
+            @SuppressWarnings("unchecked")
+            @Override
+            public T next() {
+                if (!this.hasNext()) throw new NoSuchElementException();
+                if ((this.i & MASK) == 0) this.chunk = PersistentVector.this.arrayFor(this.i);
+
+                return (T) this.chunk[this.i++ & MASK];
+            }
+        };
+    }
+
+    @Override
+    public void forEach(final Consumer<? super T> f) {
+        for (final var x: this)
+            f.accept(x);
+    }
+}
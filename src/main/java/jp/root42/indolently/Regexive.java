@@ -14,11 +14,14 @@
 package jp.root42.indolently;
 
 import jp.root42.indolently.bridge.ObjFactory;
+import jp.root42.indolently.regex.AutomatonStore;
 import jp.root42.indolently.regex.AutomatonTest;
+import jp.root42.indolently.regex.Prefilter;
 import jp.root42.indolently.regex.ReTest;
 import jp.root42.indolently.regex.Regex;
 import jp.root42.indolently.regex.RegexJDK;
 import jp.root42.indolently.regex.RegexRe2;
+import jp.root42.indolently.regex.RegexSet;
 
 
 /**
@@ -81,7 +84,7 @@ public class Regexive {
     public static RegexRe2 regex2(final com.google.re2j.Pattern pattern) { return new RegexRe2(pattern); }
 
     /**
-     * create tester instance.
+     * create tester instance. Precompiled automata in {@link AutomatonStore#RESOURCE} are used if available.
      *
      * @param pattern pattern object
      * @return enhanced Pattern instance
@@ -98,70 +101,52 @@ public class Regexive {
         return ReTest.of(regex(pattern));
     }
 
-    private static final RegexJDK JDK_REGEX = regex1("(?ms).*(?:" //
-                                                     + "[^\\\\]?\\$" // unescaped '$'
-                                                     + "|[^\\\\]?\\^" // unescaped '^'
-
-                                                     + "|[^\\\\]\\[\\[" // unescaped '[['
-                                                     + "|[^\\\\]][\\[\\]]" // unescaped ']]' or ']['
-
-                                                     + "|\\(\\?[^:]" //
-                                                     + "|\\\\Q" //
-                                                     + "|\\\\E" //
-                                                     + "|\\\\b" //
-                                                     + "|\\\\B" //
-                                                     + "|\\\\G" //
-                                                     + "|\\\\z" //
-                                                     + "|\\\\Z" //
-                                                     + "|\\\\p" //
-                                                     + "|\\\\n" //
-                                                     + "|\\\\k" //
-                                                     + "|\\\\X" //
-                                                     + "|\\?\\?" //
-                                                     + "|\\*\\?" //
-                                                     + "|\\+\\?" //
-                                                     + "|\\{\\d+(?:,(?:\\d+)?)?}\\?" //
-
-                                                     + "|[~&<\"]" // Automaton meta-characters
-
-                                                     + ").*");
-
-    private static boolean isJDKRegex(final String p) { return JDK_REGEX.test(p); }
-
-    private static final String HORIZONTAL_SPACE = regex1("[ \t\u00a0\u1680\u180e\u2000-\u200a\u202f\u205f\u3000]").pattern();
+    /**
+     * tell why {@link #tester(String)} runs the pattern on {@code java.util.regex} rather than the automaton.
+     *
+     * @param pattern pattern
+     * @return the reason, or null if the pattern runs on the automaton
+     */
+    public static String automatonRejection(final String pattern) {
+        if (!AUTOMATON_AVAIL) return "dk.brics.automaton is not available";
 
-    private static final String SPACE = regex1("[ \t\n\u000b\f\r]").pattern();
+        try {
+            AutomatonTest.translate(pattern);
+            return null;
+        } catch (final IllegalArgumentException e) {
+            return e.getMessage();
+        }
+    }
 
-    private static final String VERTICAL_SPACE = regex1("[\n\u000b\f\r\u0085\u2028\u2029]").pattern();
+    /**
+     * extract literals which every match of the pattern contains.
+     *
+     * @param pattern pattern
+     * @return prefilter
+     */
+    public static Prefilter prefilter(final String pattern) { return Prefilter.of(pattern); }
 
-    private static final String WORD = regex1("[A-Za-z0-9_]").pattern();
+    /**
+     * create multi-pattern matcher instance.
+     *
+     * @param patterns patterns
+     * @return multi-pattern matcher
+     */
+    public static RegexSet regexSet(final String... patterns) { return new RegexSet(patterns); }
 
-    private static final String DIGIT = regex1("[0-9]").pattern();
+    /**
+     * create multi-pattern matcher instance.
+     *
+     * @param patterns patterns
+     * @return multi-pattern matcher
+     */
+    public static RegexSet regexSet(final Iterable<String> patterns) { return new RegexSet(patterns); }
 
     private static ReTest automatonTester(final String original) {
 
-        final var pt = original //
-            .replaceAll("(?<!\\\\)\\(\\?:", "(") //
-            .replaceAll("(?<!\\\\)\"", "\\\"") //
-            .replace("\\w", WORD) //
-            .replace("\\W", not(WORD)) //
-            .replace("\\d", DIGIT) //
-            .replace("\\D", not(DIGIT)) //
-            .replace("\\h", HORIZONTAL_SPACE) //
-            .replace("\\H", not(HORIZONTAL_SPACE)) //
-            .replace("\\s", SPACE) //
-            .replace("\\S", not(SPACE)) //
-            .replace("\\v", VERTICAL_SPACE) //
-            .replace("\\V", not(VERTICAL_SPACE)) //
-            .replace("\\p{Digit}", "[0-9]") //
-            .replace("\\p{Alpha}", "[A-Za-z]") //
-            .replace("\\p{Alnum}", "[A-Za-z0-9]") //
-            ;
-
-        if (isJDKRegex(pt)) return null;
-
-        return new AutomatonTest(new dk.brics.automaton.RegExp(pt, dk.brics.automaton.RegExp.NONE), original);
-    }
+        final var precompiled = AutomatonStore.bundled().get(original);
+        if (precompiled != null) return precompiled;
 
-    private static String not(final String word) { return "[^" + word + "]"; }
+        return AutomatonTest.of(original);
+    }
 }
@@ -0,0 +1,147 @@
+// Copyright 2026 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.function.BiConsumer;
+
+
+/**
+ * Immutable sorted map laid out for lookup: the keys are a {@link SortedArraySet} and the values are the parallel
+ * array. Submaps are views sharing the arrays.
+ * Any mutator of {@link java.util.Map} throws {@link UnsupportedOperationException}.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ * @author takahashikzn
+ */
+final class SortedArrayMap<K, V>
+    extends AbstractMap<K, V>
+    implements SortedMap<K, V>, Serializable {
+
+    @Serial
+    private static final long serialVersionUID = -3062466734117305905L;
+
+    private final SortedArraySet<K> keys;
+
+    /** parallel to the shared array of the keys. */
+    private final Object[] vals;
+
+    private SortedArrayMap(final SortedArraySet<K> keys, final Object[] vals) {
+        this.keys = keys;
+        this.vals = vals;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <K, V> SortedArrayMap<K, V> of(final SortedMap<? extends K, ? extends V> map) {
+        final Object[] keys = new Object[map.size()];
+        final Object[] vals = new Object[keys.length];
+
+        int i = 0;
+        for (final var e: map.entrySet()) {
+            keys[i] = e.getKey();
+            vals[i++] = e.getValue();
+        }
+
+        return new SortedArrayMap<>(new SortedArraySet<>(keys, 0, keys.length, (Comparator<? super K>) map.comparator()), vals);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public V get(final Object key) {
+        final int i = this.keys.indexOf(key);
+        return (i < 0) ? null : (V) this.vals[i];
+    }
+
+    @Override
+    public boolean containsKey(final Object key) { return this.keys.contains(key); }
+
+    @Override
+    public int size() { return this.keys.size(); }
+
+    @Override
+    public Set<K> keySet() { return this.keys; }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Collection<V> values() {
+        return Collections.unmodifiableList(Arrays.asList((V[]) this.vals).subList(this.keys.lo, this.keys.hi));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void forEach(final BiConsumer<? super K, ? super V> f) {
+        for (int i = this.keys.lo; i < this.keys.hi; i++)
+            f.accept((K) this.keys.elems[i], (V) this.vals[i]);
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        return new AbstractSet<>() {
+
+            @Override
+            public int size() { return SortedArrayMap.this.size(); }
+
+            @Override
+            public Iterator<Map.Entry<K, V>> iterator() {
+                return new Iterator<>() {
+
+                    private int i = SortedArrayMap.this.keys.lo;
+
+                    @Override
+                    public boolean hasNext() { return this.i < SortedArrayMap.this.keys.hi; }
+
+                    @SuppressWarnings("unchecked")
+                    @Override
+                    public Map.Entry<K, V> next() {
+                        if (!this.hasNext()) throw new NoSuchElementException();
+
+                        final int x = this.i++;
+                        return new SimpleImmutableEntry<>((K) SortedArrayMap.this.keys.elems[x], (V) SortedArrayMap.this.vals[x]);
+                    }
+                };
+            }
+        };
+    }
+
+    @Override
+    public Comparator<? super K> comparator() { return this.keys.comparator(); }
+
+    @Override
+    public SortedMap<K, V> subMap(final K from, final K to) { return new SortedArrayMap<>(this.keys.subSet(from, to), this.vals); }
+
+    @Override
+    public SortedMap<K, V> headMap(final K to) { return new SortedArrayMap<>(this.keys.headSet(to), this.vals); }
+
+    @Override
+    public SortedMap<K, V> tailMap(final K from) { return new SortedArrayMap<>(this.keys.tailSet(from), this.vals); }
+
+    @Override
+    public K firstKey() { return this.keys.first(); }
+
+    @Override
+    public K lastKey() { return this.keys.last(); }
+}
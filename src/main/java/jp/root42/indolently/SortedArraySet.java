@@ -0,0 +1,140 @@
+// Copyright 2026 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.SortedSet;
+import java.util.function.Consumer;
+
+
+/**
+ * Immutable sorted set laid out in a sorted array, searched in binary. Subsets are views sharing the array.
+ * Any mutator of {@link java.util.Set} throws {@link UnsupportedOperationException}.
+ *
+ * @param <T> element type
+ * @author takahashikzn
+ */
+final class SortedArraySet<T>
+    extends AbstractSet<T>
+    implements SortedSet<T>, Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 4720694188329578390L;
+
+    /** shared among the subsets. */
+    final Object[] elems;
+
+    final int lo;
+
+    final int hi;
+
+    private final Comparator<? super T> comp;
+
+    SortedArraySet(final Object[] elems, final int lo, final int hi, final Comparator<? super T> comp) {
+        this.elems = elems;
+        this.lo = lo;
+        this.hi = hi;
+        this.comp = comp;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> SortedArraySet<T> of(final SortedSet<? extends T> set) {
+        final var elems = set.toArray();
+        return new SortedArraySet<>(elems, 0, elems.length, (Comparator<? super T>) set.comparator());
+    }
+
+    @SuppressWarnings("unchecked")
+    private int compare(final Object x, final Object y) {
+        return (this.comp == null) ? ((Comparable<Object>) x).compareTo(y) : ((Comparator<Object>) this.comp).compare(x, y);
+    }
+
+    /**
+     * @return the first index in range whose element isn't less than the key
+     */
+    private int bound(final Object key) {
+        int l = this.lo;
+        int h = this.hi;
+
+        while (l < h) {
+            final int m = (l + h) >>> 1;
+            if (this.compare(this.elems[m], key) < 0) l = m + 1;
+            else h = m;
+        }
+
+        return l;
+    }
+
+    /**
+     * @return the index of the element in the shared array, or -1 if not found
+     */
+    int indexOf(final Object o) {
+        final int i = this.bound(o);
+        return ((i < this.hi) && (this.compare(this.elems[i], o) == 0)) ? i : -1;
+    }
+
+    @Override
+    public boolean contains(final Object o) { return 0 <= this.indexOf(o); }
+
+    @Override
+    public int size() { return this.hi - this.lo; }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Iterator<T> iterator() { return Arrays.asList((T[]) this.elems).subList(this.lo, this.hi).iterator(); }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void forEach(final Consumer<? super T> f) {
+        for (int i = this.lo; i < this.hi; i++)
+            f.accept((T) this.elems[i]);
+    }
+
+    @Override
+    public Object[] toArray() { return Arrays.copyOfRange(this.elems, this.lo, this.hi); }
+
+    @Override
+    public Comparator<? super T> comparator() { return this.comp; }
+
+    @Override
+    public SortedArraySet<T> subSet(final T from, final T to) {
+        if (0 < this.compare(from, to)) throw new IllegalArgumentException("fromKey > toKey");
+        return new SortedArraySet<>(this.elems, this.bound(from), this.bound(to), this.comp);
+    }
+
+    @Override
+    public SortedArraySet<T> headSet(final T to) { return new SortedArraySet<>(this.elems, this.lo, this.bound(to), this.comp); }
+
+    @Override
+    public SortedArraySet<T> tailSet(final T from) { return new SortedArraySet<>(this.elems, this.bound(from), this.hi, this.comp); }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public T first() {
+        if (this.isEmpty()) throw new NoSuchElementException();
+        return (T) this.elems[this.lo];
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public T last() {
+        if (this.isEmpty()) throw new NoSuchElementException();
+        return (T) this.elems[this.hi - 1];
+    }
+}
@@ -0,0 +1,99 @@
+// Copyright 2026 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently.bridge;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+
+
+/**
+ * Implementation of {@link ObjFactory} which creates {@link CompactMap} and {@link CompactSet} for tiny sizes, and
+ * delegates the others to the backend.
+ *
+ * @author takahashikzn
+ * @see ObjFactory#adaptive(ObjFactory)
+ */
+final class AdaptiveObjFactory
+    extends ObjFactory {
+
+    private final ObjFactory backend;
+
+    AdaptiveObjFactory(final ObjFactory backend) { this.backend = backend; }
+
+    /**
+     * @return the backend of current instance, which creates non-tiny collections
+     */
+    static ObjFactory backend() {
+        final var x = getInstance();
+        return (x instanceof AdaptiveObjFactory a) ? a.backend : x;
+    }
+
+    @Override
+    public <K, V> SortedMap<K, V> newSortedMap(final Comparator<? super K> comp) { return this.backend.newSortedMap(comp); }
+
+    @Override
+    public <V> SortedSet<V> newSortedSet(final Comparator<? super V> comp) { return this.backend.newSortedSet(comp); }
+
+    @Override
+    public <K, V> Map<K, V> newFifoMap() { return this.backend.newFifoMap(); }
+
+    @Override
+    public <V> Set<V> newFifoSet() { return this.backend.newFifoSet(); }
+
+    @Override
+    public <K, V> Map<K, V> newMap() { return new CompactMap<>(this.backend); }
+
+    @Override
+    public <K, V> Map<K, V> newMap(final int expected) {
+        return (expected <= CompactMap.MAX) ? new CompactMap<>(this.backend) : this.backend.newMap(expected);
+    }
+
+    @Override
+    public <V> Set<V> newSet() { return new CompactSet<>(this.backend); }
+
+    @Override
+    public <V> Set<V> newSet(final int expected) {
+        return (expected <= CompactSet.MAX) ? new CompactSet<>(this.backend) : this.backend.newSet(expected);
+    }
+
+    @Override
+    public <V> List<V> newList() { return this.backend.newList(); }
+
+    @Override
+    public <V> List<V> newList(final int expected) { return this.backend.newList(expected); }
+
+    @Override
+    public <K, V> Map<K, V> optimize(final Map<K, V> map) {
+        return (map.size() <= CompactMap.MAX) ? new CompactMap<K, V>(this.backend).push(map) : this.backend.optimize(map);
+    }
+
+    @Override
+    public <V> IntObjStore<V> newIntObjMap() { return this.backend.newIntObjMap(); }
+
+    @Override
+    public <V> LongObjStore<V> newLongObjMap() { return this.backend.newLongObjMap(); }
+
+    @Override
+    public <K> ObjLongStore<K> newObjLongMap() { return this.backend.newObjLongMap(); }
+
+    @Override
+    public <K> ObjDoubleStore<K> newObjDoubleMap() { return this.backend.newObjDoubleMap(); }
+
+    @Override
+    public String toString() { return "Adaptive(" + this.backend.getClass().getSimpleName() + ")"; }
+}
@@ -0,0 +1,237 @@
+// Copyright 2026 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently.bridge;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+
+/**
+ * Map which keeps up to {@value #MAX} entries in an array in insertion order, and switches to the map of the backend
+ * when it grows over. Lookup is a linear scan, which is faster than hashing for such sizes.
+ * It switches back when cleared.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ * @author takahashikzn
+ */
+final class CompactMap<K, V>
+    extends AbstractMap<K, V>
+    implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = -6105322738574513390L;
+
+    static final int MAX = 8;
+
+    private static final Object[] EMPTY = {};
+
+    /** the backend to switch to. null after deserialization. */
+    private transient ObjFactory backend;
+
+    /** keys and values alternately. null after switched. */
+    private Object[] table = EMPTY;
+
+    private int size;
+
+    /** non-null after switched. */
+    private Map<K, V> delegate;
+
+    private transient int modCount;
+
+    CompactMap(final ObjFactory backend) { this.backend = backend; }
+
+    CompactMap<K, V> push(final Map<? extends K, ? extends V> map) {
+        this.putAll(map);
+        return this;
+    }
+
+    private int index(final Object key) {
+        final var t = this.table;
+        for (int i = 0, n = this.size * 2; i < n; i += 2)
+            if (Objects.equals(key, t[i])) return i;
+
+        return -1;
+    }
+
+    private Map<K, V> upgrade(final int expected) {
+        if (this.backend == null) this.backend = AdaptiveObjFactory.backend();
+
+        final Map<K, V> map = this.backend.newMap(expected);
+        this.forEach(map::put);
+
+        this.table = null;
+        this.size = 0;
+        this.modCount++;
+        return this.delegate = map;
+    }
+
+    @Override
+    public int size() { return (this.delegate == null) ? this.size : this.delegate.size(); }
+
+    @Override
+    public boolean containsKey(final Object key) { return (this.delegate == null) ? (0 <= this.index(key)) : this.delegate.containsKey(key); }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public V get(final Object key) {
+        if (this.delegate != null) return this.delegate.get(key);
+
+        final int i = this.index(key);
+        return (i < 0) ? null : (V) this.table[i + 1];
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public V put(final K key, final V value) {
+        if (this.delegate != null) return this.delegate.put(key, value);
+
+        final int i = this.index(key);
+        if (0 <= i) {
+            final var old = (V) this.table[i + 1];
+            this.table[i + 1] = value;
+            return old;
+        }
+
+        if (this.size == MAX) return this.upgrade(MAX * 2).put(key, value);
+
+        final int n = this.size * 2;
+        if (this.table.length == n) this.table = Arrays.copyOf(this.table, Math.max(4, n * 2));
+
+        this.table[n] = key;
+        this.table[n + 1] = value;
+        this.size++;
+        this.modCount++;
+        return null;
+    }
+
+    @Override
+    public void putAll(final Map<? extends K, ? extends V> map) {
+        if ((this.delegate == null) && (MAX < (this.size + map.size()))) this.upgrade(this.size + map.size());
+        if (this.delegate != null) this.delegate.putAll(map);
+        else super.putAll(map);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public V remove(final Object key) {
+        if (this.delegate != null) return this.delegate.remove(key);
+
+        final int i = this.index(key);
+        if (i < 0) return null;
+
+        final var old = (V) this.table[i + 1];
+        this.removeAt(i);
+        return old;
+    }
+
+    private void removeAt(final int i) {
+        final int n = this.size * 2;
+        System.arraycopy(this.table, i + 2, this.table, i, n - i - 2);
+        this.table[n - 2] = null;
+        this.table[n - 1] = null;
+        this.size--;
+        this.modCount++;
+    }
+
+    @Override
+    public void clear() {
+        this.delegate = null;
+        this.table = EMPTY;
+        this.size = 0;
+        this.modCount++;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void forEach(final BiConsumer<? super K, ? super V> f) {
+        if (this.delegate != null) {
+            this.delegate.forEach(f);
+            return;
+        }
+
+        for (int i = 0, n = this.size * 2; i < n; i += 2)
+            f.accept((K) this.table[i], (V) this.table[i + 1]);
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        return new AbstractSet<>() {
+
+            @Override
+            public int size() { return CompactMap.this.size(); }
+
+            @Override
+            public Iterator<Map.Entry<K, V>> iterator() {
+                return (CompactMap.this.delegate == null) ? new Iter() : CompactMap.this.delegate.entrySet().iterator();
+            }
+        };
+    }
+
+    private final class Iter
+        implements Iterator<Map.Entry<K, V>> {
+
+        private int next;
+
+        private int last = -1;
+
+        private int expectedModCount = CompactMap.this.modCount;
+
+        @Override
+        public boolean hasNext() { return this.next < (CompactMap.this.size * 2); }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public Map.Entry<K, V> next() {
+            if (CompactMap.this.modCount != this.expectedModCount) throw new ConcurrentModificationException();
+            if (!this.hasNext()) throw new NoSuchElementException();
+
+            final int i = this.last = this.next;
+            this.next += 2;
+
+            return new SimpleEntry<>((K) CompactMap.this.table[i], (V) CompactMap.this.table[i + 1]) {
+
+                @Serial
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                public V setValue(final V value) {
+                    CompactMap.this.put(this.getKey(), value);
+                    return super.setValue(value);
+                }
+            };
+        }
+
+        @Override
+        public void remove() {
+            if (this.last < 0) throw new IllegalStateException();
+            if (CompactMap.this.modCount != this.expectedModCount) throw new ConcurrentModificationException();
+
+            CompactMap.this.removeAt(this.last);
+            this.next = this.last;
+            this.last = -1;
+            this.expectedModCount = CompactMap.this.modCount;
+        }
+    }
+}
@@ -0,0 +1,268 @@
+// Copyright 2026 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently.bridge;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInput;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutput;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntFunction;
+
+
+/**
+ * Compact binary format of collections for {@link java.io.Externalizable}.
+ * A collection is written as its size followed by the elements streamed from the collection itself without any
+ * intermediate copy. Each element is tagged: {@link Integer} and {@link Long} are written in variable length,
+ * {@link Double} and {@link Boolean} as is, {@link String} in modified UTF-8, the classes having a registered
+ * {@link ElemCodec} by the codec, and the others by {@link ObjectOutput#writeObject(Object)}.
+ * Note that Strings written in this format lose their identity, i.e. the same instance is written repeatedly.
+ * On reading, the size is checked by the {@link ObjectInputFilter} of the stream as an array length, and the collection
+ * is allocated up front for at most {@value #MAX_PRESIZE} elements, so that a corrupted size never exhausts memory.
+ *
+ * @author takahashikzn
+ */
+public final class CompactSerial {
+
+    private CompactSerial() { }
+
+    private static final int NULL = 0;
+
+    private static final int INT = 1;
+
+    private static final int LONG = 2;
+
+    private static final int DOUBLE = 3;
+
+    private static final int TRUE = 4;
+
+    private static final int FALSE = 5;
+
+    private static final int STRING = 6;
+
+    private static final int CUSTOM = 7;
+
+    private static final int OBJECT = 8;
+
+    /** the longest string guaranteed to fit in {@link DataOutput#writeUTF(String)}. */
+    private static final int MAX_UTF = 0xFFFF / 3;
+
+    /** the max size of the collection allocated up front, since the size in the stream isn't trustworthy. */
+    static final int MAX_PRESIZE = 1024;
+
+    private static final Map<Class<?>, ElemCodec<?>> byType = new ConcurrentHashMap<>();
+
+    private static final Map<Integer, ElemCodec<?>> byId = new ConcurrentHashMap<>();
+
+    /**
+     * Register the codec globally. The codec of the same class or id is replaced.
+     *
+     * @param codec codec to register
+     */
+    public static void register(final ElemCodec<?> codec) {
+        if (codec.id() < 0) throw new IllegalArgumentException("(id = %d) < 0".formatted(codec.id()));
+
+        unregister(codec.type());
+
+        final var old = byId.put(codec.id(), codec);
+        if (old != null) byType.remove(old.type(), old);
+
+        byType.put(codec.type(), codec);
+    }
+
+    /**
+     * Unregister the codec of the class.
+     *
+     * @param type the class of the elements
+     */
+    public static void unregister(final Class<?> type) {
+        final var old = byType.remove(type);
+        if (old != null) byId.remove(old.id(), old);
+    }
+
+    public static void writeVarint(final DataOutput out, final long x) throws IOException {
+        long v = x;
+
+        while ((v & ~0x7FL) != 0) {
+            out.writeByte((int) ((v & 0x7F) | 0x80));
+            v >>>= 7;
+        }
+
+        out.writeByte((int) v);
+    }
+
+    public static long readVarint(final DataInput in) throws IOException {
+        long v = 0;
+
+        for (int shift = 0; shift < 64; shift += 7) {
+            final int b = in.readUnsignedByte();
+            v |= (long) (b & 0x7F) << shift;
+
+            if ((b & 0x80) == 0) return v;
+        }
+
+        throw new InvalidObjectException("malformed varint");
+    }
+
+    private static long zigzag(final long x) { return (x << 1) ^ (x >> 63); }
+
+    private static long unzigzag(final long x) { return (x >>> 1) ^ -(x & 1); }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public static void write(final ObjectOutput out, final Object x) throws IOException {
+        if (x == null) {
+            out.writeByte(NULL);
+            return;
+        }
+
+        final Class<?> type = x.getClass();
+
+        if (!byType.isEmpty()) {
+            final ElemCodec codec = byType.get(type);
+
+            if (codec != null) {
+                out.writeByte(CUSTOM);
+                writeVarint(out, codec.id());
+                codec.write(out, x);
+                return;
+            }
+        }
+
+        if (type == Integer.class) {
+            out.writeByte(INT);
+            writeVarint(out, zigzag((Integer) x));
+        } else if (type == Long.class) {
+            out.writeByte(LONG);
+            writeVarint(out, zigzag((Long) x));
+        } else if (type == Double.class) {
+            out.writeByte(DOUBLE);
+            out.writeDouble((Double) x);
+        } else if (type == Boolean.class) {
+            out.writeByte((Boolean) x ? TRUE : FALSE);
+        } else if ((type == String.class) && (((String) x).length() <= MAX_UTF)) {
+            out.writeByte(STRING);
+            out.writeUTF((String) x);
+        } else {
+            out.writeByte(OBJECT);
+            out.writeObject(x);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> T read(final ObjectInput in) throws IOException, ClassNotFoundException {
+        final int tag = in.readUnsignedByte();
+
+        return (T) switch (tag) {
+            case NULL -> null;
+            case INT -> Integer.valueOf((int) unzigzag(readVarint(in)));
+            case LONG -> Long.valueOf(unzigzag(readVarint(in)));
+            case DOUBLE -> Double.valueOf(in.readDouble());
+            case TRUE -> Boolean.TRUE;
+            case FALSE -> Boolean.FALSE;
+            case STRING -> in.readUTF();
+            case CUSTOM -> {
+                final int id = (int) readVarint(in);
+                final var codec = byId.get(id);
+                if (codec == null) throw new InvalidObjectException("no codec registered: (id = %d)".formatted(id));
+
+                yield codec.read(in);
+            }
+            case OBJECT -> in.readObject();
+            default -> throw new InvalidObjectException("unknown tag: (tag = %d)".formatted(tag));
+        };
+    }
+
+    private static int readSize(final ObjectInput in) throws IOException {
+        final long n = readVarint(in);
+        if ((n < 0) || (Integer.MAX_VALUE < n)) throw new InvalidObjectException("illegal size: (size = %d)".formatted(n));
+
+        final var filter = (in instanceof ObjectInputStream x) ? x.getObjectInputFilter() : null;
+        if ((filter != null) && (filter.checkInput(new Size(n)) == ObjectInputFilter.Status.REJECTED))
+            throw new InvalidObjectException("size rejected by filter: (size = %d)".formatted(n));
+
+        return (int) n;
+    }
+
+    /**
+     * The size of a collection passed to {@link ObjectInputFilter} as the length of {@code Object[]}, in the same manner
+     * as {@link java.util.ArrayList} does on deserialization.
+     */
+    private record Size(long arrayLength)
+        implements ObjectInputFilter.FilterInfo {
+
+        @Override
+        public Class<?> serialClass() { return Object[].class; }
+
+        @Override
+        public long depth() { return 0; }
+
+        @Override
+        public long references() { return 0; }
+
+        @Override
+        public long streamBytes() { return 0; }
+    }
+
+    public static void writeAll(final ObjectOutput out, final Collection<?> elems) throws IOException {
+        writeVarint(out, elems.size());
+
+        for (final Object x: elems)
+            write(out, x);
+    }
+
+    /**
+     * @param factory collection factory taking the size
+     */
+    public static <T, C extends Collection<T>> C readAll(final ObjectInput in, final IntFunction<C> factory)
+        throws IOException, ClassNotFoundException {
+
+        final int n = readSize(in);
+        final C ret = factory.apply(Math.min(n, MAX_PRESIZE));
+
+        for (int i = 0; i < n; i++)
+            ret.add(read(in));
+
+        return ret;
+    }
+
+    public static void writeMap(final ObjectOutput out, final Map<?, ?> map) throws IOException {
+        writeVarint(out, map.size());
+
+        for (final var e: map.entrySet()) {
+            write(out, e.getKey());
+            write(out, e.getValue());
+        }
+    }
+
+    /**
+     * @param factory map factory taking the size
+     */
+    public static <K, V, M extends Map<K, V>> M readMap(final ObjectInput in, final IntFunction<M> factory)
+        throws IOException, ClassNotFoundException {
+
+        final int n = readSize(in);
+        final M ret = factory.apply(Math.min(n, MAX_PRESIZE));
+
+        for (int i = 0; i < n; i++)
+            ret.put(read(in), read(in));
+
+        return ret;
+    }
+}
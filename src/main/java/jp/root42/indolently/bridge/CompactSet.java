@@ -0,0 +1,180 @@
+// Copyright 2026 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently.bridge;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+
+
+/**
+ * Set which keeps up to {@value #MAX} elements in an array in insertion order, and switches to the set of the backend
+ * when it grows over. Lookup is a linear scan, which is faster than hashing for such sizes.
+ * It switches back when cleared.
+ *
+ * @param <T> element type
+ * @author takahashikzn
+ */
+final class CompactSet<T>
+    extends AbstractSet<T>
+    implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 3180962380874640651L;
+
+    static final int MAX = 8;
+
+    private static final Object[] EMPTY = {};
+
+    /** the backend to switch to. null after deserialization. */
+    private transient ObjFactory backend;
+
+    /** null after switched. */
+    private Object[] elems = EMPTY;
+
+    private int size;
+
+    /** non-null after switched. */
+    private Set<T> delegate;
+
+    private transient int modCount;
+
+    CompactSet(final ObjFactory backend) { this.backend = backend; }
+
+    private int index(final Object o) {
+        for (int i = 0; i < this.size; i++)
+            if (Objects.equals(o, this.elems[i])) return i;
+
+        return -1;
+    }
+
+    private Set<T> upgrade(final int expected) {
+        if (this.backend == null) this.backend = AdaptiveObjFactory.backend();
+
+        final Set<T> set = this.backend.newSet(expected);
+        this.forEach(set::add);
+
+        this.elems = null;
+        this.size = 0;
+        this.modCount++;
+        return this.delegate = set;
+    }
+
+    @Override
+    public int size() { return (this.delegate == null) ? this.size : this.delegate.size(); }
+
+    @Override
+    public boolean contains(final Object o) { return (this.delegate == null) ? (0 <= this.index(o)) : this.delegate.contains(o); }
+
+    @Override
+    public boolean add(final T e) {
+        if (this.delegate != null) return this.delegate.add(e);
+        if (0 <= this.index(e)) return false;
+        if (this.size == MAX) return this.upgrade(MAX * 2).add(e);
+
+        if (this.elems.length == this.size) this.elems = Arrays.copyOf(this.elems, Math.max(2, this.size * 2));
+
+        this.elems[this.size++] = e;
+        this.modCount++;
+        return true;
+    }
+
+    @Override
+    public boolean addAll(final Collection<? extends T> c) {
+        if ((this.delegate == null) && (MAX < (this.size + c.size()))) this.upgrade(this.size + c.size());
+        return (this.delegate != null) ? this.delegate.addAll(c) : super.addAll(c);
+    }
+
+    @Override
+    public boolean remove(final Object o) {
+        if (this.delegate != null) return this.delegate.remove(o);
+
+        final int i = this.index(o);
+        if (i < 0) return false;
+
+        this.removeAt(i);
+        return true;
+    }
+
+    private void removeAt(final int i) {
+        System.arraycopy(this.elems, i + 1, this.elems, i, this.size - i - 1);
+        this.elems[--this.size] = null;
+        this.modCount++;
+    }
+
+    @Override
+    public void clear() {
+        this.delegate = null;
+        this.elems = EMPTY;
+        this.size = 0;
+        this.modCount++;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void forEach(final Consumer<? super T> f) {
+        if (this.delegate != null) {
+            this.delegate.forEach(f);
+            return;
+        }
+
+        for (int i = 0; i < this.size; i++)
+            f.accept((T) this.elems[i]);
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        if (this.delegate != null) return this.delegate.iterator();
+
+        return new Iterator<>() {
+
+            private int next;
+
+            private int last = -1;
+
+            private int expectedModCount = CompactSet.this.modCount;
+
+            @Override
+            public boolean hasNext() { return this.next < CompactSet.this.size; }
+
+            @SuppressWarnings("unchecked")
+            @Override
+            public T next() {
+                if (CompactSet.this.modCount != this.expectedModCount) throw new ConcurrentModificationException();
+                if (!this.hasNext()) throw new NoSuchElementException();
+
+                return (T) CompactSet.this.elems[this.last = this.next++];
+            }
+
+            @Override
+            public void remove() {
+                if (this.last < 0) throw new IllegalStateException();
+                if (CompactSet.this.modCount != this.expectedModCount) throw new ConcurrentModificationException();
+
+                CompactSet.this.removeAt(this.last);
+                this.next = this.last;
+                this.last = -1;
+                this.expectedModCount = CompactSet.this.modCount;
+            }
+        };
+    }
+}
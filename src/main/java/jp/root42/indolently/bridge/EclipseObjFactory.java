@@ -19,13 +19,22 @@ import java.util.Map;
 import java.util.Set;
 import java.util.SortedMap;
 import java.util.SortedSet;
+import java.util.function.ObjDoubleConsumer;
+import java.util.function.ObjLongConsumer;
 
 import org.eclipse.collections.impl.list.mutable.FastList;
 import org.eclipse.collections.impl.map.mutable.UnifiedMap;
+import org.eclipse.collections.impl.map.mutable.primitive.IntObjectHashMap;
+import org.eclipse.collections.impl.map.mutable.primitive.LongObjectHashMap;
+import org.eclipse.collections.impl.map.mutable.primitive.ObjectDoubleHashMap;
+import org.eclipse.collections.impl.map.mutable.primitive.ObjectLongHashMap;
 import org.eclipse.collections.impl.map.sorted.mutable.TreeSortedMap;
 import org.eclipse.collections.impl.set.mutable.UnifiedSet;
 import org.eclipse.collections.impl.set.sorted.mutable.TreeSortedSet;
 
+import jp.root42.indolently.function.IntObjConsumer;
+import jp.root42.indolently.function.LongObjConsumer;
+
 
 /**
  * Implementation of {@link ObjFactory} using <a href="https://www.eclipse.org/collections/">Eclipse Collections framework</a>.
@@ -59,20 +68,179 @@ final class EclipseObjFactory
         return UnifiedMap.newMap();
     }
 
+    @Override
+    public <K, V> Map<K, V> newMap(final int expected) {
+        return (expected <= 0) ? this.newMap() : UnifiedMap.newMap(expected);
+    }
+
     @Override
     public <V> Set<V> newSet() {
         return UnifiedSet.newSet();
     }
 
+    @Override
+    public <V> Set<V> newSet(final int expected) {
+        return (expected <= 0) ? this.newSet() : UnifiedSet.newSet(expected);
+    }
+
     @Override
     public <V> List<V> newList() {
         return FastList.newList();
     }
 
+    @Override
+    public <V> List<V> newList(final int expected) {
+        return (expected <= 0) ? this.newList() : FastList.newList(expected);
+    }
+
     @Override
     public <K, V> Map<K, V> optimize(final Map<K, V> map) {
         final var ret = UnifiedMap.newMap(map);
         ret.trimToSize();
         return ret;
     }
+
+    @Override
+    public <V> IntObjStore<V> newIntObjMap() {
+        return new EclipseIntObjStore<>();
+    }
+
+    @Override
+    public <V> LongObjStore<V> newLongObjMap() {
+        return new EclipseLongObjStore<>();
+    }
+
+    @Override
+    public <K> ObjLongStore<K> newObjLongMap() {
+        return new EclipseObjLongStore<>();
+    }
+
+    @Override
+    public <K> ObjDoubleStore<K> newObjDoubleMap() {
+        return new EclipseObjDoubleStore<>();
+    }
+
+    private static final class EclipseIntObjStore<V>
+        implements IntObjStore<V> {
+
+        private final IntObjectHashMap<V> map = new IntObjectHashMap<>();
+
+        @Override
+        public int size() { return this.map.size(); }
+
+        @Override
+        public boolean containsKey(final int key) { return this.map.containsKey(key); }
+
+        @Override
+        public V get(final int key) { return this.map.get(key); }
+
+        @Override
+        public V put(final int key, final V value) { return this.map.put(key, value); }
+
+        @Override
+        public V remove(final int key) { return this.map.removeKey(key); }
+
+        @Override
+        public void clear() { this.map.clear(); }
+
+        @Override
+        public void forEach(final IntObjConsumer<? super V> f) { this.map.forEachKeyValue(f::accept); }
+    }
+
+    private static final class EclipseLongObjStore<V>
+        implements LongObjStore<V> {
+
+        private final LongObjectHashMap<V> map = new LongObjectHashMap<>();
+
+        @Override
+        public int size() { return this.map.size(); }
+
+        @Override
+        public boolean containsKey(final long key) { return this.map.containsKey(key); }
+
+        @Override
+        public V get(final long key) { return this.map.get(key); }
+
+        @Override
+        public V put(final long key, final V value) { return this.map.put(key, value); }
+
+        @Override
+        public V remove(final long key) { return this.map.removeKey(key); }
+
+        @Override
+        public void clear() { this.map.clear(); }
+
+        @Override
+        public void forEach(final LongObjConsumer<? super V> f) { this.map.forEachKeyValue(f::accept); }
+    }
+
+    private static final class EclipseObjLongStore<K>
+        implements ObjLongStore<K> {
+
+        private final ObjectLongHashMap<K> map = new ObjectLongHashMap<>();
+
+        @Override
+        public int size() { return this.map.size(); }
+
+        @Override
+        public boolean containsKey(final Object key) { return this.map.containsKey(key); }
+
+        @Override
+        public long get(final Object key, final long absent) { return this.map.getIfAbsent(key, absent); }
+
+        @Override
+        public void put(final K key, final long value) { this.map.put(key, value); }
+
+        @Override
+        public long add(final K key, final long delta) { return this.map.addToValue(key, delta); }
+
+        @Override
+        public boolean remove(final Object key) {
+            if (!this.map.containsKey(key)) return false;
+
+            this.map.remove(key);
+            return true;
+        }
+
+        @Override
+        public void clear() { this.map.clear(); }
+
+        @Override
+        public void forEach(final ObjLongConsumer<? super K> f) { this.map.forEachKeyValue(f::accept); }
+    }
+
+    private static final class EclipseObjDoubleStore<K>
+        implements ObjDoubleStore<K> {
+
+        private final ObjectDoubleHashMap<K> map = new ObjectDoubleHashMap<>();
+
+        @Override
+        public int size() { return this.map.size(); }
+
+        @Override
+        public boolean containsKey(final Object key) { return this.map.containsKey(key); }
+
+        @Override
+        public double get(final Object key, final double absent) { return this.map.getIfAbsent(key, absent); }
+
+        @Override
+        public void put(final K key, final double value) { this.map.put(key, value); }
+
+        @Override
+        public double add(final K key, final double delta) { return this.map.addToValue(key, delta); }
+
+        @Override
+        public boolean remove(final Object key) {
+            if (!this.map.containsKey(key)) return false;
+
+            this.map.remove(key);
+            return true;
+        }
+
+        @Override
+        public void clear() { this.map.clear(); }
+
+        @Override
+        public void forEach(final ObjDoubleConsumer<? super K> f) { this.map.forEachKeyValue(f::accept); }
+    }
 }
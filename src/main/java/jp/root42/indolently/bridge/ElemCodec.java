@@ -0,0 +1,44 @@
+// Copyright 2026 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently.bridge;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+
+/**
+ * Codec of the elements of a specific class in {@link CompactSerial} format.
+ * Both of writer and reader processes must register the codec with the same id.
+ *
+ * @param <T> element type
+ * @author takahashikzn
+ * @see CompactSerial#register(ElemCodec)
+ */
+public interface ElemCodec<T> {
+
+    /**
+     * @return the class of the elements. subclasses aren't handled.
+     */
+    Class<T> type();
+
+    /**
+     * @return the id to identify this codec in the stream, which is zero or more
+     */
+    int id();
+
+    void write(DataOutput out, T elem) throws IOException;
+
+    T read(DataInput in) throws IOException;
+}
@@ -19,7 +19,17 @@ import java.util.Map;
 import java.util.Set;
 import java.util.SortedMap;
 import java.util.SortedSet;
+import java.util.function.ObjDoubleConsumer;
+import java.util.function.ObjLongConsumer;
 
+import it.unimi.dsi.fastutil.ints.Int2ObjectMaps;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMaps;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2DoubleMaps;
+import it.unimi.dsi.fastutil.objects.Object2DoubleOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2LongMaps;
+import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
 import it.unimi.dsi.fastutil.objects.Object2ObjectAVLTreeMap;
 import it.unimi.dsi.fastutil.objects.Object2ObjectLinkedOpenHashMap;
 import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
@@ -27,6 +37,8 @@ import it.unimi.dsi.fastutil.objects.ObjectAVLTreeSet;
 import it.unimi.dsi.fastutil.objects.ObjectArrayList;
 import it.unimi.dsi.fastutil.objects.ObjectLinkedOpenHashSet;
 import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
+import jp.root42.indolently.function.IntObjConsumer;
+import jp.root42.indolently.function.LongObjConsumer;
 
 
 /**
@@ -71,16 +83,135 @@ final class FastutilObjFactory
         return new Object2ObjectOpenHashMap<>();
     }
 
+    @Override
+    public <K, V> Map<K, V> newMap(final int expected) {
+        return (expected <= 0) ? this.newMap() : new Object2ObjectOpenHashMap<>(expected);
+    }
+
     @Override
     public <V> Set<V> newSet() {
         return new ObjectOpenHashSet<>();
     }
 
+    @Override
+    public <V> Set<V> newSet(final int expected) {
+        return (expected <= 0) ? this.newSet() : new ObjectOpenHashSet<>(expected);
+    }
+
     @Override
     public <V> List<V> newList() {
         return new ObjectArrayList<>();
     }
 
+    @Override
+    public <V> List<V> newList(final int expected) {
+        return (expected <= 0) ? this.newList() : new ObjectArrayList<>(expected);
+    }
+
     @Override
     public <K, V> Map<K, V> optimize(final Map<K, V> map) { return new Object2ObjectOpenHashMap<>(map); }
+
+    @Override
+    public <V> IntObjStore<V> newIntObjMap() { return new FastutilIntObjStore<>(); }
+
+    @Override
+    public <V> LongObjStore<V> newLongObjMap() { return new FastutilLongObjStore<>(); }
+
+    @Override
+    public <K> ObjLongStore<K> newObjLongMap() { return new FastutilObjLongStore<>(); }
+
+    @Override
+    public <K> ObjDoubleStore<K> newObjDoubleMap() { return new FastutilObjDoubleStore<>(); }
+
+    private static final class FastutilIntObjStore<V>
+        extends Int2ObjectOpenHashMap<V>
+        implements IntObjStore<V> {
+
+        private static final long serialVersionUID = 5829716405387367913L;
+
+        @Override
+        public void forEach(final IntObjConsumer<? super V> f) { Int2ObjectMaps.fastForEach(this, e -> f.accept(e.getIntKey(), e.getValue())); }
+    }
+
+    private static final class FastutilLongObjStore<V>
+        extends Long2ObjectOpenHashMap<V>
+        implements LongObjStore<V> {
+
+        private static final long serialVersionUID = -7208153452632081794L;
+
+        @Override
+        public void forEach(final LongObjConsumer<? super V> f) { Long2ObjectMaps.fastForEach(this, e -> f.accept(e.getLongKey(), e.getValue())); }
+    }
+
+    private static final class FastutilObjLongStore<K>
+        implements ObjLongStore<K> {
+
+        private final Object2LongOpenHashMap<K> map = new Object2LongOpenHashMap<>();
+
+        @Override
+        public int size() { return this.map.size(); }
+
+        @Override
+        public boolean containsKey(final Object key) { return this.map.containsKey(key); }
+
+        @Override
+        public long get(final Object key, final long absent) { return this.map.getOrDefault(key, absent); }
+
+        @Override
+        public void put(final K key, final long value) { this.map.put(key, value); }
+
+        @Override
+        public long add(final K key, final long delta) { return this.map.addTo(key, delta) + delta; }
+
+        @Override
+        public boolean remove(final Object key) {
+            if (!this.map.containsKey(key)) return false;
+
+            this.map.removeLong(key);
+            return true;
+        }
+
+        @Override
+        public void clear() { this.map.clear(); }
+
+        @Override
+        public void forEach(final ObjLongConsumer<? super K> f) { Object2LongMaps.fastForEach(this.map, e -> f.accept(e.getKey(), e.getLongValue())); }
+    }
+
+    private static final class FastutilObjDoubleStore<K>
+        implements ObjDoubleStore<K> {
+
+        private final Object2DoubleOpenHashMap<K> map = new Object2DoubleOpenHashMap<>();
+
+        @Override
+        public int size() { return this.map.size(); }
+
+        @Override
+        public boolean containsKey(final Object key) { return this.map.containsKey(key); }
+
+        @Override
+        public double get(final Object key, final double absent) { return this.map.getOrDefault(key, absent); }
+
+        @Override
+        public void put(final K key, final double value) { this.map.put(key, value); }
+
+        @Override
+        public double add(final K key, final double delta) { return this.map.addTo(key, delta) + delta; }
+
+        @Override
+        public boolean remove(final Object key) {
+            if (!this.map.containsKey(key)) return false;
+
+            this.map.removeDouble(key);
+            return true;
+        }
+
+        @Override
+        public void clear() { this.map.clear(); }
+
+        @Override
+        public void forEach(final ObjDoubleConsumer<? super K> f) {
+            Object2DoubleMaps.fastForEach(this.map, e -> f.accept(e.getKey(), e.getDoubleValue()));
+        }
+    }
 }
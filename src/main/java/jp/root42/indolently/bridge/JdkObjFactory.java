@@ -26,6 +26,11 @@ import java.util.SortedMap;
 import java.util.SortedSet;
 import java.util.TreeMap;
 import java.util.TreeSet;
+import java.util.function.ObjDoubleConsumer;
+import java.util.function.ObjLongConsumer;
+
+import jp.root42.indolently.function.IntObjConsumer;
+import jp.root42.indolently.function.LongObjConsumer;
 
 
 /**
@@ -36,7 +41,10 @@ import java.util.TreeSet;
 class JdkObjFactory
     extends ObjFactory {
 
-    private static final int INITIAL_CAPACITY = 32;
+    /**
+     * @return the capacity of hash table not to be resized until the expected number of entries
+     */
+    static int capacity(final int expected) { return (int) Math.ceil(expected / 0.75); }
 
     @Override
     public <K, V> SortedMap<K, V> newSortedMap(final Comparator<? super K> comp) { return new TreeMap<>(comp); }
@@ -51,14 +59,145 @@ class JdkObjFactory
     public <V> Set<V> newFifoSet() { return new LinkedHashSet<>(); }
 
     @Override
-    public <K, V> Map<K, V> newMap() { return new HashMap<>(INITIAL_CAPACITY); }
+    public <K, V> Map<K, V> newMap() { return new HashMap<>(); }
+
+    @Override
+    public <K, V> Map<K, V> newMap(final int expected) { return (expected <= 0) ? this.newMap() : new HashMap<>(capacity(expected)); }
+
+    @Override
+    public <V> Set<V> newSet() { return new HashSet<>(); }
+
+    @Override
+    public <V> Set<V> newSet(final int expected) { return (expected <= 0) ? this.newSet() : new HashSet<>(capacity(expected)); }
 
     @Override
-    public <V> Set<V> newSet() { return new HashSet<>(INITIAL_CAPACITY); }
+    public <V> List<V> newList() { return new ArrayList<>(); }
 
     @Override
-    public <V> List<V> newList() { return new ArrayList<>(INITIAL_CAPACITY); }
+    public <V> List<V> newList(final int expected) { return (expected <= 0) ? this.newList() : new ArrayList<>(expected); }
 
     @Override
     public <K, V> Map<K, V> optimize(final Map<K, V> map) { return new HashMap<>(map); }
+
+    // fallbacks which box keys and values, also the defaults of ObjFactory
+
+    static final class JdkIntObjStore<V>
+        implements IntObjStore<V> {
+
+        private final Map<Integer, V> map = new HashMap<>();
+
+        @Override
+        public int size() { return this.map.size(); }
+
+        @Override
+        public boolean containsKey(final int key) { return this.map.containsKey(key); }
+
+        @Override
+        public V get(final int key) { return this.map.get(key); }
+
+        @Override
+        public V put(final int key, final V value) { return this.map.put(key, value); }
+
+        @Override
+        public V remove(final int key) { return this.map.remove(key); }
+
+        @Override
+        public void clear() { this.map.clear(); }
+
+        @Override
+        public void forEach(final IntObjConsumer<? super V> f) { this.map.forEach(f::accept); }
+    }
+
+    static final class JdkLongObjStore<V>
+        implements LongObjStore<V> {
+
+        private final Map<Long, V> map = new HashMap<>();
+
+        @Override
+        public int size() { return this.map.size(); }
+
+        @Override
+        public boolean containsKey(final long key) { return this.map.containsKey(key); }
+
+        @Override
+        public V get(final long key) { return this.map.get(key); }
+
+        @Override
+        public V put(final long key, final V value) { return this.map.put(key, value); }
+
+        @Override
+        public V remove(final long key) { return this.map.remove(key); }
+
+        @Override
+        public void clear() { this.map.clear(); }
+
+        @Override
+        public void forEach(final LongObjConsumer<? super V> f) { this.map.forEach(f::accept); }
+    }
+
+    static final class JdkObjLongStore<K>
+        implements ObjLongStore<K> {
+
+        private final Map<K, Long> map = new HashMap<>();
+
+        @Override
+        public int size() { return this.map.size(); }
+
+        @Override
+        public boolean containsKey(final Object key) { return this.map.containsKey(key); }
+
+        @Override
+        public long get(final Object key, final long absent) {
+            final var val = this.map.get(key);
+            return (val == null) ? absent : val;
+        }
+
+        @Override
+        public void put(final K key, final long value) { this.map.put(key, value); }
+
+        @Override
+        public long add(final K key, final long delta) { return this.map.merge(key, delta, Long::sum); }
+
+        @Override
+        public boolean remove(final Object key) { return this.map.remove(key) != null; }
+
+        @Override
+        public void clear() { this.map.clear(); }
+
+        @Override
+        public void forEach(final ObjLongConsumer<? super K> f) { this.map.forEach(f::accept); }
+    }
+
+    static final class JdkObjDoubleStore<K>
+        implements ObjDoubleStore<K> {
+
+        private final Map<K, Double> map = new HashMap<>();
+
+        @Override
+        public int size() { return this.map.size(); }
+
+        @Override
+        public boolean containsKey(final Object key) { return this.map.containsKey(key); }
+
+        @Override
+        public double get(final Object key, final double absent) {
+            final var val = this.map.get(key);
+            return (val == null) ? absent : val;
+        }
+
+        @Override
+        public void put(final K key, final double value) { this.map.put(key, value); }
+
+        @Override
+        public double add(final K key, final double delta) { return this.map.merge(key, delta, Double::sum); }
+
+        @Override
+        public boolean remove(final Object key) { return this.map.remove(key) != null; }
+
+        @Override
+        public void clear() { this.map.clear(); }
+
+        @Override
+        public void forEach(final ObjDoubleConsumer<? super K> f) { this.map.forEach(f::accept); }
+    }
 }
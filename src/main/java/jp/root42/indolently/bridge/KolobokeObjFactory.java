@@ -15,9 +15,21 @@ package jp.root42.indolently.bridge;
 
 import java.util.Map;
 import java.util.Set;
-
+import java.util.function.ObjDoubleConsumer;
+import java.util.function.ObjLongConsumer;
+
+import com.koloboke.collect.map.IntObjMap;
+import com.koloboke.collect.map.LongObjMap;
+import com.koloboke.collect.map.ObjDoubleMap;
+import com.koloboke.collect.map.ObjLongMap;
+import com.koloboke.collect.map.hash.HashIntObjMaps;
+import com.koloboke.collect.map.hash.HashLongObjMaps;
+import com.koloboke.collect.map.hash.HashObjDoubleMaps;
+import com.koloboke.collect.map.hash.HashObjLongMaps;
 import com.koloboke.collect.map.hash.HashObjObjMaps;
 import com.koloboke.collect.set.hash.HashObjSets;
+import jp.root42.indolently.function.IntObjConsumer;
+import jp.root42.indolently.function.LongObjConsumer;
 
 
 /**
@@ -43,6 +55,8 @@ final class KolobokeObjFactory
 
         private static final long serialVersionUID = -4881881384304670668L;
 
+        public KolobokeHashSet() { }
+
         static {
             // HashObjSets isn't thread-safe, so synchronized initialization is required.
             HashObjSets.newMutableSet();
@@ -59,6 +73,8 @@ final class KolobokeObjFactory
 
         private static final long serialVersionUID = 3578828373651399016L;
 
+        public KolobokeHashMap() { }
+
         static {
             // HashObjObjMaps isn't thread-safe, so synchronized initialization is required.
             HashObjObjMaps.newMutableMap();
@@ -80,6 +96,154 @@ final class KolobokeObjFactory
         return new KolobokeHashSet<>();
     }
 
+    // Koloboke containers are wrapped to be serializable, which discards the hint
+
+    @Override
+    public <K, V> Map<K, V> newMap(final int expected) {
+        return this.newMap();
+    }
+
+    @Override
+    public <V> Set<V> newSet(final int expected) {
+        return this.newSet();
+    }
+
     @Override
     public <K, V> Map<K, V> optimize(final Map<K, V> map) { return HashObjObjMaps.newMutableMap(map); }
+
+    @Override
+    public <V> IntObjStore<V> newIntObjMap() { return new KolobokeIntObjStore<>(); }
+
+    @Override
+    public <V> LongObjStore<V> newLongObjMap() { return new KolobokeLongObjStore<>(); }
+
+    @Override
+    public <K> ObjLongStore<K> newObjLongMap() { return new KolobokeObjLongStore<>(); }
+
+    @Override
+    public <K> ObjDoubleStore<K> newObjDoubleMap() { return new KolobokeObjDoubleStore<>(); }
+
+    private static final class KolobokeIntObjStore<V>
+        implements IntObjStore<V> {
+
+        private final IntObjMap<V> map = HashIntObjMaps.newMutableMap();
+
+        @Override
+        public int size() { return this.map.size(); }
+
+        @Override
+        public boolean containsKey(final int key) { return this.map.containsKey(key); }
+
+        @Override
+        public V get(final int key) { return this.map.get(key); }
+
+        @Override
+        public V put(final int key, final V value) { return this.map.put(key, value); }
+
+        @Override
+        public V remove(final int key) { return this.map.remove(key); }
+
+        @Override
+        public void clear() { this.map.clear(); }
+
+        @Override
+        public void forEach(final IntObjConsumer<? super V> f) { this.map.forEach((com.koloboke.function.IntObjConsumer<V>) f::accept); }
+    }
+
+    private static final class KolobokeLongObjStore<V>
+        implements LongObjStore<V> {
+
+        private final LongObjMap<V> map = HashLongObjMaps.newMutableMap();
+
+        @Override
+        public int size() { return this.map.size(); }
+
+        @Override
+        public boolean containsKey(final long key) { return this.map.containsKey(key); }
+
+        @Override
+        public V get(final long key) { return this.map.get(key); }
+
+        @Override
+        public V put(final long key, final V value) { return this.map.put(key, value); }
+
+        @Override
+        public V remove(final long key) { return this.map.remove(key); }
+
+        @Override
+        public void clear() { this.map.clear(); }
+
+        @Override
+        public void forEach(final LongObjConsumer<? super V> f) { this.map.forEach((com.koloboke.function.LongObjConsumer<V>) f::accept); }
+    }
+
+    private static final class KolobokeObjLongStore<K>
+        implements ObjLongStore<K> {
+
+        private final ObjLongMap<K> map = HashObjLongMaps.newMutableMap();
+
+        @Override
+        public int size() { return this.map.size(); }
+
+        @Override
+        public boolean containsKey(final Object key) { return this.map.containsKey(key); }
+
+        @Override
+        public long get(final Object key, final long absent) { return this.map.getOrDefault(key, absent); }
+
+        @Override
+        public void put(final K key, final long value) { this.map.put(key, value); }
+
+        @Override
+        public long add(final K key, final long delta) { return this.map.addValue(key, delta); }
+
+        @Override
+        public boolean remove(final Object key) {
+            if (!this.map.containsKey(key)) return false;
+
+            this.map.removeAsLong(key);
+            return true;
+        }
+
+        @Override
+        public void clear() { this.map.clear(); }
+
+        @Override
+        public void forEach(final ObjLongConsumer<? super K> f) { this.map.forEach((ObjLongConsumer<K>) f::accept); }
+    }
+
+    private static final class KolobokeObjDoubleStore<K>
+        implements ObjDoubleStore<K> {
+
+        private final ObjDoubleMap<K> map = HashObjDoubleMaps.newMutableMap();
+
+        @Override
+        public int size() { return this.map.size(); }
+
+        @Override
+        public boolean containsKey(final Object key) { return this.map.containsKey(key); }
+
+        @Override
+        public double get(final Object key, final double absent) { return this.map.getOrDefault(key, absent); }
+
+        @Override
+        public void put(final K key, final double value) { this.map.put(key, value); }
+
+        @Override
+        public double add(final K key, final double delta) { return this.map.addValue(key, delta); }
+
+        @Override
+        public boolean remove(final Object key) {
+            if (!this.map.containsKey(key)) return false;
+
+            this.map.removeAsDouble(key);
+            return true;
+        }
+
+        @Override
+        public void clear() { this.map.clear(); }
+
+        @Override
+        public void forEach(final ObjDoubleConsumer<? super K> f) { this.map.forEach((ObjDoubleConsumer<K>) f::accept); }
+    }
 }
@@ -0,0 +1,49 @@
+// Copyright 2026 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently.bridge;
+
+import jp.root42.indolently.function.LongObjConsumer;
+
+
+/**
+ * Hash map from {@code long} key to object value, which is provided by {@link ObjFactory}.
+ *
+ * @param <V> value type
+ * @author takahashikzn
+ */
+public interface LongObjStore<V> {
+
+    int size();
+
+    boolean containsKey(long key);
+
+    /**
+     * @return the value, or null if absent
+     */
+    V get(long key);
+
+    /**
+     * @return previous value, or null if absent
+     */
+    V put(long key, V value);
+
+    /**
+     * @return removed value, or null if absent
+     */
+    V remove(long key);
+
+    void clear();
+
+    void forEach(LongObjConsumer<? super V> f);
+}
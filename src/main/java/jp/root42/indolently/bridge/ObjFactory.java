@@ -20,6 +20,8 @@ import java.util.Objects;
 import java.util.Set;
 import java.util.SortedMap;
 import java.util.SortedSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 
 /**
@@ -62,6 +64,19 @@ public abstract class ObjFactory {
         }
     }
 
+    /**
+     * Create the factory which creates compact array-backed maps and sets for tiny sizes, which switch to the ones of
+     * the backend when they grow. Most maps and sets hold only a few entries, and then a hash table wastes both
+     * memory and cache. To enable it globally,
+     * {@code ObjFactory.setInstance(ObjFactory.adaptive(ObjFactory.getInstance()))}.
+     *
+     * @param backend the factory to create non-tiny collections
+     * @return adaptive factory
+     */
+    public static ObjFactory adaptive(final ObjFactory backend) {
+        return (backend instanceof AdaptiveObjFactory) ? backend : new AdaptiveObjFactory(backend);
+    }
+
     /**
      * Get default instance.
      *
@@ -135,6 +150,14 @@ public abstract class ObjFactory {
      */
     public abstract <K, V> Map<K, V> newMap();
 
+    /**
+     * Create new map instance.
+     *
+     * @param expected the expected number of entries. zero or less means unknown.
+     * @return new map instance
+     */
+    public <K, V> Map<K, V> newMap(final int expected) { return this.newMap(); }
+
     /**
      * Create new set instance.
      *
@@ -142,6 +165,14 @@ public abstract class ObjFactory {
      */
     public abstract <V> Set<V> newSet();
 
+    /**
+     * Create new set instance.
+     *
+     * @param expected the expected number of elements. zero or less means unknown.
+     * @return new set instance
+     */
+    public <V> Set<V> newSet(final int expected) { return this.newSet(); }
+
     /**
      * Create new list instance.
      *
@@ -149,5 +180,65 @@ public abstract class ObjFactory {
      */
     public abstract <V> List<V> newList();
 
+    /**
+     * Create new list instance.
+     *
+     * @param expected the expected number of elements. zero or less means unknown.
+     * @return new list instance
+     */
+    public <V> List<V> newList(final int expected) { return this.newList(); }
+
+    /**
+     * Create new thread-safe map instance. Each operation of {@link Map} including the default methods such as
+     * {@link Map#computeIfAbsent(Object, java.util.function.Function)} is atomic.
+     * Null keys and values are unsupported.
+     * <p>
+     * All backends share the JDK implementation, because the lock-free maps of the others may call the mapping
+     * function more than once under contention.
+     * </p>
+     *
+     * @return new map instance
+     */
+    public <K, V> ConcurrentMap<K, V> newConcurrentMap() { return new ConcurrentHashMap<>(); }
+
+    /**
+     * Create new thread-safe set instance. Null elements are unsupported.
+     *
+     * @return new set instance
+     */
+    public <V> Set<V> newConcurrentSet() { return ConcurrentHashMap.newKeySet(); }
+
     public abstract <K, V> Map<K, V> optimize(Map<K, V> map);
+
+    /**
+     * Create new map instance whose key is unboxed {@code int}.
+     * The default implementation boxes keys into a JDK map.
+     *
+     * @return new map instance
+     */
+    public <V> IntObjStore<V> newIntObjMap() { return new JdkObjFactory.JdkIntObjStore<>(); }
+
+    /**
+     * Create new map instance whose key is unboxed {@code long}.
+     * The default implementation boxes keys into a JDK map.
+     *
+     * @return new map instance
+     */
+    public <V> LongObjStore<V> newLongObjMap() { return new JdkObjFactory.JdkLongObjStore<>(); }
+
+    /**
+     * Create new map instance whose value is unboxed {@code long}.
+     * The default implementation boxes values into a JDK map.
+     *
+     * @return new map instance
+     */
+    public <K> ObjLongStore<K> newObjLongMap() { return new JdkObjFactory.JdkObjLongStore<>(); }
+
+    /**
+     * Create new map instance whose value is unboxed {@code double}.
+     * The default implementation boxes values into a JDK map.
+     *
+     * @return new map instance
+     */
+    public <K> ObjDoubleStore<K> newObjDoubleMap() { return new JdkObjFactory.JdkObjDoubleStore<>(); }
 }
@@ -0,0 +1,53 @@
+// Copyright 2026 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently.bridge;
+
+import java.util.function.ObjLongConsumer;
+
+
+/**
+ * Hash map from object key to {@code long} value, which is provided by {@link ObjFactory}.
+ *
+ * @param <K> key type
+ * @author takahashikzn
+ */
+public interface ObjLongStore<K> {
+
+    int size();
+
+    boolean containsKey(Object key);
+
+    /**
+     * @return the value, or {@code absent} if absent
+     */
+    long get(Object key, long absent);
+
+    void put(K key, long value);
+
+    /**
+     * Add the delta to the value, regarding absent value as zero.
+     *
+     * @return new value
+     */
+    long add(K key, long delta);
+
+    /**
+     * @return true if removed
+     */
+    boolean remove(Object key);
+
+    void clear();
+
+    void forEach(ObjLongConsumer<? super K> f);
+}
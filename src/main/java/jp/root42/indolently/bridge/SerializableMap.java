@@ -13,22 +13,22 @@
 // limitations under the License.
 package jp.root42.indolently.bridge;
 
+import java.io.Externalizable;
 import java.io.IOException;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
-import java.io.Serializable;
-import java.util.LinkedHashMap;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
 import java.util.Map;
 
 
 /**
- * Serializable wrapper of Map.
+ * Serializable wrapper of Map, written in {@link CompactSerial} format.
+ * Concrete classes must have public no-arg constructor.
  *
  * @author takahashikzn
  */
 abstract class SerializableMap<K, V>
     extends MapDelegate<K, V>
-    implements Serializable {
+    implements Externalizable {
 
     private static final long serialVersionUID = -624797042693721720L;
 
@@ -45,13 +45,13 @@ abstract class SerializableMap<K, V>
         return this.map;
     }
 
-    private void writeObject(final ObjectOutputStream out) throws IOException {
-        out.writeObject(new LinkedHashMap<>(this));
+    @Override
+    public void writeExternal(final ObjectOutput out) throws IOException {
+        CompactSerial.writeMap(out, this.map);
     }
 
-    @SuppressWarnings("unchecked")
-    private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
-        this.map = this.newMap();
-        this.map.putAll((Map<K, V>) in.readObject());
+    @Override
+    public void readExternal(final ObjectInput in) throws IOException, ClassNotFoundException {
+        this.map = CompactSerial.readMap(in, n -> this.newMap());
     }
 }
@@ -13,23 +13,22 @@
 // limitations under the License.
 package jp.root42.indolently.bridge;
 
+import java.io.Externalizable;
 import java.io.IOException;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
-import java.io.Serializable;
-import java.util.ArrayList;
-import java.util.List;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
 import java.util.Set;
 
 
 /**
- * Serializable wrapper of Set.
+ * Serializable wrapper of Set, written in {@link CompactSerial} format.
+ * Concrete classes must have public no-arg constructor.
  *
  * @author takahashikzn
  */
 abstract class SerializableSet<T>
     extends SetDelegate<T>
-    implements Serializable {
+    implements Externalizable {
 
     private static final long serialVersionUID = -2690931773619464155L;
 
@@ -46,13 +45,13 @@ abstract class SerializableSet<T>
         return this.set;
     }
 
-    private void writeObject(final ObjectOutputStream out) throws IOException {
-        out.writeObject(new ArrayList<>(this));
+    @Override
+    public void writeExternal(final ObjectOutput out) throws IOException {
+        CompactSerial.writeAll(out, this.set);
     }
 
-    @SuppressWarnings("unchecked")
-    private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
-        this.set = this.newSet();
-        this.set.addAll((List<T>) in.readObject());
+    @Override
+    public void readExternal(final ObjectInput in) throws IOException, ClassNotFoundException {
+        this.set = CompactSerial.readAll(in, n -> this.newSet());
     }
 }
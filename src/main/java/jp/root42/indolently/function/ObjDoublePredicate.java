@@ -0,0 +1,37 @@
+// Copyright 2026 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently.function;
+
+import java.util.Objects;
+
+
+/**
+ * Predicate of object key and {@code double} value.
+ *
+ * @author takahashikzn
+ */
+@FunctionalInterface
+public interface ObjDoublePredicate<T> {
+
+    boolean test(T key, double value);
+
+    default ObjDoublePredicate<T> and(final ObjDoublePredicate<? super T> other) {
+        Objects.requireNonNull(other);
+        return (k, v) -> this.test(k, v) && other.test(k, v);
+    }
+
+    default ObjDoublePredicate<T> negate() {
+        return (k, v) -> !this.test(k, v);
+    }
+}
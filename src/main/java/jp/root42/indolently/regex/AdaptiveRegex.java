@@ -13,37 +13,102 @@
 // limitations under the License.
 package jp.root42.indolently.regex;
 
-import java.util.Collections;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+import java.util.function.LongSupplier;
 
 import jp.root42.indolently.$list;
-import jp.root42.indolently.Indolently;
 
 
 /**
+ * Regex which chooses the fastest engine among equivalent ones by measuring them.
+ * <p>
+ * Decisions are made per input length bucket (&lt; 32, &lt; 1K, &lt; 32K and more chars) since the fastest engine
+ * depends on input length.
+ * Each bucket repeats two phases: exploration, which runs the engines in turn and measures them, then exploitation,
+ * which uses the fastest one only. Re-exploration lets the decision follow a changing workload.
+ * Engines are rotated and measured per operation, and the winner is the one whose total cost for the explored mix of
+ * operations is the lowest, so an interleaved workload doesn't measure each engine on a different operation.
+ * </p>
+ * <p>
+ * This class is thread-safe. State transitions are coordinated by a call counter, so a few calls around a phase
+ * boundary may be taken by the other phase under contention; it only affects choice, not result.
+ * {@link #test(CharSequence)}, {@link #find(CharSequence)}, {@link #split(CharSequence, int)},
+ * {@link #replaceAll(CharSequence, String)} and {@link #replaceFirst(CharSequence, String)} are measured.
+ * {@link #matcher(CharSequence)} follows the decision but is not measured because its cost depends on the caller.
+ * The engines themselves report every call to {@link RegexMetrics} while it is enabled.
+ * </p>
+ *
  * @author takahashikzn.
  */
 public final class AdaptiveRegex
     implements RegexBase<Regex.Ptrn, ReMatcher<?, ?>> {
 
-    private final List<? extends RegexBase<?, ?>> patterns;
+    public static final int DEFAULT_TRIAL = 100;
+
+    public static final int DEFAULT_PERIOD = 10_000;
+
+    static final int BUCKETS = 4;
+
+    private static final int EXPLORING = -1;
+
+    private static final int TEST = 0;
+
+    private static final int FIND = 1;
+
+    private static final int SPLIT = 2;
+
+    private static final int REPLACE_ALL = 3;
 
-    private final List<Long> times;
+    private static final int REPLACE_FIRST = 4;
+
+    private static final int OPERATIONS = 5;
+
+    private final List<? extends RegexBase<?, ?>> patterns;
 
     private final int trial;
 
-    private int current;
+    private final int period;
+
+    /** returns the current time in nanoseconds. */
+    private final LongSupplier clock;
 
-    private RegexBase<?, ?> fastest;
+    private final Bucket[] buckets = new Bucket[BUCKETS];
 
     public AdaptiveRegex(final List<? extends RegexBase<?, ?>> patterns) {
-        this(patterns, 100);
+        this(patterns, DEFAULT_TRIAL);
     }
 
     public AdaptiveRegex(final List<? extends RegexBase<?, ?>> patterns, final int trial) {
-        this.patterns = patterns;
-        this.times = Indolently.list(patterns).map(x -> 0L);
+        this(patterns, trial, DEFAULT_PERIOD);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param patterns equivalent regex instances
+     * @param trial the number of measurements per engine in each exploration
+     * @param period the number of calls using the fastest engine until next exploration, per bucket
+     */
+    public AdaptiveRegex(final List<? extends RegexBase<?, ?>> patterns, final int trial, final int period) {
+        this(patterns, trial, period, System::nanoTime);
+    }
+
+    AdaptiveRegex(final List<? extends RegexBase<?, ?>> patterns, final int trial, final int period, final LongSupplier clock) {
+        if (patterns.isEmpty()) throw new IllegalArgumentException("no patterns");
+        if (trial <= 0) throw new IllegalArgumentException("(trial = %d) <= 0".formatted(trial));
+        if (period <= 0) throw new IllegalArgumentException("(period = %d) <= 0".formatted(period));
+
+        this.patterns = List.copyOf(patterns);
         this.trial = trial;
+        this.period = period;
+        this.clock = clock;
+
+        for (int i = 0; i < BUCKETS; i++)
+            this.buckets[i] = new Bucket(this.patterns.size());
     }
 
     @Override
@@ -51,51 +116,161 @@ public final class AdaptiveRegex
         return this.patterns.get(0).pattern();
     }
 
-    private RegexBase<?, ?> select() {
-        this.determineFastest();
+    List<? extends RegexBase<?, ?>> patterns() { return this.patterns; }
 
-        return (this.fastest == null) ? this.patterns.get(this.current % this.patterns.size()) : this.fastest;
-    }
+    static int bucket(final int length) { return Math.min(BUCKETS - 1, (Integer.SIZE - Integer.numberOfLeadingZeros(length) - 1) / 5); }
+
+    /**
+     * Get the index of the engine currently chosen for the input length.
+     *
+     * @param length input length
+     * @return the index of the chosen engine, or negative value while exploring
+     */
+    int chosen(final int length) { return this.buckets[bucket(length)].winner; }
+
+    private final class Bucket {
+
+        /** elapsed time per operation and engine. */
+        private final LongAdder[][] times;
+
+        /** the number of measurements per operation and engine. */
+        private final LongAdder[][] counts;
+
+        /** rotates the engines per operation while exploring. */
+        private final AtomicLong[] turns = new AtomicLong[OPERATIONS];
 
-    private void determineFastest() {
-        if ((this.fastest == null) && (this.trial < this.current)) {
-            this.fastest = this.patterns.get(this.times.indexOf(Collections.min(this.times)));
+        private final AtomicLong calls = new AtomicLong();
+
+        /** the call number at which exploration ends. */
+        private final AtomicLong decideAt = new AtomicLong();
+
+        /** the call number at which exploitation ends. */
+        private final AtomicLong restartAt = new AtomicLong(Long.MAX_VALUE);
+
+        private volatile int winner = EXPLORING;
+
+        Bucket(final int size) {
+            this.times = new LongAdder[OPERATIONS][size];
+            this.counts = new LongAdder[OPERATIONS][size];
+
+            for (int op = 0; op < OPERATIONS; op++) {
+                this.turns[op] = new AtomicLong();
+
+                for (int i = 0; i < size; i++) {
+                    this.times[op][i] = new LongAdder();
+                    this.counts[op][i] = new LongAdder();
+                }
+            }
+
+            this.decideAt.set((long) AdaptiveRegex.this.trial * size);
         }
-    }
 
-    @Override
-    public boolean test(final CharSequence cs) {
-        this.determineFastest();
+        <R> R run(final int op, final CharSequence cs, final BiFunction<RegexBase<?, ?>, CharSequence, R> f) {
+            final long n = this.calls.getAndIncrement();
+            final int winner = this.winner;
+
+            if (winner != EXPLORING) {
+                final long restartAt = this.restartAt.get();
+
+                // only one thread wins the CAS
+                if ((n < restartAt) || !this.restartAt.compareAndSet(restartAt, Long.MAX_VALUE))
+                    return f.apply(AdaptiveRegex.this.patterns.get(winner), cs);
+
+                this.restart(n);
+            } else {
+                final long decideAt = this.decideAt.get();
+
+                if ((decideAt <= n) && this.decideAt.compareAndSet(decideAt, Long.MAX_VALUE)) this.decide(n);
+            }
+
+            return this.explore(op, cs, f);
+        }
+
+        private <R> R explore(final int op, final CharSequence cs, final BiFunction<RegexBase<?, ?>, CharSequence, R> f) {
+            final int pos = Math.floorMod(this.turns[op].getAndIncrement(), AdaptiveRegex.this.patterns.size());
 
-        if (this.fastest != null) {
-            return this.fastest.test(cs);
+            final var t0 = AdaptiveRegex.this.clock.getAsLong();
+            final var result = f.apply(AdaptiveRegex.this.patterns.get(pos), cs);
+            this.times[op][pos].add(AdaptiveRegex.this.clock.getAsLong() - t0);
+            this.counts[op][pos].increment();
+
+            return result;
+        }
+
+        RegexBase<?, ?> select() {
+            final int winner = this.winner;
+            return AdaptiveRegex.this.patterns.get((winner == EXPLORING) ? 0 : winner);
         }
 
-        final var now = System.nanoTime();
-        final int pos = this.current % this.patterns.size();
-        final var result = this.patterns.get(pos).test(cs);
-        final var time = System.nanoTime() - now;
+        private void decide(final long n) {
+            final int size = AdaptiveRegex.this.patterns.size();
+            final var costs = new double[size];
+
+            for (int op = 0; op < OPERATIONS; op++) {
+                final var counts = new long[size];
+                long total = 0;
+
+                for (int i = 0; i < size; i++)
+                    total += counts[i] = this.counts[op][i].sum();
+
+                // an operation not measured on every engine can't compare them
+                if (Arrays.stream(counts).anyMatch(x -> x == 0)) continue;
+
+                // the cost of running all the calls of the operation on each engine
+                for (int i = 0; i < size; i++)
+                    costs[i] += total * ((double) this.times[op][i].sum() / counts[i]);
+            }
+
+            int fastest = 0;
+            for (int i = 1; i < size; i++)
+                if (costs[i] < costs[fastest]) fastest = i;
 
-        this.times.set(pos, this.times.get(pos) + time);
+            this.restartAt.set(n + AdaptiveRegex.this.period);
+            this.winner = fastest;
+        }
+
+        private void restart(final long n) {
+            for (int op = 0; op < OPERATIONS; op++) {
+                for (int i = 0; i < AdaptiveRegex.this.patterns.size(); i++) {
+                    this.times[op][i].reset();
+                    this.counts[op][i].reset();
+                }
+            }
 
-        this.current++;
+            this.decideAt.set(n + ((long) AdaptiveRegex.this.trial * AdaptiveRegex.this.patterns.size()));
+            this.winner = EXPLORING;
+        }
+    }
 
-        return result;
+    private <R> R run(final int op, final CharSequence cs, final BiFunction<RegexBase<?, ?>, CharSequence, R> f) {
+        return this.buckets[bucket(cs.length())].run(op, cs, f);
     }
 
     @Override
-    public Regex.Ptrn ptrn() { return this::pattern; }
+    public boolean test(final CharSequence cs) { return this.run(TEST, cs, RegexBase::test); }
 
     @Override
-    public ReMatcher<?, ?> matcher(final CharSequence cs) {
-        return this.select().matcher(cs);
-    }
+    public boolean find(final CharSequence cs) { return this.run(FIND, cs, RegexBase::find); }
+
+    @Override
+    public $list<String> split(final CharSequence cs, final int limit) { return this.run(SPLIT, cs, (re, x) -> re.split(x, limit)); }
 
     @Override
-    public String pattern() { return this.select().pattern(); }
+    public String replaceAll(final CharSequence cs, final String replacement) {
+        return this.run(REPLACE_ALL, cs, (re, x) -> re.replaceAll(x, replacement));
+    }
 
     @Override
-    public $list<String> split(final CharSequence cs, final int limit) {
-        return this.select().split(cs, limit);
+    public String replaceFirst(final CharSequence cs, final String replacement) {
+        return this.run(REPLACE_FIRST, cs, (re, x) -> re.replaceFirst(x, replacement));
     }
+
+    @Override
+    public Regex.Ptrn ptrn() { return this::pattern; }
+
+    @Override
+    public ReMatcher<?, ?> matcher(final CharSequence cs) { return this.buckets[bucket(cs.length())].select().matcher(cs); }
+
+    @Override
+    public String pattern() { return this.patterns.get(0).pattern(); }
 }
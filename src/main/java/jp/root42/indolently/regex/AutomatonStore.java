@@ -0,0 +1,315 @@
+// Copyright 2026 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently.regex;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.CRC32C;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import dk.brics.automaton.RegExp;
+import dk.brics.automaton.RunAutomaton;
+import jp.root42.indolently.$list;
+import jp.root42.indolently.Regexive;
+
+import static jp.root42.indolently.Indolently.*;
+
+
+/**
+ * Precompiled automata of {@link AutomatonTest}, which are saved at build time and loaded at startup so as to skip the
+ * expensive DFA construction.
+ * <p>
+ * Every entry has the checksum of the translated pattern and the automata. If the checksum doesn't match (e.g. the
+ * pattern translation has changed since the artifact was built, or the artifact is corrupted), the entry is ignored
+ * and the pattern is compiled at runtime as usual.
+ * </p>
+ * <p>
+ * {@link Regexive#tester(String)} looks up the artifacts found at {@link #RESOURCE} on the classpath.
+ * They can be generated at build time by:
+ * </p>
+ *
+ * <pre>
+ * java -cp ... jp.root42.indolently.regex.AutomatonStore target/classes/META-INF/indolently/automaton.bin patterns.txt
+ * </pre>
+ *
+ * <p>
+ * where {@code patterns.txt} contains one pattern per line.
+ * </p>
+ *
+ * @author takahashikzn
+ */
+public final class AutomatonStore {
+
+    /** the resource name of the artifacts looked up by {@link #bundled()}. */
+    public static final String RESOURCE = "META-INF/indolently/automaton.bin";
+
+    private static final int MAGIC = 0x49444641; // IDFA
+
+    private static final int VERSION = 1;
+
+    /** only the automaton and its arrays are deserialized. */
+    private static final ObjectInputFilter FILTER = ObjectInputFilter.Config.createFilter( //
+        "maxdepth=2;maxrefs=16;dk.brics.automaton.RunAutomaton;!*");
+
+    private static final AutomatonStore EMPTY = new AutomatonStore(Map.of(), list());
+
+    private final Map<String, AutomatonTest> automata;
+
+    private final $list<String> stale;
+
+    private AutomatonStore(final Map<String, AutomatonTest> automata, final $list<String> stale) {
+        this.automata = automata;
+        this.stale = stale.freeze();
+    }
+
+    /**
+     * Compile patterns. Patterns which the automaton can't express are ignored.
+     *
+     * @param patterns patterns
+     * @return compiled automata
+     */
+    public static AutomatonStore compile(final Iterable<String> patterns) {
+        final Map<String, AutomatonTest> automata = new LinkedHashMap<>();
+
+        for (final var p: patterns)
+            if (!automata.containsKey(p) && (Regexive.tester(p) instanceof AutomatonTest x)) {
+                // build lazily constructed automaton in advance
+                x.finder();
+                automata.put(p, x);
+            }
+
+        return new AutomatonStore(automata, list());
+    }
+
+    /**
+     * Get the artifacts on the classpath. They are loaded at the first call.
+     *
+     * @return the artifacts at {@link #RESOURCE}
+     */
+    public static AutomatonStore bundled() { return Bundled.STORE; }
+
+    private static final class Bundled {
+
+        static final AutomatonStore STORE = loadResources();
+
+        private static AutomatonStore loadResources() {
+            final var loader = AutomatonStore.class.getClassLoader();
+            if (loader == null) return EMPTY;
+
+            final Map<String, AutomatonTest> automata = new LinkedHashMap<>();
+            final $list<String> stale = list();
+
+            try {
+                final var found = loader.getResources(RESOURCE);
+                while (found.hasMoreElements()) {
+                    try (final var in = found.nextElement().openStream()) {
+                        final var x = load(in);
+                        x.automata.forEach(automata::putIfAbsent);
+                        stale.addAll(x.stale);
+                    } catch (final IOException | IllegalArgumentException e) {
+                        // broken artifact; every pattern is compiled at runtime
+                    }
+                }
+            } catch (final IOException e) {
+                return EMPTY;
+            }
+
+            return automata.isEmpty() && stale.isEmpty() ? EMPTY : new AutomatonStore(automata, stale);
+        }
+    }
+
+    /**
+     * Load the artifact.
+     *
+     * @param in input. not closed by this method.
+     * @return loaded automata
+     * @throws IOException if failed to read
+     * @throws IllegalArgumentException if the input isn't the artifact of this version
+     */
+    public static AutomatonStore load(final InputStream in) throws IOException {
+        final var data = new DataInputStream(new BufferedInputStream(new InflaterInputStream(in)));
+
+        final int magic = data.readInt();
+        if (magic != MAGIC) throw new IllegalArgumentException("(magic = %x) != %x".formatted(magic, MAGIC));
+
+        final int version = data.readInt();
+        if (version != VERSION) throw new IllegalArgumentException("(version = %d) != %d".formatted(version, VERSION));
+
+        final Map<String, AutomatonTest> automata = new LinkedHashMap<>();
+        final $list<String> stale = list();
+
+        for (int i = 0, Z = data.readInt(); i < Z; i++) {
+            final var pattern = new String(read(data), StandardCharsets.UTF_8);
+            final long checksum = data.readLong();
+            final var automaton = read(data);
+            final var finder = read(data);
+
+            final AutomatonSyntax.Translation t;
+            try {
+                t = AutomatonSyntax.translate(pattern);
+            } catch (final IllegalArgumentException e) {
+                stale.add(pattern);
+                continue;
+            }
+
+            if (checksum != checksum(t, automaton, finder)) {
+                stale.add(pattern);
+                continue;
+            }
+
+            automata.put(pattern,
+                new AutomatonTest(new RegExp(t.regexp(), RegExp.NONE), automaton(automaton), automaton(finder), t.head(), t.tail(), pattern,
+                    Prefilter.of(pattern)));
+        }
+
+        return new AutomatonStore(automata, stale);
+    }
+
+    /**
+     * Save the artifact.
+     *
+     * @param out output. not closed by this method.
+     * @throws IOException if failed to write
+     */
+    public void save(final OutputStream out) throws IOException {
+        final var deflater = new DeflaterOutputStream(out);
+        final var data = new DataOutputStream(new BufferedOutputStream(deflater));
+
+        data.writeInt(MAGIC);
+        data.writeInt(VERSION);
+        data.writeInt(this.automata.size());
+
+        for (final var e: this.automata.entrySet()) {
+            final var automaton = bytes(e.getValue().automaton);
+            final var finder = bytes(e.getValue().finder());
+
+            write(data, e.getKey().getBytes(StandardCharsets.UTF_8));
+            data.writeLong(checksum(AutomatonSyntax.translate(e.getKey()), automaton, finder));
+            write(data, automaton);
+            write(data, finder);
+        }
+
+        data.flush();
+        deflater.finish();
+    }
+
+    private static long checksum(final AutomatonSyntax.Translation translated, final byte[] automaton, final byte[] finder) {
+        final var crc = new CRC32C();
+        crc.update(VERSION);
+        crc.update(translated.regexp().getBytes(StandardCharsets.UTF_8));
+        crc.update(translated.head() ? 1 : 0);
+        crc.update(translated.tail().ordinal());
+        crc.update(automaton);
+        crc.update(finder);
+
+        return crc.getValue();
+    }
+
+    private static byte[] read(final DataInputStream in) throws IOException {
+        final int len = in.readInt();
+        if (len < 0) throw new IllegalArgumentException("(len = %d) < 0".formatted(len));
+
+        return in.readNBytes(len);
+    }
+
+    private static void write(final DataOutputStream out, final byte[] x) throws IOException {
+        out.writeInt(x.length);
+        out.write(x);
+    }
+
+    private static byte[] bytes(final RunAutomaton a) throws IOException {
+        final var buf = new ByteArrayOutputStream();
+        try (final var out = new ObjectOutputStream(buf)) {
+            out.writeObject(a);
+        }
+
+        return buf.toByteArray();
+    }
+
+    private static RunAutomaton automaton(final byte[] x) throws IOException {
+        try (final var in = new ObjectInputStream(new ByteArrayInputStream(x))) {
+            in.setObjectInputFilter(FILTER);
+            return (RunAutomaton) in.readObject();
+        } catch (final ClassNotFoundException | ClassCastException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    /**
+     * Get the precompiled tester.
+     *
+     * @param pattern pattern
+     * @return precompiled tester, or {@code null} if not found
+     */
+    public AutomatonTest get(final String pattern) { return this.automata.get(pattern); }
+
+    /**
+     * Get the patterns.
+     *
+     * @return precompiled patterns
+     */
+    public $list<String> patterns() { return list(this.automata.keySet()).freeze(); }
+
+    /**
+     * Get the patterns which are ignored due to the checksum mismatch.
+     *
+     * @return stale patterns
+     */
+    public $list<String> stale() { return this.stale; }
+
+    public int size() { return this.automata.size(); }
+
+    public boolean isEmpty() { return this.automata.isEmpty(); }
+
+    @Override
+    public String toString() { return this.patterns().toString(); }
+
+    /**
+     * Generate the artifact.
+     *
+     * @param args the output file followed by pattern files which contain one pattern per line
+     * @throws IOException if failed to read or write
+     */
+    public static void main(final String[] args) throws IOException {
+        if (args.length < 1) throw new IllegalArgumentException("usage: AutomatonStore <output> <pattern file>...");
+
+        final $list<String> patterns = list();
+        for (int i = 1; i < args.length; i++)
+            for (final var line: Files.readAllLines(Path.of(args[i]), StandardCharsets.UTF_8))
+                if (!line.isEmpty()) patterns.add(line);
+
+        final var out = Path.of(args[0]);
+        if (out.getParent() != null) Files.createDirectories(out.getParent());
+
+        try (final var o = Files.newOutputStream(out)) {
+            compile(patterns).save(o);
+        }
+    }
+}
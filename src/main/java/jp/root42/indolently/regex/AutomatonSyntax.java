@@ -0,0 +1,1084 @@
+// Copyright 2026 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently.regex;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import dk.brics.automaton.Automaton;
+import dk.brics.automaton.RegExp;
+
+
+/**
+ * Translator of {@code java.util.regex} syntax into {@link RegExp} syntax.
+ * <p>
+ * The pattern is parsed by recursive descent. Every character class, including escapes, {@code \p{...}} and the
+ * effect of case-insensitive flags, is resolved into a set of code points in the same manner as
+ * {@code java.util.regex}, then written as the alternation of UTF-16 sequences. Lazy quantifiers are written as greedy
+ * ones since they never change whether the pattern matches. Anchors at the edges of the pattern are taken out as
+ * {@link Translation#head()} and {@link Translation#tail()}.
+ * </p>
+ * <p>
+ * Constructs which an automaton can't express (lookaround, back references, word boundaries, possessive quantifiers,
+ * anchors in the middle of the pattern, etc.) are rejected with {@link IllegalArgumentException} telling the reason.
+ * So are character classes consisting of more than {@value #MAX_RANGES} ranges, such as {@code \p{L}}, since building
+ * the automaton of them costs far more than matching by {@code java.util.regex}.
+ * Unpaired surrogates never match negated classes, {@code .} and Unicode properties.
+ * </p>
+ *
+ * @author takahashikzn
+ */
+final class AutomatonSyntax {
+
+    /**
+     * The anchor at the end of the pattern.
+     */
+    enum Tail {
+
+        /** not anchored. */
+        NONE,
+
+        /** {@code \z}. */
+        END,
+
+        /** {@code $} or {@code \Z}; also matches before the line terminator at the end of input. */
+        LINE,
+
+        /** {@code $} or {@code \Z} in {@code UNIX_LINES} mode. */
+        UNIX_LINE;
+
+        /**
+         * Test whether a match can end at the position.
+         *
+         * @param cs input
+         * @param pos the end of the match
+         * @param end the end of input
+         * @return test result
+         */
+        boolean at(final CharSequence cs, final int pos, final int end) {
+            if ((this == NONE) || (pos == end)) return true;
+
+            return switch (this) {
+                case UNIX_LINE -> (pos == end - 1) && (cs.charAt(pos) == '\n');
+                case LINE -> {
+                    if (pos == end - 2) yield (cs.charAt(pos) == '\r') && (cs.charAt(pos + 1) == '\n');
+                    if (pos != end - 1) yield false;
+
+                    final char c = cs.charAt(pos);
+
+                    // never matches between CR and LF
+                    yield (c == '\n') ? ((pos == 0) || (cs.charAt(pos - 1) != '\r')) : isLineTerminator(c);
+                }
+                default -> false;
+            };
+        }
+
+        /**
+         * Build the language of the inputs which end with a match of {@code a}.
+         *
+         * @param a the language of the input up to the end of a match
+         * @return the language of whole input
+         */
+        Automaton append(final Automaton a) {
+            return switch (this) {
+                case NONE -> a.concatenate(Automaton.makeAnyString());
+                case END -> a.clone();
+                case UNIX_LINE -> a.concatenate(Automaton.makeChar('\n').optional());
+                case LINE -> {
+                    final var crlf = Automaton.makeString("\r\n").union(Automaton.makeChar('\r')) //
+                        .union(Automaton.makeChar('\u0085')).union(Automaton.makeCharRange('\u2028', '\u2029'));
+
+                    final var notCr = Automaton.makeEmptyString()
+                        .union(Automaton.makeAnyString().concatenate(Automaton.makeChar('\r').complement().intersection(Automaton.makeAnyChar())));
+
+                    yield a.concatenate(crlf.optional()).union(a.intersection(notCr).concatenate(Automaton.makeChar('\n')));
+                }
+            };
+        }
+    }
+
+    /**
+     * Translation result.
+     *
+     * @param regexp pattern in {@link RegExp} syntax without the anchors at the edges
+     * @param head whether the pattern is anchored at the beginning of input
+     * @param tail the anchor at the end of the pattern
+     */
+    record Translation(String regexp, boolean head, Tail tail) { }
+
+    private sealed interface Node permits Chars, Seq, Alt, Repeat, Anchor { }
+
+    /** single code point in the set. */
+    private record Chars(BitSet set)
+        implements Node { }
+
+    private record Seq(List<Node> items)
+        implements Node { }
+
+    private record Alt(List<Node> alts)
+        implements Node { }
+
+    /** max is negative if unbounded. */
+    private record Repeat(Node body, int min, int max)
+        implements Node { }
+
+    /** zero-width anchor; tail is null for the head anchor. */
+    private record Anchor(Tail tail, int at)
+        implements Node {
+
+        boolean head() { return this.tail == null; }
+    }
+
+    private static final Node EMPTY = new Seq(List.of());
+
+    /** all code points but surrogates. */
+    private static final BitSet ALL = new BitSet();
+
+    private static final BitSet DIGIT = new BitSet();
+
+    private static final BitSet WORD = new BitSet();
+
+    private static final BitSet SPACE = new BitSet();
+
+    private static final BitSet HORIZONTAL_SPACE = new BitSet();
+
+    private static final BitSet VERTICAL_SPACE = new BitSet();
+
+    /** the code points which are tested by a single evaluation of Unicode properties; all of them are unassigned. */
+    private static final int UNASSIGNED_FROM = 0x40000;
+
+    private static final int UNASSIGNED_TO = 0xDFFFF;
+
+    private static final Map<String, BitSet> PROPERTIES = new ConcurrentHashMap<>();
+
+    /** the max number of code point ranges in a character class. */
+    static final int MAX_RANGES = 256;
+
+    static {
+        ALL.set(0, Character.MAX_CODE_POINT + 1);
+        ALL.clear(Character.MIN_SURROGATE, Character.MAX_SURROGATE + 1);
+
+        DIGIT.set('0', '9' + 1);
+
+        WORD.set('a', 'z' + 1);
+        WORD.set('A', 'Z' + 1);
+        WORD.or(DIGIT);
+        WORD.set('_');
+
+        " \t\n\u000b\f\r".chars().forEach(SPACE::set);
+
+        " \t\u00a0\u1680\u180e\u202f\u205f\u3000".chars().forEach(HORIZONTAL_SPACE::set);
+        HORIZONTAL_SPACE.set('\u2000', '\u200a' + 1);
+
+        "\n\u000b\f\r\u0085\u2028\u2029".chars().forEach(VERTICAL_SPACE::set);
+    }
+
+    private AutomatonSyntax() { }
+
+    /**
+     * Translate {@code java.util.regex} syntax into {@link RegExp} syntax.
+     *
+     * @param pattern pattern in {@code java.util.regex} syntax
+     * @return translation result
+     * @throws IllegalArgumentException if the pattern contains constructs which {@link RegExp} can't express; the
+     *     message tells the reason
+     */
+    static Translation translate(final String pattern) {
+        final var parser = new Parser(pattern);
+
+        var root = parser.alternation();
+        if (parser.i != pattern.length()) throw parser.fail("unbalanced parenthesis", parser.i);
+
+        final List<Anchor> head = new ArrayList<>();
+        final List<Anchor> tail = new ArrayList<>();
+
+        root = edge(root, true, head, parser);
+        root = edge(root, false, tail, parser);
+        inner(root, parser);
+
+        return new Translation(emit(root), !head.isEmpty(), tail.isEmpty() ? Tail.NONE : tail.get(0).tail());
+    }
+
+    private static boolean isLineTerminator(final int c) {
+        return (c == '\n') || (c == '\r') || (c == '\u0085') || (c == '\u2028') || (c == '\u2029');
+    }
+
+    /**
+     * Take out the anchors at the edge of the pattern.
+     */
+    private static Node edge(final Node node, final boolean head, final List<Anchor> found, final Parser parser) {
+        if ((node instanceof Anchor a) && (a.head() == head)) {
+            found.add(a);
+            return EMPTY;
+        }
+
+        if ((node instanceof Seq s) && !s.items().isEmpty()) {
+            final var items = new ArrayList<>(s.items());
+            final int k = head ? 0 : (items.size() - 1);
+            items.set(k, edge(items.get(k), head, found, parser));
+
+            return new Seq(items);
+        }
+
+        if (node instanceof Alt a) {
+            final List<Node> alts = new ArrayList<>();
+            List<Anchor> first = null;
+
+            for (final var alt: a.alts()) {
+                final List<Anchor> f = new ArrayList<>();
+                alts.add(edge(alt, head, f, parser));
+
+                if (first == null) {
+                    first = f;
+                } else if (first.isEmpty() != f.isEmpty()) {
+                    throw parser.fail("anchor on some alternatives only", (first.isEmpty() ? f : first).get(0).at());
+                } else if (!f.isEmpty() && (f.get(0).tail() != first.get(0).tail())) {
+                    throw parser.fail("different anchors on alternatives", f.get(0).at());
+                }
+            }
+
+            found.addAll(first);
+
+            return new Alt(alts);
+        }
+
+        return node;
+    }
+
+    private static void inner(final Node node, final Parser parser) {
+        if (node instanceof Anchor a) throw parser.fail("anchor in the middle of the pattern", a.at());
+        if (node instanceof Seq s) s.items().forEach(x -> inner(x, parser));
+        if (node instanceof Alt a) a.alts().forEach(x -> inner(x, parser));
+        if (node instanceof Repeat r) inner(r.body(), parser);
+    }
+
+    private static String emit(final Node node) {
+        if (node instanceof Chars c) return chars(c.set());
+        if (node instanceof Alt a) return a.alts().stream().map(AutomatonSyntax::emit).collect(Collectors.joining("|", "(", ")"));
+
+        if (node instanceof Seq s) {
+            final var sb = new StringBuilder();
+            for (final var item: s.items())
+                if (item != EMPTY) sb.append(emit(item));
+
+            return sb.isEmpty() ? "()" : sb.toString();
+        }
+
+        final var r = (Repeat) node;
+        final var body = (r.body() instanceof Seq) || (r.body() instanceof Repeat) ? ("(" + emit(r.body()) + ")") : emit(r.body());
+
+        if (r.max() < 0) {
+            return body + switch (r.min()) {
+                case 0 -> "*";
+                case 1 -> "+";
+                default -> "{" + r.min() + ",}";
+            };
+        }
+
+        if ((r.min() == 0) && (r.max() == 1)) return body + "?";
+
+        return body + ((r.min() == r.max()) ? ("{" + r.min() + "}") : ("{" + r.min() + "," + r.max() + "}"));
+    }
+
+    /**
+     * Write the set of code points as the alternation of UTF-16 sequences. The result is always atomic.
+     */
+    private static String chars(final BitSet set) {
+        final List<String> alts = new ArrayList<>();
+
+        final var bmp = new StringBuilder();
+        int ranges = 0;
+        for (int lo = set.nextSetBit(0); (0 <= lo) && (lo <= Character.MAX_VALUE); lo = set.nextSetBit(lo + 1)) {
+            final int hi = Math.min(set.nextClearBit(lo) - 1, Character.MAX_VALUE);
+
+            bmp.append(escape(lo));
+            if (lo < hi) bmp.append('-').append(escape(hi));
+
+            ranges += (lo < hi) ? 2 : 1;
+            lo = hi;
+        }
+
+        if (0 < ranges) alts.add((ranges == 1) ? bmp.toString() : ("[" + bmp + "]"));
+
+        for (int lo = set.nextSetBit(Character.MIN_SUPPLEMENTARY_CODE_POINT); 0 <= lo; ) {
+            final int hi = set.nextClearBit(lo) - 1;
+            supplementary(lo, hi, alts);
+            lo = set.nextSetBit(hi + 1);
+        }
+
+        if (alts.isEmpty()) return "[^" + escape(Character.MIN_VALUE) + "-" + escape(Character.MAX_VALUE) + "]";
+        if ((alts.size() == 1) && (0 < ranges)) return alts.get(0);
+
+        return String.join("|", alts).transform(x -> "(" + x + ")");
+    }
+
+    private static void supplementary(final int lo, final int hi, final List<String> alts) {
+        int hlo = Character.highSurrogate(lo);
+        int hhi = Character.highSurrogate(hi);
+        final char llo = Character.lowSurrogate(lo);
+        final char lhi = Character.lowSurrogate(hi);
+
+        if (hlo == hhi) {
+            alts.add(escape(hlo) + span(llo, lhi));
+            return;
+        }
+
+        if (llo != Character.MIN_LOW_SURROGATE) alts.add(escape(hlo++) + span(llo, Character.MAX_LOW_SURROGATE));
+        if (lhi != Character.MAX_LOW_SURROGATE) alts.add(escape(hhi--) + span(Character.MIN_LOW_SURROGATE, lhi));
+        if (hlo <= hhi) alts.add(span(hlo, hhi) + span(Character.MIN_LOW_SURROGATE, Character.MAX_LOW_SURROGATE));
+    }
+
+    private static String span(final int lo, final int hi) { return (lo == hi) ? escape(lo) : ("[" + escape(lo) + "-" + escape(hi) + "]"); }
+
+    private static String escape(final int c) {
+        return (('a' <= c) && (c <= 'z')) || (('A' <= c) && (c <= 'Z')) || (('0' <= c) && (c <= '9')) ? String.valueOf((char) c)
+            : ("\\" + (char) c);
+    }
+
+    private static BitSet complement(final BitSet set) {
+        final var x = (BitSet) ALL.clone();
+        x.andNot(set);
+
+        return x;
+    }
+
+    /**
+     * Evaluate the character class by {@code java.util.regex} for every code point; the result is cached.
+     */
+    private static BitSet evaluate(final String cls, final int flags) {
+        final var set = PROPERTIES.computeIfAbsent(flags + ":" + cls, k -> {
+            final var m = Pattern.compile(cls, flags).matcher("");
+            final var found = new BitSet();
+
+            for (int c = ALL.nextSetBit(0); 0 <= c; c = ALL.nextSetBit(c + 1)) {
+                if (c == UNASSIGNED_FROM) {
+                    if (m.reset(Character.toString(c)).matches()) found.set(UNASSIGNED_FROM, UNASSIGNED_TO + 1);
+                    c = UNASSIGNED_TO;
+                } else if (m.reset(Character.toString(c)).matches()) {
+                    found.set(c);
+                }
+            }
+
+            return found;
+        });
+
+        return (BitSet) set.clone();
+    }
+
+    /**
+     * Case mappings which are used by case-insensitive matching.
+     */
+    private static final class Folding {
+
+        /** the code points whose upper case or folded case differs. */
+        static final int[] CASED;
+
+        static final int[] UPPER;
+
+        static final int[] FOLDED;
+
+        /** folded case to the code points. */
+        static final Map<Integer, List<Integer>> UNFOLD = new HashMap<>();
+
+        static {
+            final List<int[]> cased = new ArrayList<>();
+
+            for (int c = 0; c <= Character.MAX_CODE_POINT; c++) {
+                final int upper = Character.toUpperCase(c);
+                final int folded = Character.toLowerCase(upper);
+
+                if ((upper != c) || (folded != c)) cased.add(new int[] { c, upper, folded });
+                if (folded != c) UNFOLD.computeIfAbsent(folded, x -> new ArrayList<>()).add(c);
+            }
+
+            CASED = cased.stream().mapToInt(x -> x[0]).toArray();
+            UPPER = cased.stream().mapToInt(x -> x[1]).toArray();
+            FOLDED = cased.stream().mapToInt(x -> x[2]).toArray();
+        }
+    }
+
+    private static final class Parser {
+
+        private final String p;
+
+        private final int n;
+
+        int i;
+
+        private int flags;
+
+        Parser(final String p) {
+            this.p = p;
+            this.n = p.length();
+        }
+
+        IllegalArgumentException fail(final String reason, final int at) {
+            return new IllegalArgumentException("%s at %d: %s".formatted(reason, at, this.p));
+        }
+
+        private boolean has(final int flag) { return (this.flags & flag) != 0; }
+
+        private boolean at(final char c) { return (this.i < this.n) && (this.p.charAt(this.i) == c); }
+
+        private char peek(final int at) { return (at < this.n) ? this.p.charAt(at) : '\0'; }
+
+        private int next() {
+            final int c = this.p.codePointAt(this.i);
+            this.i += Character.charCount(c);
+
+            return c;
+        }
+
+        /** skip whitespace and comments in {@code COMMENTS} mode. */
+        private void skip() {
+            if (!this.has(Pattern.COMMENTS)) return;
+
+            while (this.i < this.n) {
+                final char c = this.p.charAt(this.i);
+
+                if ((c == ' ') || (c == '\t') || (c == '\n') || (c == '\u000b') || (c == '\f') || (c == '\r')) {
+                    this.i++;
+                } else if (c == '#') {
+                    while ((this.i < this.n) && !(this.has(Pattern.UNIX_LINES) ? (this.p.charAt(this.i) == '\n') : isLineTerminator(this.p.charAt(this.i))))
+                        this.i++;
+                } else {
+                    break;
+                }
+            }
+        }
+
+        Node alternation() {
+            final List<Node> alts = new ArrayList<>();
+            alts.add(this.sequence());
+
+            while (this.at('|')) {
+                this.i++;
+                alts.add(this.sequence());
+            }
+
+            return (alts.size() == 1) ? alts.get(0) : new Alt(List.copyOf(alts));
+        }
+
+        private Node sequence() {
+            final List<Node> items = new ArrayList<>();
+
+            while (true) {
+                this.skip();
+                if ((this.n <= this.i) || this.at('|') || this.at(')')) break;
+
+                final int start = this.i;
+
+                if (this.p.startsWith("\\Q", this.i)) {
+                    final var quoted = this.quote();
+                    if (quoted.isEmpty()) continue;
+
+                    // the quantifier applies to the last character
+                    items.addAll(quoted.subList(0, quoted.size() - 1));
+                    items.add(this.quantifier(quoted.get(quoted.size() - 1), start));
+                    continue;
+                }
+
+                final var atom = this.atom();
+
+                // inline flags
+                if (atom == null) continue;
+
+                items.add(this.quantifier(atom, start));
+            }
+
+            return (items.size() == 1) ? items.get(0) : new Seq(List.copyOf(items));
+        }
+
+        /**
+         * @return the atom, or null if inline flags
+         */
+        private Node atom() {
+            final int at = this.i;
+            final int c = this.next();
+
+            return switch (c) {
+                case '(' -> this.group(at);
+                case '[' -> this.chars(this.clazz(at), at);
+                case '.' -> new Chars(this.dot());
+                case '^' -> {
+                    if (this.has(Pattern.MULTILINE)) throw this.fail("multiline anchor", at);
+                    yield new Anchor(null, at);
+                }
+                case '$' -> {
+                    if (this.has(Pattern.MULTILINE)) throw this.fail("multiline anchor", at);
+                    yield new Anchor(this.has(Pattern.UNIX_LINES) ? Tail.UNIX_LINE : Tail.LINE, at);
+                }
+                case '\\' -> this.escape(at);
+                case '*', '+', '?', '{' -> throw this.fail("dangling quantifier", at);
+                default -> new Chars(this.single(c));
+            };
+        }
+
+        private Node group(final int at) {
+            final int saved = this.flags;
+
+            if (this.at('?')) {
+                this.i++;
+
+                final char k = this.peek(this.i);
+                final char k2 = this.peek(this.i + 1);
+
+                if (k == ':') {
+                    this.i++;
+                } else if ((k == '=') || (k == '!') || ((k == '<') && ((k2 == '=') || (k2 == '!')))) {
+                    throw this.fail("lookaround", at);
+                } else if (k == '>') {
+                    throw this.fail("atomic group", at);
+                } else if (k == '<') {
+                    final int close = this.p.indexOf('>', this.i);
+                    if ((close < 0) || !this.p.substring(this.i + 1, close).matches("[a-zA-Z][a-zA-Z0-9]*")) throw this.fail("illegal group name", at);
+
+                    this.i = close + 1;
+                } else {
+                    this.inlineFlags(at);
+
+                    if (this.at(')')) {
+                        // effective until the end of the enclosing group
+                        this.i++;
+                        return null;
+                    }
+
+                    if (!this.at(':')) throw this.fail("unknown group type", at);
+                    this.i++;
+                }
+            }
+
+            final var body = this.alternation();
+            if (!this.at(')')) throw this.fail("unclosed group", at);
+            this.i++;
+
+            this.flags = saved;
+
+            return body;
+        }
+
+        private void inlineFlags(final int at) {
+            boolean on = true;
+
+            for (; this.i < this.n; this.i++) {
+                final char c = this.p.charAt(this.i);
+
+                final int flag = switch (c) {
+                    case 'i' -> Pattern.CASE_INSENSITIVE;
+                    case 'd' -> Pattern.UNIX_LINES;
+                    case 'm' -> Pattern.MULTILINE;
+                    case 's' -> Pattern.DOTALL;
+                    case 'u' -> Pattern.UNICODE_CASE;
+                    case 'x' -> Pattern.COMMENTS;
+                    case 'U' -> Pattern.UNICODE_CHARACTER_CLASS | Pattern.UNICODE_CASE;
+                    case 'c' -> throw this.fail("canonical equivalence", at);
+                    case '-' -> 0;
+                    default -> -1;
+                };
+
+                if (flag < 0) return;
+
+                if (c == '-') {
+                    if (!on) throw this.fail("unknown inline modifier", at);
+                    on = false;
+                } else if (on) {
+                    this.flags |= flag;
+                } else {
+                    this.flags &= ~flag;
+                }
+            }
+        }
+
+        private Node quantifier(final Node atom, final int at) {
+            this.skip();
+            if (this.n <= this.i) return atom;
+
+            final int q = this.i;
+            final int min;
+            final int max;
+
+            switch (this.p.charAt(this.i)) {
+                case '?' -> {
+                    min = 0;
+                    max = 1;
+                }
+                case '*' -> {
+                    min = 0;
+                    max = -1;
+                }
+                case '+' -> {
+                    min = 1;
+                    max = -1;
+                }
+                case '{' -> {
+                    this.i++;
+                    min = this.count(q);
+
+                    if (this.at(',')) {
+                        this.i++;
+                        max = this.at('}') ? -1 : this.count(q);
+                    } else {
+                        max = min;
+                    }
+
+                    if (!this.at('}')) throw this.fail("unclosed counted closure", q);
+                    if ((0 <= max) && (max < min)) throw this.fail("illegal repetition range", q);
+                }
+                default -> {
+                    return atom;
+                }
+            }
+
+            this.i++;
+
+            // lazy quantifiers accept the same language
+            if (this.at('?')) this.i++;
+            else if (this.at('+')) throw this.fail("possessive quantifier", q);
+
+            this.skip();
+            if ((this.i < this.n) && ("?*+{".indexOf(this.p.charAt(this.i)) >= 0)) throw this.fail("stacked quantifier", this.i);
+
+            if (atom instanceof Anchor) throw this.fail("quantified anchor", at);
+
+            return new Repeat(atom, min, max);
+        }
+
+        private int count(final int q) {
+            final int from = this.i;
+            while ((this.i < this.n) && ('0' <= this.p.charAt(this.i)) && (this.p.charAt(this.i) <= '9'))
+                this.i++;
+
+            if (from == this.i) throw this.fail("illegal repetition", q);
+
+            try {
+                return Integer.parseInt(this.p, from, this.i, 10);
+            } catch (final NumberFormatException e) {
+                throw this.fail("too large repetition", q);
+            }
+        }
+
+        private BitSet dot() {
+            final var x = (BitSet) ALL.clone();
+            if (this.has(Pattern.DOTALL)) return x;
+
+            if (this.has(Pattern.UNIX_LINES)) {
+                x.clear('\n');
+            } else {
+                "\n\r\u0085\u2028\u2029".chars().forEach(x::clear);
+            }
+
+            return x;
+        }
+
+        /**
+         * Parse {@code \Q...\E}; the closing {@code \E} may be omitted at the end of the pattern.
+         */
+        private List<Node> quote() {
+            this.i += 2;
+
+            final int close = this.p.indexOf("\\E", this.i);
+            final int end = (close < 0) ? this.n : close;
+            final List<Node> quoted = new ArrayList<>();
+
+            while (this.i < end)
+                quoted.add(new Chars(this.single(this.next())));
+
+            this.i = (close < 0) ? this.n : (close + 2);
+
+            return quoted;
+        }
+
+        private Chars chars(final BitSet set, final int at) {
+            int ranges = 0;
+            for (int lo = set.nextSetBit(0); 0 <= lo; lo = set.nextSetBit(set.nextClearBit(lo)))
+                if (MAX_RANGES < ++ranges) throw this.fail("too large character class", at);
+
+            return new Chars(set);
+        }
+
+        private Node escape(final int at) {
+            if (this.n <= this.i) throw this.fail("trailing backslash", at);
+
+            final char e = this.p.charAt(this.i++);
+
+            switch (e) {
+                case 'A' -> {
+                    return new Anchor(null, at);
+                }
+                case 'z' -> {
+                    return new Anchor(Tail.END, at);
+                }
+                case 'Z' -> {
+                    return new Anchor(this.has(Pattern.UNIX_LINES) ? Tail.UNIX_LINE : Tail.LINE, at);
+                }
+                default -> {
+                    final var set = this.classEscape(e, at);
+                    return (set != null) ? this.chars(set, at) : new Chars(this.single(this.charEscape(e, at)));
+                }
+            }
+        }
+
+        /**
+         * @return the set, or null if not a class escape
+         */
+        private BitSet classEscape(final char e, final int at) {
+            final int unicode = this.flags & (Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE | Pattern.UNICODE_CHARACTER_CLASS);
+
+            switch (e) {
+                case 'd', 'D', 'w', 'W', 's', 'S', 'h', 'H', 'v', 'V' -> {
+                    if (this.has(Pattern.UNICODE_CHARACTER_CLASS)) return evaluate("\\" + e, unicode);
+
+                    final var set = switch (Character.toLowerCase(e)) {
+                        case 'd' -> DIGIT;
+                        case 'w' -> WORD;
+                        case 's' -> SPACE;
+                        case 'h' -> HORIZONTAL_SPACE;
+                        default -> VERTICAL_SPACE;
+                    };
+
+                    return Character.isUpperCase(e) ? complement(set) : (BitSet) set.clone();
+                }
+                case 'p', 'P' -> {
+                    final int end;
+                    if (this.at('{')) {
+                        end = this.p.indexOf('}', this.i) + 1;
+                        if (end == 0) throw this.fail("unclosed character family", at);
+                    } else {
+                        end = this.i + 1;
+                        if (this.n < end) throw this.fail("illegal character family", at);
+                    }
+
+                    final var name = this.p.substring(this.i, end);
+                    this.i = end;
+
+                    try {
+                        return evaluate("\\" + e + name, unicode);
+                    } catch (final IllegalArgumentException ex) {
+                        throw this.fail("unknown character property " + name, at);
+                    }
+                }
+                default -> {
+                    return null;
+                }
+            }
+        }
+
+        /**
+         * @return the code point which the escape sequence denotes
+         */
+        private int charEscape(final char e, final int at) {
+            switch (e) {
+                case 't' -> {
+                    return '\t';
+                }
+                case 'n' -> {
+                    return '\n';
+                }
+                case 'r' -> {
+                    return '\r';
+                }
+                case 'f' -> {
+                    return '\f';
+                }
+                case 'a' -> {
+                    return '\u0007';
+                }
+                case 'e' -> {
+                    return '\u001b';
+                }
+                case 'c' -> {
+                    if (this.n <= this.i) throw this.fail("illegal control escape sequence", at);
+                    return this.p.charAt(this.i++) ^ 64;
+                }
+                case '0' -> {
+                    return this.octal(at);
+                }
+                case 'x' -> {
+                    return this.hex(at);
+                }
+                case 'u' -> {
+                    final int c = this.hex4(at);
+                    if (!Character.isHighSurrogate((char) c) || !this.p.startsWith("\\u", this.i)) return c;
+
+                    final int saved = this.i;
+                    this.i += 2;
+
+                    final int low = this.hex4(at);
+                    if (Character.isLowSurrogate((char) low)) return Character.toCodePoint((char) c, (char) low);
+
+                    this.i = saved;
+                    return c;
+                }
+                case 'N' -> {
+                    final int close = this.p.indexOf('}', this.i);
+                    if (!this.at('{') || (close < 0)) throw this.fail("unclosed character name escape sequence", at);
+
+                    final var name = this.p.substring(this.i + 1, close);
+                    this.i = close + 1;
+
+                    try {
+                        return Character.codePointOf(name);
+                    } catch (final IllegalArgumentException ex) {
+                        throw this.fail("unknown character name " + name, at);
+                    }
+                }
+                case 'b', 'B' -> throw this.fail("word boundary", at);
+                case 'G' -> throw this.fail("end of the previous match", at);
+                case 'R' -> throw this.fail("linebreak matcher", at);
+                case 'X' -> throw this.fail("grapheme cluster", at);
+                case 'k', '1', '2', '3', '4', '5', '6', '7', '8', '9' -> throw this.fail("back reference", at);
+                default -> {
+                    if ((('a' <= e) && (e <= 'z')) || (('A' <= e) && (e <= 'Z'))) throw this.fail("illegal escape sequence", at);
+
+                    this.i--;
+                    return this.next();
+                }
+            }
+        }
+
+        private int octal(final int at) {
+            final int n = Character.digit(this.peek(this.i), 8);
+            if ((n < 0) || (this.peek(this.i) > '7')) throw this.fail("illegal octal escape sequence", at);
+            this.i++;
+
+            final int m = (this.peek(this.i) <= '7') ? Character.digit(this.peek(this.i), 8) : -1;
+            if (m < 0) return n;
+            this.i++;
+
+            final int o = (this.peek(this.i) <= '7') ? Character.digit(this.peek(this.i), 8) : -1;
+            if ((o < 0) || (3 < n)) return n * 8 + m;
+            this.i++;
+
+            return n * 64 + m * 8 + o;
+        }
+
+        private int hex(final int at) {
+            if (this.at('{')) {
+                final int close = this.p.indexOf('}', this.i);
+                if (close < 0) throw this.fail("unclosed hexadecimal escape sequence", at);
+
+                try {
+                    final int c = Integer.parseInt(this.p, this.i + 1, close, 16);
+                    if (!Character.isValidCodePoint(c) || (this.p.charAt(this.i + 1) == '+')) throw new NumberFormatException();
+
+                    this.i = close + 1;
+                    return c;
+                } catch (final NumberFormatException e) {
+                    throw this.fail("illegal hexadecimal escape sequence", at);
+                }
+            }
+
+            return this.digits(2, at);
+        }
+
+        private int hex4(final int at) { return this.digits(4, at); }
+
+        private int digits(final int len, final int at) {
+            int c = 0;
+            for (int k = 0; k < len; k++) {
+                final int d = Character.digit(this.peek(this.i), 16);
+                if ((d < 0) || (0x7F < this.peek(this.i))) throw this.fail("illegal hexadecimal escape sequence", at);
+
+                c = (c << 4) | d;
+                this.i++;
+            }
+
+            return c;
+        }
+
+        /**
+         * Parse the character class after {@code [}; the result is the intersection of the operands separated by
+         * {@code &&}, and {@code ^} negates the whole.
+         */
+        private BitSet clazz(final int at) {
+            boolean negate = false;
+            if (this.at('^')) {
+                this.i++;
+                negate = true;
+            }
+
+            BitSet result = null;
+            BitSet operand = null;
+
+            while (true) {
+                this.skip();
+                if (this.n <= this.i) throw this.fail("unclosed character class", at);
+
+                final char c = this.p.charAt(this.i);
+
+                if ((c == ']') && ((result != null) || (operand != null))) {
+                    this.i++;
+                    break;
+                }
+
+                if ((c == '&') && (this.peek(this.i + 1) == '&')) {
+                    this.i += 2;
+                    result = and(result, operand);
+                    operand = null;
+                } else if (c == '[') {
+                    this.i++;
+                    operand = or(operand, this.clazz(this.i - 1));
+                } else {
+                    operand = or(operand, this.range());
+                }
+            }
+
+            result = and(result, operand);
+
+            return negate ? complement(result) : result;
+        }
+
+        private static BitSet and(final BitSet x, final BitSet y) {
+            if ((x == null) || (y == null)) return (x == null) ? y : x;
+
+            x.and(y);
+            return x;
+        }
+
+        private static BitSet or(final BitSet x, final BitSet y) {
+            if (x == null) return y;
+
+            x.or(y);
+            return x;
+        }
+
+        private BitSet range() {
+            final int at = this.i;
+            final int lo = this.classChar(at);
+
+            if (lo < 0) return this.property;
+
+            this.skip();
+
+            if (this.at('-')) {
+                final char end = this.peek(this.i + 1);
+
+                if ((end != '[') && (end != ']') && (this.i + 1 < this.n)) {
+                    this.i++;
+                    this.skip();
+
+                    final int hi = this.classChar(at);
+                    if ((hi < 0) || (hi < lo)) throw this.fail("illegal character range", at);
+
+                    return this.range(lo, hi);
+                }
+            }
+
+            return this.member(lo);
+        }
+
+        /** the last class escape read by {@link #classChar(int)}. */
+        private BitSet property;
+
+        /**
+         * @return the code point, or -1 if a class escape is read into {@link #property}
+         */
+        private int classChar(final int at) {
+            if (!this.at('\\')) return this.next();
+
+            this.i++;
+            if (this.n <= this.i) throw this.fail("trailing backslash", at);
+
+            final char e = this.p.charAt(this.i++);
+            if (e == 'Q') throw this.fail("quotation in character class", at);
+
+            this.property = this.classEscape(e, at);
+
+            return (this.property != null) ? -1 : this.charEscape(e, at);
+        }
+
+        /**
+         * The set which a literal character matches outside character classes.
+         */
+        private BitSet single(final int c) {
+            final var x = new BitSet();
+            x.set(c);
+
+            if (!this.has(Pattern.CASE_INSENSITIVE)) return x;
+
+            if (this.has(Pattern.UNICODE_CASE)) {
+                final int lower = Character.toLowerCase(Character.toUpperCase(c));
+                if (lower == Character.toUpperCase(c)) return x;
+
+                x.clear(c);
+                x.set(lower);
+                Folding.UNFOLD.getOrDefault(lower, List.of()).forEach(x::set);
+            } else if ((c < 0x80) && Character.isLetter(c)) {
+                x.set(Character.toLowerCase(c));
+                x.set(Character.toUpperCase(c));
+            }
+
+            return x;
+        }
+
+        /**
+         * The set which a literal character matches in character classes.
+         */
+        private BitSet member(final int c) {
+            // same as java.util.regex.Pattern.bitsOrSingle
+            if ((c < 0x100) && !(this.has(Pattern.CASE_INSENSITIVE) && this.has(Pattern.UNICODE_CASE) && ("\u00ff\u00b5IiSsKk\u00c5\u00e5".indexOf(c) >= 0))) {
+                final var x = new BitSet();
+                x.set(c);
+
+                if (this.has(Pattern.CASE_INSENSITIVE)) {
+                    if (c < 0x80) {
+                        if (Character.isLetter(c)) {
+                            x.set(Character.toLowerCase(c));
+                            x.set(Character.toUpperCase(c));
+                        }
+                    } else if (this.has(Pattern.UNICODE_CASE)) {
+                        x.set(Character.toLowerCase(c));
+                        x.set(Character.toUpperCase(c));
+                    }
+                }
+
+                return x;
+            }
+
+            return this.single(c);
+        }
+
+        private BitSet range(final int lo, final int hi) {
+            final var x = new BitSet();
+            x.set(lo, hi + 1);
+
+            if (!this.has(Pattern.CASE_INSENSITIVE)) return x;
+
+            if (this.has(Pattern.UNICODE_CASE)) {
+                for (int k = 0; k < Folding.CASED.length; k++) {
+                    final int up = Folding.UPPER[k];
+                    final int folded = Folding.FOLDED[k];
+
+                    if (((lo <= up) && (up <= hi)) || ((lo <= folded) && (folded <= hi))) x.set(Folding.CASED[k]);
+                }
+            } else {
+                for (int c = 'A'; c <= 'z'; c++) {
+                    if (!Character.isLetter(c)) continue;
+
+                    final int up = Character.toUpperCase(c);
+                    final int low = Character.toLowerCase(c);
+                    if (((lo <= up) && (up <= hi)) || ((lo <= low) && (low <= hi))) x.set(c);
+                }
+            }
+
+            return x;
+        }
+    }
+}
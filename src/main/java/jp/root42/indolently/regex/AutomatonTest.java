@@ -13,18 +13,62 @@
 // limitations under the License.
 package jp.root42.indolently.regex;
 
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.regex.MatchResult;
 
-import dk.brics.automaton.AutomatonMatcher;
+import dk.brics.automaton.Automaton;
 import dk.brics.automaton.RegExp;
 import dk.brics.automaton.RunAutomaton;
+import dk.brics.automaton.SpecialOperations;
+import jp.root42.indolently.$list;
+import jp.root42.indolently.regex.AutomatonSyntax.Tail;
+
+import static jp.root42.indolently.Indolently.*;
 
 
 /**
+ * Regex implementation which runs in linear time using the DFA of <a href="https://www.brics.dk/automaton/">dk.brics
+ * automaton</a>.
+ * <p>
+ * Matching follows leftmost-longest (POSIX) semantics; it differs from {@code java.util.regex} only when an earlier
+ * alternative is a prefix of a later one, e.g. {@code a|ab}, or when the pattern has lazy quantifiers, which are
+ * matched as greedy ones.
+ * Anchors at the edges of the pattern ({@code ^}, {@code $}, {@code \A}, {@code \z} and {@code \Z}) are supported
+ * outside {@code MULTILINE} mode. Capturing groups are extracted by {@link Submatch}.
+ * </p>
+ *
  * @author takahashikzn
  */
 public class AutomatonTest
-    implements ReTest, ReFindable {
+    implements RegexBase<AutomatonTest, ReMatcherAutomaton> {
+
+    /**
+     * Translate {@code java.util.regex} syntax into {@link RegExp} syntax.
+     * Anchors at the edges of the pattern are not included; {@link #of(String)} takes them into account.
+     *
+     * @param pattern pattern in {@code java.util.regex} syntax
+     * @return pattern in {@link RegExp} syntax
+     * @throws IllegalArgumentException if the pattern contains constructs which {@link RegExp} can't express; the
+     *     message tells the reason
+     */
+    public static String translate(final String pattern) { return AutomatonSyntax.translate(pattern).regexp(); }
+
+    /**
+     * Compile the pattern in {@code java.util.regex} syntax.
+     *
+     * @param pattern pattern in {@code java.util.regex} syntax
+     * @return compiled pattern
+     * @throws IllegalArgumentException if the pattern contains constructs which {@link RegExp} can't express; the
+     *     message tells the reason
+     */
+    public static AutomatonTest of(final String pattern) {
+        final var t = AutomatonSyntax.translate(pattern);
+        final var re = new RegExp(t.regexp(), RegExp.NONE);
+
+        return new AutomatonTest(re, new RunAutomaton(re.toAutomaton()), null, t.head(), t.tail(), pattern, Prefilter.of(pattern));
+    }
 
     private final RegExp re;
 
@@ -32,29 +76,264 @@ public class AutomatonTest
 
     private final String pattern;
 
+    /** whether the pattern is anchored at the beginning of input. */
+    final boolean head;
+
+    final Tail tail;
+
+    private final Prefilter prefilter;
+
+    /** Σ* P, or Σ* P T if anchored at the end; detects the end of the earliest match. */
+    private volatile RunAutomaton finder;
+
+    /** reverse of P Σ*, or P T if anchored at the end; detects the start of matches scanning backward. */
+    private volatile RunAutomaton starter;
+
+    private volatile Submatch submatch;
+
+    private volatile Utf8Automaton utf8;
+
+    private volatile Utf8Automaton utf8Finder;
+
+    private volatile boolean noSubmatch;
+
+    /**
+     * Constructor. The pattern is only a label, so no prefilter is applied.
+     *
+     * @param re pattern in {@link RegExp} syntax
+     * @param pattern label of the pattern
+     */
     public AutomatonTest(final RegExp re, final String pattern) {
         this(re, new RunAutomaton(re.toAutomaton()), pattern);
     }
 
+    /**
+     * Constructor. The pattern is only a label, so no prefilter is applied.
+     *
+     * @param re pattern in {@link RegExp} syntax
+     * @param automaton compiled {@code re}
+     * @param pattern label of the pattern
+     */
     public AutomatonTest(final RegExp re, final RunAutomaton automaton, final String pattern) {
+        this(re, automaton, null, false, Tail.NONE, pattern, Prefilter.NONE);
+    }
+
+    /**
+     * @param prefilter the prefilter of the pattern in {@code java.util.regex} syntax
+     */
+    AutomatonTest(final RegExp re, final RunAutomaton automaton, final RunAutomaton finder, final boolean head, final Tail tail,
+        final String pattern, final Prefilter prefilter) {
         this.re = re;
         this.automaton = automaton;
+        this.finder = finder;
+        this.head = head;
+        this.tail = tail;
         this.pattern = pattern;
+        this.prefilter = prefilter;
     }
 
     @Override
     public String pattern() { return this.pattern; }
 
+    @Override
+    public AutomatonTest ptrn() { return this; }
+
     public RegExp regex() { return this.re; }
 
+    /**
+     * Get the literal prefilter which is applied before matching.
+     *
+     * @return prefilter
+     */
+    public Prefilter prefilter() { return this.prefilter; }
+
+    @Override
+    public boolean test(final CharSequence cs) {
+        return RegexMetrics.disabled() ? this.matches(cs) : RegexMetrics.measure(this, cs.length(), () -> this.matches(cs));
+    }
+
+    @Override
+    public boolean find(final CharSequence cs) {
+        return RegexMetrics.disabled() ? this.found(cs) : RegexMetrics.measure(this, cs.length(), () -> this.found(cs));
+    }
+
+    private boolean matches(final CharSequence cs) {
+        if (!this.prefilter.test(cs)) return false;
+
+        // same as RunAutomaton#run(String) but without copying the input
+        final var a = this.automaton;
+
+        int p = a.getInitialState();
+        for (int i = 0, Z = cs.length(); i < Z; i++)
+            if ((p = a.step(p, cs.charAt(i))) == -1) return false;
+
+        return a.isAccept(p);
+    }
+
+    private boolean found(final CharSequence cs) {
+        if (!this.prefilter.test(cs)) return false;
+
+        final var a = this.finder();
+        final boolean prefix = this.tail == Tail.NONE;
+
+        int p = a.getInitialState();
+        if (prefix && a.isAccept(p)) return true;
+
+        for (int i = 0, Z = cs.length(); i < Z; i++) {
+            if ((p = a.step(p, cs.charAt(i))) == -1) return false;
+            if (prefix && a.isAccept(p)) return true;
+        }
+
+        return a.isAccept(p);
+    }
+
+    /**
+     * Test whether the pattern matches whole UTF-8 encoded input without decoding it. Malformed input never matches.
+     *
+     * @param utf8 UTF-8 encoded input
+     * @return test result
+     */
+    @Override
+    public boolean test(final byte[] utf8) {
+        return RegexMetrics.disabled() ? this.utf8().matches(utf8, 0, utf8.length)
+            : RegexMetrics.measure(this, utf8.length, () -> this.utf8().matches(utf8, 0, utf8.length));
+    }
+
+    @Override
+    public boolean test(final ByteBuffer utf8) {
+        return RegexMetrics.disabled() ? this.utf8().matches(utf8) : RegexMetrics.measure(this, utf8.remaining(), () -> this.utf8().matches(utf8));
+    }
+
+    /**
+     * Test whether the pattern is found in UTF-8 encoded input without decoding it. Malformed input never matches.
+     *
+     * @param utf8 UTF-8 encoded input
+     * @return test result
+     */
     @Override
-    public boolean test(final CharSequence cs) { return this.automaton.run(cs.toString()); }
+    public boolean find(final byte[] utf8) {
+        return RegexMetrics.disabled() ? this.found(utf8) : RegexMetrics.measure(this, utf8.length, () -> this.found(utf8));
+    }
 
     @Override
-    public boolean find(final CharSequence cs) { return this.matcher(cs).find(); }
+    public boolean find(final ByteBuffer utf8) {
+        return RegexMetrics.disabled() ? this.found(utf8) : RegexMetrics.measure(this, utf8.remaining(), () -> this.found(utf8));
+    }
+
+    private boolean found(final byte[] utf8) {
+        return (this.tail == Tail.NONE) ? this.utf8Finder().reaches(utf8, 0, utf8.length) : this.utf8Finder().matches(utf8, 0, utf8.length);
+    }
 
+    private boolean found(final ByteBuffer utf8) { return (this.tail == Tail.NONE) ? this.utf8Finder().reaches(utf8) : this.utf8Finder().matches(utf8); }
+
+    @Override
     public ReMatcherAutomaton matcher(final CharSequence cs) { return new ReMatcherAutomaton(this, cs); }
 
+    @Override
+    public $list<String> split(final CharSequence cs, final int limit) {
+        return RegexMetrics.disabled() ? this.tokenize(cs, limit) : RegexMetrics.measure(this, cs.length(), () -> this.tokenize(cs, limit));
+    }
+
+    private $list<String> tokenize(final CharSequence cs, final int limit) {
+        final var m = this.matcher(cs);
+        final boolean limited = 0 < limit;
+        final $list<String> found = list();
+
+        int index = 0;
+        while (m.find()) {
+            if (limited && (limit - 1 <= found.size())) break;
+
+            // zero-width match at the beginning never produces empty leading substring
+            if ((index == 0) && (m.start() == 0) && (m.end() == 0)) continue;
+
+            found.add(cs.subSequence(index, m.start()).toString());
+            index = m.end();
+        }
+
+        if (index == 0) return list(cs.toString());
+
+        found.add(cs.subSequence(index, cs.length()).toString());
+
+        if (limit == 0)
+            while (!found.isEmpty() && found.get(found.size() - 1).isEmpty())
+                found.remove(found.size() - 1);
+
+        return found;
+    }
+
+    RunAutomaton finder() {
+        var a = this.finder;
+        if (a == null) {
+            final var x = this.searcher(this.tail == Tail.NONE);
+            x.minimize();
+            this.finder = a = new RunAutomaton(x);
+        }
+
+        return a;
+    }
+
+    Utf8Automaton utf8() {
+        var a = this.utf8;
+        if (a == null) this.utf8 = a = Utf8Automaton.of(this.automaton, false);
+
+        return a;
+    }
+
+    Utf8Automaton utf8Finder() {
+        var a = this.utf8Finder;
+        if (a == null) this.utf8Finder = a = Utf8Automaton.of(this.finder(), this.tail == Tail.NONE);
+
+        return a;
+    }
+
+    /**
+     * Build the automaton which accepts the inputs where the pattern is found.
+     *
+     * @param prefix if true, the language ends at the end of the match instead of the end of input. this is only
+     *     applicable to the patterns not anchored at the end.
+     * @return automaton
+     */
+    Automaton searcher(final boolean prefix) {
+        final var a = this.head ? this.re.toAutomaton() : Automaton.makeAnyString().concatenate(this.re.toAutomaton());
+        return prefix ? a : this.tail.append(a);
+    }
+
+    RunAutomaton starter() {
+        var a = this.starter;
+        if (a == null) {
+            final var x = this.tail.append(this.re.toAutomaton());
+            SpecialOperations.reverse(x);
+            x.minimize();
+            this.starter = a = new RunAutomaton(x);
+        }
+
+        return a;
+    }
+
+    /**
+     * @return submatch extractor, or null if the pattern can't be parsed
+     */
+    Submatch submatch() {
+        var s = this.submatch;
+        if ((s == null) && !this.noSubmatch) {
+            try {
+                this.submatch = s = new Submatch(this.pattern, AutomatonTest::translate);
+            } catch (final IllegalArgumentException e) {
+                this.noSubmatch = true;
+            }
+        }
+
+        return s;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        return (this == o) || ((o instanceof AutomatonTest that) && this.pattern.equals(that.pattern));
+    }
+
+    @Override
+    public int hashCode() { return this.pattern.hashCode(); }
+
     @Override
     public String toString() { return this.pattern(); }
 }
@@ -62,139 +341,466 @@ public class AutomatonTest
 final class ReMatcherAutomaton
     implements ReMatcher<AutomatonTest, ReMatcherAutomaton> {
 
-    private final AutomatonTest pattern;
+    private AutomatonTest pattern;
 
     private CharSequence input;
 
-    private AutomatonMatcher matcher;
+    private String text;
+
+    private int from;
+
+    private int to;
+
+    /** match start positions in the region, relative to {@link #base}; computed on demand. */
+    private BitSet starts;
+
+    /** the position where {@link #starts} begins; positions before the search start are never scanned. */
+    private int base;
+
+    /** the position where the next find starts. */
+    private int next;
+
+    private int matchStart = -1;
+
+    private int matchEnd = -1;
+
+    private int[] spans;
+
+    private int appendPos;
+
+    private boolean hitEnd;
 
     public ReMatcherAutomaton(final AutomatonTest pattern, final CharSequence input) {
         this.pattern = pattern;
-        this.input = input;
+        this.reset(input);
     }
 
-    private AutomatonMatcher matcher() {
-        if (this.matcher == null) this.matcher = this.pattern.automaton.newMatcher(this.input);
-        return this.matcher;
-    }
+    @Override
+    public AutomatonTest pattern() { return this.pattern; }
 
-    private AutomatonMatcher matcher(final int start) {
-        if (this.matcher == null) this.matcher = this.pattern.automaton.newMatcher(this.input, start, this.input.length());
-        return this.matcher;
+    @Override
+    public String text() {
+        if (this.text == null) this.text = this.input.toString();
+        return this.text;
     }
 
     @Override
-    public AutomatonTest pattern() { return this.pattern; }
+    public String toString() {
+        return "ReMatcherAutomaton[pattern=" + this.pattern + " region=" + this.from + "," + this.to + " lastmatch=" + ((0 <= this.matchStart)
+            ? this.group()
+            : "") + "]";
+    }
 
     @Override
-    public MatchResult toMatchResult() { return this.matcher().toMatchResult(); }
+    public ReMatcherAutomaton usePattern(final AutomatonTest newPattern) {
+        if (newPattern == null) throw new IllegalArgumentException("Pattern cannot be null");
 
-    @Override
-    public ReMatcherAutomaton usePattern(final AutomatonTest newPattern) { throw new UnsupportedOperationException(); }
+        this.pattern = newPattern;
+        this.starts = null;
+        this.spans = null;
+
+        return this;
+    }
 
     @Override
-    public ReMatcherAutomaton reset() { return this.reset(this.input); }
+    public ReMatcherAutomaton reset() {
+        this.from = 0;
+        this.to = this.input.length();
+        this.next = 0;
+        this.starts = null;
+        this.matchStart = -1;
+        this.matchEnd = -1;
+        this.spans = null;
+        this.appendPos = 0;
+        this.hitEnd = false;
+
+        return this;
+    }
 
     @Override
     public ReMatcherAutomaton reset(final CharSequence input) {
         this.input = input;
-        this.matcher = null;
-        return this;
+        this.text = null;
+        return this.reset();
     }
 
     @Override
-    public int start(final String name) { throw new UnsupportedOperationException(); }
+    public ReMatcherAutomaton region(final int start, final int end) {
+        if ((start < 0) || (this.input.length() < start)) throw new IndexOutOfBoundsException("start");
+        if ((end < 0) || (this.input.length() < end)) throw new IndexOutOfBoundsException("end");
+        if (end < start) throw new IndexOutOfBoundsException("start > end");
+
+        this.reset();
+        this.from = start;
+        this.to = end;
+        this.next = start;
+
+        return this;
+    }
 
     @Override
-    public int end(final String name) { throw new UnsupportedOperationException(); }
+    public int regionStart() { return this.from; }
 
     @Override
-    public String group(final String name) { throw new UnsupportedOperationException(); }
+    public int regionEnd() { return this.to; }
 
+    /** The automaton has neither lookaround nor boundary, so bounds never affect the result. */
     @Override
-    public boolean matches() {
-        if (!this.find()) return false;
-        return (this.matcher().start() == 0) && (this.matcher().end() == this.input.length());
-    }
+    public boolean hasTransparentBounds() { return false; }
 
     @Override
-    public boolean find() { return this.matcher().find(); }
+    public ReMatcherAutomaton useTransparentBounds(final boolean b) { return this; }
 
+    /** Anchors always match at the region bounds. */
     @Override
-    public boolean find(final int start) { return this.matcher(start).find(); }
+    public boolean hasAnchoringBounds() { return true; }
 
     @Override
-    public boolean lookingAt() {
-        this.reset();
-        return this.find();
-    }
+    public ReMatcherAutomaton useAnchoringBounds(final boolean b) { return this; }
 
     @Override
-    public ReMatcherAutomaton appendReplacement(final StringBuilder sb, final String replacement) { throw new UnsupportedOperationException(); }
+    public boolean hitEnd() { return this.hitEnd; }
 
     @Override
-    public ReMatcherAutomaton appendReplacement(final StringBuffer sb, final String replacement) { throw new UnsupportedOperationException(); }
+    public boolean requireEnd() { return (this.pattern.tail != Tail.NONE) && (0 <= this.matchEnd); }
+
+    private void found(final int start, final int end) {
+        this.matchStart = start;
+        this.matchEnd = end;
+        this.spans = null;
+        this.next = (start == end) ? (end + 1) : end;
+    }
+
+    private boolean notFound() {
+        this.matchStart = -1;
+        this.matchEnd = -1;
+        this.spans = null;
+        this.hitEnd = true;
+        return false;
+    }
+
+    /**
+     * @return the end of the longest match starting at the position, or -1
+     */
+    private int longest(final int start) {
+        final var a = this.pattern.automaton;
+
+        final var tail = this.pattern.tail;
+
+        int p = a.getInitialState();
+        int end = (a.isAccept(p) && tail.at(this.input, start, this.to)) ? start : -1;
+
+        int i = start;
+        for (; i < this.to; i++) {
+            if ((p = a.step(p, this.input.charAt(i))) == -1) break;
+            if (a.isAccept(p) && tail.at(this.input, i + 1, this.to)) end = i + 1;
+        }
+
+        this.hitEnd = i == this.to;
+
+        return end;
+    }
+
+    private BitSet starts() {
+        if ((this.starts == null) || (this.next < this.base)) {
+            final var a = this.pattern.starter();
+            final int base = this.next;
+            final var found = new BitSet(this.to - base + 1);
+
+            int p = a.getInitialState();
+            if (a.isAccept(p)) found.set(this.to - base);
+
+            for (int i = this.to - 1; base <= i; i--) {
+                if ((p = a.step(p, this.input.charAt(i))) == -1) break;
+                if (a.isAccept(p)) found.set(i - base);
+            }
+
+            this.base = base;
+            this.starts = found;
+        }
+
+        return this.starts;
+    }
 
     @Override
-    public StringBuilder appendTail(final StringBuilder sb) { throw new UnsupportedOperationException(); }
+    public boolean matches() {
+        final var a = this.pattern.automaton;
+
+        int p = a.getInitialState();
+        for (int i = this.from; i < this.to; i++) {
+            if ((p = a.step(p, this.input.charAt(i))) == -1) {
+                this.notFound();
+                this.hitEnd = false;
+                return false;
+            }
+        }
+
+        this.hitEnd = true;
+
+        if (!a.isAccept(p)) return this.notFound();
+
+        this.found(this.from, this.to);
+
+        return true;
+    }
 
     @Override
-    public StringBuffer appendTail(final StringBuffer sb) { throw new UnsupportedOperationException(); }
+    public boolean lookingAt() {
+        final int end = this.longest(this.from);
+        if (end < 0) return this.notFound();
+
+        this.found(this.from, end);
+
+        return true;
+    }
 
     @Override
-    public String replaceAll(final String replacement) { throw new UnsupportedOperationException(); }
+    public boolean find() {
+        if (this.to < this.next) return this.notFound();
+
+        if (this.pattern.head) {
+            final int end = (this.next == this.from) ? this.longest(this.from) : -1;
+            if (end < 0) return this.notFound();
+
+            this.found(this.from, end);
+            return true;
+        }
+
+        final var starts = this.starts();
+
+        // the starter may accept a position where the exact end condition doesn't hold, e.g. between CR and LF
+        for (int i = starts.nextSetBit(this.next - this.base); 0 <= i; i = starts.nextSetBit(i + 1)) {
+            final int s = this.base + i;
+            final int end = this.longest(s);
+
+            if (0 <= end) {
+                this.found(s, end);
+                return true;
+            }
+        }
+
+        return this.notFound();
+    }
 
     @Override
-    public String replaceFirst(final String replacement) { throw new UnsupportedOperationException(); }
+    public boolean find(final int start) {
+        if ((start < 0) || (this.input.length() < start)) throw new IndexOutOfBoundsException("Illegal start index");
+
+        this.reset();
+        this.next = start;
+
+        return this.find();
+    }
+
+    private void checkMatch() { if (this.matchStart < 0) throw new IllegalStateException("No match found"); }
+
+    private int[] spans() {
+        this.checkMatch();
+
+        if (this.spans == null) {
+            final var submatch = this.pattern.submatch();
+            this.spans = (submatch == null) //
+                ? new int[] { this.matchStart, this.matchEnd } //
+                : submatch.spans(this.input, this.matchStart, this.matchEnd);
+        }
+
+        return this.spans;
+    }
+
+    private int groupIndex(final String name) {
+        final var submatch = this.pattern.submatch();
+        final var index = (submatch == null) ? null : submatch.names.get(name);
+        if (index == null) throw new IllegalArgumentException("No group with name <" + name + ">");
+
+        return index;
+    }
 
     @Override
-    public ReMatcherAutomaton region(final int start, final int end) { throw new UnsupportedOperationException(); }
+    public int groupCount() {
+        final var submatch = this.pattern.submatch();
+        return (submatch == null) ? 0 : submatch.groupCount;
+    }
 
     @Override
-    public int regionStart() { throw new UnsupportedOperationException(); }
+    public int start() {
+        this.checkMatch();
+        return this.matchStart;
+    }
 
     @Override
-    public int regionEnd() { throw new UnsupportedOperationException(); }
+    public int end() {
+        this.checkMatch();
+        return this.matchEnd;
+    }
 
     @Override
-    public boolean hasTransparentBounds() { throw new UnsupportedOperationException(); }
+    public int start(final int group) {
+        if (group == 0) return this.start();
+        if ((group < 0) || (this.groupCount() < group)) throw new IndexOutOfBoundsException("No group " + group);
+
+        return this.spans()[group * 2];
+    }
 
     @Override
-    public ReMatcherAutomaton useTransparentBounds(final boolean b) { throw new UnsupportedOperationException(); }
+    public int end(final int group) {
+        if (group == 0) return this.end();
+        if ((group < 0) || (this.groupCount() < group)) throw new IndexOutOfBoundsException("No group " + group);
+
+        return this.spans()[group * 2 + 1];
+    }
 
     @Override
-    public boolean hasAnchoringBounds() { throw new UnsupportedOperationException(); }
+    public int start(final String name) { return this.start(this.groupIndex(name)); }
 
     @Override
-    public ReMatcherAutomaton useAnchoringBounds(final boolean b) { throw new UnsupportedOperationException(); }
+    public int end(final String name) { return this.end(this.groupIndex(name)); }
 
     @Override
-    public boolean hitEnd() { throw new UnsupportedOperationException(); }
+    public String group() { return this.group(0); }
 
     @Override
-    public boolean requireEnd() { throw new UnsupportedOperationException(); }
+    public String group(final int group) {
+        final int s = this.start(group);
+        return (s < 0) ? null : this.input.subSequence(s, this.end(group)).toString();
+    }
 
     @Override
-    public String text() { return this.input.toString(); }
+    public String group(final String name) { return this.group(this.groupIndex(name)); }
 
     @Override
-    public int start() { return this.matcher().start(); }
+    public MatchResult toMatchResult() {
+        final int count = this.groupCount();
+        final var spans = (this.matchStart < 0) ? null : Arrays.copyOf(this.spans(), (count + 1) * 2);
+        final var text = this.text();
+
+        return new MatchResult() {
+
+            private int[] spans() {
+                if (spans == null) throw new IllegalStateException("No match found");
+                return spans;
+            }
+
+            @Override
+            public int start() { return this.start(0); }
+
+            @Override
+            public int start(final int group) { return this.spans()[group * 2]; }
+
+            @Override
+            public int end() { return this.end(0); }
+
+            @Override
+            public int end(final int group) { return this.spans()[group * 2 + 1]; }
+
+            @Override
+            public String group() { return this.group(0); }
+
+            @Override
+            public String group(final int group) {
+                final int s = this.start(group);
+                return (s < 0) ? null : text.substring(s, this.end(group));
+            }
+
+            @Override
+            public int groupCount() { return count; }
+        };
+    }
 
     @Override
-    public int start(final int group) { return this.matcher().start(group); }
+    public ReMatcherAutomaton appendReplacement(final StringBuilder sb, final String replacement) {
+        this.checkMatch();
+
+        final var expanded = new StringBuilder();
+        this.expand(replacement, expanded);
+
+        sb.append(this.input, this.appendPos, this.matchStart).append(expanded);
+        this.appendPos = this.matchEnd;
+
+        return this;
+    }
 
     @Override
-    public int end() { return this.matcher().end(); }
+    public ReMatcherAutomaton appendReplacement(final StringBuffer sb, final String replacement) {
+        final var x = new StringBuilder();
+        this.appendReplacement(x, replacement);
+        sb.append(x);
+
+        return this;
+    }
 
     @Override
-    public int end(final int group) { return this.matcher().end(group); }
+    public StringBuilder appendTail(final StringBuilder sb) { return sb.append(this.input, this.appendPos, this.input.length()); }
 
     @Override
-    public String group() { return this.matcher().group(); }
+    public StringBuffer appendTail(final StringBuffer sb) { return sb.append(this.input, this.appendPos, this.input.length()); }
+
+    /**
+     * Expand the replacement string in the same manner as {@link java.util.regex.Matcher#appendReplacement}.
+     */
+    private void expand(final String replacement, final StringBuilder out) {
+        for (int i = 0, Z = replacement.length(); i < Z; ) {
+            final char c = replacement.charAt(i++);
+
+            if (c == '\\') {
+                if (Z <= i) throw new IllegalArgumentException("character to be escaped is missing");
+                out.append(replacement.charAt(i++));
+            } else if (c != '$') {
+                out.append(c);
+            } else {
+                if (Z <= i) throw new IllegalArgumentException("Illegal group reference: group index is missing");
+
+                final int group;
+                if (replacement.charAt(i) == '{') {
+                    final int close = replacement.indexOf('}', i);
+                    if (close < 0) throw new IllegalArgumentException("named capturing group is missing trailing '}'");
+
+                    group = this.groupIndex(replacement.substring(i + 1, close));
+                    i = close + 1;
+                } else {
+                    if (!Character.isDigit(replacement.charAt(i))) throw new IllegalArgumentException("Illegal group reference");
+
+                    // take digits as long as the group exists, like Matcher does
+                    int g = replacement.charAt(i++) - '0';
+                    while ((i < Z) && Character.isDigit(replacement.charAt(i))) {
+                        final int x = g * 10 + (replacement.charAt(i) - '0');
+                        if (this.groupCount() < x) break;
+
+                        g = x;
+                        i++;
+                    }
+
+                    group = g;
+                }
+
+                final var found = this.group(group);
+                if (found != null) out.append(found);
+            }
+        }
+    }
 
     @Override
-    public String group(final int group) { return this.matcher().group(group); }
+    public String replaceAll(final String replacement) {
+        this.reset();
+
+        if (!this.find()) return this.text();
+
+        final var sb = new StringBuilder();
+        do {
+            this.appendReplacement(sb, replacement);
+        } while (this.find());
+
+        return this.appendTail(sb).toString();
+    }
 
     @Override
-    public int groupCount() { return this.matcher().groupCount(); }
+    public String replaceFirst(final String replacement) {
+        this.reset();
+
+        if (!this.find()) return this.text();
+
+        final var sb = new StringBuilder();
+        this.appendReplacement(sb, replacement);
+
+        return this.appendTail(sb).toString();
+    }
 }
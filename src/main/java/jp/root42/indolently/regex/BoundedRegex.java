@@ -0,0 +1,251 @@
+// Copyright 2026 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently.regex;
+
+import java.time.Duration;
+import java.util.function.BiFunction;
+import java.util.regex.PatternSyntaxException;
+
+import jp.root42.indolently.$list;
+import jp.root42.indolently.Regexive;
+
+
+/**
+ * Regex whose execution is bounded by the number of steps and the deadline, to stop catastrophic backtracking.
+ * <p>
+ * A step is a character read by the engine, so the budget applies to any engine reading the input through
+ * {@link CharSequence#charAt(int)}. The deadline and the interrupt status of the current thread are checked every
+ * {@value #CHECK_INTERVAL} steps. Each call of {@link #test(CharSequence)}, {@link #find(CharSequence)},
+ * {@link #split(CharSequence, int)}, {@link #replaceAll(CharSequence, String)} and so on has its own budget, and so has
+ * each matcher created by {@link #matcher(CharSequence)}.
+ * </p>
+ * <p>
+ * When the budget runs out, {@link BudgetExceeded} is thrown, or the call is transparently run again on a linear-time
+ * engine if fallback is enabled and the pattern is accepted by it: {@link AutomatonTest} for {@code test} and
+ * {@code find}, RE2/J for the others. Note that RE2/J differs from {@code java.util.regex} in corner cases, e.g.
+ * {@code $} doesn't match before the line terminator at the end of input. Matchers never fall back, and neither do
+ * patterns compiled with flags or wrapped by the unknown implementations, since the pattern string alone doesn't tell
+ * their meaning.
+ * </p>
+ *
+ * @author takahashikzn
+ */
+public final class BoundedRegex
+    implements RegexBase<Regex.Ptrn, ReMatcher<?, ?>> {
+
+    static final int CHECK_INTERVAL = 1024;
+
+    /**
+     * Thrown when the execution budget runs out.
+     */
+    public static final class BudgetExceeded
+        extends RuntimeException {
+
+        private static final long serialVersionUID = -4264407398151843622L;
+
+        private final String pattern;
+
+        private final long steps;
+
+        private final long nanos;
+
+        BudgetExceeded(final String pattern, final long steps, final long nanos, final String reason) {
+            super("%s after %d steps and %dns: %s".formatted(reason, steps, nanos, pattern));
+
+            this.pattern = pattern;
+            this.steps = steps;
+            this.nanos = nanos;
+        }
+
+        public String pattern() { return this.pattern; }
+
+        /**
+         * @return the number of steps taken until the budget ran out
+         */
+        public long steps() { return this.steps; }
+
+        /**
+         * @return the time elapsed until the budget ran out
+         */
+        public long nanos() { return this.nanos; }
+    }
+
+    private final RegexBase<?, ?> regex;
+
+    private final long maxSteps;
+
+    private final long timeout;
+
+    private final boolean fallback;
+
+    /** {@code this} if unavailable. */
+    private volatile RegexBase<?, ?> automaton;
+
+    /** {@code this} if unavailable. */
+    private volatile RegexBase<?, ?> re2;
+
+    /**
+     * Constructor.
+     *
+     * @param regex the regex to bound
+     * @param maxSteps the maximum number of steps per call
+     * @param timeout the maximum time per call. null means unlimited.
+     * @param fallback run the call on a linear-time engine instead of failing if the budget runs out
+     */
+    public BoundedRegex(final RegexBase<?, ?> regex, final long maxSteps, final Duration timeout, final boolean fallback) {
+        if (maxSteps <= 0) throw new IllegalArgumentException("(maxSteps = %d) <= 0".formatted(maxSteps));
+        if ((timeout != null) && (timeout.isNegative() || timeout.isZero())) throw new IllegalArgumentException("(timeout = %s) <= 0".formatted(timeout));
+
+        this.regex = regex;
+        this.maxSteps = maxSteps;
+        this.timeout = (timeout == null) ? Long.MAX_VALUE : timeout.toNanos();
+        this.fallback = fallback && plain(regex);
+    }
+
+    /**
+     * Test whether the pattern string alone means the same as the regex, i.e. the regex has no flags.
+     */
+    private static boolean plain(final RegexBase<?, ?> re) {
+        if (re instanceof Regex x) return plain(x.unwrap());
+        if (re instanceof BoundedRegex x) return plain(x.regex);
+        if (re instanceof AdaptiveRegex x) return x.patterns().stream().allMatch(BoundedRegex::plain);
+        if (re instanceof RegexJDK x) return x.ptrn().flags() == 0;
+        if (re instanceof RegexRe2 x) return x.ptrn().flags() == 0;
+
+        return re instanceof AutomatonTest;
+    }
+
+    /**
+     * Input which counts the characters read by the engine.
+     */
+    private final class Budgeted
+        implements CharSequence {
+
+        private final CharSequence cs;
+
+        private final long start = System.nanoTime();
+
+        private long steps;
+
+        Budgeted(final CharSequence cs) { this.cs = cs; }
+
+        @Override
+        public char charAt(final int index) {
+            if (BoundedRegex.this.maxSteps < ++this.steps) throw this.exceeded(System.nanoTime() - this.start, "step limit exceeded");
+            if ((this.steps & (CHECK_INTERVAL - 1)) == 0) this.check();
+
+            return this.cs.charAt(index);
+        }
+
+        private void check() {
+            final long elapsed = System.nanoTime() - this.start;
+
+            if (BoundedRegex.this.timeout < elapsed) throw this.exceeded(elapsed, "timed out");
+            if (Thread.currentThread().isInterrupted()) throw this.exceeded(elapsed, "interrupted");
+        }
+
+        private BudgetExceeded exceeded(final long elapsed, final String reason) {
+            RegexMetrics.timeout(BoundedRegex.this.regex, this.cs.length());
+            return new BudgetExceeded(BoundedRegex.this.pattern(), this.steps, elapsed, reason);
+        }
+
+        @Override
+        public int length() { return this.cs.length(); }
+
+        @Override
+        public CharSequence subSequence(final int start, final int end) { return this.cs.subSequence(start, end); }
+
+        @Override
+        public String toString() { return this.cs.toString(); }
+    }
+
+    private <R> R run(final CharSequence cs, final BiFunction<? super RegexBase<?, ?>, CharSequence, R> f, final boolean tester) {
+        try {
+            return f.apply(this.regex, new Budgeted(cs));
+        } catch (final BudgetExceeded e) {
+            final var linear = !this.fallback ? null : tester ? this.automaton() : this.re2();
+            if (linear == null) throw e;
+
+            return f.apply(linear, cs);
+        }
+    }
+
+    /**
+     * @return the automaton, which is exact for {@code test} and {@code find}, or RE2/J if unavailable
+     */
+    private RegexBase<?, ?> automaton() {
+        var x = this.automaton;
+        if (x == null) this.automaton = x = (Regexive.automatonRejection(this.pattern()) == null) ? AutomatonTest.of(this.pattern()) : this;
+
+        return (x == this) ? this.re2() : x;
+    }
+
+    private RegexBase<?, ?> re2() {
+        var x = this.re2;
+
+        if (x == null) {
+            try {
+                x = Regexive.regex2(this.pattern());
+            } catch (final PatternSyntaxException ignored) {
+                x = this;
+            }
+
+            this.re2 = x;
+        }
+
+        return (x == this) ? null : x;
+    }
+
+    public <T extends RegexBase<?, ?>> T unwrap() {
+        //noinspection unchecked
+        return (T) this.regex;
+    }
+
+    @Override
+    public String toString() { return this.regex.toString(); }
+
+    @Override
+    public Regex.Ptrn ptrn() { return this::pattern; }
+
+    @Override
+    public String pattern() { return this.regex.pattern(); }
+
+    /**
+     * Create a matcher whose steps and time are bounded in total. It never falls back.
+     *
+     * @param cs the string to match
+     * @return created matcher instance
+     */
+    @Override
+    public ReMatcher<?, ?> matcher(final CharSequence cs) { return this.regex.matcher(new Budgeted(cs)); }
+
+    @Override
+    public boolean test(final CharSequence cs) { return this.run(cs, RegexBase::test, true); }
+
+    @Override
+    public boolean find(final CharSequence cs) { return this.run(cs, RegexBase::find, true); }
+
+    @Override
+    public $list<String> split(final CharSequence cs, final int limit) { return this.run(cs, (re, x) -> re.split(x, limit), false); }
+
+    @Override
+    public String replaceAll(final CharSequence cs, final String replacement) {
+        return this.run(cs, (re, x) -> re.replaceAll(x, replacement), false);
+    }
+
+    @Override
+    public String replaceFirst(final CharSequence cs, final String replacement) {
+        return this.run(cs, (re, x) -> re.replaceFirst(x, replacement), false);
+    }
+}
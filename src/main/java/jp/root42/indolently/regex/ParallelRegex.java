@@ -0,0 +1,530 @@
+// Copyright 2026 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently.regex;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.regex.MatchResult;
+
+import jp.root42.indolently.$list;
+import jp.root42.indolently.Regexive;
+
+import static jp.root42.indolently.Expressive.*;
+import static jp.root42.indolently.Indolently.*;
+
+
+/**
+ * Parallel find / replace / split over large inputs.
+ * <p>
+ * The input is divided into chunks, and matches starting in each chunk are found concurrently. Each chunk is scanned
+ * with {@code maxMatch} characters of lookahead beyond its end, and matches crossing chunk boundaries are resolved when
+ * the per-chunk results are stitched in order, so the result is the same as the sequential one as long as no match
+ * (including its lookahead) is longer than {@code maxMatch} characters.
+ * Matches longer than that may be missed at chunk boundaries.
+ * </p>
+ * <p>
+ * Functions given to {@link #replace(CharSequence, Function)} and {@link #subst(CharSequence, Function)} may be called
+ * concurrently.
+ * </p>
+ *
+ * @author takahashikzn
+ */
+public final class ParallelRegex {
+
+    public static final int DEFAULT_CHUNK = 1 << 20;
+
+    public static final int DEFAULT_MAX_MATCH = 1 << 14;
+
+    private static final RegexJDK NAMED_GROUP = Regexive.regex1("\\(\\?<([a-zA-Z][a-zA-Z0-9]*)>");
+
+    /** the span of the named group which the pattern doesn't have. */
+    private static final int UNKNOWN = -2;
+
+    private final RegexBase<?, ?> regex;
+
+    private final int chunk;
+
+    private final int maxMatch;
+
+    private final Executor executor;
+
+    private final int groupCount;
+
+    /** candidates of named groups; false positives are marked {@link #UNKNOWN} at matching time. */
+    private final $list<String> names;
+
+    ParallelRegex(final RegexBase<?, ?> regex, final int chunk, final int maxMatch, final Executor executor) {
+        if (chunk <= 0) throw new IllegalArgumentException("(chunk = %d) <= 0".formatted(chunk));
+        if (maxMatch <= 0) throw new IllegalArgumentException("(maxMatch = %d) <= 0".formatted(maxMatch));
+
+        this.regex = regex;
+        this.chunk = chunk;
+        this.maxMatch = maxMatch;
+        this.executor = executor;
+
+        this.groupCount = regex.matcher("").groupCount();
+        this.names = list(NAMED_GROUP.matcher(regex.pattern())).map(x -> NAMED_GROUP.matcher(x).replaceAll("$1")).uniq().freeze();
+    }
+
+    public String pattern() { return this.regex.pattern(); }
+
+    /**
+     * Find all matches.
+     *
+     * @param cs input
+     * @return matches in order
+     */
+    public $list<MatchResult> findAll(final CharSequence cs) { return this.findAll(cs, true).map(x -> (MatchResult) x); }
+
+    /**
+     * Count matches.
+     *
+     * @param cs input
+     * @return the number of matches
+     */
+    public int count(final CharSequence cs) { return this.findAll(cs, false).size(); }
+
+    /**
+     * Parallel version of {@link RegexBase#replaceAll(CharSequence, String)}.
+     *
+     * @param cs input
+     * @param replacement replacement string
+     * @return replaced string
+     */
+    public String replaceAll(final CharSequence cs, final String replacement) {
+        final var r = this.replacement(replacement);
+        return this.rewrite(cs, (sb, x) -> r.appendTo(sb, x));
+    }
+
+    /**
+     * Parallel version of {@link RegexBase#replace(CharSequence, Function)}.
+     *
+     * @param cs input
+     * @param f replace operator, which may be called concurrently
+     * @return replaced string
+     */
+    public String replace(final CharSequence cs, final Function<String, String> f) {
+        return this.rewrite(cs, (sb, x) -> this.replacement(f.apply(x.group())).appendTo(sb, x));
+    }
+
+    /**
+     * Parallel version of {@link RegexBase#subst(CharSequence, Function)}.
+     *
+     * @param cs input
+     * @param f replace operator, which may be called concurrently
+     * @return replaced string
+     */
+    public String subst(final CharSequence cs, final Function<String, String> f) {
+        return this.replace(cs, x -> {
+            final var repl = f.apply(x);
+            return contains(repl, '$') ? repl.replaceAll("(?<!\\\\)\\$", "\\\\\\$") : repl;
+        });
+    }
+
+    /**
+     * Parallel version of {@link RegexBase#split(CharSequence)}.
+     *
+     * @param cs input
+     * @return token list
+     */
+    public $list<String> split(final CharSequence cs) { return this.split(cs, 0); }
+
+    /**
+     * Parallel version of {@link RegexBase#split(CharSequence, int)}.
+     *
+     * @param cs input
+     * @param limit the result threshold
+     * @return token list
+     */
+    public $list<String> split(final CharSequence cs, final int limit) {
+        final boolean limited = 0 < limit;
+        final $list<String> found = list();
+
+        int index = 0;
+        for (final var m: this.findAll(cs, false)) {
+            if (limited && (limit - 1 <= found.size())) break;
+
+            // zero-width match at the beginning never produces empty leading substring
+            if ((index == 0) && (m.start() == 0) && (m.end() == 0)) continue;
+
+            found.add(cs.subSequence(index, m.start()).toString());
+            index = m.end();
+        }
+
+        if (index == 0) return list(cs.toString());
+
+        found.add(cs.subSequence(index, cs.length()).toString());
+
+        if (limit == 0)
+            while (!found.isEmpty() && found.get(found.size() - 1).isEmpty())
+                found.remove(found.size() - 1);
+
+        return found;
+    }
+
+    @Override
+    public String toString() { return this.regex.toString(); }
+
+    private String rewrite(final CharSequence cs, final BiConsumer<StringBuilder, Found> f) {
+        final var found = this.findAll(cs, true);
+        if (found.isEmpty()) return cs.toString();
+
+        // build the output slice by slice, each of which covers consecutive matches
+        final int slices = Math.min(found.size(), this.chunks(cs.length()));
+        final List<CompletableFuture<StringBuilder>> parts = new ArrayList<>(slices);
+
+        for (int k = 0; k < slices; k++) {
+            final int from = (int) ((long) found.size() * k / slices);
+            final int to = (int) ((long) found.size() * (k + 1) / slices);
+
+            parts.add(this.async(() -> {
+                final var sb = new StringBuilder();
+
+                int pos = (from == 0) ? 0 : found.get(from - 1).end();
+                for (int i = from; i < to; i++) {
+                    final var x = found.get(i);
+                    sb.append(cs, pos, x.start());
+                    f.accept(sb, x);
+                    pos = x.end();
+                }
+
+                return sb;
+            }));
+        }
+
+        final var sb = new StringBuilder(cs.length());
+        for (final var part: parts)
+            sb.append(join(part));
+
+        return sb.append(cs, found.get(found.size() - 1).end(), cs.length()).toString();
+    }
+
+    private int chunks(final int len) { return Math.max(1, (int) ((len + (long) this.chunk - 1) / this.chunk)); }
+
+    private <T> CompletableFuture<T> async(final Supplier<T> f) { return CompletableFuture.supplyAsync(f, this.executor); }
+
+    private static <T> T join(final CompletableFuture<T> f) {
+        try {
+            return f.join();
+        } catch (final CompletionException e) {
+            if (e.getCause() instanceof RuntimeException x) throw x;
+            if (e.getCause() instanceof Error x) throw x;
+            throw e;
+        }
+    }
+
+    private $list<Found> findAll(final CharSequence cs, final boolean groups) {
+        final int n = cs.length();
+        final int chunks = this.chunks(n);
+
+        // the last chunk also covers the empty match at the end of the input
+        if (chunks == 1) return this.scan(cs, 0, n + 1, true, groups);
+
+        final List<CompletableFuture<$list<Found>>> futures = new ArrayList<>(chunks);
+        for (int k = 0; k < chunks; k++) {
+            final int from = k * this.chunk;
+            final int to = (k == chunks - 1) ? (n + 1) : (from + this.chunk);
+
+            futures.add(this.async(() -> this.scan(cs, from, to, true, groups)));
+        }
+
+        final $list<Found> result = list();
+
+        // the position where the sequential search would continue
+        int pos = 0;
+
+        for (int k = 0; k < chunks; k++) {
+            final var found = join(futures.get(k));
+            final int to = (k == chunks - 1) ? (n + 1) : ((k + 1) * this.chunk);
+
+            int i = 0;
+            while (true) {
+                // skip matches overlapping the previous one
+                while ((i < found.size()) && (found.get(i).start() < pos))
+                    i++;
+
+                final int gap = (i == 0) ? (k * this.chunk) : found.get(i - 1).next();
+
+                if (gap <= pos) {
+                    // no match starts in [gap, pos), so the rest is the same as the sequential search
+                    for (; i < found.size(); i++) {
+                        result.add(found.get(i));
+                        pos = found.get(i).next();
+                    }
+
+                    break;
+                }
+
+                // pos is in the middle of a rejected match; resynchronize
+                final var fixed = this.scan(cs, pos, to, false, groups);
+                if (fixed.isEmpty()) break;
+
+                result.add(fixed.get(0));
+                pos = fixed.get(0).next();
+            }
+
+            // no more match starts before the end of this chunk
+            pos = Math.max(pos, to);
+        }
+
+        return result;
+    }
+
+    /**
+     * Find matches starting in {@code [pos, to)} by sequential search from {@code pos}.
+     */
+    private $list<Found> scan(final CharSequence cs, final int pos, final int to, final boolean all, final boolean groups) {
+        final $list<Found> found = list();
+        final int n = cs.length();
+
+        final int limit = (int) Math.min(n, (long) to + this.maxMatch);
+        final boolean bounded = limit < n;
+        final var m = this.regex.matcher(bounded ? new Window(cs, limit) : cs);
+
+        ReMatcher<?, ?> whole = null;
+        boolean resume = false;
+
+        for (int p = pos; p < to; ) {
+            if (!(resume ? m.find() : m.find(p)) || (to <= m.start())) break;
+
+            final ReMatcher<?, ?> x;
+            // the match may change with more input; "$" also matches before the line terminator at the end of the window
+            if (bounded && (limit - 2 <= m.end())) {
+                if (whole == null) whole = this.regex.matcher(cs);
+                if (!whole.find(p) || (to <= whole.start())) break;
+
+                x = whole;
+                resume = false;
+            } else {
+                x = m;
+                resume = true;
+            }
+
+            final var f = this.snapshot(cs, x, groups);
+            found.add(f);
+
+            if (!all) break;
+
+            p = f.next();
+        }
+
+        return found;
+    }
+
+    private Found snapshot(final CharSequence cs, final ReMatcher<?, ?> m, final boolean groups) {
+        if (!groups) return new Found(cs, new int[] { m.start(), m.end() }, 0);
+
+        final int count = this.groupCount + 1;
+        final var spans = new int[(count + this.names.size()) * 2];
+
+        for (int i = 0; i < count; i++) {
+            spans[i * 2] = m.start(i);
+            spans[i * 2 + 1] = m.end(i);
+        }
+
+        for (int i = 0; i < this.names.size(); i++) {
+            final int at = (count + i) * 2;
+            try {
+                spans[at] = m.start(this.names.get(i));
+                spans[at + 1] = m.end(this.names.get(i));
+            } catch (final IllegalArgumentException e) {
+                spans[at] = spans[at + 1] = UNKNOWN;
+            }
+        }
+
+        return new Found(cs, spans, this.groupCount);
+    }
+
+    private Replacement replacement(final String replacement) { return Replacement.parse(replacement, this.groupCount, this.names); }
+
+    /**
+     * Snapshot of the match. Spans of the named groups follow those of the numbered groups.
+     */
+    private static final class Found
+        implements MatchResult {
+
+        private final CharSequence input;
+
+        private final int[] spans;
+
+        private final int groupCount;
+
+        Found(final CharSequence input, final int[] spans, final int groupCount) {
+            this.input = input;
+            this.spans = spans;
+            this.groupCount = groupCount;
+        }
+
+        /** the position where the sequential search continues after this match. */
+        int next() { return (this.start() == this.end()) ? (this.end() + 1) : this.end(); }
+
+        private int check(final int group) {
+            if ((group < 0) || (this.groupCount < group)) throw new IndexOutOfBoundsException("No group " + group);
+            return group;
+        }
+
+        @Override
+        public int start() { return this.spans[0]; }
+
+        @Override
+        public int start(final int group) { return this.spans[this.check(group) * 2]; }
+
+        @Override
+        public int end() { return this.spans[1]; }
+
+        @Override
+        public int end(final int group) { return this.spans[this.check(group) * 2 + 1]; }
+
+        @Override
+        public String group() { return this.group(0); }
+
+        @Override
+        public String group(final int group) { return this.slot(this.check(group)); }
+
+        String slot(final int slot) {
+            final int s = this.spans[slot * 2];
+            return (s < 0) ? null : this.input.subSequence(s, this.spans[slot * 2 + 1]).toString();
+        }
+
+        boolean known(final int slot) { return this.spans[slot * 2] != UNKNOWN; }
+
+        @Override
+        public int groupCount() { return this.groupCount; }
+
+        @Override
+        public String toString() { return "[" + this.start() + "," + this.end() + ") " + this.group(); }
+    }
+
+    /**
+     * Replacement string parsed in the same manner as {@link java.util.regex.Matcher#appendReplacement}.
+     *
+     * @param parts literal {@link String} or group slot {@link Integer}
+     * @param names named groups referred by the slots after numbered groups
+     */
+    private record Replacement(List<Object> parts, int groupCount, $list<String> names) {
+
+        static Replacement parse(final String replacement, final int groupCount, final $list<String> names) {
+            final List<Object> parts = new ArrayList<>();
+            final var literal = new StringBuilder();
+
+            for (int i = 0, Z = replacement.length(); i < Z; ) {
+                final char c = replacement.charAt(i++);
+
+                if (c == '\\') {
+                    if (Z <= i) throw new IllegalArgumentException("character to be escaped is missing");
+                    literal.append(replacement.charAt(i++));
+                } else if (c != '$') {
+                    literal.append(c);
+                } else {
+                    if (Z <= i) throw new IllegalArgumentException("Illegal group reference: group index is missing");
+
+                    final int slot;
+                    if (replacement.charAt(i) == '{') {
+                        final int close = replacement.indexOf('}', i);
+                        if (close < 0) throw new IllegalArgumentException("named capturing group is missing trailing '}'");
+
+                        final var name = replacement.substring(i + 1, close);
+                        final int index = names.indexOf(name);
+                        if (index < 0) throw new IllegalArgumentException("No group with name {" + name + "}");
+
+                        slot = groupCount + 1 + index;
+                        i = close + 1;
+                    } else {
+                        if (!Character.isDigit(replacement.charAt(i))) throw new IllegalArgumentException("Illegal group reference");
+
+                        // take digits as long as the group exists, like Matcher does
+                        int g = replacement.charAt(i++) - '0';
+                        if (groupCount < g) throw new IndexOutOfBoundsException("No group " + g);
+
+                        while ((i < Z) && Character.isDigit(replacement.charAt(i))) {
+                            final int x = g * 10 + (replacement.charAt(i) - '0');
+                            if (groupCount < x) break;
+
+                            g = x;
+                            i++;
+                        }
+
+                        slot = g;
+                    }
+
+                    if (!literal.isEmpty()) {
+                        parts.add(literal.toString());
+                        literal.setLength(0);
+                    }
+
+                    parts.add(slot);
+                }
+            }
+
+            if (!literal.isEmpty()) parts.add(literal.toString());
+
+            return new Replacement(parts, groupCount, names);
+        }
+
+        void appendTo(final StringBuilder sb, final Found m) {
+            for (final var x: this.parts) {
+                if (x instanceof String s) {
+                    sb.append(s);
+                    continue;
+                }
+
+                final int slot = (Integer) x;
+                if (!m.known(slot)) throw new IllegalArgumentException("No group with name {" + this.names.get(slot - this.groupCount - 1) + "}");
+
+                final var found = m.slot(slot);
+                if (found != null) sb.append(found);
+            }
+        }
+    }
+
+    /**
+     * Prefix of the input; chunks are scanned without reading beyond their lookahead.
+     */
+    private static final class Window
+        implements CharSequence {
+
+        private final CharSequence cs;
+
+        private final int length;
+
+        Window(final CharSequence cs, final int length) {
+            this.cs = cs;
+            this.length = length;
+        }
+
+        @Override
+        public int length() { return this.length; }
+
+        @Override
+        public char charAt(final int index) {
+            if (this.length <= index) throw new IndexOutOfBoundsException("(index = %d) >= %d".formatted(index, this.length));
+            return this.cs.charAt(index);
+        }
+
+        @Override
+        public CharSequence subSequence(final int start, final int end) {
+            if (this.length < end) throw new IndexOutOfBoundsException("(end = %d) > %d".formatted(end, this.length));
+            return this.cs.subSequence(start, end);
+        }
+
+        @Override
+        public String toString() { return this.cs.subSequence(0, this.length).toString(); }
+    }
+}
@@ -0,0 +1,408 @@
+// Copyright 2026 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently.regex;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import jp.root42.indolently.$list;
+
+import static jp.root42.indolently.Indolently.*;
+
+
+/**
+ * Literal prefilter which rejects inputs lacking the literals that every match of the pattern must contain.
+ * <p>
+ * The requirement is a conjunction of disjunctions; e.g. {@code .*ERROR .*(?:timeout|refused).*} requires
+ * {@code "ERROR "} and either {@code "timeout"} or {@code "refused"}.
+ * Extraction is conservative: if the pattern contains a construct which isn't understood (inline flags, {@code \Q},
+ * back references, etc.), no requirement is extracted and every input passes.
+ * </p>
+ *
+ * @author takahashikzn
+ */
+public final class Prefilter
+    implements Predicate<CharSequence> {
+
+    /** the prefilter which accepts every input. */
+    public static final Prefilter NONE = new Prefilter(list());
+
+    /** alternations having more literals than this are ignored since scanning all of them costs more than it saves. */
+    static final int MAX_ALTERNATIVES = 16;
+
+    private final $list<$list<String>> required;
+
+    private Prefilter(final $list<$list<String>> required) { this.required = required; }
+
+    /**
+     * Extract prefilter from the pattern.
+     *
+     * @param pattern regex pattern
+     * @return prefilter, or {@link #NONE} if no literal is required
+     */
+    public static Prefilter of(final String pattern) {
+        try {
+            final var parser = new Parser(pattern);
+            final var found = parser.alternation();
+
+            if (parser.i != pattern.length()) return NONE;
+
+            return found.isEmpty() ? NONE : new Prefilter(list(found) //
+                // longer literals are rarer; check them first
+                .order(Comparator.<Set<String>> comparingInt(Prefilter::shortest).reversed()) //
+                .map(x -> list(x).freeze()) //
+                .freeze());
+        } catch (final Unsupported e) {
+            return NONE;
+        }
+    }
+
+    /**
+     * Extract prefilter from the compiled pattern.
+     *
+     * @param pattern regex pattern
+     * @return prefilter, or {@link #NONE} if no literal is required
+     */
+    public static Prefilter of(final java.util.regex.Pattern pattern) {
+        final int flags = pattern.flags();
+
+        if ((flags & java.util.regex.Pattern.LITERAL) != 0) {
+            return ((flags & java.util.regex.Pattern.CASE_INSENSITIVE) != 0) || pattern.pattern().isEmpty() //
+                ? NONE //
+                : new Prefilter(list(Set.of(pattern.pattern())).map(x -> list(x).freeze()).freeze());
+        }
+
+        final int unsupported = java.util.regex.Pattern.CASE_INSENSITIVE | java.util.regex.Pattern.COMMENTS | java.util.regex.Pattern.CANON_EQ;
+
+        return ((flags & unsupported) == 0) ? of(pattern.pattern()) : NONE;
+    }
+
+    /**
+     * Extract prefilter from the compiled pattern.
+     *
+     * @param pattern regex pattern
+     * @return prefilter, or {@link #NONE} if no literal is required
+     */
+    public static Prefilter of(final com.google.re2j.Pattern pattern) {
+        return ((pattern.flags() & com.google.re2j.Pattern.CASE_INSENSITIVE) == 0) ? of(pattern.pattern()) : NONE;
+    }
+
+    private static int shortest(final Set<String> x) { return x.stream().mapToInt(String::length).min().orElse(0); }
+
+    /**
+     * Get required literals for diagnostics.
+     * Every element is a list of literals either of which must be contained in the input.
+     *
+     * @return required literals
+     */
+    public $list<$list<String>> required() { return this.required; }
+
+    public boolean isEmpty() { return this.required.isEmpty(); }
+
+    /**
+     * Test whether the input contains required literals. {@code false} means the pattern never matches the input.
+     *
+     * @param cs input
+     * @return {@code false} if the pattern never matches the input
+     */
+    @Override
+    public boolean test(final CharSequence cs) {
+        for (final var any: this.required) {
+            boolean found = false;
+
+            for (int i = 0, Z = any.size(); !found && (i < Z); i++)
+                found = contains(cs, any.get(i));
+
+            if (!found) return false;
+        }
+
+        return true;
+    }
+
+    static boolean contains(final CharSequence cs, final String literal) {
+        // String and StringBuilder have intrinsified (vectorized) indexOf
+        if (cs instanceof String s) return s.contains(literal);
+        if (cs instanceof StringBuilder sb) return 0 <= sb.indexOf(literal);
+
+        final char first = literal.charAt(0);
+        final int len = literal.length();
+
+        for (int i = 0, Z = cs.length() - len; i <= Z; i++) {
+            if (cs.charAt(i) != first) continue;
+
+            int k = 1;
+            while ((k < len) && (cs.charAt(i + k) == literal.charAt(k)))
+                k++;
+
+            if (k == len) return true;
+        }
+
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return this.required.map(x -> x.map(y -> '"' + y + '"').join(" | ")).map(x -> "(" + x + ")").join(" & ");
+    }
+
+    private static final class Unsupported
+        extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        Unsupported() { super(null, null, false, false); }
+    }
+
+    /**
+     * Minimal parser of the pattern which knows just enough syntax to find mandatory literals.
+     */
+    private static final class Parser {
+
+        private final String p;
+
+        private final int n;
+
+        int i;
+
+        Parser(final String p) {
+            this.p = p;
+            this.n = p.length();
+        }
+
+        private char peek(final int at) {
+            if (this.n <= at) throw new Unsupported();
+            return this.p.charAt(at);
+        }
+
+        List<Set<String>> alternation() {
+            final List<List<Set<String>>> alts = new ArrayList<>();
+            alts.add(this.sequence());
+
+            while ((this.i < this.n) && (this.p.charAt(this.i) == '|')) {
+                this.i++;
+                alts.add(this.sequence());
+            }
+
+            if (alts.size() == 1) return alts.get(0);
+
+            // either alternative's best requirement must be satisfied
+            final Set<String> any = new LinkedHashSet<>();
+            for (final var alt: alts) {
+                final var best = alt.stream().max(Comparator.comparingInt(Prefilter::shortest));
+                if (best.isEmpty()) return List.of();
+
+                any.addAll(best.get());
+            }
+
+            return (any.size() <= MAX_ALTERNATIVES) ? List.of(any) : List.of();
+        }
+
+        private List<Set<String>> sequence() {
+            final List<Set<String>> found = new ArrayList<>();
+            final var run = new StringBuilder();
+
+            while (this.i < this.n) {
+                final char c = this.p.charAt(this.i);
+
+                if ((c == '|') || (c == ')')) break;
+
+                switch (c) {
+                    case '\\' -> this.escape(found, run);
+                    case '[' -> {
+                        this.i = this.classEnd(this.i);
+                        this.other(found, run);
+                    }
+                    case '(' -> this.group(found, run);
+                    case '.', '^', '$' -> {
+                        this.i++;
+                        this.other(found, run);
+                    }
+                    case '*', '+', '?', '{' -> throw new Unsupported();
+                    default -> {
+                        final boolean pair = Character.isHighSurrogate(c) && (this.i + 1 < this.n) && Character.isLowSurrogate(this.p.charAt(this.i + 1));
+                        final var lit = this.p.substring(this.i, this.i + (pair ? 2 : 1));
+                        this.i += lit.length();
+                        this.literal(lit, found, run);
+                    }
+                }
+            }
+
+            flush(found, run);
+
+            return found;
+        }
+
+        private void escape(final List<Set<String>> found, final StringBuilder run) {
+            final char e = this.peek(this.i + 1);
+            this.i += 2;
+
+            if (!Character.isLetterOrDigit(e)) {
+                this.literal(String.valueOf(e), found, run);
+                return;
+            }
+
+            switch (e) {
+                case 't' -> this.literal("\t", found, run);
+                case 'n' -> this.literal("\n", found, run);
+                case 'r' -> this.literal("\r", found, run);
+                case 'f' -> this.literal("\f", found, run);
+                case 'a' -> this.literal("\u0007", found, run);
+                case 'e' -> this.literal("\u001b", found, run);
+                case 'd', 'D', 'w', 'W', 's', 'S', 'h', 'H', 'v', 'V', 'R', 'X', 'b', 'B', 'A', 'z', 'Z', 'G' -> this.other(found, run);
+                case 'p', 'P' -> {
+                    if (this.peek(this.i) == '{') {
+                        final int close = this.p.indexOf('}', this.i);
+                        if (close < 0) throw new Unsupported();
+                        this.i = close + 1;
+                    } else {
+                        this.i++;
+                    }
+
+                    this.other(found, run);
+                }
+                // back references, \Q...\E, hex/unicode/octal/control escapes etc.
+                default -> throw new Unsupported();
+            }
+        }
+
+        private void group(final List<Set<String>> found, final StringBuilder run) {
+            boolean zeroWidth = false;
+
+            if (this.peek(this.i + 1) != '?') {
+                this.i++;
+            } else {
+                final char k = this.peek(this.i + 2);
+
+                if ((k == ':') || (k == '>')) {
+                    this.i += 3;
+                } else if ((k == '=') || (k == '!')) {
+                    zeroWidth = true;
+                    this.i += 3;
+                } else if ((k == '<') && ((this.peek(this.i + 3) == '=') || (this.peek(this.i + 3) == '!'))) {
+                    zeroWidth = true;
+                    this.i += 4;
+                } else if (k == '<') {
+                    final int close = this.p.indexOf('>', this.i);
+                    if (close < 0) throw new Unsupported();
+                    this.i = close + 1;
+                } else {
+                    // inline flags
+                    throw new Unsupported();
+                }
+            }
+
+            final var inner = this.alternation();
+            if (this.peek(this.i) != ')') throw new Unsupported();
+            this.i++;
+
+            flush(found, run);
+
+            if ((this.quantifier() != 0) && !zeroWidth) found.addAll(inner);
+        }
+
+        private void literal(final String lit, final List<Set<String>> found, final StringBuilder run) {
+            final int min = this.quantifier();
+
+            if (min == 0) {
+                flush(found, run);
+            } else if (min < 0) {
+                run.append(lit);
+            } else {
+                // repetition breaks adjacency
+                run.append(lit);
+                flush(found, run);
+            }
+        }
+
+        private void other(final List<Set<String>> found, final StringBuilder run) {
+            this.quantifier();
+            flush(found, run);
+        }
+
+        /**
+         * @return the minimum number of repetition, or -1 if not quantified
+         */
+        private int quantifier() {
+            if (this.n <= this.i) return -1;
+
+            final int min;
+            switch (this.p.charAt(this.i)) {
+                case '?', '*' -> {
+                    min = 0;
+                    this.i++;
+                }
+                case '+' -> {
+                    min = 1;
+                    this.i++;
+                }
+                case '{' -> {
+                    int k = this.i + 1;
+                    while ((k < this.n) && Character.isDigit(this.p.charAt(k)))
+                        k++;
+
+                    final int close = this.p.indexOf('}', k);
+                    if ((k == this.i + 1) || (close < 0)) throw new Unsupported();
+
+                    min = Integer.parseInt(this.p.substring(this.i + 1, k));
+                    this.i = close + 1;
+                }
+                default -> {
+                    return -1;
+                }
+            }
+
+            // lazy or possessive
+            if ((this.i < this.n) && ((this.p.charAt(this.i) == '?') || (this.p.charAt(this.i) == '+'))) this.i++;
+
+            return min;
+        }
+
+        private int classEnd(int at) {
+            at++;
+            if ((at < this.n) && (this.p.charAt(at) == '^')) at++;
+            if ((at < this.n) && (this.p.charAt(at) == ']')) at++;
+
+            int depth = 1;
+            while (at < this.n) {
+                final char c = this.p.charAt(at);
+
+                if (c == '\\') {
+                    if (this.peek(at + 1) == 'Q') throw new Unsupported();
+                    at += 2;
+                } else if (c == '[') {
+                    depth++;
+                    at++;
+                } else if (c == ']') {
+                    at++;
+                    if (--depth == 0) return at;
+                } else {
+                    at++;
+                }
+            }
+
+            throw new Unsupported();
+        }
+
+        private static void flush(final List<Set<String>> found, final StringBuilder run) {
+            if (run.isEmpty()) return;
+
+            found.add(Set.of(run.toString()));
+            run.setLength(0);
+        }
+    }
+}
@@ -13,10 +13,47 @@
 // limitations under the License.
 package jp.root42.indolently.regex;
 
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.StandardCharsets;
+
+
 /**
  * @author takahashikzn
  */
 public interface ReFindable {
 
     boolean find(CharSequence cs);
+
+    /**
+     * Test whether the pattern is found in UTF-8 encoded input. Malformed input never matches.
+     *
+     * @param utf8 UTF-8 encoded input
+     * @return test result
+     */
+    default boolean find(final byte[] utf8) { return this.find(ByteBuffer.wrap(utf8)); }
+
+    /**
+     * Test whether the pattern is found in the remaining bytes of UTF-8 encoded input. Malformed input never matches.
+     * The buffer position isn't changed.
+     *
+     * @param utf8 UTF-8 encoded input
+     * @return test result
+     */
+    default boolean find(final ByteBuffer utf8) {
+        final var cs = decode(utf8);
+        return (cs != null) && this.find(cs);
+    }
+
+    /**
+     * @return decoded input, or {@code null} if malformed
+     */
+    private static CharBuffer decode(final ByteBuffer utf8) {
+        try {
+            return StandardCharsets.UTF_8.newDecoder().decode(utf8.duplicate());
+        } catch (final CharacterCodingException e) {
+            return null;
+        }
+    }
 }
@@ -13,6 +13,10 @@
 // limitations under the License.
 package jp.root42.indolently.regex;
 
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.StandardCharsets;
 import java.util.function.Predicate;
 
 
@@ -29,6 +33,37 @@ public interface ReTest
      */
     String pattern();
 
+    /**
+     * Test whether the pattern matches whole UTF-8 encoded input. Malformed input never matches.
+     *
+     * @param utf8 UTF-8 encoded input
+     * @return test result
+     */
+    default boolean test(final byte[] utf8) { return this.test(ByteBuffer.wrap(utf8)); }
+
+    /**
+     * Test whether the pattern matches the remaining bytes of UTF-8 encoded input. Malformed input never matches.
+     * The buffer position isn't changed.
+     *
+     * @param utf8 UTF-8 encoded input
+     * @return test result
+     */
+    default boolean test(final ByteBuffer utf8) {
+        final var cs = decode(utf8);
+        return (cs != null) && this.test(cs);
+    }
+
+    /**
+     * @return decoded input, or {@code null} if malformed
+     */
+    private static CharBuffer decode(final ByteBuffer utf8) {
+        try {
+            return StandardCharsets.UTF_8.newDecoder().decode(utf8.duplicate());
+        } catch (final CharacterCodingException e) {
+            return null;
+        }
+    }
+
     static ReTest of(final RegexBase<?, ?> ptrn) { return of(ptrn, ptrn.pattern()); }
 
     static ReTest of(final Predicate<CharSequence> pred, final String pattern) {
@@ -13,11 +13,16 @@
 // limitations under the License.
 package jp.root42.indolently.regex;
 
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.regex.Pattern;
 
+import jp.root42.indolently.$iter;
 import jp.root42.indolently.$list;
+import jp.root42.indolently.Indolently;
 
 
 /**
@@ -62,6 +67,15 @@ public final class Regex
     @Override
     public boolean test(final CharSequence cs) { return this.pattern.test(cs); }
 
+    @Override
+    public boolean find(final CharSequence cs) { return this.pattern.find(cs); }
+
+    @Override
+    public String replaceAll(final CharSequence cs, final String replacement) { return this.pattern.replaceAll(cs, replacement); }
+
+    @Override
+    public String replaceFirst(final CharSequence cs, final String replacement) { return this.pattern.replaceFirst(cs, replacement); }
+
     @Override
     public String pattern() { return this.pattern.pattern(); }
 
@@ -112,6 +126,17 @@ interface RegexBase<P, M extends ReMatcher<?, ?>>
      */
     $list<String> split(CharSequence cs, int limit);
 
+    /**
+     * Tokenize string lazily by the regex pattern which this object expresses.
+     * This method is equivalent to {@code ptrn.split(cs, 0)} but fields are the views of the input, and the input is
+     * searched only as far as the fields actually iterated.
+     *
+     * @param cs the string to tokenize
+     * @return token iterator
+     * @see Pattern#split(CharSequence)
+     */
+    default $iter<CharSequence> splitter(final CharSequence cs) { return Indolently.$(new RegexSplitter(this.matcher(cs), cs)); }
+
     /**
      * delegate for {@link java.util.regex.Matcher#replaceAll(String)}
      *
@@ -163,4 +188,51 @@ interface RegexBase<P, M extends ReMatcher<?, ?>>
     default String subst(final CharSequence cs, final BiFunction<? super ReMatcher<?, ?>, String, String> f) {
         return this.matcher(cs).subst(f);
     }
+
+    /**
+     * Get the version of this pattern whose execution is bounded, which fails with {@link BoundedRegex.BudgetExceeded}
+     * when the budget runs out.
+     *
+     * @param maxSteps the maximum number of characters read by the engine per call
+     * @param timeout the maximum time per call. null means unlimited.
+     * @return bounded version of this pattern
+     * @see BoundedRegex
+     */
+    default BoundedRegex bounded(final long maxSteps, final Duration timeout) { return this.bounded(maxSteps, timeout, false); }
+
+    /**
+     * Get the version of this pattern whose execution is bounded.
+     *
+     * @param maxSteps the maximum number of characters read by the engine per call
+     * @param timeout the maximum time per call. null means unlimited.
+     * @param fallback run the call again on a linear-time engine instead of failing when the budget runs out
+     * @return bounded version of this pattern
+     * @see BoundedRegex
+     */
+    default BoundedRegex bounded(final long maxSteps, final Duration timeout, final boolean fallback) {
+        return new BoundedRegex(this, maxSteps, timeout, fallback);
+    }
+
+    /**
+     * Get the parallel version of this pattern for large inputs, which runs on the common fork-join pool.
+     *
+     * @return parallel version of this pattern
+     * @see ParallelRegex
+     */
+    default ParallelRegex parallel() {
+        return this.parallel(ParallelRegex.DEFAULT_CHUNK, ParallelRegex.DEFAULT_MAX_MATCH, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Get the parallel version of this pattern for large inputs.
+     *
+     * @param chunk the number of characters processed by one task
+     * @param maxMatch the maximum length of the match
+     * @param executor executor which runs tasks, e.g. fork-join pool or virtual threads
+     * @return parallel version of this pattern
+     * @see ParallelRegex
+     */
+    default ParallelRegex parallel(final int chunk, final int maxMatch, final Executor executor) {
+        return new ParallelRegex(this, chunk, maxMatch, executor);
+    }
 }
@@ -0,0 +1,193 @@
+// Copyright 2026 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently.regex;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+
+/**
+ * Process-wide, size-bounded and thread-safe cache of compiled patterns.
+ * Lookup is lock-free; the compiled object must be immutable (every engine in this package is).
+ *
+ * @author takahashikzn
+ */
+public final class RegexCache {
+
+    /**
+     * Eviction policy.
+     */
+    public enum Eviction {
+
+        /** evict the oldest entry. */
+        FIFO,
+
+        /** evict the least recently used entry (approximated by the CLOCK algorithm). */
+        LRU
+    }
+
+    /**
+     * Statistics snapshot.
+     *
+     * @param hits the number of cache hits
+     * @param misses the number of cache misses
+     * @param evictions the number of evicted entries
+     * @param size current number of entries
+     */
+    public record Stats(long hits, long misses, long evictions, int size) { }
+
+    public static final int DEFAULT_SIZE = 1024;
+
+    private static volatile RegexCache instance = new RegexCache(DEFAULT_SIZE, Eviction.LRU);
+
+    /**
+     * Get default instance.
+     *
+     * @return default instance
+     */
+    public static RegexCache getInstance() { return instance; }
+
+    /**
+     * Set default instance.
+     *
+     * @param cache default instance
+     */
+    public static void setInstance(final RegexCache cache) { instance = Objects.requireNonNull(cache); }
+
+    private record Key(String kind, String pattern, String escape) { }
+
+    private static final class Entry {
+
+        final Object value;
+
+        volatile boolean referenced;
+
+        Entry(final Object value) { this.value = value; }
+    }
+
+    private final int maxSize;
+
+    private final Eviction eviction;
+
+    private final ConcurrentHashMap<Key, Entry> store = new ConcurrentHashMap<>();
+
+    private final ConcurrentLinkedQueue<Key> queue = new ConcurrentLinkedQueue<>();
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Constructor.
+     *
+     * @param maxSize maximum number of entries. zero means caching is disabled.
+     * @param eviction eviction policy
+     */
+    public RegexCache(final int maxSize, final Eviction eviction) {
+        if (maxSize < 0) throw new IllegalArgumentException("(maxSize = %d) < 0".formatted(maxSize));
+
+        this.maxSize = maxSize;
+        this.eviction = Objects.requireNonNull(eviction);
+    }
+
+    public int maxSize() { return this.maxSize; }
+
+    public Eviction eviction() { return this.eviction; }
+
+    /**
+     * Get cached object or compile and cache it.
+     * Concurrent misses on the same key may compile more than once, but only one result is kept.
+     *
+     * @param kind kind of compiled object, e.g. the name of the factory method
+     * @param pattern pattern string
+     * @param escape escape string which is used on compilation. nullable.
+     * @param f compiler
+     * @return cached object
+     */
+    public <T> T get(final String kind, final String pattern, final String escape, final Supplier<? extends T> f) {
+        if (this.maxSize == 0) {
+            this.misses.increment();
+            return f.get();
+        }
+
+        final var key = new Key(kind, pattern, escape);
+        final var found = this.store.get(key);
+
+        if (found != null) {
+            this.hits.increment();
+            if ((this.eviction == Eviction.LRU) && !found.referenced) found.referenced = true;
+
+            //noinspection unchecked
+            return (T) found.value;
+        }
+
+        this.misses.increment();
+
+        // don't use computeIfAbsent; compilers may look up this cache recursively.
+        final var created = new Entry(f.get());
+        final var prev = this.store.putIfAbsent(key, created);
+
+        if (prev != null) {
+            //noinspection unchecked
+            return (T) prev.value;
+        }
+
+        this.queue.offer(key);
+        this.evict();
+
+        //noinspection unchecked
+        return (T) created.value;
+    }
+
+    private void evict() {
+        while (this.maxSize < this.store.size()) {
+            final var key = this.queue.poll();
+            if (key == null) return;
+
+            final var e = this.store.get(key);
+            if (e == null) continue;
+
+            if (e.referenced) {
+                // second chance
+                e.referenced = false;
+                this.queue.offer(key);
+            } else if (this.store.remove(key, e)) {
+                this.evictions.increment();
+            }
+        }
+    }
+
+    /**
+     * Remove all entries. Statistics are kept.
+     */
+    public void clear() {
+        this.store.clear();
+        this.queue.clear();
+    }
+
+    /**
+     * Get statistics snapshot.
+     *
+     * @return statistics
+     */
+    public Stats stats() { return new Stats(this.hits.sum(), this.misses.sum(), this.evictions.sum(), this.store.size()); }
+
+    @Override
+    public String toString() { return "RegexCache(" + this.eviction + ", " + this.maxSize + "): " + this.stats(); }
+}
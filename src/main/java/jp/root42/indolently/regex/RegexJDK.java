@@ -32,8 +32,38 @@ public final class RegexJDK
 
     private final Pattern pattern;
 
+    private final Prefilter prefilter;
+
     public RegexJDK(final Pattern pattern) {
         this.pattern = pattern;
+        this.prefilter = Prefilter.of(pattern);
+    }
+
+    /**
+     * Get the literal prefilter which is applied before matching.
+     *
+     * @return prefilter
+     */
+    public Prefilter prefilter() {
+        return this.prefilter;
+    }
+
+    @Override
+    public boolean test(final CharSequence cs) {
+        return RegexMetrics.disabled() ? this.matches(cs) : RegexMetrics.measure(this, cs.length(), () -> this.matches(cs));
+    }
+
+    @Override
+    public boolean find(final CharSequence cs) {
+        return RegexMetrics.disabled() ? this.found(cs) : RegexMetrics.measure(this, cs.length(), () -> this.found(cs));
+    }
+
+    private boolean matches(final CharSequence cs) {
+        return this.prefilter.test(cs) && this.matcher(cs).matches();
+    }
+
+    private boolean found(final CharSequence cs) {
+        return this.prefilter.test(cs) && this.matcher(cs).find();
     }
 
     @Override
@@ -51,9 +81,19 @@ public final class RegexJDK
         return new ReMatcherJDK(this.ptrn().matcher(cs), cs);
     }
 
+    /**
+     * Create streaming search of this pattern.
+     *
+     * @return streaming search
+     */
+    public RegexStream stream() {
+        return new RegexStream(this);
+    }
+
     @Override
     public $list<String> split(final CharSequence cs, final int limit) {
-        return Indolently.list(this.ptrn().split(cs, limit));
+        return RegexMetrics.disabled() ? Indolently.list(this.ptrn().split(cs, limit))
+            : RegexMetrics.measure(this, cs.length(), () -> Indolently.list(this.ptrn().split(cs, limit)));
     }
 
     @Override
@@ -83,11 +123,13 @@ final class ReMatcherJDK
 
     private final Matcher matcher;
 
-    private final String text;
+    private CharSequence input;
+
+    private String text;
 
-    public ReMatcherJDK(final Matcher matcher, final CharSequence text) {
+    public ReMatcherJDK(final Matcher matcher, final CharSequence input) {
         this.matcher = matcher;
-        this.text = text.toString();
+        this.input = input;
     }
 
     @Override
@@ -111,6 +153,8 @@ final class ReMatcherJDK
 
     @Override
     public String text() {
+        // materialize on demand; the matcher itself scans the original character sequence.
+        if (this.text == null) this.text = this.input.toString();
         return this.text;
     }
 
@@ -136,6 +180,8 @@ final class ReMatcherJDK
 
     @Override
     public Matcher reset(final CharSequence input) {
+        this.input = input;
+        this.text = null;
         return this.matcher.reset(input);
     }
 
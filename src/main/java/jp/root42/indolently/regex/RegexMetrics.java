@@ -0,0 +1,310 @@
+// Copyright 2026 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently.regex;
+
+import java.lang.management.ManagementFactory;
+import java.util.Comparator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+import javax.management.InstanceNotFoundException;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+import jp.root42.indolently.$list;
+
+import static jp.root42.indolently.Indolently.*;
+
+
+/**
+ * Process-wide execution metrics of regex engines, per pattern and engine.
+ * <p>
+ * Metrics are disabled by default, and then each measured call costs only one volatile read.
+ * {@code test}, {@code find} and {@code split} of {@link RegexJDK}, {@link RegexRe2} and {@link AutomatonTest} are
+ * measured, and so are the wrappers delegating to them such as {@link Regex}, {@link AdaptiveRegex} and
+ * {@link jp.root42.indolently.Regexive#tester(String)}. Matchers are not measured because their cost depends on the
+ * caller.
+ * </p>
+ * <p>
+ * Input lengths are counted in the same buckets as {@link AdaptiveRegex}: &lt; 32, &lt; 1K, &lt; 32K and more chars
+ * (or bytes for UTF-8 input).
+ * </p>
+ * <p>
+ * Up to {@value #CAPACITY} (by default) pattern and engine pairs are recorded, so that dynamically built patterns never
+ * make the metrics grow unbounded. Calls of the patterns beyond the capacity are summed up per engine under the pattern
+ * {@value #OTHERS}.
+ * </p>
+ *
+ * @author takahashikzn
+ */
+public final class RegexMetrics
+    implements RegexMetricsMXBean {
+
+    /** the name under which {@link #enable()} registers the instance to the platform MBean server. */
+    public static final String OBJECT_NAME = "jp.root42.indolently:type=RegexMetrics";
+
+    /** the default max number of recorded pattern and engine pairs. */
+    public static final int CAPACITY = 10_000;
+
+    /** the pattern under which the calls of the patterns beyond the capacity are recorded. */
+    public static final String OTHERS = "(others)";
+
+    private static final int SLOWEST = 20;
+
+    /**
+     * Metrics snapshot of a pattern on an engine.
+     *
+     * @param pattern pattern string
+     * @param engine engine name, i.e. {@code jdk}, {@code re2} or {@code automaton}
+     * @param calls the number of calls
+     * @param totalNanos the total time of calls
+     * @param maxNanos the time of the slowest call
+     * @param timeouts the number of calls aborted by the time or step limit
+     * @param lengths the number of calls per input length bucket
+     */
+    public record Stats(String pattern, String engine, long calls, long totalNanos, long maxNanos, long timeouts, $list<Long> lengths) {
+
+        public long meanNanos() { return (this.calls == 0) ? 0 : (this.totalNanos / this.calls); }
+
+        @Override
+        public String toString() {
+            return "%s [%s] calls=%d total=%dns mean=%dns max=%dns timeouts=%d lengths=%s".formatted(this.pattern, this.engine,
+                this.calls, this.totalNanos, this.meanNanos(), this.maxNanos, this.timeouts, this.lengths);
+        }
+    }
+
+    private static volatile RegexMetrics instance;
+
+    private final int capacity;
+
+    /**
+     * Create an instance recording up to {@value #CAPACITY} pattern and engine pairs.
+     */
+    public RegexMetrics() { this(CAPACITY); }
+
+    /**
+     * Constructor.
+     *
+     * @param capacity the max number of recorded pattern and engine pairs
+     */
+    public RegexMetrics(final int capacity) {
+        if (capacity < 1) throw new IllegalArgumentException("(capacity = %d) <= 0".formatted(capacity));
+
+        this.capacity = capacity;
+    }
+
+    /**
+     * Get current instance.
+     *
+     * @return current instance, or null if disabled
+     */
+    public static RegexMetrics getInstance() { return instance; }
+
+    /**
+     * Set current instance. Unlike {@link #enable()}, the instance isn't registered to JMX.
+     *
+     * @param metrics current instance. null disables metrics.
+     */
+    public static void setInstance(final RegexMetrics metrics) { instance = metrics; }
+
+    /**
+     * Enable metrics and register them to the platform MBean server as {@link #OBJECT_NAME}.
+     * If already enabled, current instance is kept.
+     *
+     * @return current instance
+     */
+    public static synchronized RegexMetrics enable() {
+        final var current = instance;
+        if (current != null) return current;
+
+        final var created = new RegexMetrics();
+
+        try {
+            final var server = ManagementFactory.getPlatformMBeanServer();
+            final var name = new ObjectName(OBJECT_NAME);
+
+            if (server.isRegistered(name)) server.unregisterMBean(name);
+            server.registerMBean(created, name);
+        } catch (final JMException e) {
+            throw new IllegalStateException(e);
+        }
+
+        return instance = created;
+    }
+
+    /**
+     * Disable metrics and unregister them from the platform MBean server.
+     */
+    public static synchronized void disable() {
+        instance = null;
+
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(new ObjectName(OBJECT_NAME));
+        } catch (final InstanceNotFoundException ignored) {
+        } catch (final JMException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static boolean disabled() { return instance == null; }
+
+    static boolean measure(final ReTest re, final int length, final BooleanSupplier f) {
+        final var metrics = instance;
+        if (metrics == null) return f.getAsBoolean();
+
+        final long t0 = System.nanoTime();
+        try {
+            return f.getAsBoolean();
+        } finally {
+            metrics.record(re, length, System.nanoTime() - t0);
+        }
+    }
+
+    static <T> T measure(final ReTest re, final int length, final Supplier<T> f) {
+        final var metrics = instance;
+        if (metrics == null) return f.get();
+
+        final long t0 = System.nanoTime();
+        try {
+            return f.get();
+        } finally {
+            metrics.record(re, length, System.nanoTime() - t0);
+        }
+    }
+
+    /**
+     * Record a call aborted by the time or step limit. The call itself is recorded by {@code measure}, under the engine
+     * which the wrappers delegate to.
+     *
+     * @param re the regex, possibly a wrapper
+     * @param length input length
+     */
+    static void timeout(final ReTest re, final int length) {
+        final var metrics = instance;
+        if (metrics != null) metrics.recorder(delegate(re, length)).timeouts.increment();
+    }
+
+    /**
+     * Get the engine which the wrappers delegate the call to. An {@link AdaptiveRegex} exploring the engines is
+     * returned as is.
+     */
+    static ReTest delegate(final ReTest re, final int length) {
+        if (re instanceof Regex x) return delegate(x.unwrap(), length);
+        if (re instanceof BoundedRegex x) return delegate(x.unwrap(), length);
+
+        if (re instanceof AdaptiveRegex x) {
+            final int i = x.chosen(length);
+            return (i < 0) ? re : delegate(x.patterns().get(i), length);
+        }
+
+        return re;
+    }
+
+    static String engine(final ReTest re) {
+        if (re instanceof RegexJDK) return "jdk";
+        if (re instanceof RegexRe2) return "re2";
+        if (re instanceof AutomatonTest) return "automaton";
+
+        return re.getClass().getSimpleName();
+    }
+
+    private record Key(String pattern, String engine) { }
+
+    private static final class Recorder {
+
+        final LongAdder calls = new LongAdder();
+
+        final LongAdder total = new LongAdder();
+
+        final AtomicLong max = new AtomicLong();
+
+        final LongAdder timeouts = new LongAdder();
+
+        final LongAdder[] lengths = new LongAdder[AdaptiveRegex.BUCKETS];
+
+        Recorder() {
+            for (int i = 0; i < this.lengths.length; i++)
+                this.lengths[i] = new LongAdder();
+        }
+
+        void record(final int length, final long nanos) {
+            this.calls.increment();
+            this.total.add(nanos);
+            this.lengths[AdaptiveRegex.bucket(length)].increment();
+
+            // avoid contended CAS in the common case
+            if (this.max.get() < nanos) this.max.accumulateAndGet(nanos, Math::max);
+        }
+
+        Stats stats(final Key key) {
+            final $list<Long> lengths = list();
+            for (final var x: this.lengths)
+                lengths.add(x.sum());
+
+            return new Stats(key.pattern, key.engine, this.calls.sum(), this.total.sum(), this.max.get(), this.timeouts.sum(), lengths);
+        }
+    }
+
+    private final ConcurrentHashMap<Key, Recorder> recorders = new ConcurrentHashMap<>();
+
+    private Recorder recorder(final ReTest re) {
+        final var key = new Key(re.pattern(), engine(re));
+
+        final var found = this.recorders.get(key);
+        if (found != null) return found;
+
+        return this.recorders.computeIfAbsent((this.recorders.size() < this.capacity) ? key : new Key(OTHERS, key.engine), x -> new Recorder());
+    }
+
+    void record(final ReTest re, final int length, final long nanos) { this.recorder(re).record(length, nanos); }
+
+    /**
+     * Get metrics snapshot, the pattern consuming the most time first.
+     *
+     * @return metrics snapshot
+     */
+    public $list<Stats> snapshot() {
+        final $list<Stats> found = list();
+        this.recorders.forEach((k, v) -> found.add(v.stats(k)));
+
+        return found.order(Comparator.comparingLong(Stats::totalNanos).reversed());
+    }
+
+    @Override
+    public void reset() { this.recorders.clear(); }
+
+    @Override
+    public int getPatternCount() { return this.recorders.size(); }
+
+    @Override
+    public long getCalls() { return this.recorders.values().stream().mapToLong(x -> x.calls.sum()).sum(); }
+
+    @Override
+    public long getTotalNanos() { return this.recorders.values().stream().mapToLong(x -> x.total.sum()).sum(); }
+
+    @Override
+    public long getTimeouts() { return this.recorders.values().stream().mapToLong(x -> x.timeouts.sum()).sum(); }
+
+    @Override
+    public String[] getSlowest() {
+        final var stats = this.snapshot();
+        return stats.subList(0, Math.min(SLOWEST, stats.size())).stream().map(Stats::toString).toArray(String[]::new);
+    }
+
+    @Override
+    public String toString() { return "RegexMetrics: " + this.getPatternCount() + " patterns, " + this.getCalls() + " calls"; }
+}
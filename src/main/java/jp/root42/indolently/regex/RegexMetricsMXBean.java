@@ -0,0 +1,52 @@
+// Copyright 2026 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently.regex;
+
+/**
+ * JMX view of {@link RegexMetrics}.
+ *
+ * @author takahashikzn
+ */
+public interface RegexMetricsMXBean {
+
+    /**
+     * @return the number of measured pattern and engine pairs
+     */
+    int getPatternCount();
+
+    /**
+     * @return the number of measured calls
+     */
+    long getCalls();
+
+    /**
+     * @return the total time of measured calls in nanoseconds
+     */
+    long getTotalNanos();
+
+    /**
+     * @return the number of calls aborted by the time or step limit
+     */
+    long getTimeouts();
+
+    /**
+     * @return the patterns which consumed the most time, one line per pattern and engine, slowest first
+     */
+    String[] getSlowest();
+
+    /**
+     * Clear all metrics.
+     */
+    void reset();
+}
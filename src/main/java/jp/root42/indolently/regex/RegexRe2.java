@@ -13,6 +13,9 @@
 // limitations under the License.
 package jp.root42.indolently.regex;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.Objects;
 import java.util.regex.MatchResult;
 
@@ -32,8 +35,20 @@ public final class RegexRe2
 
     private final Pattern pattern;
 
+    private final Prefilter prefilter;
+
     public RegexRe2(final Pattern pattern) {
         this.pattern = pattern;
+        this.prefilter = Prefilter.of(pattern);
+    }
+
+    /**
+     * Get the literal prefilter which is applied before matching.
+     *
+     * @return prefilter
+     */
+    public Prefilter prefilter() {
+        return this.prefilter;
     }
 
     @Override
@@ -48,7 +63,20 @@ public final class RegexRe2
 
     @Override
     public boolean test(final CharSequence cs) {
-        return this.matcher(cs).matches();
+        return RegexMetrics.disabled() ? this.matches(cs) : RegexMetrics.measure(this, cs.length(), () -> this.matches(cs));
+    }
+
+    @Override
+    public boolean find(final CharSequence cs) {
+        return RegexMetrics.disabled() ? this.found(cs) : RegexMetrics.measure(this, cs.length(), () -> this.found(cs));
+    }
+
+    private boolean matches(final CharSequence cs) {
+        return this.prefilter.test(cs) && this.matcher(cs).matches();
+    }
+
+    private boolean found(final CharSequence cs) {
+        return this.prefilter.test(cs) && this.matcher(cs).find();
     }
 
     @Override
@@ -56,9 +84,96 @@ public final class RegexRe2
         return new ReMatcherRE2(this.ptrn().matcher(cs), cs);
     }
 
+    /**
+     * Test whether the pattern matches whole UTF-8 encoded input without decoding it.
+     *
+     * @param utf8 UTF-8 encoded input
+     * @return test result
+     */
+    @Override
+    public boolean test(final byte[] utf8) {
+        return RegexMetrics.disabled() ? this.ptrn().matches(utf8) : RegexMetrics.measure(this, utf8.length, () -> this.ptrn().matches(utf8));
+    }
+
+    /**
+     * Test whether the pattern matches whole UTF-8 encoded input without decoding it.
+     *
+     * @param utf8 UTF-8 encoded input
+     * @return test result
+     */
+    @Override
+    public boolean test(final ByteBuffer utf8) {
+        return this.test(bytes(utf8));
+    }
+
+    /**
+     * Test whether the pattern is found in UTF-8 encoded input without decoding it.
+     *
+     * @param utf8 UTF-8 encoded input
+     * @return test result
+     */
+    @Override
+    public boolean find(final byte[] utf8) {
+        return RegexMetrics.disabled() ? this.ptrn().matcher(utf8).find() : RegexMetrics.measure(this, utf8.length, () -> this.ptrn().matcher(utf8).find());
+    }
+
+    /**
+     * Test whether the pattern is found in UTF-8 encoded input without decoding it.
+     *
+     * @param utf8 UTF-8 encoded input
+     * @return test result
+     */
+    @Override
+    public boolean find(final ByteBuffer utf8) {
+        return this.find(bytes(utf8));
+    }
+
+    /**
+     * Create matcher over UTF-8 encoded input.
+     * Note that {@link ReMatcher#start()} and {@link ReMatcher#end()} of the matcher return byte offsets.
+     *
+     * @param utf8 UTF-8 encoded input
+     * @return matcher
+     */
+    public ReMatcherRE2 matcher(final byte[] utf8) {
+        return new ReMatcherRE2(this.ptrn().matcher(utf8), utf8);
+    }
+
+    /**
+     * Create matcher over the remaining bytes of UTF-8 encoded input.
+     * Note that {@link ReMatcher#start()} and {@link ReMatcher#end()} of the matcher return byte offsets relative to
+     * the buffer position.
+     *
+     * @param utf8 UTF-8 encoded input
+     * @return matcher
+     */
+    public ReMatcherRE2 matcher(final ByteBuffer utf8) {
+        return this.matcher(bytes(utf8));
+    }
+
+    /**
+     * Get the remaining bytes of the buffer without changing its position.
+     * The backing array is used as is if the buffer wraps it entirely, otherwise the remaining bytes are copied
+     * because RE2/J accepts only a whole array.
+     */
+    private static byte[] bytes(final ByteBuffer buf) {
+        if (buf.hasArray()) {
+            final var array = buf.array();
+            final int from = buf.arrayOffset() + buf.position();
+
+            return ((from == 0) && (buf.remaining() == array.length)) ? array : Arrays.copyOfRange(array, from, from + buf.remaining());
+        }
+
+        final var bytes = new byte[buf.remaining()];
+        buf.duplicate().get(bytes);
+
+        return bytes;
+    }
+
     @Override
     public $list<String> split(final CharSequence cs, final int limit) {
-        return Indolently.list(this.ptrn().split(cs.toString(), limit));
+        return RegexMetrics.disabled() ? Indolently.list(this.ptrn().split(cs.toString(), limit))
+            : RegexMetrics.measure(this, cs.length(), () -> Indolently.list(this.ptrn().split(cs.toString(), limit)));
     }
 
     @Override
@@ -88,11 +203,20 @@ final class ReMatcherRE2
 
     private final Matcher matcher;
 
-    private final String text;
+    private CharSequence input;
+
+    private byte[] utf8;
+
+    private String text;
 
-    public ReMatcherRE2(final Matcher matcher, final CharSequence text) {
+    public ReMatcherRE2(final Matcher matcher, final CharSequence input) {
         this.matcher = matcher;
-        this.text = text.toString();
+        this.input = input;
+    }
+
+    public ReMatcherRE2(final Matcher matcher, final byte[] utf8) {
+        this.matcher = matcher;
+        this.utf8 = utf8;
     }
 
     @Override
@@ -116,6 +240,8 @@ final class ReMatcherRE2
 
     @Override
     public String text() {
+        // materialize on demand; the matcher itself scans the original input.
+        if (this.text == null) this.text = (this.input != null) ? this.input.toString() : new String(this.utf8, StandardCharsets.UTF_8);
         return this.text;
     }
 
@@ -126,7 +252,19 @@ final class ReMatcherRE2
     public Matcher reset() { return this.matcher.reset(); }
 
     @Override
-    public Matcher reset(final CharSequence input) { return this.matcher.reset(input); }
+    public Matcher reset(final CharSequence input) {
+        this.input = input;
+        this.utf8 = null;
+        this.text = null;
+        return this.matcher.reset(input);
+    }
+
+    public Matcher reset(final byte[] utf8) {
+        this.input = null;
+        this.utf8 = utf8;
+        this.text = null;
+        return this.matcher.reset(utf8);
+    }
 
     @Override
     public int start() { return this.matcher.start(); }
@@ -147,13 +285,22 @@ final class ReMatcherRE2
     public int end(final String group) { return this.matcher.end(group); }
 
     @Override
-    public String group() { return this.matcher.group(); }
+    public String group() { return (this.utf8 == null) ? this.matcher.group() : this.decode(this.start(), this.end()); }
 
     @Override
-    public String group(final int group) { return this.matcher.group(group); }
+    public String group(final int group) {
+        return (this.utf8 == null) ? this.matcher.group(group) : this.decode(this.start(group), this.end(group));
+    }
 
     @Override
-    public String group(final String group) { return this.matcher.group(group); }
+    public String group(final String group) {
+        return (this.utf8 == null) ? this.matcher.group(group) : this.decode(this.start(group), this.end(group));
+    }
+
+    // RE2/J decodes groups of byte input as if each byte were a character, so decode here instead.
+    private String decode(final int start, final int end) {
+        return (start < 0) ? null : new String(this.utf8, start, end - start, StandardCharsets.UTF_8);
+    }
 
     @Override
     public int groupCount() { return this.matcher.groupCount(); }
@@ -0,0 +1,374 @@
+// Copyright 2026 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently.regex;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import dk.brics.automaton.Automaton;
+import dk.brics.automaton.RunAutomaton;
+import jp.root42.indolently.$list;
+import jp.root42.indolently.Regexive;
+
+import static jp.root42.indolently.Indolently.*;
+
+
+/**
+ * Multi-pattern matcher which tests one input against many patterns in a single pass.
+ * <p>
+ * Patterns which the automaton can express are compiled into one combined DFA, which is built lazily from the
+ * product of the per-pattern DFAs as the input is scanned.
+ * The scan cost grows with the input length, not with the number of patterns.
+ * Other patterns go to the fallback bucket and are tested one by one using {@code java.util.regex}.
+ * </p>
+ *
+ * @author takahashikzn
+ */
+public final class RegexSet
+    implements ReTest, ReFindable {
+
+    private final $list<String> patterns;
+
+    private final int[] dfaIndex;
+
+    private final RunAutomaton[] testAutomata;
+
+    private final Automaton[] findAutomata;
+
+    private final int[] fallbackIndex;
+
+    private final RegexJDK[] fallbacks;
+
+    private volatile Dfa testDfa;
+
+    private volatile Dfa findDfa;
+
+    /**
+     * Constructor.
+     *
+     * @param patterns patterns
+     */
+    public RegexSet(final String... patterns) { this(list(patterns)); }
+
+    /**
+     * Constructor.
+     *
+     * @param patterns patterns
+     */
+    public RegexSet(final Iterable<String> patterns) {
+        this.patterns = list(patterns).freeze();
+
+        final $list<Integer> dfaIndex = list();
+        final $list<AutomatonTest> dfa = list();
+        final $list<Integer> fallbackIndex = list();
+
+        this.patterns.each((i, p) -> {
+            if (Regexive.tester(p) instanceof AutomatonTest x) {
+                dfaIndex.add(i);
+                dfa.add(x);
+            } else {
+                fallbackIndex.add(i);
+            }
+        });
+
+        this.dfaIndex = dfaIndex.stream().mapToInt(x -> x).toArray();
+        this.testAutomata = dfa.map(x -> x.automaton).toArray(new RunAutomaton[0]);
+        this.findAutomata = dfa.map(x -> x.searcher(false)).toArray(new Automaton[0]);
+        this.fallbackIndex = fallbackIndex.stream().mapToInt(x -> x).toArray();
+        this.fallbacks = fallbackIndex.map(i -> Regexive.regex1(this.patterns.get(i))).toArray(new RegexJDK[0]);
+    }
+
+    /**
+     * Get the number of patterns.
+     *
+     * @return the number of patterns
+     */
+    public int size() { return this.patterns.size(); }
+
+    /**
+     * Get patterns.
+     *
+     * @return patterns
+     */
+    public $list<String> patterns() { return this.patterns; }
+
+    /**
+     * Get the indices of patterns which are tested one by one using {@code java.util.regex}.
+     *
+     * @return the indices of fallback patterns
+     */
+    public $list<Integer> fallbacks() { return plist(this.fallbackIndex); }
+
+    /**
+     * Equivalent to the alternation of all patterns.
+     *
+     * @return pattern string
+     */
+    @Override
+    public String pattern() { return this.patterns.map(x -> "(?:" + x + ")").join("|"); }
+
+    /**
+     * Test whether any pattern matches whole input.
+     *
+     * @param cs input
+     * @return test result
+     */
+    @Override
+    public boolean test(final CharSequence cs) { return !this.testAll(cs).isEmpty(); }
+
+    /**
+     * Test whether any pattern is found in the input.
+     *
+     * @param cs input
+     * @return test result
+     */
+    @Override
+    public boolean find(final CharSequence cs) { return !this.findAll(cs).isEmpty(); }
+
+    /**
+     * Get the indices of patterns which match whole input.
+     *
+     * @param cs input
+     * @return the indices of matched patterns
+     */
+    public BitSet testAll(final CharSequence cs) {
+        final var found = this.testDfa().run(cs);
+
+        for (int i = 0; i < this.fallbacks.length; i++)
+            if (this.fallbacks[i].test(cs)) found.set(this.fallbackIndex[i]);
+
+        return found;
+    }
+
+    /**
+     * Get the indices of patterns which are found in the input.
+     *
+     * @param cs input
+     * @return the indices of found patterns
+     */
+    public BitSet findAll(final CharSequence cs) {
+        final var found = this.findDfa().run(cs);
+
+        for (int i = 0; i < this.fallbacks.length; i++)
+            if (this.fallbacks[i].find(cs)) found.set(this.fallbackIndex[i]);
+
+        return found;
+    }
+
+    private Dfa testDfa() {
+        var dfa = this.testDfa;
+        if (dfa == null) //
+            synchronized (this) {
+                if ((dfa = this.testDfa) == null) this.testDfa = dfa = new Dfa(this.testAutomata, this.dfaIndex);
+            }
+
+        return dfa;
+    }
+
+    private Dfa findDfa() {
+        var dfa = this.findDfa;
+        if (dfa == null) //
+            synchronized (this) {
+                if ((dfa = this.findDfa) == null) {
+                    // find = whole match of ".*(pattern).*", taking anchors into account
+                    final Function<Automaton, RunAutomaton> f = a -> {
+                        a.minimize();
+                        return new RunAutomaton(a);
+                    };
+
+                    this.findDfa = dfa = new Dfa(list(this.findAutomata).map(f).toArray(new RunAutomaton[0]), this.dfaIndex);
+                }
+            }
+
+        return dfa;
+    }
+
+    @Override
+    public String toString() { return this.patterns.toString(); }
+
+    /**
+     * Lazily constructed product of DFAs.
+     * Each combined state is the tuple of component states, and its transitions are computed on demand then cached.
+     * Scanning is lock-free once the visited states are cached.
+     */
+    private static final class Dfa {
+
+        private static final int UNKNOWN = -1;
+
+        /** the upper bound of cached transitions; exceeding states are computed on every step without caching. */
+        private static final int MAX_TRANSITIONS = 1 << 22;
+
+        private final RunAutomaton[] automata;
+
+        private final int[] index;
+
+        private final boolean[][] sink;
+
+        private final char[] points;
+
+        private final char[] classmap = new char[Character.MAX_VALUE + 1];
+
+        private final int maxStates;
+
+        private final Map<Tuple, Integer> ids = new HashMap<>();
+
+        private volatile State[] states = new State[16];
+
+        private int count;
+
+        Dfa(final RunAutomaton[] automata, final int[] index) {
+            this.automata = automata;
+            this.index = index;
+            this.sink = new boolean[automata.length][];
+
+            final var points = new BitSet(Character.MAX_VALUE + 1);
+            points.set(0);
+
+            for (int i = 0; i < automata.length; i++) {
+                final var ra = automata[i];
+                final var cs = ra.getCharIntervals();
+
+                for (final char c: cs)
+                    points.set(c);
+
+                this.sink[i] = new boolean[ra.getSize()];
+                for (int s = 0; s < ra.getSize(); s++) {
+                    boolean sink = true;
+                    for (int k = 0; sink && (k < cs.length); k++)
+                        sink = ra.step(s, cs[k]) == s;
+
+                    this.sink[i][s] = sink;
+                }
+            }
+
+            this.points = new char[points.cardinality()];
+            for (int c = points.nextSetBit(0), k = 0; 0 <= c; c = points.nextSetBit(c + 1), k++)
+                this.points[k] = (char) c;
+
+            for (int k = 0; k < this.points.length; k++) {
+                final int to = (k + 1 < this.points.length) ? this.points[k + 1] : (Character.MAX_VALUE + 1);
+                Arrays.fill(this.classmap, this.points[k], to, (char) k);
+            }
+
+            this.maxStates = Math.max(16, MAX_TRANSITIONS / this.points.length);
+
+            final var initial = new int[automata.length];
+            for (int i = 0; i < automata.length; i++)
+                initial[i] = automata[i].getInitialState();
+
+            this.intern(initial);
+        }
+
+        BitSet run(final CharSequence cs) {
+            var s = this.states[0];
+
+            for (int i = 0, Z = cs.length(); (i < Z) && !s.terminal; i++) {
+                final int cls = this.classmap[cs.charAt(i)];
+                final int n = s.next[cls];
+
+                final State[] states;
+                s = (n == UNKNOWN) || ((states = this.states).length <= n) || (states[n] == null) ? this.transition(s, cls) : states[n];
+            }
+
+            final var found = new BitSet(this.index.length);
+            for (final int i: s.accepts)
+                found.set(this.index[i]);
+
+            return found;
+        }
+
+        private synchronized State transition(final State s, final int cls) {
+            final int n = s.next[cls];
+            if ((n != UNKNOWN) && (n < this.count)) return this.states[n];
+
+            final var c = this.points[cls];
+            final var tuple = new int[this.automata.length];
+            for (int i = 0; i < tuple.length; i++)
+                tuple[i] = (s.tuple[i] < 0) ? -1 : this.automata[i].step(s.tuple[i], c);
+
+            final var found = this.ids.get(new Tuple(tuple));
+            if (found != null) {
+                s.next[cls] = found;
+                return this.states[found];
+            }
+
+            if (this.maxStates <= this.count) return this.newState(tuple);
+
+            final var created = this.intern(tuple);
+            s.next[cls] = this.count - 1;
+
+            return created;
+        }
+
+        private State intern(final int[] tuple) {
+            final var created = this.newState(tuple);
+
+            var states = this.states;
+            if (states.length <= this.count) states = Arrays.copyOf(states, states.length * 2);
+
+            states[this.count] = created;
+            this.ids.put(new Tuple(tuple), this.count++);
+            this.states = states;
+
+            return created;
+        }
+
+        private State newState(final int[] tuple) {
+            final $list<Integer> accepts = list();
+            boolean terminal = true;
+
+            for (int i = 0; i < tuple.length; i++) {
+                final int x = tuple[i];
+                if (x < 0) continue;
+
+                if (this.automata[i].isAccept(x)) accepts.add(i);
+                terminal &= this.sink[i][x];
+            }
+
+            return new State(tuple, this.points.length, accepts.stream().mapToInt(x -> x).toArray(), terminal);
+        }
+    }
+
+    private static final class State {
+
+        final int[] tuple;
+
+        final int[] next;
+
+        final int[] accepts;
+
+        /** every component is dead or never changes. */
+        final boolean terminal;
+
+        State(final int[] tuple, final int classes, final int[] accepts, final boolean terminal) {
+            this.tuple = tuple;
+            this.next = new int[classes];
+            Arrays.fill(this.next, Dfa.UNKNOWN);
+            this.accepts = accepts;
+            this.terminal = terminal;
+        }
+    }
+
+    private record Tuple(int[] tuple) {
+
+        @Override
+        public boolean equals(final Object o) { return (this == o) || ((o instanceof Tuple that) && Arrays.equals(this.tuple, that.tuple)); }
+
+        @Override
+        public int hashCode() { return Arrays.hashCode(this.tuple); }
+    }
+}
@@ -0,0 +1,112 @@
+// Copyright 2026 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently.regex;
+
+import java.nio.CharBuffer;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+
+/**
+ * Lazy version of {@link java.util.regex.Pattern#split(CharSequence)}, which yields the views of the input.
+ * Trailing empty fields are removed by counting empty fields until a non-empty one is found, so no field is buffered.
+ *
+ * @author takahashikzn
+ */
+final class RegexSplitter
+    implements Iterator<CharSequence> {
+
+    private final ReMatcher<?, ?> matcher;
+
+    private final CharSequence input;
+
+    /** the beginning of the next raw field, or negative after the last one. */
+    private int index;
+
+    private boolean matched;
+
+    /** the number of empty fields preceding {@link #start}. */
+    private int empties;
+
+    /** the range of the next non-empty field, or {@code start < 0} if not found yet. */
+    private int start = -1;
+
+    private int end;
+
+    RegexSplitter(final ReMatcher<?, ?> matcher, final CharSequence input) {
+        this.matcher = matcher;
+        this.input = input;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if ((0 < this.empties) || (0 <= this.start)) return true;
+
+        int skipped = 0;
+        while (this.advance()) {
+            // the whole input is returned as is even if empty
+            if ((this.start == this.end) && this.matched) {
+                skipped++;
+                this.start = -1;
+                continue;
+            }
+
+            this.empties = skipped;
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Find next raw field.
+     */
+    private boolean advance() {
+        if (this.index < 0) return false;
+
+        final var m = this.matcher;
+        while (m.find()) {
+            // zero-width match at the beginning never produces empty leading substring
+            if ((this.index == 0) && (m.start() == 0) && (m.end() == 0)) continue;
+
+            this.matched = true;
+            this.start = this.index;
+            this.end = m.start();
+            this.index = m.end();
+
+            return true;
+        }
+
+        this.start = this.index;
+        this.end = this.input.length();
+        this.index = -1;
+
+        return true;
+    }
+
+    @Override
+    public CharSequence next() {
+        if (!this.hasNext()) throw new NoSuchElementException();
+
+        if (0 < this.empties) {
+            this.empties--;
+            return CharBuffer.wrap(this.input, 0, 0);
+        }
+
+        final var field = CharBuffer.wrap(this.input, this.start, this.end);
+        this.start = -1;
+
+        return field;
+    }
+}
@@ -0,0 +1,381 @@
+// Copyright 2026 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently.regex;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.regex.Matcher;
+
+import jp.root42.indolently.$iter;
+import jp.root42.indolently.$list;
+import jp.root42.indolently.Iterative;
+
+import static jp.root42.indolently.Indolently.*;
+
+
+/**
+ * Streaming regex search which scans input of any size in bounded memory.
+ * <p>
+ * The input is read into a sliding window. When the matcher {@link Matcher#hitEnd() hits the end of the window}, the
+ * window is extended by reading more input, so matches crossing buffer boundaries are found as if the whole input were
+ * given at once, as long as the match is no longer than {@code maxMatch} characters. Longer matches may be truncated or
+ * missed. Lookbehind sees at most {@link #LOOKBEHIND} characters before the window.
+ * Since the tail of the window may be scanned again after reading more input, {@code maxMatch} should be small enough
+ * compared to {@code chunk}.
+ * </p>
+ * <p>
+ * A match which {@link Matcher#requireEnd() requires the end of input}, e.g. by {@code $} or {@code \z}, is accepted
+ * only at the real end of input. {@code ^} and {@code \A} match only at the beginning of input, since once the window
+ * slides, at least {@link #LOOKBEHIND} characters are kept before the search position and the matcher never resumes at
+ * the first character of the window. {@code \G} isn't supported; it matches wherever the search resumes after
+ * reading more input.
+ * </p>
+ * <p>
+ * The iterator does not close readers and channels given by the caller.
+ * Offsets of {@link Match} are counted in chars from the beginning of the input.
+ * </p>
+ *
+ * @author takahashikzn
+ */
+public final class RegexStream {
+
+    public static final int DEFAULT_CHUNK = 1 << 16;
+
+    public static final int DEFAULT_MAX_MATCH = 1 << 14;
+
+    /** the number of characters kept before the search position for lookbehind and word boundary. */
+    public static final int LOOKBEHIND = 64;
+
+    /**
+     * Match found in the stream.
+     *
+     * @param start the start offset of the match
+     * @param end the end offset of the match (exclusive)
+     * @param groups the whole match then capturing groups
+     */
+    public record Match(long start, long end, $list<String> groups) {
+
+        public String group() { return this.groups.get(0); }
+
+        public String group(final int group) { return this.groups.get(group); }
+
+        public int groupCount() { return this.groups.size() - 1; }
+    }
+
+    private final RegexJDK pattern;
+
+    private final int chunk;
+
+    private final int maxMatch;
+
+    /**
+     * Constructor.
+     *
+     * @param pattern pattern
+     */
+    public RegexStream(final RegexJDK pattern) { this(pattern, DEFAULT_CHUNK, DEFAULT_MAX_MATCH); }
+
+    /**
+     * Constructor.
+     *
+     * @param pattern pattern
+     * @param chunk the number of characters read at once
+     * @param maxMatch the maximum length of the match
+     */
+    public RegexStream(final RegexJDK pattern, final int chunk, final int maxMatch) {
+        if (chunk <= 0) throw new IllegalArgumentException("(chunk = %d) <= 0".formatted(chunk));
+        if (maxMatch <= 0) throw new IllegalArgumentException("(maxMatch = %d) <= 0".formatted(maxMatch));
+
+        this.pattern = pattern;
+        this.chunk = chunk;
+        this.maxMatch = maxMatch;
+    }
+
+    public RegexJDK pattern() { return this.pattern; }
+
+    /**
+     * Find matches in the character stream.
+     *
+     * @param in input
+     * @return lazy iterator of matches
+     */
+    public $iter<Match> find(final Reader in) {
+        final var search = new Search(in);
+        return Iterative.iterator(search::hasNext, search::next);
+    }
+
+    /**
+     * Find matches in the byte stream.
+     *
+     * @param in input
+     * @param cs charset of the input. malformed bytes are replaced.
+     * @return lazy iterator of matches
+     */
+    public $iter<Match> find(final ReadableByteChannel in, final Charset cs) {
+        return this.find(Channels.newReader(in, decoder(cs), -1));
+    }
+
+    /**
+     * Find matches in the file. The file is memory-mapped and decoded segment by segment.
+     *
+     * @param file input
+     * @param cs charset of the input. malformed bytes are replaced.
+     * @return lazy iterator of matches
+     */
+    public $iter<Match> find(final Path file, final Charset cs) {
+        try {
+            return this.find(new MappedReader(file, Files.size(file), decoder(cs)));
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static CharsetDecoder decoder(final Charset cs) {
+        return cs.newDecoder().onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(CodingErrorAction.REPLACE);
+    }
+
+    @Override
+    public String toString() { return this.pattern.toString(); }
+
+    private final class Search {
+
+        private final Reader in;
+
+        private final Matcher matcher;
+
+        private char[] buf = new char[RegexStream.this.chunk + LOOKBEHIND];
+
+        /** the number of valid characters in the buffer. */
+        private int len;
+
+        /**
+         * the offset of the first character of the buffer. The first character is the beginning of input only if 0;
+         * otherwise the search position is at least {@link #LOOKBEHIND}, so that {@code ^} and {@code \A} never match.
+         */
+        private long base;
+
+        /** the search position in the buffer. */
+        private int pos;
+
+        private boolean eof;
+
+        private Match found;
+
+        Search(final Reader in) {
+            this.in = in;
+            this.matcher = RegexStream.this.pattern.ptrn().matcher("");
+        }
+
+        boolean hasNext() {
+            if (this.found == null) this.found = this.advance();
+            return this.found != null;
+        }
+
+        Match next() {
+            if (!this.hasNext()) throw new NoSuchElementException();
+
+            final var found = this.found;
+            this.found = null;
+
+            return found;
+        }
+
+        private Match advance() {
+            final int maxMatch = RegexStream.this.maxMatch;
+
+            while (true) {
+                if (this.len < this.pos) {
+                    // the previous match was empty and at the end of the window
+                    if (this.eof) return null;
+
+                    this.fill(this.len);
+                    continue;
+                }
+
+                final var m = this.matcher.reset(CharBuffer.wrap(this.buf, 0, this.len)) //
+                    .useTransparentBounds(true) //
+                    .useAnchoringBounds(false) //
+                    .region(this.pos, this.len);
+
+                final boolean found = m.find();
+
+                if (!this.eof && found && (m.requireEnd() || (m.hitEnd() && (this.len - m.start() <= maxMatch)))) {
+                    // the match depends on the end of the window, which isn't the end of input
+                    this.fill(this.pos);
+                    continue;
+                }
+
+                if (!this.eof && !found && m.hitEnd()) {
+                    // more input may change the result
+                    if (this.len - this.pos <= maxMatch) {
+                        this.fill(this.pos);
+                        continue;
+                    }
+
+                    // a match which isn't longer than maxMatch can't start before here
+                    this.pos = this.len - maxMatch;
+                    this.fill(this.pos);
+                    continue;
+                }
+
+                if (!found) {
+                    if (this.eof) return null;
+
+                    // more input never changes the result, so no match starts before the end of the window
+                    this.pos = this.len;
+                    this.fill(this.len);
+                    continue;
+                }
+
+                final $list<String> groups = list();
+                for (int i = 0, Z = m.groupCount(); i <= Z; i++)
+                    groups.add(m.group(i));
+
+                this.pos = (m.start() == m.end()) ? (m.end() + 1) : m.end();
+
+                return new Match(this.base + m.start(), this.base + m.end(), groups);
+            }
+        }
+
+        /**
+         * Discard characters before {@code keep} (leaving lookbehind context), then read more input.
+         */
+        private void fill(final int keep) {
+            final int from = Math.max(0, Math.min(keep, this.len) - LOOKBEHIND);
+
+            if (0 < from) {
+                System.arraycopy(this.buf, from, this.buf, 0, this.len - from);
+                this.len -= from;
+                this.pos -= from;
+                this.base += from;
+            }
+
+            final int chunk = RegexStream.this.chunk;
+            if (this.buf.length - this.len < chunk) this.buf = Arrays.copyOf(this.buf, Math.max(this.len + chunk, this.buf.length * 2));
+
+            try {
+                int n;
+                do {
+                    n = this.in.read(this.buf, this.len, chunk);
+                } while (n == 0);
+
+                if (n < 0) this.eof = true;
+                else this.len += n;
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Reader over the memory-mapped file. The file is mapped segment by segment and closed right after mapping.
+     */
+    private static final class MappedReader
+        extends Reader {
+
+        private static final long SEGMENT = 1L << 28;
+
+        private final Path file;
+
+        private final long size;
+
+        private final CharsetDecoder decoder;
+
+        /** the file offset of the current segment. */
+        private long offset;
+
+        private ByteBuffer segment;
+
+        private boolean done;
+
+        /** the low surrogate left by reading a supplementary character into 1-char buffer, or -1. */
+        private int pending = -1;
+
+        MappedReader(final Path file, final long size, final CharsetDecoder decoder) {
+            this.file = file;
+            this.size = size;
+            this.decoder = decoder;
+        }
+
+        @Override
+        public int read(final char[] cbuf, final int off, final int len) throws IOException {
+            if (len == 0) return 0;
+
+            if (0 <= this.pending) {
+                cbuf[off] = (char) this.pending;
+                this.pending = -1;
+                return 1;
+            }
+
+            if (this.done) return -1;
+
+            // the decoder can't put a surrogate pair into 1-char buffer
+            if (len == 1) {
+                final var pair = new char[2];
+                final int n = this.read(pair, 0, 2);
+                if (n <= 0) return n;
+
+                cbuf[off] = pair[0];
+                if (n == 2) this.pending = pair[1];
+                return 1;
+            }
+
+            final var out = CharBuffer.wrap(cbuf, off, len);
+
+            while (out.position() == off) {
+                // remap if the rest of the current segment is too short to decode a character
+                if ((this.segment == null) || ((this.segment.remaining() < 8) && (this.offset + this.segment.limit() < this.size)))
+                    this.map((this.segment == null) ? 0 : (this.offset + this.segment.position()));
+
+                final boolean last = this.offset + this.segment.limit() == this.size;
+
+                final var result = this.decoder.decode(this.segment, out, last);
+                if (result.isError()) result.throwException();
+
+                if (last && !this.segment.hasRemaining()) {
+                    this.decoder.flush(out);
+                    this.done = true;
+                    break;
+                }
+            }
+
+            final int n = out.position() - off;
+            return ((n == 0) && this.done) ? -1 : n;
+        }
+
+        private void map(final long at) throws IOException {
+            try (final var ch = FileChannel.open(this.file, StandardOpenOption.READ)) {
+                this.offset = at;
+                this.segment = ch.map(FileChannel.MapMode.READ_ONLY, at, Math.min(SEGMENT, this.size - at));
+            }
+        }
+
+        @Override
+        public void close() { this.segment = null; }
+    }
+}
@@ -0,0 +1,526 @@
+// Copyright 2026 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently.regex;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import dk.brics.automaton.Automaton;
+import dk.brics.automaton.RegExp;
+import dk.brics.automaton.RunAutomaton;
+import dk.brics.automaton.SpecialOperations;
+
+
+/**
+ * Two-pass submatch extractor for {@link AutomatonTest}.
+ * <p>
+ * Once the whole match span is known, the span is split among the parts of the pattern from left to right.
+ * Each boundary is the rightmost position where the left part matches forward and the rest matches backward,
+ * both tested by DFAs. So every part takes the longest text it can (like POSIX submatch rules) and a repeated group
+ * captures its last iteration. The cost is linear in the match length per part.
+ * </p>
+ *
+ * @author takahashikzn
+ */
+final class Submatch {
+
+    sealed interface Node permits Atom, Seq, Alt, Group, Repeat {
+
+        int from();
+
+        int to();
+
+        default boolean capturing() { return false; }
+    }
+
+    /** group-free fragment. */
+    record Atom(int from, int to)
+        implements Node { }
+
+    record Seq(int from, int to, List<Node> items)
+        implements Node {
+
+        @Override
+        public boolean capturing() { return this.items.stream().anyMatch(Node::capturing); }
+    }
+
+    record Alt(int from, int to, List<Node> alts)
+        implements Node {
+
+        @Override
+        public boolean capturing() { return this.alts.stream().anyMatch(Node::capturing); }
+    }
+
+    /** group; index zero means non-capturing group. */
+    record Group(int from, int to, int index, Node body)
+        implements Node {
+
+        @Override
+        public boolean capturing() { return (0 < this.index) || this.body.capturing(); }
+    }
+
+    /** quantified group; max is negative if unbounded. */
+    record Repeat(int from, int to, Node body, int min, int max)
+        implements Node {
+
+        @Override
+        public boolean capturing() { return this.body.capturing(); }
+    }
+
+    private final String pattern;
+
+    private final Function<String, String> translator;
+
+    final Node root;
+
+    final int groupCount;
+
+    final Map<String, Integer> names;
+
+    /** the inline flags in effect at the start of each node. */
+    private final Map<Integer, String> flags;
+
+    private final Map<String, RunAutomaton> automata = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor.
+     *
+     * @param pattern pattern in {@code java.util.regex} syntax
+     * @param translator translator of the pattern into {@link RegExp} syntax
+     * @throws IllegalArgumentException if the pattern is not supported
+     */
+    Submatch(final String pattern, final Function<String, String> translator) {
+        this.pattern = pattern;
+        this.translator = translator;
+
+        final var parser = new Parser(pattern);
+        this.root = parser.alternation();
+        if (parser.i != pattern.length()) throw new IllegalArgumentException("unbalanced parenthesis: " + pattern);
+
+        this.groupCount = parser.groups;
+        this.names = Map.copyOf(parser.names);
+        this.flags = Map.copyOf(parser.prefix);
+    }
+
+    /**
+     * Compute group spans of the match.
+     *
+     * @param cs input
+     * @param start the start of the whole match
+     * @param end the end of the whole match
+     * @return {@code [start(0), end(0), start(1), end(1), ...]}; -1 for groups which didn't participate
+     */
+    int[] spans(final CharSequence cs, final int start, final int end) {
+        final var spans = new int[(this.groupCount + 1) * 2];
+        Arrays.fill(spans, -1);
+        spans[0] = start;
+        spans[1] = end;
+
+        if (0 < this.groupCount) this.assign(this.root, cs, start, end, spans);
+
+        return spans;
+    }
+
+    private void assign(final Node node, final CharSequence cs, final int s, final int e, final int[] spans) {
+        if (!node.capturing()) return;
+
+        if (node instanceof Group g) {
+            if (0 < g.index) {
+                spans[g.index * 2] = s;
+                spans[g.index * 2 + 1] = e;
+            }
+
+            this.assign(g.body, cs, s, e, spans);
+        } else if (node instanceof Alt a) {
+            for (final var alt: a.alts) {
+                if (this.forward(alt.from(), alt.to()).matches(cs, s, e)) {
+                    this.assign(alt, cs, s, e, spans);
+                    return;
+                }
+            }
+        } else if (node instanceof Seq q) {
+            final var items = q.items;
+            final int last = items.size() - 1;
+
+            int cur = s;
+            for (int i = 0; i < last; i++) {
+                final var item = items.get(i);
+                final var head = this.forward(item.from(), item.to()).accepts(cs, cur, e);
+                final var tail = this.backward(items.get(i + 1).from(), items.get(last).to()).accepts(cs, cur, e);
+
+                final int p = rightmost(head, tail, e - cur);
+                if (p < 0) return;
+
+                this.assign(item, cs, cur, cur + p, spans);
+                cur += p;
+            }
+
+            this.assign(items.get(last), cs, cur, e, spans);
+        } else if (node instanceof Repeat r) {
+            if ((s == e) && (r.min == 0)) return;
+
+            final var body = r.body;
+            final int lo = Math.max(0, r.min - 1);
+            final int hi = (r.max < 0) ? -1 : (r.max - 1);
+
+            final var head = this.automaton("R" + lo + ":" + hi + ":" + body.from() + ":" + body.to(), false, () -> {
+                final var a = this.compile(body.from(), body.to());
+                return (hi < 0) ? a.repeat(lo) : a.repeat(lo, hi);
+            }).accepts(cs, s, e);
+            final var tail = this.backward(body.from(), body.to()).accepts(cs, s, e);
+
+            // the longest non-empty last iteration
+            final int q = leftmost(head, tail, e - s);
+            if (q < 0) return;
+
+            this.assign(body, cs, s + q, e, spans);
+        }
+    }
+
+    private static int rightmost(final BitSet head, final BitSet tail, final int len) {
+        for (int p = head.previousSetBit(len); 0 <= p; p = head.previousSetBit(p - 1))
+            if (tail.get(p)) return p;
+
+        return -1;
+    }
+
+    /**
+     * @return the leftmost boundary leaving non-empty tail, or {@code len} if only the empty tail matches
+     */
+    private static int leftmost(final BitSet head, final BitSet tail, final int len) {
+        for (int p = head.nextSetBit(0); (0 <= p) && (p < len); p = head.nextSetBit(p + 1))
+            if (tail.get(p)) return p;
+
+        return (head.get(len) && tail.get(len)) ? len : -1;
+    }
+
+    private Automaton compile(final int from, final int to) {
+        if (from == to) return Automaton.makeEmptyString();
+        final var fragment = this.flags.getOrDefault(from, "") + this.pattern.substring(from, to);
+        return new RegExp(this.translator.apply(fragment), RegExp.NONE).toAutomaton();
+    }
+
+    private Scan forward(final int from, final int to) {
+        return this.automaton("F" + from + ":" + to, false, () -> this.compile(from, to));
+    }
+
+    private Scan backward(final int from, final int to) {
+        return this.automaton("B" + from + ":" + to, true, () -> this.compile(from, to));
+    }
+
+    private Scan automaton(final String key, final boolean reverse, final Supplier<Automaton> f) {
+        final var ra = this.automata.computeIfAbsent(key, x -> {
+            final var a = f.get();
+            if (reverse) SpecialOperations.reverse(a);
+
+            return new RunAutomaton(a);
+        });
+
+        return new Scan(ra, reverse);
+    }
+
+    private record Scan(RunAutomaton ra, boolean reverse) {
+
+        boolean matches(final CharSequence cs, final int s, final int e) {
+            int p = this.ra.getInitialState();
+            for (int i = s; i < e; i++)
+                if ((p = this.ra.step(p, cs.charAt(i))) == -1) return false;
+
+            return this.ra.isAccept(p);
+        }
+
+        /**
+         * @return the relative positions where the forward match ends, or the backward match starts
+         */
+        BitSet accepts(final CharSequence cs, final int s, final int e) {
+            final var found = new BitSet(e - s + 1);
+
+            int p = this.ra.getInitialState();
+
+            if (this.reverse) {
+                if (this.ra.isAccept(p)) found.set(e - s);
+
+                for (int i = e - 1; s <= i; i--) {
+                    if ((p = this.ra.step(p, cs.charAt(i))) == -1) break;
+                    if (this.ra.isAccept(p)) found.set(i - s);
+                }
+            } else {
+                if (this.ra.isAccept(p)) found.set(0);
+
+                for (int i = s; i < e; i++) {
+                    if ((p = this.ra.step(p, cs.charAt(i))) == -1) break;
+                    if (this.ra.isAccept(p)) found.set(i + 1 - s);
+                }
+            }
+
+            return found;
+        }
+    }
+
+    private static final class Parser {
+
+        private final String p;
+
+        private final int n;
+
+        int i;
+
+        int groups;
+
+        final Map<String, Integer> names = new HashMap<>();
+
+        final Map<Integer, String> prefix = new HashMap<>();
+
+        /** inline flags in effect; e.g. {@code (?i)(?-i:}. */
+        private String flags = "";
+
+        private boolean comments;
+
+        Parser(final String p) {
+            this.p = p;
+            this.n = p.length();
+        }
+
+        private boolean at(final char c) { return (this.i < this.n) && (this.p.charAt(this.i) == c); }
+
+        private void mark(final int at) { if (!this.flags.isEmpty()) this.prefix.put(at, this.flags); }
+
+        Node alternation() {
+            final int from = this.i;
+            this.mark(from);
+            final List<Node> alts = new ArrayList<>();
+            alts.add(this.sequence());
+
+            while (this.at('|')) {
+                this.i++;
+                alts.add(this.sequence());
+            }
+
+            return (alts.size() == 1) ? alts.get(0) : new Alt(from, this.i, List.copyOf(alts));
+        }
+
+        private Node sequence() {
+            final int from = this.i;
+            final List<Node> items = new ArrayList<>();
+            int atom = -1;
+
+            while ((this.i < this.n) && !this.at('|') && !this.at(')')) {
+                final int start = this.i;
+                this.mark(start);
+
+                if (this.at('(') && this.p.startsWith("(?", this.i) && this.inlineFlags()) {
+                    if (atom < 0) atom = start;
+                    continue;
+                }
+
+                if (!this.at('(')) {
+                    this.unit();
+                    this.quantifier();
+                    if (atom < 0) atom = start;
+                    continue;
+                }
+
+                final var saved = this.flags;
+                final boolean savedComments = this.comments;
+
+                final int index;
+                if (this.p.startsWith("(?:", this.i)) {
+                    index = 0;
+                    this.i += 3;
+                } else if (this.p.startsWith("(?<", this.i) && (this.i + 3 < this.n) && Character.isLetter(this.p.charAt(this.i + 3))) {
+                    final int close = this.p.indexOf('>', this.i);
+                    if (close < 0) throw new IllegalArgumentException("unclosed group name: " + this.p);
+
+                    index = ++this.groups;
+                    this.names.put(this.p.substring(this.i + 3, close), index);
+                    this.i = close + 1;
+                } else if (this.p.startsWith("(?", this.i) && this.scopedFlags()) {
+                    index = 0;
+                } else if (this.p.startsWith("(?", this.i)) {
+                    throw new IllegalArgumentException("unsupported group at %d: %s".formatted(this.i, this.p));
+                } else {
+                    index = ++this.groups;
+                    this.i++;
+                }
+
+                final var body = this.alternation();
+                if (!this.at(')')) throw new IllegalArgumentException("unclosed group: " + this.p);
+                this.i++;
+
+                this.flags = saved;
+                this.comments = savedComments;
+
+                Node node = new Group(start, this.i, index, body);
+
+                final var q = this.quantifier();
+                if (q != null) node = new Repeat(start, this.i, node, q[0], q[1]);
+
+                if (!node.capturing()) {
+                    if (atom < 0) atom = start;
+                    continue;
+                }
+
+                if (0 <= atom) items.add(new Atom(atom, start));
+                atom = -1;
+                items.add(node);
+            }
+
+            if (0 <= atom) items.add(new Atom(atom, this.i));
+
+            if (items.size() == 1) return items.get(0);
+            if (items.isEmpty()) return new Atom(from, this.i);
+
+            return new Seq(from, this.i, List.copyOf(items));
+        }
+
+        /**
+         * Parse {@code (?flags)}, which is effective until the end of the enclosing group.
+         *
+         * @return false if not inline flags
+         */
+        private boolean inlineFlags() {
+            final int close = this.flagsEnd();
+            if ((close < 0) || (this.p.charAt(close) != ')')) return false;
+
+            this.flag(this.p.substring(this.i + 2, close));
+            this.i = close + 1;
+
+            return true;
+        }
+
+        /**
+         * Parse {@code (?flags:}, which is effective in the group.
+         *
+         * @return false if not a group with flags
+         */
+        private boolean scopedFlags() {
+            final int close = this.flagsEnd();
+            if ((close < 0) || (this.p.charAt(close) != ':')) return false;
+
+            this.flag(this.p.substring(this.i + 2, close));
+            this.i = close + 1;
+
+            return true;
+        }
+
+        private int flagsEnd() {
+            int at = this.i + 2;
+            while ((at < this.n) && ("idmsuxU-".indexOf(this.p.charAt(at)) >= 0))
+                at++;
+
+            return (at < this.n) ? at : -1;
+        }
+
+        private void flag(final String f) {
+            this.flags += "(?" + f + ")";
+
+            final int x = f.indexOf('x');
+            if (0 <= x) this.comments = (f.indexOf('-') < 0) || (x < f.indexOf('-'));
+        }
+
+        private void unit() {
+            final char c = this.p.charAt(this.i);
+
+            if (c == '\\') {
+                if (this.n <= this.i + 1) throw new IllegalArgumentException("trailing backslash: " + this.p);
+
+                final char e = this.p.charAt(this.i + 1);
+                this.i += 2;
+
+                if (e == 'Q') {
+                    final int close = this.p.indexOf("\\E", this.i);
+                    this.i = (close < 0) ? this.n : (close + 2);
+                } else if (e == 'c') {
+                    this.i = Math.min(this.i + 1, this.n);
+                } else if (("pPxN".indexOf(e) >= 0) && this.at('{')) {
+                    this.i = this.p.indexOf('}', this.i) + 1;
+                }
+            } else if ((c == '#') && this.comments) {
+                while ((this.i < this.n) && (this.p.charAt(this.i) != '\n'))
+                    this.i++;
+            } else if (c == '[') {
+                this.i = this.classEnd();
+            } else {
+                this.i += (Character.isHighSurrogate(c) && (this.i + 1 < this.n) && Character.isLowSurrogate(this.p.charAt(this.i + 1))) ? 2 : 1;
+            }
+        }
+
+        private int classEnd() {
+            int at = this.i + 1;
+            if ((at < this.n) && (this.p.charAt(at) == '^')) at++;
+            if ((at < this.n) && (this.p.charAt(at) == ']')) at++;
+
+            int depth = 1;
+            while (at < this.n) {
+                final char c = this.p.charAt(at);
+
+                if (c == '\\') {
+                    at += 2;
+                } else if (c == '[') {
+                    depth++;
+                    at++;
+                } else if (c == ']') {
+                    at++;
+                    if (--depth == 0) return at;
+                } else {
+                    at++;
+                }
+            }
+
+            throw new IllegalArgumentException("unclosed character class: " + this.p);
+        }
+
+        /**
+         * @return {@code [min, max]} (negative max means unbounded), or null if not quantified
+         */
+        private int[] quantifier() {
+            if (this.n <= this.i) return null;
+
+            final int[] q;
+            switch (this.p.charAt(this.i)) {
+                case '?' -> q = new int[] { 0, 1 };
+                case '*' -> q = new int[] { 0, -1 };
+                case '+' -> q = new int[] { 1, -1 };
+                case '{' -> {
+                    final int close = this.p.indexOf('}', this.i);
+                    if (close < 0) throw new IllegalArgumentException("unclosed quantifier: " + this.p);
+
+                    final var range = this.p.substring(this.i + 1, close).split(",", -1);
+                    final int min = Integer.parseInt(range[0].trim());
+                    final int max = (range.length == 1) ? min : range[1].isBlank() ? -1 : Integer.parseInt(range[1].trim());
+
+                    q = new int[] { min, max };
+                    this.i = close;
+                }
+                default -> {
+                    return null;
+                }
+            }
+
+            this.i++;
+
+            // lazy or possessive
+            if (this.at('?') || this.at('+')) this.i++;
+
+            return q;
+        }
+    }
+}
@@ -0,0 +1,324 @@
+// Copyright 2026 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently.regex;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import dk.brics.automaton.Automaton;
+import dk.brics.automaton.RunAutomaton;
+import dk.brics.automaton.State;
+import dk.brics.automaton.Transition;
+
+
+/**
+ * DFA over UTF-8 bytes which is equivalent to the DFA over UTF-16 chars, i.e. it accepts the UTF-8 encoding of the
+ * strings the original DFA accepts. Malformed UTF-8 input is never accepted.
+ * <p>
+ * Each char transition is expanded into the paths of byte ranges sharing their common suffixes (in the same manner as
+ * RE2), and a surrogate pair is
+ * expanded into the 4-byte sequence of the supplementary code point. The last two bytes of the sequence mostly come from
+ * the low surrogate, so they are built once per pair of the state reached by the high surrogate and the two bits the high
+ * surrogate carries into the third byte, and shared by every high surrogate leading there. Transitions are stored in a
+ * dense table having 256 entries per state.
+ * </p>
+ *
+ * @author takahashikzn
+ */
+final class Utf8Automaton {
+
+    private static final int DEAD = -1;
+
+    private final int[] table;
+
+    private final boolean[] accept;
+
+    private final int initial;
+
+    private Utf8Automaton(final int[] table, final boolean[] accept, final int initial) {
+        this.table = table;
+        this.accept = accept;
+        this.initial = initial;
+    }
+
+    /**
+     * Convert DFA over UTF-16 chars into DFA over UTF-8 bytes.
+     *
+     * @param ra DFA over UTF-16 chars
+     * @param prefix if true, also accept the code point whose high surrogate reaches the accept state, so that
+     *     {@link #reaches(byte[], int, int)} finds prefixes ending in the middle of a surrogate pair as the original does
+     * @return DFA over UTF-8 bytes
+     */
+    static Utf8Automaton of(final RunAutomaton ra, final boolean prefix) {
+        final var points = ra.getCharIntervals();
+        final var states = new State[ra.getSize()];
+
+        final var hit = new State();
+        hit.setAccept(true);
+
+        // (state reached by high surrogate << 2 | bits carried into 3rd byte) -> state accepting the last two bytes
+        final var suffixes = new HashMap<Integer, State>();
+        final var tails = new IdentityHashMap<State, Map<Long, State>>();
+
+        for (int q = 0; q < states.length; q++) {
+            states[q] = new State();
+            states[q].setAccept(ra.isAccept(q));
+        }
+
+        for (int q = 0; q < states.length; q++) {
+            for (int k = 0; k < points.length; k++) {
+                final int lo = points[k];
+                final int hi = (k + 1 < points.length) ? (points[k + 1] - 1) : Character.MAX_VALUE;
+
+                final int to = ra.step(q, (char) lo);
+                if (to == DEAD) continue;
+
+                range(tails, states[q], states[to], lo, Math.min(hi, Character.MIN_SURROGATE - 1));
+                range(tails, states[q], states[to], Math.max(lo, Character.MAX_SURROGATE + 1), hi);
+
+                // high surrogate followed by low surrogate
+                final int hlo = Math.max(lo, Character.MIN_HIGH_SURROGATE);
+                final int hhi = Math.min(hi, Character.MAX_HIGH_SURROGATE);
+                if (hhi < hlo) continue;
+
+                if (prefix && ra.isAccept(to)) {
+                    range(tails, states[q], hit, Character.toCodePoint((char) hlo, Character.MIN_LOW_SURROGATE),
+                        Character.toCodePoint((char) hhi, Character.MAX_LOW_SURROGATE));
+                    continue;
+                }
+
+                // code point >> 10, of which upper 9 bits make the first two bytes and lower 2 bits go into the third byte
+                final int plo = hlo - Character.MIN_HIGH_SURROGATE + 0x40;
+                final int phi = hhi - Character.MIN_HIGH_SURROGATE + 0x40;
+
+                for (int c = 0; c < 4; c++) {
+                    final int t = to;
+                    final int bits = c;
+                    final var suffix = suffixes.computeIfAbsent((to << 2) | c, x -> suffix(ra, states, tails, t, bits));
+
+                    pair(tails, states[q], suffix, 0xF0, (plo + 3 - c) >> 2, (phi - c) >> 2);
+                }
+            }
+        }
+
+        final var a = new Automaton();
+        a.setInitialState(states[ra.getInitialState()]);
+        a.setDeterministic(false);
+        a.minimize();
+
+        final var run = new RunAutomaton(a, false);
+        final var table = new int[run.getSize() << 8];
+        final var accept = new boolean[run.getSize()];
+
+        for (int s = 0; s < accept.length; s++) {
+            accept[s] = run.isAccept(s);
+
+            for (int b = 0; b < 256; b++)
+                table[(s << 8) | b] = run.step(s, (char) b);
+        }
+
+        return new Utf8Automaton(table, accept, run.getInitialState());
+    }
+
+    /**
+     * Add paths from {@code from} to {@code to} which accept the UTF-8 encoding of code points in {@code [lo, hi]}.
+     */
+    private static void range(final Map<State, Map<Long, State>> tails, final State from, final State to, final int lo, final int hi) {
+        if (hi < lo) return;
+
+        // split at the boundaries of the encoded length
+        for (final int max: new int[] { 0x7F, 0x7FF, 0xFFFF }) {
+            if ((lo <= max) && (max < hi)) {
+                range(tails, from, to, lo, max);
+                range(tails, from, to, max + 1, hi);
+                return;
+            }
+        }
+
+        if (hi <= 0x7F) {
+            from.addTransition(new Transition((char) lo, (char) hi, to));
+            return;
+        }
+
+        // split until every byte of the encoding ranges independently
+        for (int i = 1; i < 4; i++) {
+            final int m = (1 << (6 * i)) - 1;
+
+            if ((lo & ~m) != (hi & ~m)) {
+                if ((lo & m) != 0) {
+                    range(tails, from, to, lo, lo | m);
+                    range(tails, from, to, (lo | m) + 1, hi);
+                    return;
+                }
+
+                if ((hi & m) != m) {
+                    range(tails, from, to, lo, (hi & ~m) - 1);
+                    range(tails, from, to, hi & ~m, hi);
+                    return;
+                }
+            }
+        }
+
+        path(tails, from, to, encode(lo), encode(hi));
+    }
+
+    /**
+     * Add the path from {@code from} to {@code to} which accepts the bytes in {@code [a[i], b[i]]} for each {@code i}.
+     */
+    private static void path(final Map<State, Map<Long, State>> tails, final State from, final State to, final int[] a, final int[] b) {
+        from.addTransition(new Transition((char) a[0], (char) b[0], tail(tails, to, a, b, 1)));
+    }
+
+    /**
+     * Get the state accepting the continuation bytes in {@code [a[k], b[k]]} for each {@code k >= i} towards {@code to},
+     * which is shared by every path having the same suffix.
+     */
+    private static State tail(final Map<State, Map<Long, State>> tails, final State to, final int[] a, final int[] b, final int i) {
+        if (i == a.length) return to;
+
+        // continuation bytes are never zero, so that the key tells its length
+        long key = 0;
+        for (int k = i; k < a.length; k++)
+            key = (key << 16) | (a[k] << 8) | b[k];
+
+        final var cache = tails.computeIfAbsent(to, x -> new HashMap<>());
+
+        var s = cache.get(key);
+        if (s == null) {
+            cache.put(key, s = new State());
+            s.addTransition(new Transition((char) a[i], (char) b[i], tail(tails, to, a, b, i + 1)));
+        }
+
+        return s;
+    }
+
+    /**
+     * Build the state accepting the last two bytes of the supplementary code points, i.e. the low surrogates stepped from
+     * {@code to} with the {@code bits} of the high surrogate.
+     */
+    private static State suffix(final RunAutomaton ra, final State[] states, final Map<State, Map<Long, State>> tails, final int to,
+        final int bits) {
+        final var points = ra.getCharIntervals();
+        final var s = new State();
+
+        for (int j = 0; j < points.length; j++) {
+            final int llo = Math.max(points[j], Character.MIN_LOW_SURROGATE);
+            final int lhi = Math.min((j + 1 < points.length) ? (points[j + 1] - 1) : Character.MAX_VALUE, Character.MAX_LOW_SURROGATE);
+            if (lhi < llo) continue;
+
+            final int t = ra.step(to, (char) llo);
+            if (t == DEAD) continue;
+
+            pair(tails, s, states[t], 0x80 | (bits << 4), llo - Character.MIN_LOW_SURROGATE, lhi - Character.MIN_LOW_SURROGATE);
+        }
+
+        return s;
+    }
+
+    /**
+     * Add paths from {@code from} to {@code to} which accept the two bytes {@code lead + (v >> 6)} and
+     * {@code 0x80 | (v & 0x3F)} for {@code v} in {@code [lo, hi]}.
+     */
+    private static void pair(final Map<State, Map<Long, State>> tails, final State from, final State to, final int lead, final int lo,
+        final int hi) {
+        if (hi < lo) return;
+
+        if ((lo >> 6) != (hi >> 6)) {
+            if ((lo & 0x3F) != 0) {
+                pair(tails, from, to, lead, lo, lo | 0x3F);
+                pair(tails, from, to, lead, (lo | 0x3F) + 1, hi);
+                return;
+            }
+
+            if ((hi & 0x3F) != 0x3F) {
+                pair(tails, from, to, lead, lo, (hi & ~0x3F) - 1);
+                pair(tails, from, to, lead, hi & ~0x3F, hi);
+                return;
+            }
+        }
+
+        path(tails, from, to, new int[] { lead + (lo >> 6), 0x80 | (lo & 0x3F) }, new int[] { lead + (hi >> 6), 0x80 | (hi & 0x3F) });
+    }
+
+    private static int[] encode(final int cp) {
+        if (cp <= 0x7FF) return new int[] { 0xC0 | (cp >> 6), 0x80 | (cp & 0x3F) };
+        if (cp <= 0xFFFF) return new int[] { 0xE0 | (cp >> 12), 0x80 | ((cp >> 6) & 0x3F), 0x80 | (cp & 0x3F) };
+
+        return new int[] { 0xF0 | (cp >> 18), 0x80 | ((cp >> 12) & 0x3F), 0x80 | ((cp >> 6) & 0x3F), 0x80 | (cp & 0x3F) };
+    }
+
+    /**
+     * Test whether the automaton accepts whole input.
+     */
+    boolean matches(final byte[] utf8, final int from, final int to) {
+        final var table = this.table;
+
+        int p = this.initial;
+        for (int i = from; i < to; i++)
+            if ((p = table[(p << 8) | (utf8[i] & 0xFF)]) == DEAD) return false;
+
+        return this.accept[p];
+    }
+
+    boolean matches(final ByteBuffer utf8) {
+        if (utf8.hasArray()) return this.matches(utf8.array(), utf8.arrayOffset() + utf8.position(), utf8.arrayOffset() + utf8.limit());
+
+        final var table = this.table;
+
+        int p = this.initial;
+        for (int i = utf8.position(), Z = utf8.limit(); i < Z; i++)
+            if ((p = table[(p << 8) | (utf8.get(i) & 0xFF)]) == DEAD) return false;
+
+        return this.accept[p];
+    }
+
+    /**
+     * Test whether the automaton accepts any prefix of the input.
+     */
+    boolean reaches(final byte[] utf8, final int from, final int to) {
+        final var table = this.table;
+        final var accept = this.accept;
+
+        int p = this.initial;
+        if (accept[p]) return true;
+
+        for (int i = from; i < to; i++) {
+            if ((p = table[(p << 8) | (utf8[i] & 0xFF)]) == DEAD) return false;
+            if (accept[p]) return true;
+        }
+
+        return false;
+    }
+
+    boolean reaches(final ByteBuffer utf8) {
+        if (utf8.hasArray()) return this.reaches(utf8.array(), utf8.arrayOffset() + utf8.position(), utf8.arrayOffset() + utf8.limit());
+
+        final var table = this.table;
+        final var accept = this.accept;
+
+        int p = this.initial;
+        if (accept[p]) return true;
+
+        for (int i = utf8.position(), Z = utf8.limit(); i < Z; i++) {
+            if ((p = table[(p << 8) | (utf8.get(i) & 0xFF)]) == DEAD) return false;
+            if (accept[p]) return true;
+        }
+
+        return false;
+    }
+
+    int size() { return this.accept.length; }
+}
@@ -0,0 +1,139 @@
+// Copyright 2026 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently;
+
+import static jp.root42.indolently.Indolently.*;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+
+/**
+ * @author takahashikzn
+ */
+public class $doublelistTest {
+
+    /**
+     * Test of {@link $doublelist#add(double)} and friends.
+     */
+    @Test
+    public void mutation() {
+
+        final var list = new $doublelist(1);
+        for (int i = 0; i < 100; i++)
+            list.add(i / 2.0);
+
+        assertThat(list.size()).isEqualTo(100);
+        assertThat(list.get(-1)).isEqualTo(49.5);
+        assertThat(list.removeAt(0)).isZero();
+        assertThat(list.set(0, 42).head()).isEqualTo(42);
+        assertThat(list.addAll(doublelist(0.25, 0.75)).addAll(9).last()).isEqualTo(9);
+        assertThat(list.indexOf(0.75)).isEqualTo(100);
+        assertThat(list.size()).isEqualTo(102);
+        assertThat(list.contains(0.3)).isFalse();
+
+        assertThatThrownBy(() -> list.get(102)).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> list.get(-103)).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThat(list.clear().isEmpty()).isTrue();
+    }
+
+    /**
+     * Test of {@link $doublelist#sum()}.
+     */
+    @Test
+    public void sum() {
+
+        final var tenths = new $doublelist();
+        for (int i = 0; i < 10; i++)
+            tenths.add(0.1);
+
+        // compensated unlike the naive summation
+        assertThat(tenths.reduce(0, Double::sum)).isNotEqualTo(1.0);
+        assertThat(tenths.sum()).isEqualTo(1.0);
+
+        assertThat(doublelist().sum()).isZero();
+        assertThat(doublelist(1, Double.NaN).sum()).isNaN();
+        assertThat(doublelist(Double.POSITIVE_INFINITY, 1).sum()).isEqualTo(Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     * Test of {@link $doublelist#indexOf(double)}, which compares elements by {@link Double#compare(double, double)}.
+     */
+    @Test
+    public void indexOf() {
+
+        final var list = doublelist(1, Double.NaN, 0.0, -0.0);
+
+        assertThat(list.indexOf(Double.NaN)).isEqualTo(1);
+        assertThat(list.indexOf(0.0)).isEqualTo(2);
+        assertThat(list.indexOf(-0.0)).isEqualTo(3);
+        assertThat(doublelist(0.0).contains(-0.0)).isFalse();
+        assertThat(doublelist(-0.0).contains(0.0)).isFalse();
+        assertThat(doublelist(0.0 / 0.0).contains(Double.NaN)).isTrue();
+
+        // consistent with the boxed list
+        assertThat(list.indexOf(-0.0)).isEqualTo(list.boxed().indexOf(-0.0));
+        assertThat(list.indexOf(Double.NaN)).isEqualTo(list.boxed().indexOf(Double.NaN));
+        assertThat(doublelist(Double.NaN)).isEqualTo(doublelist(Double.NaN));
+        assertThat(doublelist(0.0)).isNotEqualTo(doublelist(-0.0));
+    }
+
+    /**
+     * Test of {@link $doublelist#map(java.util.function.DoubleUnaryOperator)} and friends.
+     */
+    @Test
+    public void functional() {
+
+        final var list = doublelist(3, 1, 4, 1, 5, 9, 2, 6);
+
+        assertThat(list.map(x -> x / 2)).isEqualTo(doublelist(1.5, 0.5, 2, 0.5, 2.5, 4.5, 1, 3));
+        assertThat(list.take(x -> x % 2 == 0)).isEqualTo(doublelist(4, 2, 6));
+        assertThat(list.mapToObj(x -> (int) x)).isEqualTo(list(3, 1, 4, 1, 5, 9, 2, 6));
+        assertThat(list.reduce(0, Double::sum)).isEqualTo(31);
+        assertThat(list.min()).hasValue(1);
+        assertThat(list.max()).hasValue(9);
+        assertThat(doublelist().max()).isEmpty();
+        assertThat(doublelist(1, Double.NaN).max().getAsDouble()).isNaN();
+        assertThat(Double.compare(doublelist(0.0, -0.0).min().getAsDouble(), -0.0)).isZero();
+        assertThat(list.any(x -> 8 < x)).isTrue();
+        assertThat(list.all(x -> 0 < x)).isTrue();
+        assertThat(list.stream().count()).isEqualTo(8);
+
+        assertThat(list.clone().sort()).isEqualTo(doublelist(1, 1, 2, 3, 4, 5, 6, 9));
+        assertThat(doublelist(Double.NaN, 0.0, -0.0, -1).sort()).isEqualTo(doublelist(-1, -0.0, 0.0, Double.NaN));
+        assertThat(list.clone().reverse()).isEqualTo(doublelist(6, 2, 9, 5, 1, 4, 1, 3));
+        assertThat(list.toArray()).containsExactly(3, 1, 4, 1, 5, 9, 2, 6);
+    }
+
+    /**
+     * Test of {@link $doublelist#boxed()}.
+     */
+    @Test
+    public void boxed() {
+
+        final var list = doublelist(0.5, 2, Double.NaN);
+        final var boxed = list.boxed();
+
+        assertThat(boxed).isEqualTo(list(0.5, 2.0, Double.NaN));
+        assertThat(boxed.hashCode()).isEqualTo(list.hashCode());
+        assertThat(list).hasToString(boxed.toString());
+
+        boxed.add(4.0);
+        boxed.remove(0);
+        boxed.set(0, 20.0);
+        assertThat(list).isEqualTo(doublelist(20, Double.NaN, 4));
+        assertThat($doublelist.of(boxed.map(x -> x + 1))).isEqualTo(doublelist(21, Double.NaN, 5));
+    }
+}
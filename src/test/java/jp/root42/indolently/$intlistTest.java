@@ -0,0 +1,105 @@
+// Copyright 2026 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently;
+
+import static jp.root42.indolently.Indolently.*;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+
+/**
+ * @author takahashikzn
+ */
+public class $intlistTest {
+
+    /**
+     * Test of {@link $intlist#add(int)} and friends.
+     */
+    @Test
+    public void mutation() {
+
+        final var list = new $intlist();
+        for (int i = 0; i < 100; i++)
+            list.add(i);
+
+        assertThat(list.size()).isEqualTo(100);
+        assertThat(list.get(-1)).isEqualTo(99);
+        assertThat(list.removeAt(0)).isZero();
+        assertThat(list.set(0, 42).head()).isEqualTo(42);
+        assertThat(list.addAll(intlist(7, 8)).addAll(9).last()).isEqualTo(9);
+        assertThat(list.indexOf(8)).isEqualTo(7);
+        assertThat(list.size()).isEqualTo(102);
+        assertThat(list.contains(-1)).isFalse();
+
+        assertThatThrownBy(() -> list.get(102)).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> list.get(-103)).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThat(list.clear().isEmpty()).isTrue();
+    }
+
+    /**
+     * Test of {@link $intlist#map(java.util.function.IntUnaryOperator)} and friends.
+     */
+    @Test
+    public void functional() {
+
+        final var list = intlist(3, 1, 4, 1, 5, 9, 2, 6);
+
+        assertThat(list.map(x -> x * 2)).isEqualTo(intlist(6, 2, 8, 2, 10, 18, 4, 12));
+        assertThat(list.take(x -> x % 2 == 0)).isEqualTo(intlist(4, 2, 6));
+        assertThat(list.mapToObj(Integer::toString)).isEqualTo(list("3", "1", "4", "1", "5", "9", "2", "6"));
+        assertThat(list.reduce(0, Integer::sum)).isEqualTo(31);
+        assertThat(list.sum()).isEqualTo(31);
+        assertThat(intlist(Integer.MAX_VALUE, Integer.MAX_VALUE).sum()).isEqualTo(2L * Integer.MAX_VALUE);
+        assertThat(list.min()).hasValue(1);
+        assertThat(list.max()).hasValue(9);
+        assertThat(intlist().max()).isEmpty();
+        assertThat(list.any(x -> 8 < x)).isTrue();
+        assertThat(list.all(x -> 0 < x)).isTrue();
+        assertThat(list.stream().count()).isEqualTo(8);
+
+        final var sb = new StringBuilder();
+        list.each(sb::append);
+        assertThat(sb).hasToString("31415926");
+
+        assertThat(list.clone().sort()).isEqualTo(intlist(1, 1, 2, 3, 4, 5, 6, 9));
+        assertThat(list.clone().reverse()).isEqualTo(intlist(6, 2, 9, 5, 1, 4, 1, 3));
+        assertThat(list.toArray()).containsExactly(3, 1, 4, 1, 5, 9, 2, 6);
+    }
+
+    /**
+     * Test of {@link $intlist#boxed()}.
+     */
+    @Test
+    public void boxed() {
+
+        final var list = intlist(1, 2, 3);
+        final var boxed = list.boxed();
+
+        assertThat(boxed).isEqualTo(list(1, 2, 3));
+        assertThat(boxed.hashCode()).isEqualTo(list.hashCode());
+        assertThat(list).hasToString(boxed.toString());
+
+        boxed.add(4);
+        boxed.remove(0);
+        boxed.set(0, 20);
+        assertThat(list).isEqualTo(intlist(20, 3, 4));
+        assertThat($intlist.of(boxed.map(x -> x + 1))).isEqualTo(intlist(21, 4, 5));
+
+        assertThat($longlist.of(list(1L, 2L)).sum()).isEqualTo(3L);
+        assertThat(doublelist(0.1, 0.2, Double.NaN).take(x -> !Double.isNaN(x)).sum()).isCloseTo(0.3, within(1e-15));
+        assertThat(doublelist(Double.NaN).contains(Double.NaN)).isTrue();
+    }
+}
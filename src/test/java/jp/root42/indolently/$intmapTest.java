@@ -0,0 +1,84 @@
+// Copyright 2026 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently;
+
+import static jp.root42.indolently.Indolently.*;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+
+/**
+ * @author takahashikzn
+ */
+public class $intmapTest {
+
+    /**
+     * Test of {@link $intmap#push(int, Object)} and friends.
+     */
+    @Test
+    public void keyed() {
+
+        final $intmap<String> map = intmap();
+        map.push(1, "a").push(2, "b").push(3, "c");
+
+        assertThat(map.get(2)).isEqualTo("b");
+        assertThat(map.opt(4).present()).isFalse();
+        assertThat(map.update(1, x -> x + x).update(4, x -> "z").get(1)).isEqualTo("aa");
+        assertThat(map.containsKey(4)).isFalse();
+        assertThat(map.computeIfAbsent(4, String::valueOf)).isEqualTo("4");
+        assertThat(map.take((k, v) -> (k % 2) == 0)).isEqualTo(intmap().push(2, "b").push(4, "4"));
+        assertThat(map.keys().sort()).isEqualTo(intlist(1, 2, 3, 4));
+        assertThat((Object) map.boxed()).isEqualTo(map(1, "aa", 2, "b", 3, "c", 4, "4"));
+        assertThat(map.hashCode()).isEqualTo(map.boxed().hashCode());
+        assertThat((Object) map.map(String::length).drop((k, v) -> v == 1).boxed()).isEqualTo(map(1, 2));
+
+        final var sum = new int[1];
+        map.each((k, v) -> sum[0] += k);
+        assertThat(sum[0]).isEqualTo(10);
+
+        assertThat(map.remove(1)).isEqualTo("aa");
+        assertThat(map.delete(2).size()).isEqualTo(2);
+        assertThat(map.clear().isEmpty()).isTrue();
+        assertThat(map.push(-1, "x").toString()).isEqualTo("{-1=x}");
+    }
+
+    /**
+     * Test of {@link $objlongmap#increment(Object)} and friends.
+     */
+    @Test
+    public void counting() {
+
+        final $objlongmap<String> counts = objlongmap();
+        counts.count(list("a", "b", "a", "c", "a"));
+
+        assertThat(counts.get("a")).isEqualTo(3);
+        assertThat(counts.get("z")).isZero();
+        assertThat(counts.increment("z")).isEqualTo(1);
+        assertThat(counts.add("b", 10)).isEqualTo(11);
+        assertThat(counts.update("c", x -> -x).get("c")).isEqualTo(-1);
+        assertThat(counts.sum()).isEqualTo(14);
+        assertThat(counts.take((k, v) -> 1 < v).keys()).isEqualTo(set("a", "b"));
+        assertThat((Object) counts.boxed()).isEqualTo(map("a", 3L, "b", 11L, "c", -1L, "z", 1L));
+        assertThat(counts.hashCode()).isEqualTo(counts.boxed().hashCode());
+        assertThat(counts.remove("z")).isTrue();
+        assertThat(counts.remove("z")).isFalse();
+
+        final $objdoublemap<String> weights = objdoublemap();
+        weights.push("x", 0.5).add("x", 0.25);
+        assertThat(weights.get("x")).isEqualTo(0.75);
+        assertThat(weights).isEqualTo(objdoublemap().push("x", 0.75));
+    }
+}
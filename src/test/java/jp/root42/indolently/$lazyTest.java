@@ -0,0 +1,95 @@
+// Copyright 2026 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static jp.root42.indolently.Indolently.*;
+import static jp.root42.indolently.Iterative.*;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+
+/**
+ * @author takahashikzn
+ */
+public class $lazyTest {
+
+    /**
+     * {@link $lazy#head()} and friends evaluate only the values needed.
+     */
+    @Test
+    public void shortCircuit() {
+
+        final var calls = new AtomicInteger();
+        final var list = range(1, 1000).list();
+        final var lazy = list.lazy().map(x -> {
+            calls.incrementAndGet();
+            return x * 2;
+        });
+
+        assertThat(calls.get()).isZero();
+
+        assertThat(lazy.take(x -> x % 3 == 0).map(x -> x + 1).head()).isEqualTo(7);
+        assertThat(calls.get()).isEqualTo(3);
+
+        calls.set(0);
+        assertThat(lazy.any(x -> 10 < x)).isTrue();
+        assertThat(calls.get()).isEqualTo(6);
+
+        calls.set(0);
+        // scans from the end: 2000, 1998
+        assertThat(lazy.take(x -> x % 3 == 0).last()).isEqualTo(1998);
+        assertThat(calls.get()).isEqualTo(2);
+
+        calls.set(0);
+        assertThat(lazy.count()).isEqualTo(1000);
+        assertThat(calls.get()).isZero();
+        assertThat(lazy.count(x -> x % 3 == 0)).isEqualTo(333);
+        assertThat(calls.get()).isEqualTo(1000);
+    }
+
+    /**
+     * Lazy results equal to eager ones.
+     */
+    @Test
+    public void equivalence() {
+
+        final var list = list(3, 1, 4, 1, 5, 9, 2, 6, 5, 3);
+
+        assertThat(list.lazy().map(x -> x * 10).take(x -> 20 < x).list()).isEqualTo(list.map(x -> x * 10).take(x -> 20 < x));
+        assertThat(list.lazy().flat(x -> list(x, -x)).list()).isEqualTo(list.flat(x -> list(x, -x)));
+        assertThat(list.lazy().uniq().list()).isEqualTo(list(3, 1, 4, 5, 9, 2, 6));
+        assertThat(list.lazy().uniq().last()).isEqualTo(6);
+        assertThat(list.lazy().reduce(0, Integer::sum)).isEqualTo(39);
+        assertThat(list.lazy().take(x -> 100 < x).head$().present()).isFalse();
+        assertThat(list.lazy().take(x -> 100 < x).last$().present()).isFalse();
+
+        // reflects the source
+        final var lazy = list.lazy().take(x -> 5 < x);
+        list.add(7);
+        assertThat(lazy.list()).isEqualTo(list(9, 6, 7));
+        assertThat(lazy.count()).isEqualTo(3);
+
+        final var seen = list();
+        assertThat(set(1, 2, 3).lazy().each(seen::add).all(x -> 0 < x)).isTrue();
+        assertThat(seen).hasSize(3);
+
+        final $map<String, Integer> map = map("a", 1, "b", 2, "c", 3);
+        assertThat((Object) map.lazy().take(e -> 1 < e.val).mapmap(e -> e.key, e -> e.val * 10)).isEqualTo(map("b", 20, "c", 30));
+        assertThat(map.lazy().count()).isEqualTo(3);
+    }
+}
@@ -0,0 +1,115 @@
+// Copyright 2026 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently;
+
+import static jp.root42.indolently.Indolently.*;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+
+/**
+ * @author takahashikzn
+ */
+public class $longlistTest {
+
+    /**
+     * Test of {@link $longlist#add(long)} and friends.
+     */
+    @Test
+    public void mutation() {
+
+        final var list = new $longlist(1);
+        for (long i = 0; i < 100; i++)
+            list.add(i << 32);
+
+        assertThat(list.size()).isEqualTo(100);
+        assertThat(list.get(-1)).isEqualTo(99L << 32);
+        assertThat(list.removeAt(0)).isZero();
+        assertThat(list.set(0, Long.MIN_VALUE).head()).isEqualTo(Long.MIN_VALUE);
+        assertThat(list.addAll(longlist(7, 8)).addAll(9).last()).isEqualTo(9);
+        assertThat(list.indexOf(8)).isEqualTo(100);
+        assertThat(list.indexOf(2L << 32)).isEqualTo(1);
+        assertThat(list.contains(1L << 32)).isFalse();
+        assertThat(list.size()).isEqualTo(102);
+
+        assertThatThrownBy(() -> list.get(102)).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> list.get(-103)).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThat(list.clear().isEmpty()).isTrue();
+    }
+
+    /**
+     * Test of {@link $longlist#sum()}.
+     */
+    @Test
+    public void sum() {
+
+        assertThat(longlist().sum()).isZero();
+        assertThat(longlist(3_000_000_000L, 3_000_000_000L, -1).sum()).isEqualTo(5_999_999_999L);
+
+        // overflows as long arithmetic does
+        assertThat(longlist(Long.MAX_VALUE, 1).sum()).isEqualTo(Long.MIN_VALUE);
+        assertThat(longlist(Long.MAX_VALUE, 1, -1).sum()).isEqualTo(Long.MAX_VALUE);
+    }
+
+    /**
+     * Test of {@link $longlist#map(java.util.function.LongUnaryOperator)} and friends.
+     */
+    @Test
+    public void functional() {
+
+        final var list = longlist(3, 1, 4, 1, 5, 9, 2, 6);
+
+        assertThat(list.map(x -> x << 32)).isEqualTo(longlist(3L << 32, 1L << 32, 4L << 32, 1L << 32, 5L << 32, 9L << 32, 2L << 32, 6L << 32));
+        assertThat(list.take(x -> x % 2 == 0)).isEqualTo(longlist(4, 2, 6));
+        assertThat(list.mapToObj(Long::toString)).isEqualTo(list("3", "1", "4", "1", "5", "9", "2", "6"));
+        assertThat(list.reduce(0, Long::sum)).isEqualTo(31);
+        assertThat(list.min()).hasValue(1);
+        assertThat(list.max()).hasValue(9);
+        assertThat(longlist().max()).isEmpty();
+        assertThat(longlist(Long.MIN_VALUE, Long.MAX_VALUE).min()).hasValue(Long.MIN_VALUE);
+        assertThat(list.any(x -> 8 < x)).isTrue();
+        assertThat(list.all(x -> 0 < x)).isTrue();
+        assertThat(list.stream().count()).isEqualTo(8);
+
+        final var sb = new StringBuilder();
+        list.each(sb::append);
+        assertThat(sb).hasToString("31415926");
+
+        assertThat(list.clone().sort()).isEqualTo(longlist(1, 1, 2, 3, 4, 5, 6, 9));
+        assertThat(list.clone().reverse()).isEqualTo(longlist(6, 2, 9, 5, 1, 4, 1, 3));
+        assertThat(list.toArray()).containsExactly(3, 1, 4, 1, 5, 9, 2, 6);
+    }
+
+    /**
+     * Test of {@link $longlist#boxed()}.
+     */
+    @Test
+    public void boxed() {
+
+        final var list = longlist(1, 2, 1L << 40);
+        final var boxed = list.boxed();
+
+        assertThat(boxed).isEqualTo(list(1L, 2L, 1L << 40));
+        assertThat(boxed.hashCode()).isEqualTo(list.hashCode());
+        assertThat(list).hasToString(boxed.toString());
+
+        boxed.add(4L);
+        boxed.remove(0);
+        boxed.set(0, 20L);
+        assertThat(list).isEqualTo(longlist(20, 1L << 40, 4));
+        assertThat($longlist.of(boxed.map(x -> x + 1))).isEqualTo(longlist(21, (1L << 40) + 1, 5));
+    }
+}
@@ -8,6 +8,7 @@ import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import jp.root42.indolently.$map.$entry;
 
@@ -69,4 +70,76 @@ public class $mapTest {
 
         assertThat(new $map_impl<>(map).entries().list().map(x -> x.key)).isEqualTo(list("3", "2", "1", "0"));
     }
+
+    /**
+     * {@link $map#any(java.util.function.BiPredicate)} and friends stop at the first decisive entry.
+     */
+    @Test
+    public void predicates() {
+
+        final $map<Integer, Integer> map = $(new LinkedHashMap<>());
+        for (int i = 0; i < 100; i++)
+            map.put(i, i * 2);
+
+        final var calls = ref(0);
+
+        assertThat(map.any((k, v) -> ++calls.$ == 3)).isTrue();
+        assertThat(calls.$).isEqualTo(3);
+
+        calls.$ = 0;
+        assertThat(map.all((k, v) -> ++calls.$ < 5)).isFalse();
+        assertThat(calls.$).isEqualTo(5);
+
+        calls.$ = 0;
+        assertThat(map.non(v -> ++calls.$ == 10)).isFalse();
+        assertThat(calls.$).isEqualTo(10);
+
+        assertThat(map.count((k, v) -> (k % 10) == 0)).isEqualTo(10);
+        assertThat(map.count(v -> 100 <= v)).isEqualTo(50);
+        assertThat(map.all((k, v) -> v == k * 2)).isTrue();
+        assertThat(map().any(v -> true)).isFalse();
+        assertThat(list(1, 2, 3).count(x -> x != 2)).isEqualTo(2);
+        assertThat(set(1, 2, 3).count(x -> 1 < x)).isEqualTo(2);
+    }
+
+    /**
+     * {@link Indolently#concurrentMap()} keeps fluent operations atomic.
+     */
+    @Test
+    public void concurrent() throws InterruptedException {
+
+        final $map<Integer, Integer> map = concurrentMap();
+        final $set<Integer> seen = concurrentSet();
+        final var created = new AtomicInteger();
+
+        final var threads = new Thread[8];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    final int key = i % 10;
+
+                    map.pushIfAbsent(key, () -> {
+                        created.incrementAndGet();
+                        return 0;
+                    }).update(key, v -> v + 1);
+
+                    seen.push(i);
+                }
+            });
+            threads[t].start();
+        }
+
+        for (final var t: threads)
+            t.join();
+
+        assertThat(created.get()).isEqualTo(10);
+        assertThat(map.vals().reduce(Integer::sum).get()).isEqualTo(8000);
+        assertThat(map.get(3)).isEqualTo(800);
+        assertThat(seen).hasSize(1000);
+
+        assertThat(map.delete((k, v) -> k < 5).size()).isEqualTo(5);
+        assertThat((Object) map.take(v -> v == 800)).isEqualTo(map);
+        assertThat(map.computeIfAbsent(5, k -> -1)).isEqualTo(800);
+        assertThat(map.merge(5, 1, Integer::sum)).isEqualTo(801);
+    }
 }
@@ -0,0 +1,126 @@
+// Copyright 2026 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+
+import static jp.root42.indolently.Indolently.*;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+
+/**
+ * Serialization of {@link $list}, {@link $set} and {@link $map}.
+ *
+ * @author takahashikzn
+ */
+public class CollectionSerialTest {
+
+    private static byte[] bytes(final Object x) throws IOException {
+        final var bytes = new ByteArrayOutputStream();
+        try (final var out = new ObjectOutputStream(bytes)) {
+            out.writeObject(x);
+        }
+
+        return bytes.toByteArray();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T copy(final T x) throws IOException, ClassNotFoundException {
+        try (final var in = new ObjectInputStream(new ByteArrayInputStream(bytes(x)))) {
+            return (T) in.readObject();
+        }
+    }
+
+    @Test
+    public void lists() throws Exception {
+        final $list<Object> plain = list(1, "a", null, list(2L, set(3.0)), map("k", true));
+
+        assertThat(copy(plain)).isEqualTo(plain);
+        assertThat(copy($(Arrays.asList(1, 2)))).containsExactly(1, 2);
+
+        final var frozen = plain.freeze();
+        final var copied = copy(frozen);
+        assertThat(copied).isEqualTo(frozen);
+        assertThat(copied.push(3)).hasSize(6);
+        assertThat(copied).hasSize(5);
+
+        final var ints = new ArrayList<Integer>();
+        for (int i = 0; i < 1000; i++)
+            ints.add(i);
+        assertThat(bytes(list(ints)).length).isLessThan(bytes(ints).length / 2);
+    }
+
+    @Test
+    public void sets() throws Exception {
+        final $set<String> plain = set("a", "b", "c");
+        assertThat(copy(plain)).isEqualTo(plain);
+
+        final var frozen = plain.freeze();
+        final var copied = copy(frozen);
+        assertThat(copied).isEqualTo(frozen);
+        assertThat(copied.push("d")).hasSize(4);
+        assertThat(copied).hasSize(3);
+
+        assertThat(copy(sort(plain, Comparator.<String> reverseOrder()))).containsExactly("c", "b", "a");
+        assertThat(copy(concurrentSet().push(1))).containsExactly(1);
+        assertThat(copy(plain.optimize())).isEqualTo(plain);
+    }
+
+    @Test
+    public void maps() throws Exception {
+        final $map<String, Integer> plain = map("a", 1, "b", 2);
+        assertThat((Object) copy(plain)).isEqualTo(plain);
+
+        final var frozen = plain.freeze();
+        final var copied = copy(frozen);
+        assertThat((Object) copied).isEqualTo(frozen);
+        assertThat(copied.push("c", 3).size()).isEqualTo(3);
+        assertThat(copied.size()).isEqualTo(2);
+
+        assertThat(copy(plain.order(Comparator.reverseOrder())).keySet()).containsExactly("b", "a");
+        assertThat(copy(concurrentMap().push("x", 1)).pushIfAbsent("y", () -> 2).size()).isEqualTo(2);
+        assertThat((Object) copy(plain.optimize())).isEqualTo(plain);
+    }
+
+    @Test
+    public void cycle() throws Exception {
+        final $list<Object> l = list(1, 2);
+        final $map<String, Object> m = map("self", l);
+        l.add(m);
+
+        final var copied = copy(l);
+        assertThat(copied).hasSize(3);
+
+        final var back = (($map<?, ?>) copied.get(2)).get("self");
+        assertThat(back).isSameAs(copied);
+
+        // sorted store is written as is
+        final $list<Object> sorted = list();
+        sorted.add(sort(set("a")));
+        sorted.add(sorted.get(0));
+
+        final var copiedSorted = copy(sorted);
+        assertThat(copiedSorted.get(1)).isSameAs(copiedSorted.get(0)).isInstanceOf($set.class);
+    }
+}
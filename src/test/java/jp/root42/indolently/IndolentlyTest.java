@@ -880,6 +880,28 @@ public class IndolentlyTest {
 
         assertThat(uniq(list(1, 2, 3, 1, 2, 4), (x, y) -> x.equals(y))).isEqualTo(list(1, 2, 3, 4));
         assertThat(uniq(list(1, 2, 3, -1, -2, 4), (x, y) -> Math.abs(x) == Math.abs(y))).isEqualTo(list(1, 2, 3, 4));
+        assertThat(uniq(list(1, 2, 3, 1, 2, 4))).isEqualTo(list(1, 2, 3, 4));
+        assertThat(list(1, 2, 3, -1, -2, 4).uniq(Math::abs)).isEqualTo(list(1, 2, 3, 4));
+        assertThat(list("a", null, "a", null).uniq()).isEqualTo(list("a", null));
+    }
+
+    /**
+     * {@link Indolently#uniq(List)} and {@link $set#intersect(Iterable)} are linear.
+     */
+    @Test(timeout = 10_000)
+    public void testUniqLinear() {
+
+        final $list<Integer> ids = list();
+        for (int i = 0; i < 200_000; i++)
+            ids.add(i % 100_000);
+
+        assertThat(ids.uniq().size()).isEqualTo(100_000);
+        assertThat(ids.uniq(x -> x % 10).size()).isEqualTo(10);
+
+        final var set = set(ids);
+        assertThat(set.intersect(ids.subList(0, 10)).size()).isEqualTo(10);
+        assertThat(set(1, 2).intersect(set)).isEqualTo(set(1, 2));
+        assertThat(set.diff(ids.subList(10, 100_000)).size()).isEqualTo(10);
     }
 
     /**
@@ -992,4 +1014,49 @@ public class IndolentlyTest {
         assertThat(split(sep + sep, sep)).isEqualTo(list("", "", ""));
         assertThat(split("foo", sep)).isEqualTo(list("foo"));
     }
+
+    /**
+     * {@link Indolently#split(String, String, int, int)}
+     */
+    @Test
+    public void testSplitRange() {
+
+        assertThat(split("a!?b!?c", "!?", 1, -1)).isEqualTo(list("", "b", ""));
+        assertThat(split("a!?b!?c", "!?", 0, 4)).isEqualTo(list("a", "b"));
+        // the separator across the end of the range is ignored
+        assertThat(split("a!?b!?c", "!?", 0, 5)).isEqualTo(list("a", "b!"));
+        assertThat(split("aaab", "aab")).isEqualTo(list("a", ""));
+        assertThat(split("abababc", "ababc")).isEqualTo(list("ab", ""));
+    }
+
+    /**
+     * {@link Indolently#split(String, String)} is linear in the input length even if the separator is rare.
+     */
+    @Test(timeout = 10_000)
+    public void testSplitLinear() {
+
+        final var s = "a".repeat(1_000_000);
+        assertThat(split(s + "aab" + s, "aab")).isEqualTo(list(s, s));
+    }
+
+    /**
+     * {@link Indolently#splitter(CharSequence, String)}
+     */
+    @Test
+    public void testSplitter() {
+
+        for (final var sep: list(",", "!?", "aa")) {
+            for (final var text: list("", "a", ",", "aaa,!?aa", "!?!?", ",a,,b!?aa", "aaaaa")) {
+                assertThat(list(splitter(text, sep)).map(CharSequence::toString)).as(sep + " " + text).isEqualTo(split(text, sep));
+            }
+        }
+
+        assertThat(list(splitter("abc", ""))).map(CharSequence::toString).containsExactly("abc");
+
+        final var sb = new StringBuilder("k1=v1;k2=v2");
+        final var it = splitter(sb, ';');
+        assertThat(it.next()).hasToString("k1=v1");
+        assertThat(it.next().charAt(3)).isEqualTo('v');
+        assertThat(it.hasNext()).isFalse();
+    }
 }
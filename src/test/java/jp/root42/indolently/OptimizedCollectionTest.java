@@ -0,0 +1,159 @@
+// Copyright 2026 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import static jp.root42.indolently.Indolently.*;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+
+/**
+ * {@link Indolently#optimize(Map)} and {@link Indolently#optimize(java.util.Set)}.
+ *
+ * @author takahashikzn
+ */
+public class OptimizedCollectionTest {
+
+    @SuppressWarnings("unchecked")
+    private static <T> T copy(final T x) throws IOException, ClassNotFoundException {
+        final var bytes = new ByteArrayOutputStream();
+        try (final var out = new ObjectOutputStream(bytes)) {
+            out.writeObject(x);
+        }
+
+        try (final var in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            return (T) in.readObject();
+        }
+    }
+
+    @Test
+    public void hashMap() throws Exception {
+        final var rand = new Random(0);
+
+        for (final int size: list(0, 1, 2, 7, 64, 65, 1000)) {
+            final Map<Integer, String> expected = new LinkedHashMap<>();
+            for (int i = 0; i < size; i++)
+                expected.put(rand.nextInt(size * 4), "v" + i);
+            if (0 < size) expected.put(null, "null");
+
+            final $map<Integer, String> actual = optimize(expected);
+
+            assertThat((Object) actual).isEqualTo(expected);
+            assertThat(actual.hashCode()).isEqualTo(expected.hashCode());
+            assertThat(actual.keySet()).containsExactlyElementsOf(expected.keySet());
+            assertThat(actual.values()).containsExactlyElementsOf(expected.values());
+
+            for (int i = -1; i <= size * 4; i++) {
+                assertThat(actual.get(i)).isEqualTo(expected.get(i));
+                assertThat(actual.containsKey(i)).isEqualTo(expected.containsKey(i));
+            }
+
+            assertThat((Object) copy(actual)).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    public void hashSet() throws Exception {
+        final $set<String> expected = set();
+        for (int i = 0; i < 100; i++)
+            expected.add("x" + (i * 7));
+
+        final $set<String> actual = expected.optimize();
+
+        assertThat(actual).isEqualTo(expected).containsExactlyElementsOf(expected);
+        assertThat(actual.hashCode()).isEqualTo(expected.hashCode());
+        assertThat(actual.contains("x7")).isTrue();
+        assertThat(actual.contains("x8")).isFalse();
+        assertThat(copy(actual)).isEqualTo(expected);
+
+        assertThat(set("a", "b").optimize().contains("a")).isTrue();
+        assertThat(set().optimize().contains("a")).isFalse();
+    }
+
+    @Test
+    public void immutable() {
+        final var map = map("a", 1).push("b", 2).optimize();
+
+        assertThatThrownBy(() -> map.put("c", 3)).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> map.remove("a")).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> map.keySet().remove("a")).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> map.entrySet().iterator().next().setValue(0)).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> set(1).optimize().add(2)).isInstanceOf(UnsupportedOperationException.class);
+
+        // freezing makes it persistent again
+        assertThat((Object) map.freeze().push("c", 3)).isEqualTo(map("a", 1, "b", 2, "c", 3));
+    }
+
+    @Test
+    public void sortedMap() throws Exception {
+        final SortedMap<String, Integer> expected = new TreeMap<>(Comparator.reverseOrder());
+        for (int i = 0; i < 50; i++)
+            expected.put("k" + (i * 3), i);
+
+        final var optimized = sort(map(expected), Comparator.<String> reverseOrder()).optimize();
+        assertThat(optimized.keySet()).containsExactlyElementsOf(expected.keySet());
+
+        final var actual = (SortedMap<String, Integer>) (($map_impl<String, Integer>) optimized).getDelegate();
+        assertThat(actual).isInstanceOf(SortedArrayMap.class);
+
+        for (int i = 0; i < 150; i++)
+            assertThat(actual.get("k" + i)).isEqualTo(expected.get("k" + i));
+
+        assertThat(actual.firstKey()).isEqualTo(expected.firstKey());
+        assertThat(actual.lastKey()).isEqualTo(expected.lastKey());
+        assertThat((Object) actual.subMap("k60", "k3")).isEqualTo(expected.subMap("k60", "k3"));
+        assertThat((Object) actual.headMap("k50")).isEqualTo(expected.headMap("k50"));
+        assertThat((Object) actual.tailMap("k50")).isEqualTo(expected.tailMap("k50"));
+        assertThat(actual.tailMap("k50").values()).containsExactlyElementsOf(expected.tailMap("k50").values());
+        assertThat(actual.headMap("k50").get("k3")).isNull();
+        assertThat(actual.headMap("k50").get("k6")).isEqualTo(2);
+        assertThat(actual.headMap("k50").get("k60")).isEqualTo(20);
+        assertThatThrownBy(() -> actual.subMap("k3", "k60")).isInstanceOf(IllegalArgumentException.class);
+        assertThat((Object) copy(actual)).isEqualTo(expected);
+    }
+
+    @Test
+    public void sortedSet() {
+        final SortedSet<Integer> expected = new TreeSet<>(list(5, 1, 9, 3, 7));
+        final SortedSet<Integer> actual = SortedArraySet.of(expected);
+
+        assertThat(actual).containsExactly(1, 3, 5, 7, 9);
+        assertThat(actual.subSet(2, 7)).containsExactly(3, 5);
+        assertThat(actual.headSet(5)).containsExactly(1, 3);
+        assertThat(actual.tailSet(5).headSet(9)).containsExactly(5, 7);
+        assertThat(actual.first()).isEqualTo(1);
+        assertThat(actual.last()).isEqualTo(9);
+        assertThat(actual.contains(4)).isFalse();
+        assertThat(actual.subSet(4, 4)).isEmpty();
+        assertThat(optimize(expected)).containsExactly(1, 3, 5, 7, 9);
+        assertThat(new HashMap<>(optimize(map(1, "a", 2, "b")))).containsEntry(2, "b");
+    }
+}
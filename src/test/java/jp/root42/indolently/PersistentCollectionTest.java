@@ -0,0 +1,162 @@
+// Copyright 2026 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static jp.root42.indolently.Indolently.*;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+
+/**
+ * @author takahashikzn
+ */
+public class PersistentCollectionTest {
+
+    /**
+     * Key whose hash code collides often.
+     */
+    private record Key(int id) {
+
+        @Override
+        public int hashCode() { return this.id % 7; }
+    }
+
+    /**
+     * Compare {@link PersistentHashMap} with {@link HashMap} with random operations including hash collision and null key.
+     */
+    @Test
+    public void hashMap() {
+        final var rand = new Random(0);
+
+        for (final var colliding: list(false, true)) {
+            final Map<Object, Integer> expected = new HashMap<>();
+            PersistentHashMap<Object, Integer> actual = PersistentHashMap.empty();
+
+            final var versions = new ArrayList<Map.Entry<Map<Object, Integer>, Map<Object, Integer>>>();
+
+            for (int i = 0; i < 20_000; i++) {
+                final int id = rand.nextInt(3000);
+                final Object key = (id == 0) ? null : colliding ? new Key(id) : id;
+
+                if (rand.nextInt(3) == 0) {
+                    expected.remove(key);
+                    actual = actual.minus(key);
+                } else {
+                    expected.put(key, i);
+                    actual = actual.plus(key, i);
+                }
+
+                if ((i % 1000) == 0) versions.add(Map.entry(actual, new HashMap<>(expected)));
+
+                assertThat(actual.size()).isEqualTo(expected.size());
+                assertThat(actual.get(key)).isEqualTo(expected.get(key));
+            }
+
+            // structural sharing keeps the old versions intact
+            for (final var v: versions)
+                assertThat(v.getKey()).isEqualTo(v.getValue());
+
+            assertThat((Object) actual).isEqualTo(expected);
+            assertThat(actual.hashCode()).isEqualTo(expected.hashCode());
+            assertThat(new HashMap<>(actual)).isEqualTo(expected);
+
+            for (final var key: new ArrayList<>(expected.keySet()))
+                actual = actual.minus(key);
+
+            assertThat(actual.isEmpty()).isTrue();
+            assertThat(actual.entrySet().iterator().hasNext()).isFalse();
+        }
+    }
+
+    /**
+     * Compare {@link PersistentVector} with {@link ArrayList} across the tail and the root boundaries.
+     */
+    @Test
+    public void vector() {
+        final List<Integer> expected = new ArrayList<>();
+        PersistentVector<Integer> actual = PersistentVector.empty();
+
+        final var versions = new ArrayList<PersistentVector<Integer>>();
+
+        for (int i = 0; i < 40_000; i++) {
+            expected.add(i);
+            actual = actual.plus(i);
+
+            if ((i % 997) == 0) versions.add(actual);
+        }
+
+        assertThat(actual).isEqualTo(expected);
+        assertThat(actual.get(33_000)).isEqualTo(33_000);
+
+        // structural sharing keeps the old versions intact
+        for (final var v: versions)
+            assertThat(v.get(v.size() - 1)).isEqualTo(v.size() - 1);
+
+        final var replaced = actual.with(1234, -1).with(39_999, -2);
+        assertThat(replaced.get(1234)).isEqualTo(-1);
+        assertThat(replaced.get(39_999)).isEqualTo(-2);
+        assertThat(actual.get(1234)).isEqualTo(1234);
+
+        while (!actual.isEmpty()) {
+            actual = actual.pop();
+            expected.remove(expected.size() - 1);
+
+            if ((actual.size() % 1031) == 0) assertThat(actual).isEqualTo(expected);
+        }
+
+        assertThatThrownBy(actual::pop).isInstanceOf(java.util.NoSuchElementException.class);
+    }
+
+    /**
+     * {@link $map#push(Object, Object)} and friends on frozen collections.
+     */
+    @Test
+    public void frozen() {
+        final $map<String, $list<Integer>> map = map("a", list(1)).freeze();
+        final var pushed = map.push("b", list(2));
+
+        assertThat((Object) pushed).isNotSameAs(map);
+        assertThat(map.containsKey("b")).isFalse();
+        assertThat(pushed.get("b")).isEqualTo(list(2));
+        assertThat((Object) pushed.get("a")).isSameAs(map.get("a"));
+        assertThatThrownBy(() -> pushed.get("b").add(3)).isInstanceOf(UnsupportedOperationException.class);
+        assertThat((Object) pushed.freeze()).isSameAs(pushed);
+        assertThat(pushed.delete(list("a")).keySet()).containsExactly("b");
+        assertThat(pushed.update("a", x -> x.push(9)).get("a")).isEqualTo(list(1, 9));
+        assertThat(map.get("a")).isEqualTo(list(1));
+
+        final $list<Integer> list = list(1, 2, 3).freeze();
+        assertThat(list.push(4)).isEqualTo(list(1, 2, 3, 4));
+        assertThat(list.push(0, 0)).isEqualTo(list(0, 1, 2, 3));
+        assertThat(list.update(-1, x -> 30)).isEqualTo(list(1, 2, 30));
+        assertThat(list.delete(2)).isEqualTo(list(1, 3));
+        assertThat(list).isEqualTo(list(1, 2, 3));
+
+        final $set<Integer> set = set(1, 2).freeze();
+        assertThat(set.push(3)).isEqualTo(set(1, 2, 3));
+        assertThat(set.delete(1)).isEqualTo(set(2));
+        assertThat(set).isEqualTo(set(1, 2));
+
+        // mutable copy
+        assertThat(map.clone().push("c", list()).size()).isEqualTo(2);
+    }
+}
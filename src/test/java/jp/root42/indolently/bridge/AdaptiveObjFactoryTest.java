@@ -0,0 +1,169 @@
+// Copyright 2026 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently.bridge;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static jp.root42.indolently.Indolently.*;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+
+/**
+ * @author takahashikzn
+ */
+public class AdaptiveObjFactoryTest {
+
+    @SuppressWarnings("unchecked")
+    private static <T> T copy(final T x) throws IOException, ClassNotFoundException {
+        final var bytes = new ByteArrayOutputStream();
+        try (final var out = new ObjectOutputStream(bytes)) {
+            out.writeObject(x);
+        }
+
+        try (final var in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            return (T) in.readObject();
+        }
+    }
+
+    @Test
+    public void compactMap() throws Exception {
+        final var rand = new Random(0);
+
+        for (int round = 0; round < 200; round++) {
+            final Map<Integer, String> actual = new CompactMap<>(new JdkObjFactory());
+            final Map<Integer, String> expected = new HashMap<>();
+
+            for (int i = 0; i < 40; i++) {
+                final Integer key = (rand.nextInt(8) == 0) ? null : rand.nextInt(20);
+
+                switch (rand.nextInt(4)) {
+                    case 0, 1 -> assertThat(actual.put(key, "v" + i)).isEqualTo(expected.put(key, "v" + i));
+                    case 2 -> assertThat(actual.remove(key)).isEqualTo(expected.remove(key));
+                    default -> assertThat(actual.get(key)).isEqualTo(expected.get(key));
+                }
+
+                assertThat(actual).isEqualTo(expected);
+                assertThat(actual.hashCode()).isEqualTo(expected.hashCode());
+            }
+
+            assertThat(copy(actual)).isEqualTo(expected);
+
+            actual.entrySet().removeIf(e -> (e.getKey() != null) && ((e.getKey() % 2) == 0));
+            expected.entrySet().removeIf(e -> (e.getKey() != null) && ((e.getKey() % 2) == 0));
+            assertThat(actual).isEqualTo(expected);
+
+            actual.clear();
+            assertThat(actual).isEmpty();
+        }
+    }
+
+    @Test
+    public void mapCompactMode() throws Exception {
+        final Map<String, Integer> map = new CompactMap<>(new JdkObjFactory());
+        map.put("a", 1);
+        map.put("b", 2);
+        map.put("c", 3);
+
+        assertThat(map.keySet()).containsExactly("a", "b", "c");
+
+        for (final var e: map.entrySet())
+            e.setValue(e.getValue() * 10);
+
+        assertThat(map).containsExactly(entry("a", 10), entry("b", 20), entry("c", 30));
+
+        final var it = map.entrySet().iterator();
+        it.next();
+        it.remove();
+        assertThatThrownBy(it::remove).isInstanceOf(IllegalStateException.class);
+        assertThat(map).containsExactly(entry("b", 20), entry("c", 30));
+
+        final var copied = copy(map);
+        for (int i = 0; i < 20; i++)
+            copied.put("k" + i, i);
+        assertThat(copied).hasSize(22);
+    }
+
+    @Test
+    public void compactSet() throws Exception {
+        final var rand = new Random(0);
+
+        for (int round = 0; round < 200; round++) {
+            final Set<Integer> actual = new CompactSet<>(new JdkObjFactory());
+            final Set<Integer> expected = new HashSet<>();
+
+            for (int i = 0; i < 40; i++) {
+                final Integer x = (rand.nextInt(8) == 0) ? null : rand.nextInt(20);
+
+                switch (rand.nextInt(4)) {
+                    case 0, 1 -> assertThat(actual.add(x)).isEqualTo(expected.add(x));
+                    case 2 -> assertThat(actual.remove(x)).isEqualTo(expected.remove(x));
+                    default -> assertThat(actual.contains(x)).isEqualTo(expected.contains(x));
+                }
+
+                assertThat(actual).isEqualTo(expected);
+                assertThat(actual.hashCode()).isEqualTo(expected.hashCode());
+            }
+
+            assertThat(copy(actual)).isEqualTo(expected);
+
+            actual.removeIf(x -> (x != null) && ((x % 2) == 0));
+            expected.removeIf(x -> (x != null) && ((x % 2) == 0));
+            assertThat(actual).isEqualTo(expected);
+
+            actual.addAll(list(100, 101, 102, 103, 104, 105, 106, 107, 108, 109));
+            expected.addAll(list(100, 101, 102, 103, 104, 105, 106, 107, 108, 109));
+            assertThat(actual).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    public void adaptive() {
+        final var backend = new JdkObjFactory();
+        final var factory = ObjFactory.adaptive(backend);
+
+        assertThat(ObjFactory.adaptive(factory)).isSameAs(factory);
+
+        assertThat(factory.<String, String> newMap()).isInstanceOf(CompactMap.class);
+        assertThat(factory.<String, String> newMap(8)).isInstanceOf(CompactMap.class);
+        assertThat(factory.<String, String> newMap(100)).isInstanceOf(HashMap.class);
+        assertThat(factory.<String> newSet(3)).isInstanceOf(CompactSet.class);
+        assertThat(factory.<String> newSet(100)).isInstanceOf(HashSet.class);
+        assertThat(factory.<String> newFifoSet()).isNotInstanceOf(CompactSet.class);
+
+        final var original = ObjFactory.getInstance();
+        try {
+            ObjFactory.setInstance(factory);
+            assertThat(AdaptiveObjFactory.backend()).isSameAs(backend);
+
+            final var map = map("a", 1).push("b", 2);
+            assertThat((Object) map.clone()).isEqualTo(map);
+            assertThat(set(1, 2, 3).union(list(3, 4, 5, 6, 7, 8, 9, 10))).hasSize(10);
+            assertThat(list(1, 2, 3).set()).containsExactly(1, 2, 3);
+        } finally {
+            ObjFactory.setInstance(original);
+        }
+    }
+}
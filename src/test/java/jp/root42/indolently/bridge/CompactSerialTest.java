@@ -0,0 +1,192 @@
+// Copyright 2026 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently.bridge;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static jp.root42.indolently.Indolently.*;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+
+/**
+ * @author takahashikzn
+ */
+public class CompactSerialTest {
+
+    private static byte[] bytes(final Object x) throws IOException {
+        final var bytes = new ByteArrayOutputStream();
+        try (final var out = new ObjectOutputStream(bytes)) {
+            out.writeObject(x);
+        }
+
+        return bytes.toByteArray();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T copy(final T x) throws IOException, ClassNotFoundException {
+        try (final var in = new ObjectInputStream(new ByteArrayInputStream(bytes(x)))) {
+            return (T) in.readObject();
+        }
+    }
+
+    /**
+     * @return the stream of the size followed by one element
+     */
+    private static ObjectInputStream sized(final long size, final String filter) throws IOException {
+        final var bytes = new ByteArrayOutputStream();
+        try (final var out = new ObjectOutputStream(bytes)) {
+            CompactSerial.writeVarint(out, size);
+            CompactSerial.write(out, 1);
+        }
+
+        final var in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        if (filter != null) in.setObjectInputFilter(ObjectInputFilter.Config.createFilter(filter));
+
+        return in;
+    }
+
+    public static final class LinkedMap<K, V>
+        extends SerializableMap<K, V> {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected Map<K, V> newMap() { return new LinkedHashMap<>(); }
+    }
+
+    private static class DateCodec
+        implements ElemCodec<LocalDate> {
+
+        @Override
+        public Class<LocalDate> type() { return LocalDate.class; }
+
+        @Override
+        public int id() { return 42; }
+
+        @Override
+        public void write(final DataOutput out, final LocalDate elem) throws IOException { out.writeLong(elem.toEpochDay()); }
+
+        @Override
+        public LocalDate read(final DataInput in) throws IOException { return LocalDate.ofEpochDay(in.readLong()); }
+    }
+
+    @Test
+    public void elements() throws Exception {
+        final Map<Object, Object> map = new LinkedMap<>();
+        map.put(0, Integer.MIN_VALUE);
+        map.put(-1, Integer.MAX_VALUE);
+        map.put(Long.MIN_VALUE, Long.MAX_VALUE);
+        map.put(1.5, Double.NaN);
+        map.put(true, false);
+        map.put(null, "");
+        map.put("あ😀", "x".repeat(100_000));
+        map.put('c', list(1, "a"));
+
+        final var copied = copy(map);
+
+        assertThat(copied).isInstanceOf(LinkedMap.class).isEqualTo(map);
+        assertThat(copied.keySet()).containsExactlyElementsOf(map.keySet());
+        assertThat(copied.get(-1)).isInstanceOf(Integer.class);
+        assertThat(copied.get(Long.MIN_VALUE)).isInstanceOf(Long.class);
+    }
+
+    @Test
+    public void codec() throws Exception {
+        final Map<String, LocalDate> map = new LinkedMap<>();
+        map.put("a", LocalDate.of(2026, 1, 2));
+
+        final int plain = bytes(map).length;
+
+        CompactSerial.register(new DateCodec());
+        try {
+            final var bytes = bytes(map);
+            assertThat(bytes.length).isLessThan(plain);
+            assertThat(copy(map)).isEqualTo(map);
+
+            CompactSerial.unregister(LocalDate.class);
+            try (final var in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+                assertThatThrownBy(in::readObject).hasMessageContaining("(id = 42)");
+            }
+        } finally {
+            CompactSerial.unregister(LocalDate.class);
+        }
+
+        assertThatThrownBy(() -> CompactSerial.register(new DateCodec() {
+
+            @Override
+            public int id() { return -1; }
+        })).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void size() throws Exception {
+        final Map<Integer, String> jdk = new HashMap<>();
+        for (int i = 0; i < 1000; i++)
+            jdk.put(i, "v" + i);
+
+        final Map<Integer, String> compact = new LinkedMap<>();
+        compact.putAll(jdk);
+
+        assertThat(bytes(compact).length).isLessThan(bytes(jdk).length * 2 / 3);
+    }
+
+    @Test
+    public void malformed() throws Exception {
+        // corrupted size is never allocated up front
+        try (final var in = sized(Integer.MAX_VALUE, null)) {
+            assertThatThrownBy(() -> CompactSerial.readAll(in, ArrayList::new)).isInstanceOf(EOFException.class);
+        }
+
+        try (final var in = sized(Integer.MAX_VALUE, null)) {
+            assertThatThrownBy(() -> CompactSerial.readMap(in, HashMap::new)).isInstanceOf(EOFException.class);
+        }
+
+        try (final var in = sized(-1, null)) {
+            assertThatThrownBy(() -> CompactSerial.readAll(in, ArrayList::new)).isInstanceOf(InvalidObjectException.class)
+                .hasMessageContaining("illegal size");
+        }
+
+        try (final var in = sized(1L << 40, null)) {
+            assertThatThrownBy(() -> CompactSerial.readAll(in, ArrayList::new)).isInstanceOf(InvalidObjectException.class)
+                .hasMessageContaining("illegal size");
+        }
+
+        try (final var in = sized(1000, "maxarray=100")) {
+            assertThatThrownBy(() -> CompactSerial.readAll(in, ArrayList::new)).isInstanceOf(InvalidObjectException.class)
+                .hasMessageContaining("rejected by filter");
+        }
+
+        try (final var in = sized(1, "maxarray=100")) {
+            final ArrayList<Integer> read = CompactSerial.readAll(in, ArrayList::new);
+            assertThat(read).containsExactly(1);
+        }
+    }
+}
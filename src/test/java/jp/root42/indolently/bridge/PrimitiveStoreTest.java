@@ -0,0 +1,155 @@
+// Copyright 2026 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently.bridge;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.function.Supplier;
+
+import jp.root42.indolently.$list;
+import jp.root42.indolently.Indolently;
+
+import static jp.root42.indolently.Indolently.*;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+
+/**
+ * @author takahashikzn
+ */
+public class PrimitiveStoreTest {
+
+    /** user-defined factory written before the primitive maps were added, which relies on their defaults. */
+    private static final class Legacy
+        extends ObjFactory {
+
+        private final ObjFactory jdk = new JdkObjFactory();
+
+        @Override
+        public <K, V> SortedMap<K, V> newSortedMap(final Comparator<? super K> comp) { return this.jdk.newSortedMap(comp); }
+
+        @Override
+        public <V> SortedSet<V> newSortedSet(final Comparator<? super V> comp) { return this.jdk.newSortedSet(comp); }
+
+        @Override
+        public <K, V> Map<K, V> newFifoMap() { return this.jdk.newFifoMap(); }
+
+        @Override
+        public <V> Set<V> newFifoSet() { return this.jdk.newFifoSet(); }
+
+        @Override
+        public <K, V> Map<K, V> newMap() { return this.jdk.newMap(); }
+
+        @Override
+        public <V> Set<V> newSet() { return this.jdk.newSet(); }
+
+        @Override
+        public <V> List<V> newList() { return this.jdk.newList(); }
+
+        @Override
+        public <K, V> Map<K, V> optimize(final Map<K, V> map) { return this.jdk.optimize(map); }
+    }
+
+    private static $list<ObjFactory> factories() {
+        final $list<ObjFactory> ret = list();
+
+        for (final Supplier<ObjFactory> f: Indolently.<Supplier<ObjFactory>> list(JdkObjFactory::new, FastutilObjFactory::new, EclipseObjFactory::new,
+            KolobokeObjFactory::new, Legacy::new)) {
+            try {
+                ret.add(f.get());
+            } catch (final UnsupportedOperationException ignored) {
+                // backend unavailable
+            }
+        }
+
+        return ret;
+    }
+
+    @Test
+    public void intObj() {
+        for (final var factory: factories()) {
+            final IntObjStore<String> store = factory.newIntObjMap();
+
+            assertThat(store.put(1, "a")).as(factory.toString()).isNull();
+            assertThat(store.put(1, "b")).isEqualTo("a");
+            assertThat(store.put(-2, "c")).isNull();
+            assertThat(store.get(1)).isEqualTo("b");
+            assertThat(store.get(3)).isNull();
+            assertThat(store.containsKey(-2)).isTrue();
+            assertThat(store.size()).isEqualTo(2);
+
+            final var sum = new int[1];
+            store.forEach((k, v) -> sum[0] += k);
+            assertThat(sum[0]).isEqualTo(-1);
+
+            assertThat(store.remove(1)).isEqualTo("b");
+            assertThat(store.remove(1)).isNull();
+            store.clear();
+            assertThat(store.size()).isZero();
+        }
+    }
+
+    @Test
+    public void longObj() {
+        for (final var factory: factories()) {
+            final LongObjStore<String> store = factory.newLongObjMap();
+
+            assertThat(store.put(Long.MAX_VALUE, "a")).as(factory.toString()).isNull();
+            assertThat(store.get(Long.MAX_VALUE)).isEqualTo("a");
+            assertThat(store.containsKey(0)).isFalse();
+            assertThat(store.remove(Long.MAX_VALUE)).isEqualTo("a");
+            assertThat(store.size()).isZero();
+        }
+    }
+
+    @Test
+    public void objLong() {
+        for (final var factory: factories()) {
+            final ObjLongStore<String> store = factory.newObjLongMap();
+
+            assertThat(store.add("a", 2)).as(factory.toString()).isEqualTo(2);
+            assertThat(store.add("a", 3)).isEqualTo(5);
+            assertThat(store.get("a", -1)).isEqualTo(5);
+            assertThat(store.get("b", -1)).isEqualTo(-1);
+
+            store.put("b", 0);
+            assertThat(store.containsKey("b")).isTrue();
+            assertThat(store.remove("b")).isTrue();
+            assertThat(store.remove("b")).isFalse();
+
+            final var keys = list();
+            store.forEach((k, v) -> keys.add(k + v));
+            assertThat(keys).containsExactly("a5");
+        }
+    }
+
+    @Test
+    public void objDouble() {
+        for (final var factory: factories()) {
+            final ObjDoubleStore<String> store = factory.newObjDoubleMap();
+
+            assertThat(store.add("a", 0.5)).as(factory.toString()).isEqualTo(0.5);
+            assertThat(store.add("a", 0.25)).isEqualTo(0.75);
+            assertThat(store.get("x", Double.NaN)).isNaN();
+            assertThat(store.remove("a")).isTrue();
+            assertThat(store.size()).isZero();
+        }
+    }
+}
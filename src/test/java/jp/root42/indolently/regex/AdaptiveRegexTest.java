@@ -0,0 +1,167 @@
+// Copyright 2026 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently.regex;
+
+import java.util.Collections;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.function.IntPredicate;
+
+import jp.root42.indolently.$list;
+import jp.root42.indolently.Regexive;
+
+import static jp.root42.indolently.Indolently.*;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+
+/**
+ * @author takahashikzn
+ */
+public class AdaptiveRegexTest {
+
+    /** delegates to JDK regex but advances the clock by 1ms when the input length satisfies the condition. */
+    private record Slow(RegexJDK re, IntPredicate slow, long[] clock)
+        implements RegexBase<Object, ReMatcherJDK> {
+
+        private void delay(final CharSequence cs) {
+            if (this.slow.test(cs.length())) this.clock[0] += 1_000_000;
+        }
+
+        @Override
+        public Object ptrn() { return this.re.ptrn(); }
+
+        @Override
+        public String pattern() { return this.re.pattern(); }
+
+        @Override
+        public ReMatcherJDK matcher(final CharSequence cs) {
+            this.delay(cs);
+            return this.re.matcher(cs);
+        }
+
+        @Override
+        public $list<String> split(final CharSequence cs, final int limit) {
+            this.delay(cs);
+            return this.re.split(cs, limit);
+        }
+    }
+
+    @Test
+    public void bucket() {
+        final var re = Regexive.regex1("a+");
+        final var clock = new long[1];
+        final var adaptive = new AdaptiveRegex(list(new Slow(re, x -> 100 <= x, clock), new Slow(re, x -> x < 100, clock)), 5, 1000, () -> clock[0]);
+
+        final var shortText = "aaa";
+        final var longText = "a".repeat(2000);
+
+        for (int i = 0; i < 20; i++) {
+            assertThat(adaptive.test(shortText)).isTrue();
+            assertThat(adaptive.find(longText)).isTrue();
+        }
+
+        assertThat(adaptive.chosen(shortText.length())).isZero();
+        assertThat(adaptive.chosen(longText.length())).isOne();
+        assertThat(adaptive.split("baab")).isEqualTo(list("b", "b"));
+    }
+
+    /** delegates to JDK regex but advances the clock by the given nanoseconds per matching or splitting. */
+    private record Costly(RegexJDK re, long match, long split, long[] clock)
+        implements RegexBase<Object, ReMatcherJDK> {
+
+        @Override
+        public Object ptrn() { return this.re.ptrn(); }
+
+        @Override
+        public String pattern() { return this.re.pattern(); }
+
+        @Override
+        public ReMatcherJDK matcher(final CharSequence cs) {
+            this.clock[0] += this.match;
+            return this.re.matcher(cs);
+        }
+
+        @Override
+        public $list<String> split(final CharSequence cs, final int limit) {
+            this.clock[0] += this.split;
+            return this.re.split(cs, limit);
+        }
+    }
+
+    @Test
+    public void operationMix() {
+        final var re = Regexive.regex1("a+");
+        final var clock = new long[1];
+        final var adaptive = new AdaptiveRegex(list(new Costly(re, 0, 10_000_000, clock), new Costly(re, 1_000_000, 1_000_000, clock)), 5, 1000,
+            () -> clock[0]);
+
+        // every engine must be measured on both operations, otherwise the first one would be measured on test only
+        for (int i = 0; i < 20; i++) {
+            assertThat(adaptive.test("aaa")).isTrue();
+            assertThat(adaptive.split("baab")).isEqualTo(list("b", "b"));
+        }
+
+        assertThat(adaptive.chosen(3)).isOne();
+    }
+
+    @Test
+    public void bucketBoundary() {
+        assertThat(list(0, 1, 31, 32, 1023, 1024, 32767, 32768, Integer.MAX_VALUE).map(AdaptiveRegex::bucket)).isEqualTo(list(0, 0, 0, 1, 1, 2, 2, 3, 3));
+    }
+
+    @Test
+    public void reexplore() {
+        final var re = Regexive.regex1("a+");
+        final var clock = new long[1];
+        final var flip = new boolean[1];
+        final var adaptive = new AdaptiveRegex(list(new Slow(re, x -> flip[0], clock), new Slow(re, x -> !flip[0], clock)), 3, 10, () -> clock[0]);
+
+        for (int i = 0; i < 10; i++)
+            adaptive.test("a");
+
+        assertThat(adaptive.chosen(1)).isZero();
+
+        // re-explored at 16th and 32nd call, then decided at 38th call
+        flip[0] = true;
+        for (int i = 0; i < 35; i++)
+            adaptive.test("a");
+
+        assertThat(adaptive.chosen(1)).isOne();
+    }
+
+    @Test
+    public void concurrent() throws Exception {
+        final var adaptive = new AdaptiveRegex(list(Regexive.regex1("\\d+"), Regexive.regex2("\\d+")), 10, 100);
+        final var pool = Executors.newFixedThreadPool(8);
+
+        try {
+            final Callable<Boolean> task = () -> {
+                for (int k = 0; k < 10_000; k++)
+                    if (!adaptive.test(String.valueOf(k)) || !adaptive.find("x" + k)) return false;
+
+                return true;
+            };
+
+            for (final var f: pool.invokeAll(Collections.nCopies(8, task)))
+                assertThat(f.get()).isTrue();
+        } finally {
+            pool.shutdown();
+        }
+
+        assertThat(adaptive.chosen(1)).isBetween(-1, 1);
+    }
+}
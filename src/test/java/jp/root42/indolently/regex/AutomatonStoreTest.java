@@ -0,0 +1,114 @@
+// Copyright 2026 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently.regex;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import static jp.root42.indolently.Indolently.*;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+
+/**
+ * @author takahashikzn
+ */
+public class AutomatonStoreTest {
+
+    private static byte[] save(final AutomatonStore store) throws IOException {
+        final var out = new ByteArrayOutputStream();
+        store.save(out);
+
+        return out.toByteArray();
+    }
+
+    @Test
+    public void roundTrip() throws IOException {
+        final var store = AutomatonStore.compile(list("\\d{4}-\\d{2}", "(?:foo|bar)+baz", "(a)\\1", "^\\d+$", "\\d{4}-\\d{2}"));
+
+        // back references can't be expressed by the automaton
+        assertThat(store.patterns()).isEqualTo(list("\\d{4}-\\d{2}", "(?:foo|bar)+baz", "^\\d+$"));
+
+        final var loaded = AutomatonStore.load(new ByteArrayInputStream(save(store)));
+
+        assertThat(loaded.patterns()).isEqualTo(store.patterns());
+        assertThat(loaded.stale()).isEmpty();
+
+        final var date = loaded.get("\\d{4}-\\d{2}");
+        assertThat(date.test("2026-10")).isTrue();
+        assertThat(date.test("2026-1")).isFalse();
+        assertThat(date.find("at 2026-10-18")).isTrue();
+        assertThat(date.find("at 2026/10/18")).isFalse();
+
+        final var m = loaded.get("(?:foo|bar)+baz").matcher("xfoobarbazy");
+        assertThat(m.find()).isTrue();
+        assertThat(m.group()).isEqualTo("foobarbaz");
+
+        assertThat(loaded.get("(a)\\1")).isNull();
+
+        final var anchored = loaded.get("^\\d+$");
+        assertThat(anchored.find("123\n")).isTrue();
+        assertThat(anchored.find("x123")).isFalse();
+        assertThat(anchored.find("123x")).isFalse();
+    }
+
+    @Test
+    public void stale() throws IOException {
+        final var saved = save(AutomatonStore.compile(list("a+b", "c+d")));
+
+        final byte[] raw;
+        try (final var in = new InflaterInputStream(new ByteArrayInputStream(saved))) {
+            raw = in.readAllBytes();
+        }
+
+        // corrupt the last automaton
+        raw[raw.length - 1] ^= 1;
+
+        final var out = new ByteArrayOutputStream();
+        try (final var o = new DeflaterOutputStream(out)) {
+            o.write(raw);
+        }
+
+        final var loaded = AutomatonStore.load(new ByteArrayInputStream(out.toByteArray()));
+
+        assertThat(loaded.patterns()).isEqualTo(list("a+b"));
+        assertThat(loaded.stale()).isEqualTo(list("c+d"));
+    }
+
+    @Test
+    public void broken() {
+        assertThatThrownBy(() -> AutomatonStore.load(new ByteArrayInputStream(save(AutomatonStore.compile(list())), 0, 4))) //
+            .isInstanceOf(IOException.class);
+
+        final var out = new ByteArrayOutputStream();
+        assertThatThrownBy(() -> {
+            try (final var o = new DeflaterOutputStream(out)) {
+                o.write(new byte[] { 1, 2, 3, 4, 5, 6, 7, 8 });
+            }
+
+            AutomatonStore.load(new ByteArrayInputStream(out.toByteArray()));
+        }).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void bundled() {
+        // no artifact on the test classpath
+        assertThat(AutomatonStore.bundled().isEmpty()).isTrue();
+    }
+}
@@ -0,0 +1,126 @@
+// Copyright 2026 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently.regex;
+
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import jp.root42.indolently.$list;
+import jp.root42.indolently.Regexive;
+
+import static jp.root42.indolently.Indolently.*;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+
+/**
+ * @author takahashikzn
+ */
+public class AutomatonSyntaxTest {
+
+    private static final String[] ALPHABET = {
+        "a", "A", "b", "B", "k", "K", "\u212A", "s", "\u017F", "1", " ", "\t", "_", "\\", "-", "\n", "\r", "\u0085",
+        "é", "É", "ω", "あ", "😀", "𠀋" };
+
+    private static String text(final Random rand) {
+        final var sb = new StringBuilder();
+        for (int k = rand.nextInt(7); 0 < k; k--)
+            sb.append(ALPHABET[rand.nextInt(ALPHABET.length)]);
+
+        return sb.toString();
+    }
+
+    private static $list<String> spans(final java.util.regex.Matcher m) {
+        final $list<String> found = list();
+        while (m.find())
+            found.add(m.start() + "," + m.end());
+
+        return found;
+    }
+
+    private static $list<String> spans(final ReMatcher<?, ?> m) {
+        final $list<String> found = list();
+        while (m.find())
+            found.add(m.start() + "," + m.end());
+
+        return found;
+    }
+
+    @Test
+    public void equivalence() {
+        final var rand = new Random(0);
+
+        for (final var pattern: list( //
+            "(?i)k+", "(?iu)[a-zé]+", "(?i)[^s]", "(?i:b)a", "a(?i)b|c", //
+            "\\p{N}+", "\\P{IsGreek}", "\\p{InHiragana}|\\d", "[^a-z]", "\\W\\D\\S", //
+            "[a-z&&[^b]]+", "[\\w&&\\p{Lu}]", "[]a]", "\\t|\\n", "\\\\d", "a+?b*?", //
+            "^a", "b$", "\\Aa|\\Ab", "a\\z", "a\\Z", "^$", ".", "(?s).", "(?d).$", //
+            "😀|𠀋", "[😀-🙏]", "\\x{1F600}", "\\Q.*\\E+", //
+            "(?x) a b # comment", "[\\x41-\\u0043]", "\\cJ", "\\0101")) {
+
+            final var re = Pattern.compile(pattern);
+            final var a = AutomatonTest.of(pattern);
+
+            for (int i = 0; i < 500; i++) {
+                final var s = text(rand);
+                final var as = pattern + " " + s;
+
+                assertThat(a.test(s)).as(as).isEqualTo(re.matcher(s).matches());
+                assertThat(a.find(s)).as(as).isEqualTo(re.matcher(s).find());
+            }
+        }
+    }
+
+    @Test
+    public void anchor() {
+        final var rand = new Random(0);
+
+        for (final var pattern: list("^a+", "b+$", "^b*$", "a\\Z", "\\Aab|\\Aba", "(?:a|b)$")) {
+            final var re = Pattern.compile(pattern);
+            final var a = AutomatonTest.of(pattern);
+
+            for (int i = 0; i < 300; i++) {
+                final var s = text(rand);
+                final var as = pattern + " " + s;
+
+                assertThat(spans(a.matcher(s))).as(as).isEqualTo(spans(re.matcher(s)));
+                assertThat(a.split(s)).as(as).isEqualTo(list(re.split(s)));
+            }
+        }
+    }
+
+    @Test
+    public void rejection() {
+        assertThat(Regexive.automatonRejection("a(?i)[b-z]+\\p{IsGreek}")).isNull();
+
+        assertThat(Regexive.automatonRejection("a(?=b)")).startsWith("lookaround at 1");
+        assertThat(Regexive.automatonRejection("(a)\\1")).startsWith("back reference at 3");
+        assertThat(Regexive.automatonRejection("\\ba")).startsWith("word boundary at 0");
+        assertThat(Regexive.automatonRejection("a++")).startsWith("possessive quantifier");
+        assertThat(Regexive.automatonRejection("a^b")).startsWith("anchor in the middle of the pattern");
+        assertThat(Regexive.automatonRejection("(?m)^a")).startsWith("multiline anchor");
+        assertThat(Regexive.automatonRejection("a|^b")).startsWith("anchor on some alternatives only");
+        assertThat(Regexive.automatonRejection("a(")).isNotNull();
+        assertThat(Regexive.automatonRejection("a\\p{L}")).startsWith("too large character class at 1");
+        assertThat(Regexive.automatonRejection("[^\\p{L}]")).startsWith("too large character class at 0");
+        assertThat(Regexive.automatonRejection("(?U)\\w")).startsWith("too large character class");
+        assertThat(Regexive.automatonRejection("\\p{So}")).isNull();
+
+        assertThat(Regexive.tester("a(?=b)")).isNotInstanceOf(AutomatonTest.class);
+        assertThat(Regexive.tester("\\p{L}+")).isNotInstanceOf(AutomatonTest.class);
+        assertThatThrownBy(() -> AutomatonTest.of("a(?=b)")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,129 @@
+// Copyright 2026 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently.regex;
+
+import java.time.Duration;
+
+import jp.root42.indolently.Regexive;
+
+import static jp.root42.indolently.Indolently.*;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+
+/**
+ * @author takahashikzn
+ */
+public class BoundedRegexTest {
+
+    /** takes about a second on java.util.regex. */
+    private static final String EVIL = "(.*a){12}b";
+
+    /** contains the literal, so isn't rejected by the prefilter. */
+    private static final String INPUT = "a".repeat(22) + "!b";
+
+    @Test
+    public void steps() {
+        final var re = Regexive.regex1(EVIL).bounded(100_000, null);
+
+        assertThatThrownBy(() -> re.find(INPUT)).isInstanceOfSatisfying(BoundedRegex.BudgetExceeded.class, e -> {
+            assertThat(e.pattern()).isEqualTo(EVIL);
+            assertThat(e.steps()).isEqualTo(100_001);
+            assertThat(e).hasMessageStartingWith("step limit exceeded after 100001 steps");
+        });
+
+        // each call has its own budget
+        assertThat(re.find("aaaaaaaaaaaab")).isTrue();
+        assertThat(re.replaceAll("xaaaaaaaaaaaabx", "-")).isEqualTo("-x");
+        assertThatThrownBy(() -> re.matcher(INPUT).find()).isInstanceOf(BoundedRegex.BudgetExceeded.class);
+    }
+
+    @Test
+    public void timeout() {
+        final var re = Regexive.regex1(EVIL).bounded(Long.MAX_VALUE, Duration.ofMillis(20));
+
+        final long t0 = System.nanoTime();
+        assertThatThrownBy(() -> re.test(INPUT)).isInstanceOf(BoundedRegex.BudgetExceeded.class).hasMessageStartingWith("timed out");
+        assertThat(System.nanoTime() - t0).isLessThan(Duration.ofMillis(500).toNanos());
+    }
+
+    @Test
+    public void interrupt() {
+        final var re = Regexive.regex1(EVIL).bounded(Long.MAX_VALUE, null);
+
+        Thread.currentThread().interrupt();
+        try {
+            assertThatThrownBy(() -> re.find(INPUT)).isInstanceOf(BoundedRegex.BudgetExceeded.class).hasMessageStartingWith("interrupted");
+        } finally {
+            assertThat(Thread.interrupted()).isTrue();
+        }
+    }
+
+    @Test
+    public void fallback() {
+        final var re = Regexive.regex1(EVIL).bounded(10_000, null, true);
+
+        assertThat(re.find(INPUT)).isFalse();
+        assertThat(re.test(INPUT)).isFalse();
+        assertThat(re.split("aaaaaaaaaaaab," + INPUT)).isEqualTo(list("", "," + INPUT));
+
+        // no linear-time engine accepts back references
+        final var backref = Regexive.regex1("(.*a){12}\\1b").bounded(10_000, null, true);
+        assertThatThrownBy(() -> backref.find(INPUT)).isInstanceOf(BoundedRegex.BudgetExceeded.class);
+
+        // flags aren't carried over
+        final var flagged = Regexive.regex1(java.util.regex.Pattern.compile(EVIL, java.util.regex.Pattern.CASE_INSENSITIVE)).bounded(10_000, null, true);
+        assertThatThrownBy(() -> flagged.find(INPUT)).isInstanceOf(BoundedRegex.BudgetExceeded.class);
+
+        final var re2 = Regexive.regex2(com.google.re2j.Pattern.compile("abc", com.google.re2j.Pattern.CASE_INSENSITIVE)).bounded(1, null, true);
+        assertThatThrownBy(() -> re2.find("xABC")).isInstanceOf(BoundedRegex.BudgetExceeded.class);
+
+        final var wrapped = new Regex(Regexive.regex1(java.util.regex.Pattern.compile("abc", java.util.regex.Pattern.CASE_INSENSITIVE))).bounded(1, null, true);
+        assertThatThrownBy(() -> wrapped.find("xABC")).isInstanceOf(BoundedRegex.BudgetExceeded.class);
+
+        assertThat(new Regex(Regexive.regex1("abc")).bounded(1, null, true).find("xabc")).isTrue();
+        assertThat(Regexive.regex2("abc").bounded(1, null, true).find("xabc")).isTrue();
+    }
+
+    @Test
+    public void metrics() {
+        final var metrics = RegexMetrics.enable();
+
+        try {
+            assertThatThrownBy(() -> Regexive.regex1(EVIL).bounded(1000, null).find(INPUT)).isInstanceOf(BoundedRegex.BudgetExceeded.class);
+
+            final var stats = metrics.snapshot().head();
+            assertThat(stats.engine()).isEqualTo("jdk");
+            assertThat(stats.calls()).isOne();
+            assertThat(stats.timeouts()).isOne();
+
+            // attributed to the engine which the wrapper delegates to
+            metrics.reset();
+            assertThatThrownBy(() -> new Regex(Regexive.regex1(EVIL)).bounded(1000, null).find(INPUT)).isInstanceOf(BoundedRegex.BudgetExceeded.class);
+            assertThat(metrics.snapshot().map(x -> x.engine() + " " + x.calls() + " " + x.timeouts())).isEqualTo(list("jdk 1 1"));
+        } finally {
+            RegexMetrics.disable();
+        }
+    }
+
+    @Test
+    public void illegal() {
+        final var re = Regexive.regex1("a");
+
+        assertThatThrownBy(() -> re.bounded(0, null)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> re.bounded(1, Duration.ZERO)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
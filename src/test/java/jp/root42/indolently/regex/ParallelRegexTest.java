@@ -0,0 +1,147 @@
+// Copyright 2026 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently.regex;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.regex.MatchResult;
+
+import jp.root42.indolently.$list;
+import jp.root42.indolently.Regexive;
+
+import static jp.root42.indolently.Indolently.*;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+
+/**
+ * @author takahashikzn
+ */
+public class ParallelRegexTest {
+
+    private static String text(final long seed, final int len) {
+        final var rand = new Random(seed);
+        final var alphabet = "aabbcx1 23\n";
+
+        final var sb = new StringBuilder(len);
+        for (int i = 0; i < len; i++)
+            sb.append(alphabet.charAt(rand.nextInt(alphabet.length())));
+
+        return sb.toString();
+    }
+
+    private static $list<String> spans(final ReMatcher<?, ?> m) {
+        final $list<String> found = list();
+        while (m.find()) {
+            final var sb = new StringBuilder();
+            for (int i = 0; i <= m.groupCount(); i++)
+                sb.append(m.start(i)).append(',').append(m.end(i)).append(';');
+
+            found.add(sb.toString());
+        }
+
+        return found;
+    }
+
+    private static $list<String> spans(final $list<MatchResult> found) {
+        return found.map(m -> {
+            final var sb = new StringBuilder();
+            for (int i = 0; i <= m.groupCount(); i++)
+                sb.append(m.start(i)).append(',').append(m.end(i)).append(';');
+
+            return sb.toString();
+        });
+    }
+
+    private static void verify(final RegexBase<?, ?> re, final String replacement) {
+        for (final int len: new int[] { 0, 1, 7, 50, 300 }) {
+            final var text = text(len, len);
+
+            for (final int chunk: new int[] { 1, 3, 8, 64 }) {
+                final var p = re.parallel(chunk, 6, ForkJoinPool.commonPool());
+                final var as = re.pattern() + " len=" + len + " chunk=" + chunk;
+
+                assertThat(spans(p.findAll(text))).as(as).isEqualTo(spans(re.matcher(text)));
+                assertThat(p.count(text)).as(as).isEqualTo(spans(re.matcher(text)).size());
+                assertThat(p.replaceAll(text, replacement)).as(as).isEqualTo(re.replaceAll(text, replacement));
+                assertThat(p.subst(text, x -> "$" + x.length())).as(as).isEqualTo(re.subst(text, x -> "$" + x.length()));
+
+                // RE2/J returns [""] for the input consisting of a single match, unlike Pattern#split
+                final var splitter = (re instanceof RegexRe2) ? Regexive.regex1(re.pattern()) : re;
+
+                for (final int limit: new int[] { 0, -1, 1, 3 })
+                    assertThat(p.split(text, limit)).as(as + " limit=" + limit).isEqualTo(splitter.split(text, limit));
+            }
+        }
+    }
+
+    @Test
+    public void jdk() {
+        verify(Regexive.regex1("(?<d>\\d{1,3})(x)?"), "<${d}:$2>");
+        verify(Regexive.regex1("b*"), "-");
+        verify(Regexive.regex1("\\bc\\w?"), "[$0]");
+        verify(Regexive.regex1("(?<=a)b|ab"), "_");
+        verify(Regexive.regex1("^a|c$"), "#");
+        verify(Regexive.regex1("(?m)^a|c$"), "#");
+    }
+
+    @Test
+    public void re2() {
+        verify(Regexive.regex2("(\\d{1,3})(x)?"), "<$1:$2>");
+        verify(Regexive.regex2("b*"), "-");
+        verify(Regexive.regex2("\\bc\\w?"), "[$0]");
+    }
+
+    @Test
+    public void automaton() {
+        verify((AutomatonTest) Regexive.tester("(\\d{1,3})(x)?"), "<$1:$2>");
+        verify((AutomatonTest) Regexive.tester("b*"), "-");
+        verify((AutomatonTest) Regexive.tester("a|ab|c[ab]+"), "{$0}");
+        verify((AutomatonTest) Regexive.tester("c+$"), "#");
+        verify((AutomatonTest) Regexive.tester("^a\\w*"), "#");
+    }
+
+    @Test
+    public void longMatch() {
+        // matches longer than maxMatch are found as long as they are within the lookahead
+        final var re = Regexive.regex1("a+");
+        final var text = "x" + "a".repeat(20) + "x" + "a".repeat(3);
+
+        final var p = re.parallel(4, 6, ForkJoinPool.commonPool());
+        assertThat(p.findAll(text).map(x -> x.group())).isEqualTo(list("a".repeat(20), "aaa"));
+    }
+
+    @Test
+    public void replacement() {
+        final var p = Regexive.regex1("(?<k>\\w)=(\\d)").parallel();
+
+        assertThatThrownBy(() -> p.replaceAll("a=1", "${x}")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> p.replaceAll("a=1", "$3")).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> p.replaceAll("a=1", "\\")).isInstanceOf(IllegalArgumentException.class);
+        assertThat(p.replaceAll("a=1", "$21\\$")).isEqualTo("11$");
+    }
+
+    @Test
+    public void exception() {
+        final var p = Regexive.regex1("\\d").parallel(2, 2, ForkJoinPool.commonPool());
+
+        assertThatThrownBy(() -> p.replace("1234", x -> {
+            throw new IllegalStateException(x);
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThatThrownBy(() -> Regexive.regex1("x").parallel(0, 1, ForkJoinPool.commonPool())).isInstanceOf(IllegalArgumentException.class);
+    }
+}
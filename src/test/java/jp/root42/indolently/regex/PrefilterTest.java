@@ -0,0 +1,93 @@
+// Copyright 2026 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently.regex;
+
+import java.util.regex.Pattern;
+
+import dk.brics.automaton.RegExp;
+
+import jp.root42.indolently.Regexive;
+
+import static jp.root42.indolently.Indolently.*;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+
+/**
+ * @author takahashikzn
+ */
+public class PrefilterTest {
+
+    @Test
+    public void extract() {
+        assertThat(Prefilter.of(".*ERROR .*timeout.*").required()).isEqualTo(list(list("timeout"), list("ERROR ")));
+        assertThat(Prefilter.of("foo(?:bar|bazz)+").toString()).isEqualTo("(\"foo\") & (\"bar\" | \"bazz\")");
+        assertThat(Prefilter.of("ab?c\\.d").required()).isEqualTo(list(list("c.d"), list("a")));
+        assertThat(Prefilter.of("x{2,}y*z").required()).isEqualTo(list(list("x"), list("z")));
+        assertThat(Prefilter.of("(?<name>key)=(?=v)").required()).isEqualTo(list(list("key"), list("=")));
+        assertThat(Prefilter.of("[ab]c|d(e)?").required()).containsExactly(list("c", "d"));
+
+        assertThat(Prefilter.of("a|.*")).isSameAs(Prefilter.NONE);
+        assertThat(Prefilter.of("(?i)foo")).isSameAs(Prefilter.NONE);
+        assertThat(Prefilter.of("\\x41bc")).isSameAs(Prefilter.NONE);
+        assertThat(Prefilter.of("(a)\\1")).isSameAs(Prefilter.NONE);
+        assertThat(Prefilter.of(Pattern.compile("foo", Pattern.CASE_INSENSITIVE))).isSameAs(Prefilter.NONE);
+        assertThat(Prefilter.of(Pattern.compile("a.b", Pattern.LITERAL)).required()).containsExactly(list("a.b"));
+    }
+
+    @Test
+    public void reject() {
+        final var p = Regexive.prefilter(".*ERROR .*(?:timeout|refused).*");
+
+        assertThat(p.test("12:00 ERROR connection timeout")).isTrue();
+        assertThat(p.test(new StringBuilder("ERROR refused"))).isTrue();
+        assertThat(p.test(java.nio.CharBuffer.wrap("ERROR timeout"))).isTrue();
+        assertThat(p.test("12:00 INFO connection timeout")).isFalse();
+        assertThat(p.test(java.nio.CharBuffer.wrap("ERROR ok"))).isFalse();
+    }
+
+    @Test
+    public void label() {
+        // the pattern given to the constructor is only a label in brics syntax
+        final var re = new AutomatonTest(new RegExp("\"ab\"<1-100>"), "\"ab\"<1-100>");
+
+        assertThat(re.prefilter()).isSameAs(Prefilter.NONE);
+        assertThat(re.test("ab42")).isTrue();
+        assertThat(re.find("xab42")).isTrue();
+
+        assertThat(AutomatonTest.of("abc\\d").prefilter().required()).containsExactly(list("abc"));
+    }
+
+    @Test
+    public void consistency() {
+        final var patterns = list(".*ERROR .*timeout.*", "fo+|ba[rz]", "a(b|c)?d", "\\d+-\\w+", "(?:ab){2}x", "^\\$\\{x\\}$", "é?t-é");
+        final var inputs = list("", "ERROR timeout", "ERROR time", "foo", "baz", "ad", "abd", "12-x", "ababx", "${x}", "t-é", "ét-é");
+
+        for (final var p: patterns) {
+            final var jdk = Regexive.regex1(p);
+            final var re2 = Regexive.regex2(p);
+            final var auto = Regexive.tester(p);
+            final var expected = Pattern.compile(p);
+
+            for (final var in: inputs) {
+                assertThat(jdk.test(in)).as("%s ~ %s", p, in).isEqualTo(expected.matcher(in).matches());
+                assertThat(jdk.find(in)).as("%s ~ %s", p, in).isEqualTo(expected.matcher(in).find());
+                assertThat(re2.test(in)).as("%s ~ %s", p, in).isEqualTo(expected.matcher(in).matches());
+                assertThat(auto.test(in)).as("%s ~ %s", p, in).isEqualTo(expected.matcher(in).matches());
+            }
+        }
+    }
+}
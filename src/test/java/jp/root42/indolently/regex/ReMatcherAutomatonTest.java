@@ -0,0 +1,178 @@
+// Copyright 2026 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently.regex;
+
+import java.util.regex.Pattern;
+
+import jp.root42.indolently.$list;
+import jp.root42.indolently.Regexive;
+
+import static jp.root42.indolently.Indolently.*;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+
+/**
+ * @author takahashikzn
+ */
+public class ReMatcherAutomatonTest {
+
+    private static AutomatonTest automaton(final String pattern) {
+        final var x = Regexive.tester(pattern);
+        assertThat(x).isInstanceOf(AutomatonTest.class);
+
+        return (AutomatonTest) x;
+    }
+
+    private static $list<$list<String>> groups(final ReMatcher<?, ?> m) {
+        final $list<$list<String>> found = list();
+
+        while (m.find()) {
+            final $list<String> groups = list();
+            for (int i = 0; i <= m.groupCount(); i++)
+                groups.add(m.group(i));
+
+            found.add(groups);
+        }
+
+        return found;
+    }
+
+    private static $list<$list<String>> jdk(final String pattern, final String input) {
+        return groups(Regexive.regex1(pattern).matcher(input));
+    }
+
+    @Test
+    public void groups() {
+        for (final var x: list( //
+            list("(\\d+)-(\\w+)", "12-ab, 3-c and 45-"), //
+            list("(?<k>\\w+)=(?<v>\\d+)", "a=1 bb=22 c=x"), //
+            list("(ab)+c", "ababc abc c"), //
+            list("(a)|(b)", "xaby"), //
+            list("x(?:a|(b))?y", "xy xay xby"), //
+            list("(\\w+,?)+", "ab,cd"), //
+            list("(\\d+)+", "123"), //
+            list("(a+)+b", "aab"))) {
+
+            final var pattern = x.get(0);
+            final var input = x.get(1);
+
+            assertThat(groups(automaton(pattern).matcher(input))).as(pattern).isEqualTo(jdk(pattern, input));
+        }
+    }
+
+    @Test
+    public void named() {
+        final var m = automaton("(?<k>\\w+)=(?<v>\\d+)").matcher("key=42");
+
+        assertThat(m.matches()).isTrue();
+        assertThat(m.group("k")).isEqualTo("key");
+        assertThat(m.group("v")).isEqualTo("42");
+        assertThat(m.start("v")).isEqualTo(4);
+        assertThat(m.end("v")).isEqualTo(6);
+        assertThatThrownBy(() -> m.group("x")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void emptyMatch() {
+        final var m = automaton("a*").matcher("baaac");
+        final $list<String> found = list();
+
+        while (m.find())
+            found.add(m.start() + ":" + m.group());
+
+        assertThat(found).isEqualTo(list("0:", "1:aaa", "4:", "5:"));
+    }
+
+    @Test
+    public void matchesAndLookingAt() {
+        final var m = automaton("a+b").matcher("aabx");
+
+        assertThat(m.matches()).isFalse();
+        assertThat(m.lookingAt()).isTrue();
+        assertThat(m.group()).isEqualTo("aab");
+
+        assertThat(m.region(1, 3).matches()).isTrue();
+        assertThat(m.group()).isEqualTo("ab");
+        assertThat(m.start()).isEqualTo(1);
+        assertThatThrownBy(() -> m.reset().start()).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    public void region() {
+        final var m = automaton("\\d+").matcher("12a345b6").region(1, 6);
+        final $list<String> found = list();
+
+        while (m.find())
+            found.add(m.group());
+
+        assertThat(found).isEqualTo(list("2", "345"));
+    }
+
+    @Test
+    public void replace() {
+        final var re = automaton("(?<k>\\w+)=(\\d+)");
+
+        assertThat(re.replaceAll("a=1, bb=22", "$2:${k}")).isEqualTo("1:a, 22:bb");
+        assertThat(re.replaceFirst("a=1, bb=22", "<$0>")).isEqualTo("<a=1>, bb=22");
+        assertThat(re.replaceAll("a=1", "\\$1")).isEqualTo("$1");
+        assertThat(re.replaceAll("none", "x")).isEqualTo("none");
+    }
+
+    @Test
+    public void split() {
+        for (final var x: list( //
+            list(",", "a,b,,c,,"), //
+            list("\\s*", "ab c"), //
+            list("x*", "axxb"), //
+            list(",", ""), //
+            list("-+", "--a-b--"))) {
+
+            final var pattern = x.get(0);
+            final var input = x.get(1);
+            final var expected = Pattern.compile(pattern);
+
+            for (final int limit: new int[] { 0, -1, 1, 2 })
+                assertThat(automaton(pattern).split(input, limit)) //
+                    .as(pattern + " " + limit) //
+                    .containsExactly(expected.split(input, limit));
+        }
+    }
+
+    @Test
+    public void toMatchResult() {
+        final var m = automaton("(a)(b)?").matcher("ab a");
+
+        assertThat(m.find()).isTrue();
+        final var r = m.toMatchResult();
+
+        assertThat(m.find()).isTrue();
+        assertThat(m.group(2)).isNull();
+
+        assertThat(r.group()).isEqualTo("ab");
+        assertThat(r.group(2)).isEqualTo("b");
+        assertThat(r.start(2)).isEqualTo(1);
+    }
+
+    @Test
+    public void longest() {
+        // leftmost-longest, unlike the leftmost-first semantics of java.util.regex
+        final var m = automaton("a|ab").matcher("ab");
+
+        assertThat(m.find()).isTrue();
+        assertThat(m.group()).isEqualTo("ab");
+    }
+}
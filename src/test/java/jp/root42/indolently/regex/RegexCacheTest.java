@@ -0,0 +1,85 @@
+// Copyright 2026 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently.regex;
+
+import jp.root42.indolently.regex.RegexCache.Eviction;
+import jp.root42.indolently.regex.RegexCache.Stats;
+
+import static jp.root42.indolently.Indolently.*;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+
+/**
+ * @author takahashikzn
+ */
+public class RegexCacheTest {
+
+    @Test
+    public void hit() {
+        final var cache = new RegexCache(2, Eviction.LRU);
+
+        final Object x = cache.get("re", "a", null, Object::new);
+
+        assertThat(cache.<Object> get("re", "a", null, Object::new)).isSameAs(x);
+        assertThat(cache.<Object> get("re", "a", "`", Object::new)).isNotSameAs(x);
+        assertThat(cache.<Object> get("re1", "a", null, Object::new)).isNotSameAs(x);
+        assertThat(cache.stats()).isEqualTo(new Stats(1, 3, 1, 2));
+    }
+
+    @Test
+    public void fifo() {
+        final var cache = new RegexCache(2, Eviction.FIFO);
+
+        final Object a = cache.get("re", "a", null, Object::new);
+        cache.get("re", "b", null, Object::new);
+        cache.get("re", "a", null, Object::new);
+        cache.get("re", "c", null, Object::new);
+
+        assertThat(cache.<Object> get("re", "a", null, Object::new)).isNotSameAs(a);
+    }
+
+    @Test
+    public void lru() {
+        final var cache = new RegexCache(2, Eviction.LRU);
+
+        final Object a = cache.get("re", "a", null, Object::new);
+        final Object b = cache.get("re", "b", null, Object::new);
+        cache.get("re", "a", null, Object::new);
+        cache.get("re", "c", null, Object::new);
+
+        assertThat(cache.<Object> get("re", "a", null, Object::new)).isSameAs(a);
+        assertThat(cache.<Object> get("re", "b", null, Object::new)).isNotSameAs(b);
+    }
+
+    @Test
+    public void disabled() {
+        final var cache = new RegexCache(0, Eviction.LRU);
+
+        assertThat(cache.<Object> get("re", "a", null, Object::new)).isNotSameAs(cache.get("re", "a", null, Object::new));
+        assertThat(cache.stats()).isEqualTo(new Stats(0, 2, 0, 0));
+    }
+
+    @Test
+    public void indolently() {
+        assertThat(re("`d+")).isSameAs(re("`d+"));
+        assertThat(re1("`d+")).isSameAs(re1("`d+"));
+        assertThat(re2("`d+")).isSameAs(re2("`d+"));
+        assertThat(retest("b.r")).isSameAs(retest("b.r"));
+        assertThat(refind("b.r")).isSameAs(refind("b.r"));
+        assertThat(re1("`d+").pattern()).isEqualTo("\\d+");
+    }
+}
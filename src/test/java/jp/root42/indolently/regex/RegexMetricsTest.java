@@ -0,0 +1,117 @@
+// Copyright 2026 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently.regex;
+
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
+
+import javax.management.ObjectName;
+
+import jp.root42.indolently.Regexive;
+
+import static jp.root42.indolently.Indolently.*;
+
+import org.junit.After;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+
+/**
+ * @author takahashikzn
+ */
+public class RegexMetricsTest {
+
+    @After
+    public void tearDown() { RegexMetrics.disable(); }
+
+    @Test
+    public void disabled() {
+        assertThat(RegexMetrics.getInstance()).isNull();
+        assertThat(Regexive.regex1("a+").test("aaa")).isTrue();
+
+        final var metrics = new RegexMetrics();
+        assertThat(metrics.snapshot()).isEmpty();
+    }
+
+    @Test
+    public void snapshot() {
+        final var metrics = RegexMetrics.enable();
+        assertThat(RegexMetrics.enable()).isSameAs(metrics);
+
+        final var jdk = Regexive.regex("a+b");
+        assertThat(jdk.test("aab")).isTrue();
+        assertThat(jdk.find("x".repeat(100) + "ab")).isTrue();
+        assertThat(jdk.split("1ab2")).isEqualTo(list("1", "2"));
+
+        final var automaton = (AutomatonTest) Regexive.tester("[0-9]+");
+        assertThat(automaton.test("123")).isTrue();
+        assertThat(automaton.find("12x".getBytes(StandardCharsets.UTF_8))).isTrue();
+
+        final var stats = metrics.snapshot();
+        assertThat(stats.map(x -> x.pattern() + " " + x.engine()).order(Comparator.naturalOrder())).isEqualTo(list("[0-9]+ automaton", "a+b jdk"));
+
+        final var a = stats.take(x -> x.engine().equals("jdk")).head();
+        assertThat(a.calls()).isEqualTo(3);
+        assertThat(a.lengths()).isEqualTo(list(2L, 1L, 0L, 0L));
+        assertThat(a.maxNanos()).isPositive().isLessThanOrEqualTo(a.totalNanos());
+        assertThat(a.meanNanos()).isEqualTo(a.totalNanos() / 3);
+        assertThat(a.timeouts()).isZero();
+
+        assertThat(metrics.getCalls()).isEqualTo(5);
+        assertThat(metrics.getSlowest()).hasSize(2);
+        assertThat(stats.head().totalNanos()).isGreaterThanOrEqualTo(stats.last().totalNanos());
+
+        metrics.reset();
+        assertThat(metrics.snapshot()).isEmpty();
+    }
+
+    @Test
+    public void capacity() {
+        final var metrics = new RegexMetrics(2);
+        RegexMetrics.setInstance(metrics);
+
+        for (final var pattern: list("a", "b", "c", "d"))
+            Regexive.regex1(pattern).test(pattern);
+
+        Regexive.regex1("a").test("a");
+        Regexive.regex2("e").test("e");
+
+        assertThat(metrics.snapshot().map(x -> x.pattern() + " " + x.engine() + " " + x.calls()).order(Comparator.naturalOrder())) //
+            .isEqualTo(list("(others) jdk 2", "(others) re2 1", "a jdk 2", "b jdk 1"));
+
+        assertThatThrownBy(() -> new RegexMetrics(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void jmx() throws Exception {
+        final var server = ManagementFactory.getPlatformMBeanServer();
+        final var name = new ObjectName(RegexMetrics.OBJECT_NAME);
+
+        RegexMetrics.enable();
+        assertThat(server.isRegistered(name)).isTrue();
+
+        Regexive.regex2("x").find("axb");
+        assertThat(server.getAttribute(name, "Calls")).isEqualTo(1L);
+        assertThat((String[]) server.getAttribute(name, "Slowest")).singleElement().asString().startsWith("x [re2] calls=1");
+
+        server.invoke(name, "reset", null, null);
+        assertThat(server.getAttribute(name, "PatternCount")).isEqualTo(0);
+
+        RegexMetrics.disable();
+        assertThat(server.isRegistered(name)).isFalse();
+        assertThat(RegexMetrics.getInstance()).isNull();
+    }
+}
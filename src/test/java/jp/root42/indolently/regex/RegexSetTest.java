@@ -0,0 +1,85 @@
+// Copyright 2026 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently.regex;
+
+import java.util.BitSet;
+
+import jp.root42.indolently.Regexive;
+
+import static jp.root42.indolently.Indolently.*;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+
+/**
+ * @author takahashikzn
+ */
+public class RegexSetTest {
+
+    private static BitSet bits(final int... x) {
+        final var bits = new BitSet();
+        for (final int i: x)
+            bits.set(i);
+
+        return bits;
+    }
+
+    @Test
+    public void testAll() {
+        final var set = Regexive.regexSet("a+", "[ab]+", "ab*", "\\bb\\b", "c");
+
+        assertThat(set.size()).isEqualTo(5);
+        assertThat(set.fallbacks()).isEqualTo(list(3));
+
+        assertThat(set.testAll("a")).isEqualTo(bits(0, 1, 2));
+        assertThat(set.testAll("aa")).isEqualTo(bits(0, 1));
+        assertThat(set.testAll("abb")).isEqualTo(bits(1, 2));
+        assertThat(set.testAll("b")).isEqualTo(bits(1, 3));
+        assertThat(set.testAll("")).isEqualTo(bits());
+        assertThat(set.testAll("x")).isEqualTo(bits());
+
+        assertThat(set.test("c")).isTrue();
+        assertThat(set.test("cc")).isFalse();
+    }
+
+    @Test
+    public void findAll() {
+        final var set = new RegexSet("foo", "ba[rz]", "\\d{3}", "^qux");
+
+        assertThat(set.findAll("xx foo yy 12 bar")).isEqualTo(bits(0, 1));
+        assertThat(set.findAll("baz123")).isEqualTo(bits(1, 2));
+        assertThat(set.findAll("qux")).isEqualTo(bits(3));
+        assertThat(set.findAll("-qux")).isEqualTo(bits());
+
+        assertThat(set.find("12")).isFalse();
+        assertThat(set.find("a1234")).isTrue();
+    }
+
+    @Test
+    public void equivalence() {
+        final var patterns = list("[a-z]+", "x.*y", "(ab|cd)+", "\\w+@\\w+", "[^a]b", "\\$\\d+");
+        final var set = new RegexSet(patterns);
+        final var inputs = list("", "abcd", "xay", "a@b", "zb", "$12", "xx ab y", "abab", "AB");
+
+        for (final var in: inputs) {
+            for (int i = 0; i < patterns.size(); i++) {
+                assertThat(set.testAll(in).get(i)).as("%s ~ %s", in, patterns.get(i)).isEqualTo(in.matches(patterns.get(i)));
+                assertThat(set.findAll(in).get(i)).as("%s ~ %s", in, patterns.get(i))
+                    .isEqualTo(java.util.regex.Pattern.compile(patterns.get(i)).matcher(in).find());
+            }
+        }
+    }
+}
@@ -0,0 +1,143 @@
+// Copyright 2026 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently.regex;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.regex.Pattern;
+
+import jp.root42.indolently.$list;
+import jp.root42.indolently.Regexive;
+import jp.root42.indolently.regex.RegexStream.Match;
+
+import static jp.root42.indolently.Indolently.*;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+
+/**
+ * @author takahashikzn
+ */
+public class RegexStreamTest {
+
+    private static $list<String> expected(final String pattern, final String text) {
+        final $list<String> found = list();
+
+        final var m = Pattern.compile(pattern).matcher(text);
+        while (m.find())
+            found.add(m.start() + "-" + m.end() + ":" + m.group());
+
+        return found;
+    }
+
+    private static $list<String> actual(final String pattern, final String text, final int chunk, final int maxMatch) {
+        return new RegexStream(Regexive.regex1(pattern), chunk, maxMatch).find(new StringReader(text))
+            .map(x -> x.start() + "-" + x.end() + ":" + x.group())
+            .list();
+    }
+
+    @Test
+    public void boundary() {
+        final var text = "foo 12345 barbaz 6789 qux\nfoo x123y\n" + "ab".repeat(50) + " end";
+
+        for (final var p: list("\\d+", "foo", "bar|barbaz", "(?m)^\\w+", "\\w+$", "\\bx\\d+", "(?<=x)\\d+", "(?:ab)+", "z*")) {
+            for (final int chunk: list(1, 2, 3, 7, 64)) {
+                assertThat(actual(p, text, chunk, 1000)).as("%s / %d", p, chunk).isEqualTo(expected(p, text));
+            }
+        }
+    }
+
+    @Test
+    public void anchor() {
+        // long enough to slide the window many times
+        final var text = "xab ab\nab xab-ab\n".repeat(20) + "ab x";
+
+        for (final var p: list("^x", "\\Ax", "x$", "x\\z", "ab$", "(?m)x$", "(?m)^ab", "\\bab\\b", "\\Bab", "ab\\b", "^", "$")) {
+            for (final int chunk: list(1, 3, 7, 64)) {
+                assertThat(actual(p, text, chunk, 16)).as("%s / %d", p, chunk).isEqualTo(expected(p, text));
+            }
+        }
+
+        // larger than a window
+        assertThat(actual("^x", "a".repeat(200_000), RegexStream.DEFAULT_CHUNK, RegexStream.DEFAULT_MAX_MATCH)).isEmpty();
+        assertThat(actual("\\Ax", "a".repeat(200_000), RegexStream.DEFAULT_CHUNK, RegexStream.DEFAULT_MAX_MATCH)).isEmpty();
+
+        // the end of the window isn't the end of input
+        final var tail = "a".repeat(65535) + "x" + "b".repeat(100);
+        for (final var p: list("x$", "x\\z", "(?m)x$"))
+            assertThat(actual(p, tail, RegexStream.DEFAULT_CHUNK, RegexStream.DEFAULT_MAX_MATCH)).as(p).isEmpty();
+    }
+
+    @Test
+    public void groups() {
+        final var found = Regexive.regex1("(\\w+)=(\\d+)").stream().find(new StringReader("a=1, bb=22")).list();
+
+        assertThat(found).hasSize(2);
+        assertThat(found.get(1)).isEqualTo(new Match(5, 10, list("bb=22", "bb", "22")));
+        assertThat(found.get(1).groupCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void bounded() {
+        // no match; the window must not grow beyond chunk + maxMatch
+        final var text = "a".repeat(100_000);
+
+        assertThat(actual("a+b", text, 16, 32)).isEmpty();
+        assertThat(actual("a{3}b?", "aaaaaaa", 2, 4)).isEqualTo(list("0-3:aaa", "3-6:aaa"));
+    }
+
+    @Test
+    public void bytes() throws IOException {
+        final var text = "エラー: 123\nok\nエラー: 45\n".repeat(1000);
+        final var bytes = text.getBytes(StandardCharsets.UTF_8);
+        final var re = Regexive.regex1("(?m)^エラー: (\\d+)$");
+
+        final var fromChannel = re.stream().find(Channels.newChannel(new ByteArrayInputStream(bytes)), StandardCharsets.UTF_8).list();
+        assertThat(fromChannel).hasSize(2000);
+        assertThat(fromChannel.get(1).group(1)).isEqualTo("45");
+
+        final var file = Files.createTempFile("indolently", ".log");
+        try {
+            Files.write(file, bytes);
+
+            final var fromFile = re.stream().find(file, StandardCharsets.UTF_8).map(Match::start).list();
+            assertThat(fromFile).isEqualTo(fromChannel.map(Match::start));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void supplementary() throws IOException {
+        final var text = "a😀b𠀋😀c".repeat(10);
+        final var file = Files.createTempFile("indolently", ".txt");
+        try {
+            Files.writeString(file, text, StandardCharsets.UTF_8);
+
+            for (final int chunk: list(1, 2, 3)) {
+                final var found = new RegexStream(Regexive.regex1("😀[a-c]"), chunk, 100).find(file, StandardCharsets.UTF_8)
+                    .map(x -> x.start() + "-" + x.end() + ":" + x.group()).list();
+                assertThat(found).as("%d", chunk).isEqualTo(expected("😀[a-c]", text));
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
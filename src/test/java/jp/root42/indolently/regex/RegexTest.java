@@ -13,6 +13,10 @@
 // limitations under the License.
 package jp.root42.indolently.regex;
 
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+
 import static jp.root42.indolently.Indolently.*;
 
 import org.junit.Test;
@@ -30,4 +34,55 @@ public class RegexTest {
         assertThat(re("foo")).isNotEqualTo(re("bar"));
         assertThat(re("foo")).isEqualTo(re("foo"));
     }
+
+    @Test
+    public void charSequence() {
+        final var sb = new StringBuilder("abc123");
+
+        final var m = re("\\d+").matcher(sb);
+        assertThat(m.find()).isTrue();
+        assertThat(m.group()).isEqualTo("123");
+        assertThat(m.text()).isEqualTo("abc123");
+
+        assertThat(retest("[a-z]+\\d+").test(CharBuffer.wrap("xabc123y", 1, 7))).isTrue();
+        assertThat(retest("[a-z]+\\d+").test(sb)).isTrue();
+        assertThat(retest("[a-z]+").test(sb)).isFalse();
+    }
+
+    @Test
+    public void utf8() {
+        final var re = re2("\\p{L}+");
+        final var bytes = "12あいう3".getBytes(StandardCharsets.UTF_8);
+
+        assertThat(re.find(bytes)).isTrue();
+        assertThat(re.test(bytes)).isFalse();
+        assertThat(re.test("あいう".getBytes(StandardCharsets.UTF_8))).isTrue();
+
+        final var m = re.matcher(ByteBuffer.wrap(bytes, 2, 9));
+        assertThat(m.find()).isTrue();
+        assertThat(m.group()).isEqualTo("あいう");
+        assertThat(m.start()).isZero();
+        assertThat(m.end()).isEqualTo(9);
+        assertThat(m.text()).isEqualTo("あいう");
+    }
+
+    @Test
+    public void splitter() {
+        for (final var pattern: list(",", ",*", "", "\\b", "x?", "(?=,)")) {
+            final var re = re(pattern);
+
+            for (final var text: list("", ",", ",,", "a,b", ",a,,b,,", "abc", ",,a")) {
+                final var fields = list(re.splitter(text)).map(CharSequence::toString);
+                assertThat(fields).as(pattern + " " + text).isEqualTo(list(text.split(pattern)));
+            }
+        }
+
+        // only the fields iterated are searched
+        final var it = re(",").splitter("a,b" + ",".repeat(10_000) + "c");
+        assertThat(it.next()).hasToString("a");
+        assertThat(it.next()).hasToString("b");
+        assertThat(it.next()).hasToString("");
+
+        assertThat(list(re2(",").splitter("a,,b,,"))).map(CharSequence::toString).containsExactly("a", "", "b");
+    }
 }
@@ -0,0 +1,124 @@
+// Copyright 2026 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently.regex;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import jp.root42.indolently.Regexive;
+
+import static jp.root42.indolently.Indolently.*;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+
+/**
+ * @author takahashikzn
+ */
+public class Utf8AutomatonTest {
+
+    private static final String[] ALPHABET = { "a", "b", "1", " ", "_", "é", "ω", "あ", "￿", "😀", "𠀋" };
+
+    private static AutomatonTest automaton(final String pattern) {
+        final var x = Regexive.tester(pattern);
+        assertThat(x).isInstanceOf(AutomatonTest.class);
+
+        return (AutomatonTest) x;
+    }
+
+    @Test
+    public void equivalence() {
+        final var rand = new Random(0);
+
+        for (final var pattern: list("\\w+", "[b-z1 ]*", "a.b", "[é-あ]+", "😀+", "(?:𠀋|a).{2}", "[ 0-9]*", ".*ω.*")) {
+            final var re = automaton(pattern);
+
+            for (int i = 0; i < 2000; i++) {
+                final var sb = new StringBuilder();
+                for (int k = rand.nextInt(6); 0 < k; k--)
+                    sb.append(ALPHABET[rand.nextInt(ALPHABET.length)]);
+
+                final var s = sb.toString();
+                final var utf8 = s.getBytes(StandardCharsets.UTF_8);
+
+                assertThat(re.test(utf8)).as(pattern + " " + s).isEqualTo(re.test(s));
+                assertThat(re.find(utf8)).as(pattern + " " + s).isEqualTo(re.find(s));
+            }
+        }
+    }
+
+    @Test(timeout = 10_000)
+    public void unicodeProperty() {
+        // U+1D41A (Ll) and U+1D7D8 (Nd) share the high surrogate but differ in the low surrogate
+        final String[] alphabet = { "a", "B", "1", " ", "é", "Ω", "٣", "あ", "😀", "🀀", "𠀋", "𝐚", "𝟘" };
+        final var rand = new Random(0);
+
+        for (final var pattern: list("\\p{N}+", "[\\p{N}\\p{IsGreek}]+", "\\p{So}", "[^\\p{S}]")) {
+            final var re = automaton(pattern);
+
+            for (int i = 0; i < 500; i++) {
+                final var sb = new StringBuilder();
+                for (int k = rand.nextInt(4); 0 < k; k--)
+                    sb.append(alphabet[rand.nextInt(alphabet.length)]);
+
+                final var s = sb.toString();
+                final var utf8 = s.getBytes(StandardCharsets.UTF_8);
+
+                assertThat(re.test(utf8)).as(pattern + " " + s).isEqualTo(re.test(s));
+                assertThat(re.find(utf8)).as(pattern + " " + s).isEqualTo(re.find(s));
+            }
+        }
+
+        assertThat(automaton("\\p{N}").test("𝟘".getBytes(StandardCharsets.UTF_8))).isTrue();
+        assertThat(automaton("\\p{N}").test("𝐚".getBytes(StandardCharsets.UTF_8))).isFalse();
+    }
+
+    @Test
+    public void buffer() {
+        final var re = automaton("[a-z]+😀");
+        final var utf8 = "XXabc😀YY".getBytes(StandardCharsets.UTF_8);
+
+        final var heap = ByteBuffer.wrap(utf8, 2, utf8.length - 4).slice();
+        assertThat(re.test(heap)).isTrue();
+        assertThat(heap.position()).isZero();
+
+        final var direct = ByteBuffer.allocateDirect(utf8.length).put(utf8).flip();
+        assertThat(re.test(direct)).isFalse();
+        assertThat(re.find(direct)).isTrue();
+
+        assertThat(re.test(direct.position(2).limit(utf8.length - 2))).isTrue();
+        assertThat(re.test(direct.asReadOnlyBuffer())).isTrue();
+    }
+
+    @Test
+    public void malformed() {
+        final var re = automaton(".*");
+
+        assertThat(re.test(new byte[] { (byte) 0xC3 })).isFalse();
+        // overlong encoding of NUL
+        assertThat(re.test(new byte[] { (byte) 0xC0, (byte) 0x80 })).isFalse();
+        // encoded surrogate
+        assertThat(re.test(new byte[] { (byte) 0xED, (byte) 0xA0, (byte) 0x80 })).isFalse();
+        assertThat(re.test(new byte[] { (byte) 0xC3, (byte) 0xA9 })).isTrue();
+
+        // default implementation decodes the input
+        final var jdk = Regexive.regex1("^.$");
+        assertThat(jdk.test(new byte[] { (byte) 0xC3 })).isFalse();
+        assertThat(jdk.test(new byte[] { (byte) 0xC3, (byte) 0xA9 })).isTrue();
+        assertThat(jdk.find(ByteBuffer.wrap(new byte[] { (byte) 0xC3, (byte) 0xA9 }))).isTrue();
+    }
+}